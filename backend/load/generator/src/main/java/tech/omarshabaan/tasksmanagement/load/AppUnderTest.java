@@ -0,0 +1,157 @@
+package tech.omarshabaan.tasksmanagement.load;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The backend being measured: either one that is already running, or the application jar
+ * started in its own JVM against a fresh Postgres container, so its heap, GC and JIT are
+ * not shared with the generator.
+ */
+final class AppUnderTest implements AutoCloseable {
+
+	private static final Logger logger = LoggerFactory.getLogger(AppUnderTest.class);
+
+	private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+	private final URI baseUrl;
+
+	private final PostgreSQLContainer<?> postgres;
+
+	private final Process process;
+
+	private AppUnderTest(URI baseUrl, PostgreSQLContainer<?> postgres, Process process) {
+		this.baseUrl = baseUrl;
+		this.postgres = postgres;
+		this.process = process;
+	}
+
+	static AppUnderTest external(URI baseUrl) {
+		return new AppUnderTest(baseUrl, null, null);
+	}
+
+	/**
+	 * Starts Postgres and the backend jar and waits until the backend reports healthy.
+	 * The backend's output goes to {@code app.log} in the run directory.
+	 */
+	static AppUnderTest start(LoadOptions options, Path runDirectory) throws IOException, InterruptedException {
+		if (!Files.isRegularFile(options.jar())) {
+			throw new IllegalArgumentException(
+					"Backend jar " + options.jar().toAbsolutePath() + " not found; build it with ./mvnw package");
+		}
+		PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+				DockerImageName.parse(options.postgresImage()).asCompatibleSubstituteFor("postgres"));
+		postgres.start();
+		logger.info("Started {} on port {}", options.postgresImage(), postgres.getFirstMappedPort());
+
+		int port = freePort();
+		int managementPort = freePort();
+		List<String> command = new ArrayList<>();
+		command.add(ProcessHandle.current().info().command().orElse("java"));
+		command.addAll(options.appJvmArgs());
+		command.add("-jar");
+		command.add(options.jar().toAbsolutePath().toString());
+		ProcessBuilder builder = new ProcessBuilder(command)
+			// not the backend directory, so a developer's .env is not imported
+			.directory(runDirectory.toFile())
+			.redirectErrorStream(true)
+			.redirectOutput(runDirectory.resolve("app.log").toFile());
+		Map<String, String> environment = builder.environment();
+		environment.put("DB_HOST", postgres.getHost());
+		environment.put("DB_PORT", String.valueOf(postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT)));
+		environment.put("DB_NAME", postgres.getDatabaseName());
+		environment.put("DATABASE_USERNAME", postgres.getUsername());
+		environment.put("DATABASE_PASSWORD", postgres.getPassword());
+		environment.put("SERVER_PORT", String.valueOf(port));
+		environment.put("MANAGEMENT_SERVER_PORT", String.valueOf(managementPort));
+		// every synthetic user signs up and signs in from this address; --app-env can
+		// turn the limit back on
+		environment.put("AUTH_RATE_LIMIT_ENABLED", "false");
+		environment.putAll(options.appEnv());
+		logger.info("Starting backend: {}", String.join(" ", command));
+		Process process = builder.start();
+
+		AppUnderTest app = new AppUnderTest(URI.create("http://localhost:" + port), postgres, process);
+		try {
+			app.awaitHealthy(URI.create("http://localhost:" + managementPort + "/actuator/health"),
+					runDirectory.resolve("app.log"));
+		}
+		catch (RuntimeException | InterruptedException e) {
+			app.close();
+			throw e;
+		}
+		return app;
+	}
+
+	URI baseUrl() {
+		return baseUrl;
+	}
+
+	private void awaitHealthy(URI health, Path log) throws InterruptedException {
+		long started = System.nanoTime();
+		long deadline = started + STARTUP_TIMEOUT.toNanos();
+		try (HttpClient http = HttpClient.newHttpClient()) {
+			while (System.nanoTime() - deadline < 0) {
+				if (!process.isAlive()) {
+					throw new IllegalStateException(
+							"Backend exited with " + process.exitValue() + " during startup; see " + log);
+				}
+				try {
+					HttpResponse<Void> response = http.send(
+							HttpRequest.newBuilder(health).timeout(Duration.ofSeconds(2)).build(),
+							HttpResponse.BodyHandlers.discarding());
+					if (response.statusCode() == 200) {
+						logger.info("Backend healthy after {} ms", (System.nanoTime() - started) / 1_000_000);
+						return;
+					}
+				}
+				catch (IOException e) {
+					// not listening yet
+				}
+				Thread.sleep(250);
+			}
+		}
+		throw new IllegalStateException("Backend not healthy within " + STARTUP_TIMEOUT + "; see " + log);
+	}
+
+	@Override
+	public void close() throws InterruptedException {
+		if (process != null) {
+			// SIGTERM, so the backend shuts down gracefully and flushes its logs
+			process.destroy();
+			if (!process.waitFor(30, TimeUnit.SECONDS)) {
+				process.destroyForcibly();
+			}
+		}
+		if (postgres != null) {
+			postgres.stop();
+		}
+	}
+
+	private static int freePort() {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Could not find a free port", e);
+		}
+	}
+
+}
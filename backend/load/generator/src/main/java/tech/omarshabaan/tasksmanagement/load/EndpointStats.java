@@ -0,0 +1,68 @@
+package tech.omarshabaan.tasksmanagement.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes of one endpoint during a run, in microseconds.
+ * <p>
+ * Response time runs from the moment the request was scheduled to its completion, so a
+ * request that had to wait behind a slow one (at the generator or in the server) is
+ * charged for the wait; service time runs from the moment it was actually sent. When the
+ * two diverge the system is queueing, which a closed-loop tool hides by simply sending
+ * less.
+ */
+final class EndpointStats {
+
+	private final Histogram responseTime = new ConcurrentHistogram(3);
+
+	private final Histogram serviceTime = new ConcurrentHistogram(3);
+
+	private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+	private final LongAdder shed = new LongAdder();
+
+	/**
+	 * @param status the response status, or {@code 0} when no response arrived
+	 */
+	void record(long responseNanos, long serviceNanos, int status) {
+		responseTime.recordValue(Math.max(1, responseNanos / 1000));
+		serviceTime.recordValue(Math.max(1, serviceNanos / 1000));
+		statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+	}
+
+	/**
+	 * Counts a request the generator did not send because too many were in flight.
+	 */
+	void shed() {
+		shed.increment();
+	}
+
+	Histogram responseTime() {
+		return responseTime;
+	}
+
+	Histogram serviceTime() {
+		return serviceTime;
+	}
+
+	long count() {
+		return responseTime.getTotalCount();
+	}
+
+	Map<Integer, Long> statuses() {
+		Map<Integer, Long> counts = new TreeMap<>();
+		statuses.forEach((status, count) -> counts.put(status, count.sum()));
+		return counts;
+	}
+
+	long shedCount() {
+		return shed.sum();
+	}
+
+}
@@ -0,0 +1,124 @@
+package tech.omarshabaan.tasksmanagement.load;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Open-model load test of the task API. Signs up synthetic users, seeds their tasks,
+ * warms the backend up and then drives a weighted mix of create, list, update and delete
+ * requests at a constant arrival rate, writing a report per run to
+ * {@code load/results/<label>-<timestamp>/}. Run from {@code backend/}:
+ *
+ * <pre>
+ * ./mvnw -q package -DskipTests
+ * ./mvnw -q -f load/generator/pom.xml compile exec:java -Dexec.args="--label=baseline --rate=300"
+ * ./mvnw -q -f load/generator/pom.xml exec:java -Dexec.args="compare load/results/a load/results/b"
+ * </pre>
+ *
+ * See {@link LoadOptions} for the options.
+ */
+public final class LoadGenerator {
+
+	private static final Logger logger = LoggerFactory.getLogger(LoadGenerator.class);
+
+	private static final String PASSWORD = "L0ad!Passw0rd";
+
+	private LoadGenerator() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		if (args.length > 0 && args[0].equals("compare")) {
+			if (args.length != 3) {
+				throw new IllegalArgumentException("usage: compare <baseline run> <candidate run>");
+			}
+			Report.compare(Path.of(args[1]), Path.of(args[2]), System.out);
+			return;
+		}
+		LoadOptions options = LoadOptions.parse(args);
+		String startedAt = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+		Path runDirectory = Files.createDirectories(options.results().resolve(options.label() + "-" + startedAt));
+
+		try (AppUnderTest app = options.baseUrl() != null ? AppUnderTest.external(options.baseUrl())
+				: AppUnderTest.start(options, runDirectory)) {
+			TasksClient client = new TasksClient(app.baseUrl(), options.requestTimeout());
+			List<SyntheticUser> users = prepare(client, options);
+
+			OpenModelRunner runner = new OpenModelRunner(options.rate(), options.maxInFlight());
+			OpenModelRunner.Request request = operation -> client.execute(operation,
+					users.get(ThreadLocalRandom.current().nextInt(users.size())));
+			if (!options.warmup().isZero()) {
+				logger.info("Warming up for {} at {} req/s", options.warmup(), options.rate());
+				runner.run(options.warmup(), () -> options.mix().pick(ThreadLocalRandom.current()), request);
+			}
+			logger.info("Measuring for {} at {} req/s, mix {}", options.duration(), options.rate(), options.mix());
+			OpenModelRunner.Result result = runner.run(options.duration(),
+					() -> options.mix().pick(ThreadLocalRandom.current()), request);
+
+			Report report = new Report(options.label(), startedAt, environment(options), options.rate(), result);
+			report.write(runDirectory);
+			report.print(System.out);
+			logger.info("Report written to {}", runDirectory.toAbsolutePath());
+		}
+	}
+
+	/**
+	 * Signs up the users and seeds their tasks concurrently; signup hashes a password, so
+	 * this is the slow part of a short run.
+	 */
+	private static List<SyntheticUser> prepare(TasksClient client, LoadOptions options) throws Exception {
+		logger.info("Signing up {} users with {} tasks each", options.users(), options.seedTasks());
+		String prefix = "load" + Long.toString(System.currentTimeMillis(), 36);
+		List<Future<SyntheticUser>> futures = new ArrayList<>();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < options.users(); i++) {
+				String username = prefix + "u" + i;
+				futures.add(executor.submit(() -> {
+					SyntheticUser user = client.signUp(username, PASSWORD);
+					for (int task = 0; task < options.seedTasks(); task++) {
+						TasksClient.Outcome outcome = client.execute(Operation.CREATE, user);
+						if (outcome.status() != 201) {
+							throw new IllegalStateException("Seeding a task returned " + outcome.status());
+						}
+					}
+					return user;
+				}));
+			}
+		}
+		List<SyntheticUser> users = new ArrayList<>();
+		for (Future<SyntheticUser> future : futures) {
+			users.add(future.get());
+		}
+		return users;
+	}
+
+	private static Map<String, String> environment(LoadOptions options) {
+		Map<String, String> environment = new LinkedHashMap<>();
+		environment.put("target", options.baseUrl() != null ? options.baseUrl().toString()
+				: options.jar().getFileName() + " + " + options.postgresImage());
+		environment.put("appJvmArgs", String.join(" ", options.appJvmArgs()));
+		environment.put("appEnv", options.appEnv().toString());
+		environment.put("users", options.users() + " x " + options.seedTasks() + " seeded tasks");
+		environment.put("mix", options.mix().toString());
+		environment.put("warmup", options.warmup().toString());
+		environment.put("duration", options.duration().toString());
+		environment.put("maxInFlight", String.valueOf(options.maxInFlight()));
+		environment.put("generatorJava", Runtime.version().toString());
+		environment.put("processors", String.valueOf(Runtime.getRuntime().availableProcessors()));
+		environment.put("os", System.getProperty("os.name") + " " + System.getProperty("os.version"));
+		return environment;
+	}
+
+}
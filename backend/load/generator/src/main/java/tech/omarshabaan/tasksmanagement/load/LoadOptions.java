@@ -0,0 +1,116 @@
+package tech.omarshabaan.tasksmanagement.load;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Command line options, given as {@code --name=value}. {@code --app-env} and
+ * {@code --app-jvm-arg} may be repeated; every other option takes its last value.
+ *
+ * @param label names the run in the results directory and the report
+ * @param baseUrl an already running backend; when {@code null} the generator starts
+ * Postgres in a container and the backend jar against it
+ * @param jar the backend jar started when no base URL is given
+ * @param appJvmArgs JVM options for the started backend, e.g. heap size or AOT cache
+ * @param appEnv environment of the started backend, e.g. {@code VIRTUAL_THREADS_ENABLED}
+ * @param postgresImage image of the Postgres container
+ * @param users synthetic users signed up before the run; requests pick one at random
+ * @param seedTasks tasks created per user before the warmup
+ * @param rate requests per second, issued on schedule whether or not earlier requests
+ * have completed
+ * @param warmup load at the same rate before measuring, to warm the JIT and pools
+ * @param duration measured part of the run
+ * @param mix relative weights of the operations
+ * @param maxInFlight requests outstanding before the generator sheds new ones instead of
+ * piling up unbounded work
+ * @param requestTimeout time after which a request counts as failed
+ * @param results directory the run's directory is created in
+ */
+record LoadOptions(String label, URI baseUrl, Path jar, List<String> appJvmArgs, Map<String, String> appEnv,
+		String postgresImage, int users, int seedTasks, double rate, Duration warmup, Duration duration, Mix mix,
+		int maxInFlight, Duration requestTimeout, Path results) {
+
+	private static final List<String> OPTIONS = List.of("label", "base-url", "jar", "postgres-image", "users",
+			"seed-tasks", "rate", "warmup", "duration", "mix", "max-in-flight", "request-timeout", "results");
+
+	static LoadOptions parse(String... args) {
+		Map<String, String> values = new LinkedHashMap<>();
+		List<String> appJvmArgs = new ArrayList<>();
+		Map<String, String> appEnv = new LinkedHashMap<>();
+		for (String arg : args) {
+			if (!arg.startsWith("--") || !arg.contains("=")) {
+				throw new IllegalArgumentException("Expected --name=value but got '" + arg + "'");
+			}
+			String name = arg.substring(2, arg.indexOf('='));
+			String value = arg.substring(arg.indexOf('=') + 1);
+			switch (name) {
+				case "app-jvm-arg" -> appJvmArgs.add(value);
+				case "app-env" -> {
+					String[] entry = value.split("=", 2);
+					if (entry.length != 2) {
+						throw new IllegalArgumentException("Expected --app-env=NAME=value but got '" + arg + "'");
+					}
+					appEnv.put(entry[0], entry[1]);
+				}
+				default -> {
+					if (!OPTIONS.contains(name)) {
+						throw new IllegalArgumentException("Unknown option --" + name);
+					}
+					values.put(name, value);
+				}
+			}
+		}
+		return new LoadOptions(values.getOrDefault("label", "run"),
+				values.containsKey("base-url") ? URI.create(values.get("base-url")) : null,
+				Path.of(values.getOrDefault("jar", "target/tasks-management-0.0.1-SNAPSHOT.jar")),
+				List.copyOf(appJvmArgs), Map.copyOf(appEnv),
+				values.getOrDefault("postgres-image", "postgres:17.5-alpine"),
+				Integer.parseInt(values.getOrDefault("users", "20")),
+				Integer.parseInt(values.getOrDefault("seed-tasks", "20")),
+				Double.parseDouble(values.getOrDefault("rate", "200")), duration(values.getOrDefault("warmup", "30s")),
+				duration(values.getOrDefault("duration", "60s")),
+				Mix.parse(values.getOrDefault("mix", Mix.DEFAULT.toString())),
+				Integer.parseInt(values.getOrDefault("max-in-flight", "2000")),
+				duration(values.getOrDefault("request-timeout", "10s")),
+				Path.of(values.getOrDefault("results", "load/results")));
+	}
+
+	LoadOptions {
+		if (rate <= 0) {
+			throw new IllegalArgumentException("--rate must be positive");
+		}
+		if (users <= 0) {
+			throw new IllegalArgumentException("--users must be positive");
+		}
+		if (maxInFlight <= 0) {
+			throw new IllegalArgumentException("--max-in-flight must be positive");
+		}
+	}
+
+	/**
+	 * Parses {@code 500ms}, {@code 30s}, {@code 2m} or an ISO-8601 duration.
+	 */
+	static Duration duration(String value) {
+		String text = value.trim().toLowerCase(Locale.ROOT);
+		if (text.startsWith("p")) {
+			return Duration.parse(text);
+		}
+		if (text.endsWith("ms")) {
+			return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2)));
+		}
+		long amount = Long.parseLong(text.substring(0, text.length() - 1));
+		return switch (text.charAt(text.length() - 1)) {
+			case 's' -> Duration.ofSeconds(amount);
+			case 'm' -> Duration.ofMinutes(amount);
+			case 'h' -> Duration.ofHours(amount);
+			default -> throw new IllegalArgumentException("Unsupported duration '" + value + "'");
+		};
+	}
+
+}
@@ -0,0 +1,67 @@
+package tech.omarshabaan.tasksmanagement.load;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Relative weights of the operations in a run, written as
+ * {@code list=50,create=20,update=20,delete=10}.
+ */
+record Mix(Map<Operation, Integer> weights) {
+
+	static final Mix DEFAULT = parse("list=50,create=20,update=20,delete=10");
+
+	Mix {
+		weights = Map.copyOf(weights);
+		if (weights.values().stream().anyMatch(weight -> weight < 0)) {
+			throw new IllegalArgumentException("Operation weights must not be negative: " + weights);
+		}
+		if (total(weights) == 0) {
+			throw new IllegalArgumentException("At least one operation needs a positive weight");
+		}
+	}
+
+	static Mix parse(String value) {
+		Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+		for (String entry : value.split(",")) {
+			String[] parts = entry.trim().split("=", 2);
+			if (parts.length != 2) {
+				throw new IllegalArgumentException("Expected operation=weight but got '" + entry + "'");
+			}
+			weights.put(Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(parts[1].trim()));
+		}
+		return new Mix(weights);
+	}
+
+	Operation pick(RandomGenerator random) {
+		int ticket = random.nextInt(total(weights));
+		for (Operation operation : Operation.values()) {
+			ticket -= weights.getOrDefault(operation, 0);
+			if (ticket < 0) {
+				return operation;
+			}
+		}
+		throw new IllegalStateException("unreachable");
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder text = new StringBuilder();
+		for (Operation operation : Operation.values()) {
+			if (weights.containsKey(operation)) {
+				text.append(text.isEmpty() ? "" : ",")
+					.append(operation.name().toLowerCase(Locale.ROOT))
+					.append('=')
+					.append(weights.get(operation));
+			}
+		}
+		return text.toString();
+	}
+
+	private static int total(Map<Operation, Integer> weights) {
+		return weights.values().stream().mapToInt(Integer::intValue).sum();
+	}
+
+}
@@ -0,0 +1,109 @@
+package tech.omarshabaan.tasksmanagement.load;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Issues requests at a constant arrival rate (an open workload model): the n-th request
+ * is due at {@code start + n / rate} whatever happened to the earlier ones, and runs on
+ * its own virtual thread. If the generator falls behind, the overdue requests are sent at
+ * once and their latency is still measured from when they were due, so a stall shows up
+ * in the percentiles instead of being averaged away (coordinated omission).
+ */
+final class OpenModelRunner {
+
+	private final double rate;
+
+	private final int maxInFlight;
+
+	OpenModelRunner(double rate, int maxInFlight) {
+		this.rate = rate;
+		this.maxInFlight = maxInFlight;
+	}
+
+	/**
+	 * Runs for the given duration and waits for the requests still in flight.
+	 * @param planner picks the operation of the next request
+	 * @param request sends a request and returns what was actually sent
+	 */
+	Result run(Duration duration, Supplier<Operation> planner, Request request) {
+		Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+		for (Operation operation : Operation.values()) {
+			stats.put(operation, new EndpointStats());
+		}
+		Semaphore inFlight = new Semaphore(maxInFlight);
+		long start = System.nanoTime();
+		long end = start + duration.toNanos();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (long n = 0;; n++) {
+				long due = start + (long) (n * 1_000_000_000d / rate);
+				if (due - end >= 0) {
+					break;
+				}
+				long wait = due - System.nanoTime();
+				if (wait > 0) {
+					LockSupport.parkNanos(wait);
+				}
+				Operation operation = planner.get();
+				if (!inFlight.tryAcquire()) {
+					stats.get(operation).shed();
+					continue;
+				}
+				executor.execute(() -> {
+					try {
+						send(operation, due, request, stats);
+					}
+					finally {
+						inFlight.release();
+					}
+				});
+			}
+		}
+		return new Result(Collections.unmodifiableMap(stats), Duration.ofNanos(System.nanoTime() - start));
+	}
+
+	private static void send(Operation planned, long due, Request request, Map<Operation, EndpointStats> stats) {
+		long sent = System.nanoTime();
+		Operation operation = planned;
+		int status;
+		try {
+			TasksClient.Outcome outcome = request.send(planned);
+			operation = outcome.operation();
+			status = outcome.status();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return;
+		}
+		catch (Exception e) {
+			status = 0;
+		}
+		long completed = System.nanoTime();
+		stats.get(operation).record(completed - due, completed - sent, status);
+	}
+
+	/**
+	 * Sends one request; {@link Exception}s count as a request without response.
+	 */
+	@FunctionalInterface
+	interface Request {
+
+		TasksClient.Outcome send(Operation operation) throws Exception;
+
+	}
+
+	/**
+	 * Per-endpoint statistics and the wall time of a run, including the drain of the
+	 * requests in flight at its end.
+	 */
+	record Result(Map<Operation, EndpointStats> stats, Duration elapsed) {
+	}
+
+}
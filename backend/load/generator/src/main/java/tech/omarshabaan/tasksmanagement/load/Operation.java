@@ -0,0 +1,30 @@
+package tech.omarshabaan.tasksmanagement.load;
+
+/**
+ * Request types driven against the task API; the endpoint is the histogram and report
+ * key.
+ */
+enum Operation {
+
+	CREATE("POST /api/tasks"), LIST("GET /api/tasks/me"), UPDATE("PUT /api/tasks/{uuid}"),
+	DELETE("DELETE /api/tasks/{uuid}");
+
+	private final String endpoint;
+
+	Operation(String endpoint) {
+		this.endpoint = endpoint;
+	}
+
+	String endpoint() {
+		return endpoint;
+	}
+
+	/**
+	 * Whether the request needs one of the user's existing tasks; without one it is sent
+	 * as a {@link #CREATE} instead.
+	 */
+	boolean needsTask() {
+		return this == UPDATE || this == DELETE;
+	}
+
+}
@@ -0,0 +1,182 @@
+package tech.omarshabaan.tasksmanagement.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Summary of a measured run, written to the run directory as {@code summary.txt},
+ * {@code summary.json} and one HdrHistogram percentile distribution per endpoint
+ * ({@code <operation>.hgrm} for response time, {@code <operation>.service.hgrm} for
+ * service time, in milliseconds), which the HdrHistogram plotter can overlay across runs.
+ * {@link #compare} diffs the JSON summaries of two runs.
+ */
+final class Report {
+
+	static final String ALL = "ALL";
+
+	private static final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+	private final Summary summary;
+
+	private final Map<String, Histogram[]> histograms = new LinkedHashMap<>();
+
+	Report(String label, String startedAt, Map<String, String> environment, double targetRate,
+			OpenModelRunner.Result result) {
+		double seconds = result.elapsed().toNanos() / 1e9;
+		List<EndpointSummary> endpoints = new ArrayList<>();
+		Histogram allResponse = new Histogram(3);
+		Histogram allService = new Histogram(3);
+		Map<Integer, Long> allStatuses = new TreeMap<>();
+		long allShed = 0;
+		for (Map.Entry<Operation, EndpointStats> entry : result.stats().entrySet()) {
+			EndpointStats stats = entry.getValue();
+			if (stats.count() == 0 && stats.shedCount() == 0) {
+				continue;
+			}
+			endpoints.add(summarize(entry.getKey().endpoint(), stats.responseTime(), stats.serviceTime(),
+					stats.statuses(), stats.shedCount(), seconds));
+			histograms.put(entry.getKey().name().toLowerCase(Locale.ROOT),
+					new Histogram[] { stats.responseTime(), stats.serviceTime() });
+			allResponse.add(stats.responseTime());
+			allService.add(stats.serviceTime());
+			stats.statuses().forEach((status, count) -> allStatuses.merge(status, count, Long::sum));
+			allShed += stats.shedCount();
+		}
+		endpoints.add(summarize(ALL, allResponse, allService, allStatuses, allShed, seconds));
+		histograms.put("all", new Histogram[] { allResponse, allService });
+		this.summary = new Summary(label, startedAt, environment, targetRate, endpoints);
+	}
+
+	void write(Path directory) throws IOException {
+		objectMapper.writeValue(directory.resolve("summary.json").toFile(), summary);
+		try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve("summary.txt")))) {
+			print(out);
+		}
+		for (Map.Entry<String, Histogram[]> entry : histograms.entrySet()) {
+			writeDistribution(entry.getValue()[0], directory.resolve(entry.getKey() + ".hgrm"));
+			writeDistribution(entry.getValue()[1], directory.resolve(entry.getKey() + ".service.hgrm"));
+		}
+	}
+
+	void print(PrintStream out) {
+		out.printf("%s, %s, target %.0f req/s%n", summary.label(), summary.startedAt(), summary.targetRate());
+		summary.environment().forEach((name, value) -> out.printf("  %s: %s%n", name, value));
+		out.println();
+		out.printf("%-28s %9s %7s %6s %9s %9s %9s %9s %9s %9s %11s%n", "endpoint", "requests", "errors", "shed",
+				"req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "svc p99 ms");
+		for (EndpointSummary endpoint : summary.endpoints()) {
+			Percentiles response = endpoint.responseTime();
+			out.printf(Locale.ROOT, "%-28s %9d %7d %6d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %11.2f%n",
+					endpoint.endpoint(), endpoint.requests(), endpoint.errors(), endpoint.shed(), endpoint.throughput(),
+					response.p50(), response.p90(), response.p99(), response.p999(), response.max(),
+					endpoint.serviceTime().p99());
+		}
+		out.println();
+		out.println("Response time is measured from when a request was due, service time from when it was sent.");
+	}
+
+	/**
+	 * Prints throughput, percentiles and errors of two runs side by side, for the
+	 * endpoints in both.
+	 * @param baseline a run directory or its {@code summary.json}
+	 * @param candidate a run directory or its {@code summary.json}
+	 */
+	static void compare(Path baseline, Path candidate, PrintStream out) throws IOException {
+		Summary before = read(baseline);
+		Summary after = read(candidate);
+		out.printf("baseline:  %s, %s%n", before.label(), before.startedAt());
+		out.printf("candidate: %s, %s%n%n", after.label(), after.startedAt());
+		out.printf("%-28s %-9s %12s %12s %9s%n", "endpoint", "metric", before.label(), after.label(), "change");
+		for (EndpointSummary was : before.endpoints()) {
+			EndpointSummary now = after.endpoints()
+				.stream()
+				.filter(endpoint -> endpoint.endpoint().equals(was.endpoint()))
+				.findFirst()
+				.orElse(null);
+			if (now == null) {
+				continue;
+			}
+			compareMetric(out, was, now, "req/s", EndpointSummary::throughput);
+			compareMetric(out, was, now, "p50 ms", endpoint -> endpoint.responseTime().p50());
+			compareMetric(out, was, now, "p99 ms", endpoint -> endpoint.responseTime().p99());
+			compareMetric(out, was, now, "p99.9 ms", endpoint -> endpoint.responseTime().p999());
+			compareMetric(out, was, now, "max ms", endpoint -> endpoint.responseTime().max());
+			compareMetric(out, was, now, "errors", endpoint -> endpoint.errors() + endpoint.shed());
+		}
+	}
+
+	private static void compareMetric(PrintStream out, EndpointSummary was, EndpointSummary now, String metric,
+			ToDoubleFunction<EndpointSummary> value) {
+		double before = value.applyAsDouble(was);
+		double after = value.applyAsDouble(now);
+		String change = before == 0 ? (after == 0 ? "0%" : "new")
+				: String.format(Locale.ROOT, "%+.1f%%", (after - before) / before * 100);
+		out.printf(Locale.ROOT, "%-28s %-9s %12.2f %12.2f %9s%n", was.endpoint(), metric, before, after, change);
+	}
+
+	private static Summary read(Path path) throws IOException {
+		Path file = Files.isDirectory(path) ? path.resolve("summary.json") : path;
+		return objectMapper.readValue(file.toFile(), Summary.class);
+	}
+
+	private static EndpointSummary summarize(String endpoint, Histogram response, Histogram service,
+			Map<Integer, Long> statuses, long shed, double seconds) {
+		long errors = statuses.entrySet()
+			.stream()
+			.filter(entry -> entry.getKey() < 200 || entry.getKey() >= 400)
+			.mapToLong(Map.Entry::getValue)
+			.sum();
+		return new EndpointSummary(endpoint, response.getTotalCount(), errors, shed, response.getTotalCount() / seconds,
+				statuses, Percentiles.of(response), Percentiles.of(service));
+	}
+
+	private static void writeDistribution(Histogram histogram, Path file) throws IOException {
+		try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+			// recorded in microseconds, written in milliseconds
+			histogram.outputPercentileDistribution(out, 1000.0);
+		}
+	}
+
+	/**
+	 * @param statuses response count per status; {@code 0} is a request without a
+	 * response (timeout or connection failure)
+	 */
+	record EndpointSummary(String endpoint, long requests, long errors, long shed, double throughput,
+			Map<Integer, Long> statuses, Percentiles responseTime, Percentiles serviceTime) {
+	}
+
+	/**
+	 * Latency percentiles in milliseconds.
+	 */
+	record Percentiles(double p50, double p90, double p99, double p999, double max) {
+
+		static Percentiles of(Histogram histogram) {
+			return new Percentiles(millis(histogram.getValueAtPercentile(50)),
+					millis(histogram.getValueAtPercentile(90)), millis(histogram.getValueAtPercentile(99)),
+					millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+		}
+
+		private static double millis(long micros) {
+			return micros / 1000.0;
+		}
+
+	}
+
+	record Summary(String label, String startedAt, Map<String, String> environment, double targetRate,
+			List<EndpointSummary> endpoints) {
+	}
+
+}
@@ -0,0 +1,18 @@
+package tech.omarshabaan.tasksmanagement.load;
+
+import java.util.Deque;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * A signed-up user and the tasks it currently owns. A task is taken out of {@link #tasks}
+ * while an update or delete is in flight, so two concurrent requests never target the
+ * same task and a delete never races an update into a 404.
+ */
+record SyntheticUser(String email, String accessToken, Deque<UUID> tasks) {
+
+	SyntheticUser(String email, String accessToken) {
+		this(email, accessToken, new ConcurrentLinkedDeque<>());
+	}
+
+}
@@ -0,0 +1,169 @@
+package tech.omarshabaan.tasksmanagement.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Issues the task API requests of a run over one shared {@link HttpClient}.
+ */
+final class TasksClient {
+
+	private static final String[] PRIORITIES = { "LOW", "MEDIUM", "HIGH", "URGENT" };
+
+	private static final int SETUP_ATTEMPTS = 50;
+
+	private static final String[] STATUSES = { "PENDING", "IN_PROGRESS", "COMPLETED" };
+
+	private final HttpClient http;
+
+	private final URI baseUrl;
+
+	private final Duration requestTimeout;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	TasksClient(URI baseUrl, Duration requestTimeout) {
+		this.http = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(requestTimeout)
+			.executor(Executors.newVirtualThreadPerTaskExecutor())
+			.build();
+		this.baseUrl = baseUrl;
+		this.requestTimeout = requestTimeout;
+	}
+
+	/**
+	 * Signs up a new user and signs it in.
+	 */
+	SyntheticUser signUp(String username, String password) throws IOException, InterruptedException {
+		String email = username + "@load.example.com";
+		HttpResponse<byte[]> signup = sendWithRetry(request("/api/auth/signup", null).POST(
+				body(Map.of("username", username, "email", email, "password", password, "confirmPassword", password))));
+		expect(signup, 201, "signup of " + username);
+		HttpResponse<byte[]> signin = sendWithRetry(
+				request("/api/auth/signin", null).POST(body(Map.of("email", email, "password", password))));
+		expect(signin, 200, "signin of " + username);
+		return new SyntheticUser(email, objectMapper.readTree(signin.body()).get("accessToken").asText());
+	}
+
+	/**
+	 * Sends one request of the given operation for the user.
+	 * @return the operation actually sent, which is a {@link Operation#CREATE} when the
+	 * user has no task to update or delete, and the response status
+	 */
+	Outcome execute(Operation operation, SyntheticUser user) throws IOException, InterruptedException {
+		UUID task = operation.needsTask() ? user.tasks().pollFirst() : null;
+		if (operation.needsTask() && task == null) {
+			operation = Operation.CREATE;
+		}
+		return switch (operation) {
+			case CREATE -> create(user);
+			case LIST -> new Outcome(operation, send(request("/api/tasks/me?page=0&size=20", user).GET()).statusCode());
+			case UPDATE -> {
+				try {
+					yield new Outcome(operation,
+							send(request("/api/tasks/" + task, user)
+								.PUT(body(Map.of("status", random(STATUSES), "priority", random(PRIORITIES)))))
+								.statusCode());
+				}
+				finally {
+					// back at the tail, so updates rotate over the user's tasks
+					user.tasks().addLast(task);
+				}
+			}
+			case DELETE -> {
+				int status = 0;
+				try {
+					status = send(request("/api/tasks/" + task, user).DELETE()).statusCode();
+					yield new Outcome(operation, status);
+				}
+				finally {
+					if (status != 204) {
+						user.tasks().addLast(task);
+					}
+				}
+			}
+		};
+	}
+
+	private Outcome create(SyntheticUser user) throws IOException, InterruptedException {
+		HttpResponse<byte[]> response = send(
+				request("/api/tasks", user).POST(body(Map.of("title", "Load task " + UUID.randomUUID(), "description",
+						"created by the load generator", "priority", random(PRIORITIES)))));
+		if (response.statusCode() == 201) {
+			JsonNode task = objectMapper.readTree(response.body());
+			user.tasks().addLast(UUID.fromString(task.get("uuid").asText()));
+		}
+		return new Outcome(Operation.CREATE, response.statusCode());
+	}
+
+	private HttpRequest.Builder request(String path, SyntheticUser user) {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(baseUrl.resolve(path))
+			.timeout(requestTimeout)
+			.header("Content-Type", "application/json")
+			.header("Accept", "application/json");
+		if (user != null) {
+			builder.header("Authorization", "Bearer " + user.accessToken());
+		}
+		return builder;
+	}
+
+	private HttpRequest.BodyPublisher body(Map<String, String> fields) throws IOException {
+		return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(fields));
+	}
+
+	private HttpResponse<byte[]> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+		return http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+	}
+
+	/**
+	 * Sends a setup request again while the backend sheds it: signup and signin hash a
+	 * password and are bounded to a few concurrent requests, so signing up many users at
+	 * once gets 503s (and 429s when rate limited).
+	 */
+	private HttpResponse<byte[]> sendWithRetry(HttpRequest.Builder request) throws IOException, InterruptedException {
+		for (int attempt = 1;; attempt++) {
+			HttpResponse<byte[]> response = send(request);
+			if ((response.statusCode() != 503 && response.statusCode() != 429) || attempt == SETUP_ATTEMPTS) {
+				return response;
+			}
+			long retryAfter = response.headers()
+				.firstValueAsLong("Retry-After")
+				.stream()
+				.map(seconds -> seconds * 1000)
+				.findFirst()
+				.orElse(100L * attempt);
+			Thread.sleep(Math.min(retryAfter, 10_000) + ThreadLocalRandom.current().nextInt(100));
+		}
+	}
+
+	private static void expect(HttpResponse<byte[]> response, int status, String what) {
+		if (response.statusCode() != status) {
+			throw new IllegalStateException(what + " returned " + response.statusCode() + ": "
+					+ new String(response.body(), StandardCharsets.UTF_8));
+		}
+	}
+
+	private static String random(String[] values) {
+		return values[ThreadLocalRandom.current().nextInt(values.length)];
+	}
+
+	/**
+	 * The operation a request was sent as and its response status.
+	 */
+	record Outcome(Operation operation, int status) {
+	}
+
+}
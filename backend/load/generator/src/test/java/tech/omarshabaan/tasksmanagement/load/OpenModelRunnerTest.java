@@ -0,0 +1,48 @@
+package tech.omarshabaan.tasksmanagement.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OpenModelRunnerTest {
+
+	@Test
+	void shouldIssueRequestsOnSchedule_WhenResponsesAreSlowerThanTheInterval() {
+		// Given
+		OpenModelRunner runner = new OpenModelRunner(200, 1000);
+
+		// When
+		OpenModelRunner.Result result = runner.run(Duration.ofMillis(500), () -> Operation.LIST, operation -> {
+			Thread.sleep(20);
+			return new TasksClient.Outcome(operation, 200);
+		});
+
+		// Then
+		EndpointStats list = result.stats().get(Operation.LIST);
+		assertThat(list.count()).isEqualTo(100);
+		assertThat(list.shedCount()).isZero();
+		assertThat(list.statuses()).containsEntry(200, 100L);
+		assertThat(list.serviceTime().getValueAtPercentile(50)).isGreaterThanOrEqualTo(20_000);
+	}
+
+	@Test
+	void shouldShedRequests_AndChargeOutcomeToOperationSent_WhenTooManyAreInFlight() {
+		// Given
+		OpenModelRunner runner = new OpenModelRunner(200, 1);
+
+		// When
+		OpenModelRunner.Result result = runner.run(Duration.ofMillis(100), () -> Operation.DELETE, operation -> {
+			Thread.sleep(200);
+			return new TasksClient.Outcome(Operation.CREATE, 201);
+		});
+
+		// Then
+		assertThat(result.stats().get(Operation.CREATE).count()).isEqualTo(1);
+		assertThat(result.stats().get(Operation.CREATE).responseTime().getMaxValue()).isGreaterThanOrEqualTo(190_000);
+		assertThat(result.stats().get(Operation.DELETE).count()).isZero();
+		assertThat(result.stats().get(Operation.DELETE).shedCount()).isEqualTo(19);
+	}
+
+}
@@ -0,0 +1,62 @@
+#!/usr/bin/env bash
+# Compares startup of the backend image with and without its AOT cache (see Dockerfile).
+#
+#   docker build -t tasks-backend backend
+#   backend/load/startup-comparison.sh tasks-backend
+#
+# Starts Postgres on a private network, then runs the image RUNS times with the cache
+# disabled (JDK_JAVA_OPTIONS=-XX:AOTMode=off) and RUNS times as shipped, one container at a
+# time. For each run it prints the startup time Spring reports, the time from `docker run`
+# to the first HTTP response on the API port and to a passing /actuator/health, and the
+# latency of the first sign-in, which shows how cold the request path still is.
+set -euo pipefail
+
+IMAGE="${1:?usage: $0 <image>}"
+RUNS="${RUNS:-5}"
+POSTGRES_IMAGE="${POSTGRES_IMAGE:-postgres:17.5-alpine}"
+NETWORK="startup-comparison-$$"
+
+command -v docker >/dev/null || { echo "docker is required" >&2; exit 1; }
+
+millis() { date +%s%3N; }
+
+cleanup() {
+  docker rm -f "$NETWORK-app" "$NETWORK-db" >/dev/null 2>&1 || true
+  docker network rm "$NETWORK" >/dev/null 2>&1 || true
+}
+trap cleanup EXIT
+
+docker network create "$NETWORK" >/dev/null
+docker run -d --name "$NETWORK-db" --network "$NETWORK" \
+  -e POSTGRES_DB=tasks_management -e POSTGRES_PASSWORD=postgres "$POSTGRES_IMAGE" >/dev/null
+until docker exec "$NETWORK-db" pg_isready -U postgres -d tasks_management >/dev/null 2>&1; do sleep 0.5; done
+
+printf '%-8s %4s %10s %15s %11s %15s\n' cache run started first-response healthy first-signin
+for mode in off on; do
+  java_options=""
+  [ "$mode" = off ] && java_options="-XX:AOTMode=off"
+  for run in $(seq 1 "$RUNS"); do
+    start=$(millis)
+    docker run -d --name "$NETWORK-app" --network "$NETWORK" -p 127.0.0.1::8080 -p 127.0.0.1::8081 \
+      -e JDK_JAVA_OPTIONS="$java_options" \
+      -e DB_HOST="$NETWORK-db" -e DB_PORT=5432 -e DB_NAME=tasks_management \
+      -e DATABASE_USERNAME=postgres -e DATABASE_PASSWORD=postgres "$IMAGE" >/dev/null
+    api="http://$(docker port "$NETWORK-app" 8080 | head -1)"
+    management="http://$(docker port "$NETWORK-app" 8081 | head -1)"
+
+    # any status counts; without a token the API answers 401
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' "$api/api/tasks/me")" != 000 ]; do sleep 0.05; done
+    first_response=$(( $(millis) - start ))
+    until curl -fs -o /dev/null "$management/actuator/health"; do sleep 0.05; done
+    healthy=$(( $(millis) - start ))
+    first_signin=$(curl -s -o /dev/null -w '%{time_total}' -H 'Content-Type: application/json' \
+      -d '{"email":"nobody@example.com","password":"N0t!TheP4ssword"}' "$api/api/auth/signin")
+    started=$(docker logs "$NETWORK-app" 2>&1 | grep -o 'Started BackendApplication in [0-9.]*' | grep -o '[0-9.]*$' || echo '?')
+
+    printf '%-8s %4s %9ss %13sms %9sms %14ss\n' "$mode" "$run" "$started" "$first_response" "$healthy" "$first_signin"
+    docker rm -f "$NETWORK-app" >/dev/null
+    # a fresh schema each run, so Flyway does the same work every time
+    docker exec "$NETWORK-db" psql -q -U postgres -d tasks_management \
+      -c 'DROP SCHEMA public CASCADE; CREATE SCHEMA public;' >/dev/null
+  done
+done
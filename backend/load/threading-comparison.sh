@@ -0,0 +1,51 @@
+#!/usr/bin/env bash
+# Compares throughput and tail latency of the backend in platform-thread and virtual-thread mode.
+#
+# Start the backend in one mode, run this script, restart it in the other mode and run it again:
+#
+#   VIRTUAL_THREADS_ENABLED=false ./mvnw spring-boot:run   # then: load/threading-comparison.sh platform
+#   VIRTUAL_THREADS_ENABLED=true  ./mvnw spring-boot:run   # then: load/threading-comparison.sh virtual
+#
+# Each run signs up a fresh user, seeds tasks and drives GET /api/tasks/me with `hey`
+# (https://github.com/rakyll/hey) at every concurrency level in CONCURRENCY. Concurrency above
+# the Tomcat pool (200) is where the modes differ; watch db.gate.* and virtual_threads.pinned
+# on the backend while it runs. Results go to load/results/<label>-<concurrency>.txt and a
+# summary line per level is printed.
+set -euo pipefail
+
+LABEL="${1:?usage: $0 <label>}"
+BASE_URL="${BASE_URL:-http://localhost:8080}"
+DURATION="${DURATION:-30s}"
+CONCURRENCY="${CONCURRENCY:-50 200 800 2000}"
+TASKS="${TASKS:-50}"
+RESULTS_DIR="$(dirname "$0")/results"
+
+command -v hey >/dev/null || { echo "hey is required: go install github.com/rakyll/hey@latest" >&2; exit 1; }
+mkdir -p "$RESULTS_DIR"
+
+user="load$(date +%s)$RANDOM"
+password='L0ad!Passw0rd'
+curl -fsS -o /dev/null -H 'Content-Type: application/json' "$BASE_URL/api/auth/signup" \
+  -d "{\"username\":\"$user\",\"email\":\"$user@example.com\",\"password\":\"$password\",\"confirmPassword\":\"$password\"}"
+token=$(curl -fsS -H 'Content-Type: application/json' "$BASE_URL/api/auth/signin" \
+  -d "{\"email\":\"$user@example.com\",\"password\":\"$password\"}" | sed -E 's/.*"accessToken":"([^"]+)".*/\1/')
+
+for i in $(seq 1 "$TASKS"); do
+  curl -fsS -o /dev/null -H 'Content-Type: application/json' -H "Authorization: Bearer $token" "$BASE_URL/api/tasks" \
+    -d "{\"title\":\"Load task $i\",\"description\":\"seeded by threading-comparison.sh\",\"priority\":\"MEDIUM\"}"
+done
+
+# warm up JIT and the connection pool before measuring
+hey -z 10s -c 50 -H "Authorization: Bearer $token" "$BASE_URL/api/tasks/me?size=20" >/dev/null
+
+printf '%-10s %6s %10s %9s %9s %9s %8s\n' mode conc req/s p50 p95 p99 non2xx
+for c in $CONCURRENCY; do
+  out="$RESULTS_DIR/$LABEL-$c.txt"
+  hey -z "$DURATION" -c "$c" -H "Authorization: Bearer $token" "$BASE_URL/api/tasks/me?size=20" > "$out"
+  rps=$(awk '/Requests\/sec/ {print $2}' "$out")
+  p50=$(awk '/ 50% in/ {print $3}' "$out")
+  p95=$(awk '/ 95% in/ {print $3}' "$out")
+  p99=$(awk '/ 99% in/ {print $3}' "$out")
+  errors=$(awk '/\[[0-9]+\]/ && $1 !~ /\[2/ {sum += $2} END {print sum + 0}' "$out")
+  printf '%-10s %6s %10s %8ss %8ss %8ss %8s\n' "$LABEL" "$c" "$rps" "$p50" "$p95" "$p99" "$errors"
+done
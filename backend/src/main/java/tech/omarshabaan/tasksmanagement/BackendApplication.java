@@ -2,25 +2,52 @@ package tech.omarshabaan.tasksmanagement;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.data.web.config.EnableSpringDataWebSupport;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import tech.omarshabaan.tasksmanagement.config.AnalyticsProperties;
+import tech.omarshabaan.tasksmanagement.config.AuthRateLimitProperties;
+import tech.omarshabaan.tasksmanagement.config.BreachedPasswordProperties;
 import tech.omarshabaan.tasksmanagement.config.CorsProperties;
+import tech.omarshabaan.tasksmanagement.config.DatabaseGateProperties;
+import tech.omarshabaan.tasksmanagement.config.IdempotencyProperties;
+import tech.omarshabaan.tasksmanagement.config.JobProperties;
 import tech.omarshabaan.tasksmanagement.config.JwtProperties;
+import tech.omarshabaan.tasksmanagement.config.PasswordHashingProperties;
+import tech.omarshabaan.tasksmanagement.config.PinningMonitorProperties;
 import tech.omarshabaan.tasksmanagement.config.RefreshTokenProperties;
+import tech.omarshabaan.tasksmanagement.config.ReminderProperties;
 import tech.omarshabaan.tasksmanagement.config.RsaKeyProperties;
+import tech.omarshabaan.tasksmanagement.config.StartupProperties;
+import tech.omarshabaan.tasksmanagement.config.StatementAccountingProperties;
+import tech.omarshabaan.tasksmanagement.config.TaskImportProperties;
+import tech.omarshabaan.tasksmanagement.config.TracingProperties;
+import tech.omarshabaan.tasksmanagement.config.TrainingRunProperties;
+import tech.omarshabaan.tasksmanagement.config.UniquenessFilterProperties;
+import tech.omarshabaan.tasksmanagement.config.VerboseLoggingProperties;
+import tech.omarshabaan.tasksmanagement.config.WebhookProperties;
 
 import static org.springframework.data.web.config.EnableSpringDataWebSupport.PageSerializationMode.VIA_DTO;
 
 @SpringBootApplication
 @EnableScheduling
 @EnableConfigurationProperties({ RsaKeyProperties.class, RefreshTokenProperties.class, CorsProperties.class,
-		JwtProperties.class })
+		JwtProperties.class, JobProperties.class, PasswordHashingProperties.class, UniquenessFilterProperties.class,
+		BreachedPasswordProperties.class, DatabaseGateProperties.class, PinningMonitorProperties.class,
+		TracingProperties.class, VerboseLoggingProperties.class, StatementAccountingProperties.class,
+		TrainingRunProperties.class, StartupProperties.class, AuthRateLimitProperties.class, AnalyticsProperties.class,
+		ReminderProperties.class, WebhookProperties.class, IdempotencyProperties.class, TaskImportProperties.class })
 @EnableSpringDataWebSupport(pageSerializationMode = VIA_DTO)
 public class BackendApplication {
 
+	// startup steps kept for /actuator/startup; a few per bean, later ones are dropped
+	private static final int STARTUP_STEPS = 10_000;
+
 	public static void main(String[] args) {
-		SpringApplication.run(BackendApplication.class, args);
+		SpringApplication application = new SpringApplication(BackendApplication.class);
+		application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS));
+		application.run(args);
 	}
 
 }
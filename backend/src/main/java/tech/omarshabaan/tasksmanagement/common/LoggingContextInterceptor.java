@@ -10,8 +10,11 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.servlet.HandlerInterceptor;
 import tech.omarshabaan.tasksmanagement.security.CustomUserDetails;
 
-import java.util.UUID;
-
+/**
+ * Adds the {@code userId} of the authenticated principal to the MDC. {@code traceId} and
+ * {@code spanId} are put there by the tracer for the current span; the trace id is taken
+ * from an incoming W3C {@code traceparent} header or generated when there is none.
+ */
 public class LoggingContextInterceptor implements HandlerInterceptor {
 
 	private final Logger logger = LoggerFactory.getLogger(LoggingContextInterceptor.class);
@@ -22,7 +25,6 @@ public class LoggingContextInterceptor implements HandlerInterceptor {
 		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 		String userId = getUserIdFromPrincipal(authentication.getPrincipal());
 		MDC.put("userId", userId);
-		MDC.put("traceId", UUID.randomUUID().toString());
 		return true;
 	}
 
@@ -52,7 +54,9 @@ public class LoggingContextInterceptor implements HandlerInterceptor {
 	@Override
 	public void afterCompletion(final HttpServletRequest request, final HttpServletResponse response,
 			final Object handler, final Exception ex) {
-		MDC.clear();
+		// traceId and spanId belong to the tracer, which restores them when the span
+		// scope closes
+		MDC.remove("userId");
 	}
 
 }
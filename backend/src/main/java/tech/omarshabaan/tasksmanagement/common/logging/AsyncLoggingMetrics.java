@@ -0,0 +1,62 @@
+package tech.omarshabaan.tasksmanagement.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Publishes the queue depth and drop counts of every {@link DroppingAsyncAppender} in the
+ * Logback configuration: {@code logging.async.queue.depth} and
+ * {@code logging.async.dropped{level}}.
+ */
+@Component
+public class AsyncLoggingMetrics implements MeterBinder {
+
+	private static final Level[] DISCARDABLE_LEVELS = { Level.TRACE, Level.DEBUG, Level.INFO };
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		for (DroppingAsyncAppender appender : asyncAppenders()) {
+			Gauge.builder("logging.async.queue.depth", appender, DroppingAsyncAppender::getNumberOfElementsInQueue)
+				.description("Log events waiting to be written")
+				.tag("appender", appender.getName())
+				.register(registry);
+			for (Level level : DISCARDABLE_LEVELS) {
+				FunctionCounter.builder("logging.async.dropped", appender, dropping -> dropping.droppedCount(level))
+					.description("Log events dropped because the async queue was nearly full")
+					.tag("appender", appender.getName())
+					.tag("level", level.levelStr.toLowerCase())
+					.register(registry);
+			}
+		}
+	}
+
+	private static Set<DroppingAsyncAppender> asyncAppenders() {
+		Set<DroppingAsyncAppender> appenders = new LinkedHashSet<>();
+		if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+			return appenders;
+		}
+		for (Logger logger : context.getLoggerList()) {
+			Iterator<Appender<ILoggingEvent>> iterator = logger.iteratorForAppenders();
+			while (iterator.hasNext()) {
+				if (iterator.next() instanceof DroppingAsyncAppender appender) {
+					appenders.add(appender);
+				}
+			}
+		}
+		return appenders;
+	}
+
+}
@@ -0,0 +1,50 @@
+package tech.omarshabaan.tasksmanagement.common.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link AsyncAppender} that counts what it drops. The calling thread only puts the event
+ * on a bounded queue; a worker thread encodes and writes it. Once fewer than
+ * {@code discardingThreshold} slots are free (a fifth of the queue by default), TRACE,
+ * DEBUG and INFO events are dropped and counted here, while WARN and ERROR still wait for
+ * a slot so they are never lost. {@link AsyncLoggingMetrics} publishes the counts.
+ */
+public class DroppingAsyncAppender extends AsyncAppender {
+
+	private final LongAdder droppedTrace = new LongAdder();
+
+	private final LongAdder droppedDebug = new LongAdder();
+
+	private final LongAdder droppedInfo = new LongAdder();
+
+	/**
+	 * Only called while the queue is below the discarding threshold, so every event it
+	 * accepts is dropped.
+	 */
+	@Override
+	protected boolean isDiscardable(ILoggingEvent event) {
+		if (!super.isDiscardable(event)) {
+			return false;
+		}
+		switch (event.getLevel().toInt()) {
+			case Level.TRACE_INT -> droppedTrace.increment();
+			case Level.DEBUG_INT -> droppedDebug.increment();
+			default -> droppedInfo.increment();
+		}
+		return true;
+	}
+
+	public long droppedCount(Level level) {
+		return switch (level.toInt()) {
+			case Level.TRACE_INT -> droppedTrace.sum();
+			case Level.DEBUG_INT -> droppedDebug.sum();
+			case Level.INFO_INT -> droppedInfo.sum();
+			default -> 0;
+		};
+	}
+
+}
@@ -0,0 +1,197 @@
+package tech.omarshabaan.tasksmanagement.common.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.encoder.EncoderBase;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes each event as one line of JSON, in the shape CloudWatch Logs Insights queries
+ * expect: {@code timestamp}, {@code level}, {@code thread}, {@code logger},
+ * {@code message}, {@code mdc} and, for errors, {@code stackTrace}.
+ * <p>
+ * Events are encoded straight to UTF-8 into a byte buffer that is reused across events,
+ * so the only allocation per event is the array handed to the appender. Behind
+ * {@link DroppingAsyncAppender} a single worker thread encodes; the lock only matters
+ * when the encoder is used by a synchronous appender.
+ */
+public class JsonLogEncoder extends EncoderBase<ILoggingEvent> {
+
+	private static final int INITIAL_CAPACITY = 1024;
+
+	// a buffer grown by an unusually large event is dropped rather than kept
+	private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+	private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private byte[] buffer = new byte[INITIAL_CAPACITY];
+
+	private int length;
+
+	@Override
+	public byte[] headerBytes() {
+		return null;
+	}
+
+	@Override
+	public byte[] encode(ILoggingEvent event) {
+		lock.lock();
+		try {
+			length = 0;
+			ascii("{\"timestamp\":");
+			number(event.getTimeStamp());
+			field("level", event.getLevel().levelStr);
+			field("thread", event.getThreadName());
+			field("logger", event.getLoggerName());
+			field("message", event.getFormattedMessage());
+			Map<String, String> mdc = event.getMDCPropertyMap();
+			if (mdc != null && !mdc.isEmpty()) {
+				ascii(",\"mdc\":{");
+				boolean first = true;
+				for (Map.Entry<String, String> entry : mdc.entrySet()) {
+					if (!first) {
+						write((byte) ',');
+					}
+					first = false;
+					string(entry.getKey());
+					write((byte) ':');
+					string(entry.getValue());
+				}
+				write((byte) '}');
+			}
+			IThrowableProxy throwable = event.getThrowableProxy();
+			if (throwable != null) {
+				field("stackTrace", ThrowableProxyUtil.asString(throwable));
+			}
+			ascii("}\n");
+
+			byte[] line = Arrays.copyOf(buffer, length);
+			if (buffer.length > MAX_RETAINED_CAPACITY) {
+				buffer = new byte[INITIAL_CAPACITY];
+			}
+			return line;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public byte[] footerBytes() {
+		return null;
+	}
+
+	private void field(String name, String value) {
+		write((byte) ',');
+		string(name);
+		write((byte) ':');
+		string(value);
+	}
+
+	/**
+	 * Appends a quoted JSON string, escaping quotes, backslashes and control characters
+	 * and encoding everything else as UTF-8. An unpaired surrogate becomes {@code ?}.
+	 */
+	private void string(String value) {
+		if (value == null) {
+			ascii("null");
+			return;
+		}
+		ensureCapacity(value.length() + 2);
+		write((byte) '"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c < 0x80) {
+				switch (c) {
+					case '"' -> escape('"');
+					case '\\' -> escape('\\');
+					case '\n' -> escape('n');
+					case '\r' -> escape('r');
+					case '\t' -> escape('t');
+					default -> {
+						if (c < 0x20) {
+							ascii("\\u00");
+							write(HEX[c >> 4]);
+							write(HEX[c & 0xF]);
+						}
+						else {
+							write((byte) c);
+						}
+					}
+				}
+			}
+			else if (c < 0x800) {
+				write((byte) (0xC0 | c >> 6));
+				write((byte) (0x80 | c & 0x3F));
+			}
+			else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+					&& Character.isLowSurrogate(value.charAt(i + 1))) {
+				int codePoint = Character.toCodePoint(c, value.charAt(++i));
+				write((byte) (0xF0 | codePoint >> 18));
+				write((byte) (0x80 | codePoint >> 12 & 0x3F));
+				write((byte) (0x80 | codePoint >> 6 & 0x3F));
+				write((byte) (0x80 | codePoint & 0x3F));
+			}
+			else if (Character.isSurrogate(c)) {
+				write((byte) '?');
+			}
+			else {
+				write((byte) (0xE0 | c >> 12));
+				write((byte) (0x80 | c >> 6 & 0x3F));
+				write((byte) (0x80 | c & 0x3F));
+			}
+		}
+		write((byte) '"');
+	}
+
+	private void escape(char c) {
+		write((byte) '\\');
+		write((byte) c);
+	}
+
+	private void number(long value) {
+		if (value < 0) {
+			write((byte) '-');
+			value = -value;
+		}
+		ensureCapacity(20);
+		int start = length;
+		do {
+			buffer[length++] = (byte) ('0' + value % 10);
+			value /= 10;
+		}
+		while (value != 0);
+		// digits were written least significant first
+		for (int left = start, right = length - 1; left < right; left++, right--) {
+			byte digit = buffer[left];
+			buffer[left] = buffer[right];
+			buffer[right] = digit;
+		}
+	}
+
+	private void ascii(String value) {
+		ensureCapacity(value.length());
+		for (int i = 0; i < value.length(); i++) {
+			buffer[length++] = (byte) value.charAt(i);
+		}
+	}
+
+	private void write(byte b) {
+		ensureCapacity(1);
+		buffer[length++] = b;
+	}
+
+	private void ensureCapacity(int additional) {
+		if (length + additional > buffer.length) {
+			buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + additional));
+		}
+	}
+
+}
@@ -0,0 +1,117 @@
+package tech.omarshabaan.tasksmanagement.common.logging;
+
+import ch.qos.logback.classic.Level;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides which requests log verbosely and holds the settings that can change at runtime.
+ * A request is verbose when {@link VerboseLoggingFilter} marks it, by header token or by
+ * sampling, or once {@code LoggingContextInterceptor} has put one of the configured user
+ * ids in the MDC; {@link VerboseRequestTurboFilter} then lets events of the configured
+ * loggers through down to {@link #level()}.
+ */
+public class VerboseLogging {
+
+	public static final String HEADER = "X-Verbose-Logging";
+
+	/** MDC key set for a marked request; the value is the reason. */
+	public static final String MDC_KEY = "verbose";
+
+	private final Level level;
+
+	private final List<String> loggers;
+
+	private final byte[] headerToken;
+
+	private final double initialSamplingRatio;
+
+	private final Set<String> initialUserIds;
+
+	private volatile double samplingRatio;
+
+	private volatile Set<String> userIds;
+
+	public VerboseLogging(Level level, List<String> loggers, String headerToken, double samplingRatio,
+			Set<String> userIds) {
+		this.level = level;
+		this.loggers = List.copyOf(loggers);
+		this.headerToken = headerToken == null || headerToken.isBlank() ? null
+				: headerToken.getBytes(StandardCharsets.UTF_8);
+		this.initialSamplingRatio = samplingRatio;
+		this.initialUserIds = Set.copyOf(userIds);
+		update(samplingRatio, userIds);
+	}
+
+	/**
+	 * Returns why the request should log verbosely, or {@code null} when it should not.
+	 */
+	String reason(HttpServletRequest request) {
+		String header = request.getHeader(HEADER);
+		if (header != null && headerToken != null
+				&& MessageDigest.isEqual(headerToken, header.getBytes(StandardCharsets.UTF_8))) {
+			return "header";
+		}
+		double ratio = samplingRatio;
+		if (ratio > 0 && ThreadLocalRandom.current().nextDouble() < ratio) {
+			return "sampled";
+		}
+		return null;
+	}
+
+	boolean isVerboseUser(String userId) {
+		Set<String> ids = userIds;
+		return !ids.isEmpty() && userId != null && ids.contains(userId);
+	}
+
+	boolean isVerboseLogger(String loggerName) {
+		for (String prefix : loggers) {
+			if (loggerName.startsWith(prefix)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public void update(Double samplingRatio, Set<String> userIds) {
+		if (samplingRatio != null) {
+			if (samplingRatio < 0 || samplingRatio > 1) {
+				throw new IllegalArgumentException("samplingRatio must be between 0 and 1");
+			}
+			this.samplingRatio = samplingRatio;
+		}
+		if (userIds != null) {
+			this.userIds = Set.copyOf(userIds);
+		}
+	}
+
+	public void reset() {
+		update(initialSamplingRatio, initialUserIds);
+	}
+
+	public Level level() {
+		return level;
+	}
+
+	public List<String> loggers() {
+		return loggers;
+	}
+
+	public double samplingRatio() {
+		return samplingRatio;
+	}
+
+	public Set<String> userIds() {
+		return userIds;
+	}
+
+	public boolean headerEnabled() {
+		return headerToken != null;
+	}
+
+}
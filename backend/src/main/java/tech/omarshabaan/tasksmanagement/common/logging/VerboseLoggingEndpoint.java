@@ -0,0 +1,50 @@
+package tech.omarshabaan.tasksmanagement.common.logging;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@code /actuator/verboselogging} on the management port: {@code GET} shows the
+ * settings, {@code POST} with {@code samplingRatio} and/or {@code userIds} changes them
+ * and {@code DELETE} restores the configured ones. Changes are local to this node and
+ * last until restart.
+ */
+@Endpoint(id = "verboselogging")
+public class VerboseLoggingEndpoint {
+
+	private final VerboseLogging verboseLogging;
+
+	public VerboseLoggingEndpoint(VerboseLogging verboseLogging) {
+		this.verboseLogging = verboseLogging;
+	}
+
+	@ReadOperation
+	public Settings settings() {
+		return new Settings(verboseLogging.level().levelStr, verboseLogging.loggers(), verboseLogging.samplingRatio(),
+				verboseLogging.userIds(), verboseLogging.headerEnabled());
+	}
+
+	@WriteOperation
+	public Settings update(@Nullable Double samplingRatio, @Nullable List<String> userIds) {
+		verboseLogging.update(samplingRatio, userIds == null ? null : new HashSet<>(userIds));
+		return settings();
+	}
+
+	@DeleteOperation
+	public Settings reset() {
+		verboseLogging.reset();
+		return settings();
+	}
+
+	public record Settings(String level, List<String> loggers, double samplingRatio, Set<String> userIds,
+			boolean headerEnabled) {
+	}
+
+}
@@ -0,0 +1,41 @@
+package tech.omarshabaan.tasksmanagement.common.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Marks a request as verbose in the MDC for its whole duration. Registered ahead of the
+ * security filter chain, so authentication and authorization logging is included.
+ */
+public class VerboseLoggingFilter extends OncePerRequestFilter {
+
+	private final VerboseLogging verboseLogging;
+
+	public VerboseLoggingFilter(VerboseLogging verboseLogging) {
+		this.verboseLogging = verboseLogging;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		String reason = verboseLogging.reason(request);
+		if (reason == null) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+		MDC.put(VerboseLogging.MDC_KEY, reason);
+		try {
+			filterChain.doFilter(request, response);
+		}
+		finally {
+			MDC.remove(VerboseLogging.MDC_KEY);
+		}
+	}
+
+}
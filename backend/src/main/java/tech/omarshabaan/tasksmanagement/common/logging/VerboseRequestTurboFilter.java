@@ -0,0 +1,37 @@
+package tech.omarshabaan.tasksmanagement.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Accepts events below a logger's configured level when the current request is verbose
+ * (see {@link VerboseLogging}). Turbo filters run before the level check of every logging
+ * call, so an enabled event or a request that is not verbose returns after a level
+ * comparison and at most two MDC lookups.
+ */
+public class VerboseRequestTurboFilter extends TurboFilter {
+
+	private final VerboseLogging verboseLogging;
+
+	public VerboseRequestTurboFilter(VerboseLogging verboseLogging) {
+		this.verboseLogging = verboseLogging;
+		setName("verbose-request");
+	}
+
+	@Override
+	public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+		if (level == null || level.isGreaterOrEqual(logger.getEffectiveLevel())
+				|| !level.isGreaterOrEqual(verboseLogging.level())) {
+			return FilterReply.NEUTRAL;
+		}
+		if (MDC.get(VerboseLogging.MDC_KEY) == null && !verboseLogging.isVerboseUser(MDC.get("userId"))) {
+			return FilterReply.NEUTRAL;
+		}
+		return verboseLogging.isVerboseLogger(logger.getName()) ? FilterReply.ACCEPT : FilterReply.NEUTRAL;
+	}
+
+}
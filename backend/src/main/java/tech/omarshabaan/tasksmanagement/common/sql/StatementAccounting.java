@@ -0,0 +1,106 @@
+package tech.omarshabaan.tasksmanagement.common.sql;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Counts the JDBC statements the current thread executes, and the time spent in them,
+ * between {@link #begin()} and {@link Scope#close()}. {@link StatementAccountingFilter}
+ * opens a scope per request; tests open their own around the requests they measure.
+ * Scopes nest, and a statement counts in every open scope of its thread. Statements run
+ * on other threads, such as password hashing workers or jobs, are not attributed to the
+ * request.
+ */
+public final class StatementAccounting {
+
+	private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+	private StatementAccounting() {
+	}
+
+	public static Scope begin() {
+		Scope scope = new Scope(CURRENT.get());
+		CURRENT.set(scope);
+		return scope;
+	}
+
+	static Scope current() {
+		return CURRENT.get();
+	}
+
+	public static final class Scope implements AutoCloseable {
+
+		private final Scope parent;
+
+		private final Map<String, Integer> executions = new HashMap<>();
+
+		private int statements;
+
+		private long nanos;
+
+		private long statementStartedAt;
+
+		private boolean closed;
+
+		private Scope(Scope parent) {
+			this.parent = parent;
+		}
+
+		void statementStarted() {
+			statementStartedAt = System.nanoTime();
+		}
+
+		void statementFinished(String sql) {
+			long elapsed = System.nanoTime() - statementStartedAt;
+			for (Scope scope = this; scope != null; scope = scope.parent) {
+				scope.statements++;
+				scope.nanos += elapsed;
+				scope.executions.merge(sql, 1, Integer::sum);
+			}
+		}
+
+		public int statements() {
+			return statements;
+		}
+
+		public Duration time() {
+			return Duration.ofNanos(nanos);
+		}
+
+		public int executions(String sql) {
+			return executions.getOrDefault(sql, 0);
+		}
+
+		/**
+		 * Statements executed more than {@code threshold} times with the same SQL, most
+		 * repeated first: the signature of an N+1 select.
+		 */
+		public Map<String, Integer> repeatedStatements(int threshold) {
+			Map<String, Integer> repeated = new LinkedHashMap<>();
+			executions.entrySet()
+				.stream()
+				.filter(entry -> entry.getValue() > threshold)
+				.sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+				.forEach(entry -> repeated.put(entry.getKey(), entry.getValue()));
+			return repeated;
+		}
+
+		@Override
+		public void close() {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			if (parent != null) {
+				CURRENT.set(parent);
+			}
+			else {
+				CURRENT.remove();
+			}
+		}
+
+	}
+
+}
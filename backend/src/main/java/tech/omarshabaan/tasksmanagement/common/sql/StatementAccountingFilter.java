@@ -0,0 +1,99 @@
+package tech.omarshabaan.tasksmanagement.common.sql;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Accounts the statements of each request. When the request completes, the statement
+ * count and database time go in the MDC as {@code sqlStatements} and {@code sqlTimeMs}
+ * for the access log line, and into {@code db.statements.per_request}; SQL executed more
+ * than {@code repeatedStatementThreshold} times in the request is logged as a likely N+1
+ * and counted in {@code db.statements.repeated}.
+ */
+public class StatementAccountingFilter extends OncePerRequestFilter {
+
+	private static final Logger accessLogger = LoggerFactory.getLogger("tech.omarshabaan.tasksmanagement.access");
+
+	private static final Logger logger = LoggerFactory.getLogger(StatementAccountingFilter.class);
+
+	private final int repeatedStatementThreshold;
+
+	private final boolean accessLog;
+
+	private final MeterRegistry meterRegistry;
+
+	public StatementAccountingFilter(int repeatedStatementThreshold, boolean accessLog, MeterRegistry meterRegistry) {
+		this.repeatedStatementThreshold = repeatedStatementThreshold;
+		this.accessLog = accessLog;
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		long started = System.nanoTime();
+		StatementAccounting.Scope scope = StatementAccounting.begin();
+		try {
+			filterChain.doFilter(request, response);
+		}
+		finally {
+			scope.close();
+			completed(request, response, scope, System.nanoTime() - started);
+		}
+	}
+
+	private void completed(HttpServletRequest request, HttpServletResponse response, StatementAccounting.Scope scope,
+			long elapsedNanos) {
+		String uri = uriTemplate(request);
+		DistributionSummary.builder("db.statements.per_request")
+			.description("JDBC statements executed on the request thread")
+			.tag("uri", uri)
+			.register(meterRegistry)
+			.record(scope.statements());
+
+		Map<String, Integer> repeated = scope.repeatedStatements(repeatedStatementThreshold);
+		if (!repeated.isEmpty()) {
+			Counter.builder("db.statements.repeated")
+				.description("Requests that executed the same SQL more often than the repeated statement threshold")
+				.tag("uri", uri)
+				.register(meterRegistry)
+				.increment();
+			repeated.forEach(
+					(sql, executions) -> logger.warn("Possible N+1: {} {} executed the same statement {} times: {}",
+							request.getMethod(), uri, executions, sql));
+		}
+
+		if (accessLog && accessLogger.isInfoEnabled()) {
+			MDC.put("sqlStatements", Integer.toString(scope.statements()));
+			MDC.put("sqlTimeMs", Long.toString(scope.time().toMillis()));
+			try {
+				accessLogger.info("{} {} {} {} ms, {} statements in {} ms", request.getMethod(),
+						request.getRequestURI(), response.getStatus(), elapsedNanos / 1_000_000, scope.statements(),
+						scope.time().toMillis());
+			}
+			finally {
+				MDC.remove("sqlStatements");
+				MDC.remove("sqlTimeMs");
+			}
+		}
+	}
+
+	private static String uriTemplate(HttpServletRequest request) {
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		return pattern != null ? pattern.toString() : "UNKNOWN";
+	}
+
+}
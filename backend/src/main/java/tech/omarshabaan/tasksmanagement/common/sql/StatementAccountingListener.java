@@ -0,0 +1,32 @@
+package tech.omarshabaan.tasksmanagement.common.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * Feeds {@link StatementAccounting} from the datasource proxy that the JDBC observation
+ * auto-configuration puts in front of the pool. A batch counts as one execution of its
+ * first statement's SQL.
+ */
+public class StatementAccountingListener implements QueryExecutionListener {
+
+	@Override
+	public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+		StatementAccounting.Scope scope = StatementAccounting.current();
+		if (scope != null) {
+			scope.statementStarted();
+		}
+	}
+
+	@Override
+	public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+		StatementAccounting.Scope scope = StatementAccounting.current();
+		if (scope != null && !queryInfoList.isEmpty()) {
+			scope.statementFinished(queryInfoList.getFirst().getQuery());
+		}
+	}
+
+}
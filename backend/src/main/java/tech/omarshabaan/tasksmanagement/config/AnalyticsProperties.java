@@ -0,0 +1,22 @@
+package tech.omarshabaan.tasksmanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Admin analytics, served from rollup tables.
+ */
+@ConfigurationProperties(prefix = "app.analytics")
+public record AnalyticsProperties(Rollup rollup) {
+
+	/**
+	 * The rollups are refreshed on {@code refreshCron} from the tasks changed since the
+	 * last refresh, read {@code batchSize} at a time. Every refresh reads the last
+	 * {@code overlap} of changes again, so a task written by a transaction that committed
+	 * late, or by a node whose clock is behind, is still counted.
+	 */
+	public record Rollup(String refreshCron, Duration overlap, int batchSize) {
+	}
+
+}
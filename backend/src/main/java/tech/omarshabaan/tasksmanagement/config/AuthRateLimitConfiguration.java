@@ -0,0 +1,45 @@
+package tech.omarshabaan.tasksmanagement.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import tech.omarshabaan.tasksmanagement.security.AuthRateLimitFilter;
+import tech.omarshabaan.tasksmanagement.security.TokenBucketLimiter;
+
+/**
+ * Registers the rate limit of the auth endpoints (see {@link AuthRateLimitFilter}) ahead
+ * of the security filter chain, inside statement accounting so rejected requests still
+ * show in the access log.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.security.rate-limit", name = "enabled", havingValue = "true")
+public class AuthRateLimitConfiguration {
+
+	@Bean
+	FilterRegistrationBean<AuthRateLimitFilter> authRateLimitFilter(AuthRateLimitProperties properties,
+			ObjectMapper objectMapper, @Qualifier("handlerExceptionResolver") HandlerExceptionResolver resolver,
+			ObjectProvider<MeterRegistry> meterRegistryProvider) {
+		MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable(SimpleMeterRegistry::new);
+		AuthRateLimitFilter filter = new AuthRateLimitFilter(limiter("ip", properties.ip(), properties, meterRegistry),
+				limiter("email", properties.email(), properties, meterRegistry), objectMapper.getFactory(), resolver);
+		FilterRegistrationBean<AuthRateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+		registration.addUrlPatterns("/api/auth/signin", "/api/auth/signup", "/api/auth/refresh");
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 30);
+		return registration;
+	}
+
+	private static TokenBucketLimiter limiter(String name, AuthRateLimitProperties.Limit limit,
+			AuthRateLimitProperties properties, MeterRegistry meterRegistry) {
+		return new TokenBucketLimiter(name, limit.capacity(), limit.refillPeriod(), properties.maxKeys(),
+				meterRegistry);
+	}
+
+}
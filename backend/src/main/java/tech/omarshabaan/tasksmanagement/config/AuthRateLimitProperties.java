@@ -0,0 +1,20 @@
+package tech.omarshabaan.tasksmanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Rate limits of sign-in, sign-up and token refresh, see
+ * {@link tech.omarshabaan.tasksmanagement.security.AuthRateLimitFilter}. Each client
+ * address, and each email on sign-in and sign-up, gets a bucket of {@code capacity}
+ * requests that refills at {@code capacity} per {@code refillPeriod}. At most
+ * {@code maxKeys} buckets per limiter are kept in memory.
+ */
+@ConfigurationProperties(prefix = "app.security.rate-limit")
+public record AuthRateLimitProperties(boolean enabled, Limit ip, Limit email, int maxKeys) {
+
+	public record Limit(int capacity, Duration refillPeriod) {
+	}
+
+}
@@ -0,0 +1,12 @@
+package tech.omarshabaan.tasksmanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Local list of breached passwords checked on signup. {@code file} holds the raw 20-byte
+ * SHA-1 digests of the passwords, concatenated and sorted in ascending byte order; when
+ * it is blank the check is off.
+ */
+@ConfigurationProperties(prefix = "app.security.breached-passwords")
+public record BreachedPasswordProperties(String file) {
+}
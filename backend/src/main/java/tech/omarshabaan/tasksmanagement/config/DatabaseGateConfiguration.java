@@ -0,0 +1,60 @@
+package tech.omarshabaan.tasksmanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application {@link DataSource} in a {@link GatedDataSource} when
+ * {@code app.datasource.gate.enabled} is set. The wrapper is a
+ * {@link org.springframework.jdbc.datasource.DelegatingDataSource}, so the actuator still
+ * finds the Hikari pool behind it.
+ */
+@Configuration(proxyBeanMethods = false)
+public class DatabaseGateConfiguration {
+
+	private static final Logger logger = LoggerFactory.getLogger(DatabaseGateConfiguration.class);
+
+	@Bean
+	static BeanPostProcessor databaseGatePostProcessor(ObjectProvider<DatabaseGateProperties> properties,
+			ObjectProvider<MeterRegistry> meterRegistry) {
+		return new BeanPostProcessor() {
+
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (!(bean instanceof DataSource dataSource) || bean instanceof GatedDataSource) {
+					return bean;
+				}
+				DatabaseGateProperties gate = properties.getObject();
+				if (!gate.enabled()) {
+					return bean;
+				}
+				int permits = gate.permits();
+				// the pool may already be wrapped, e.g. by the JDBC observation proxy
+				HikariDataSource hikari = DataSourceUnwrapper.unwrap(dataSource, HikariDataSource.class);
+				if (permits <= 0 && hikari != null) {
+					permits = hikari.getMaximumPoolSize();
+				}
+				if (permits <= 0) {
+					throw new IllegalStateException(
+							"app.datasource.gate.permits must be set when the data source is not a Hikari pool");
+				}
+				logger.info("Database gate on data source '{}': {} permits, max wait {}", beanName, permits,
+						gate.maxWait());
+				return new GatedDataSource(dataSource, permits, gate.maxWait(),
+						meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+			}
+
+		};
+	}
+
+}
@@ -0,0 +1,16 @@
+package tech.omarshabaan.tasksmanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Semaphore in front of the connection pool. At most {@code permits} connections are
+ * handed out at once (0 means the Hikari maximum pool size); callers beyond that wait in
+ * FIFO order for up to {@code maxWait} and then fail, which the API reports as 503. Meant
+ * for virtual-thread mode, where the number of concurrent requests is no longer capped by
+ * the servlet thread pool.
+ */
+@ConfigurationProperties(prefix = "app.datasource.gate")
+public record DatabaseGateProperties(boolean enabled, int permits, Duration maxWait) {
+}
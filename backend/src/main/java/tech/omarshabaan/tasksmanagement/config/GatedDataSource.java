@@ -0,0 +1,122 @@
+package tech.omarshabaan.tasksmanagement.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Hands out at most {@code permits} connections at once. Waiters park on a fair
+ * semaphore, which unmounts virtual threads, instead of piling up in the pool's own
+ * hand-off; a waiter that gets no permit within {@code maxWait} fails with
+ * {@link SQLTransientConnectionException}. The permit is released when the connection is
+ * closed.
+ */
+public class GatedDataSource extends DelegatingDataSource {
+
+	private final Semaphore permits;
+
+	private final Duration maxWait;
+
+	private final Timer waitTimer;
+
+	private final Counter rejected;
+
+	public GatedDataSource(DataSource target, int permits, Duration maxWait, MeterRegistry meterRegistry) {
+		super(target);
+		this.permits = new Semaphore(permits, true);
+		this.maxWait = maxWait;
+		this.waitTimer = Timer.builder("db.gate.wait")
+			.description("Time spent waiting for a database gate permit")
+			.register(meterRegistry);
+		this.rejected = Counter.builder("db.gate.rejected")
+			.description("Connection requests that got no database gate permit in time")
+			.register(meterRegistry);
+		Gauge.builder("db.gate.waiting", this.permits, Semaphore::getQueueLength)
+			.description("Threads waiting for a database gate permit")
+			.register(meterRegistry);
+		Gauge.builder("db.gate.available", this.permits, Semaphore::availablePermits)
+			.description("Database gate permits currently free")
+			.register(meterRegistry);
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		acquire();
+		return releaseOnClose(() -> super.getConnection());
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		acquire();
+		return releaseOnClose(() -> super.getConnection(username, password));
+	}
+
+	private void acquire() throws SQLException {
+		long started = System.nanoTime();
+		boolean acquired;
+		try {
+			acquired = permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", e);
+		}
+		finally {
+			waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+		}
+		if (!acquired) {
+			rejected.increment();
+			throw new SQLTransientConnectionException(
+					"No database connection available within " + maxWait.toMillis() + " ms");
+		}
+	}
+
+	private Connection releaseOnClose(ConnectionSupplier supplier) throws SQLException {
+		Connection connection;
+		try {
+			connection = supplier.get();
+		}
+		catch (SQLException | RuntimeException e) {
+			permits.release();
+			throw e;
+		}
+		AtomicBoolean released = new AtomicBoolean();
+		return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+				new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+					try {
+						return method.invoke(connection, args);
+					}
+					catch (InvocationTargetException e) {
+						throw e.getTargetException();
+					}
+					finally {
+						// after the pool has taken the connection back, so
+						// the next permit holder finds it idle
+						if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+							permits.release();
+						}
+					}
+				});
+	}
+
+	@FunctionalInterface
+	private interface ConnectionSupplier {
+
+		Connection get() throws SQLException;
+
+	}
+
+}
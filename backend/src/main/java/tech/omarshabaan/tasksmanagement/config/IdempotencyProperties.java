@@ -0,0 +1,15 @@
+package tech.omarshabaan.tasksmanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Idempotency keys of task creation, see
+ * {@link tech.omarshabaan.tasksmanagement.service.idempotency.IdempotencyKeyStore}. A key
+ * replays its response for {@code ttl}; up to {@code maxCachedKeys} completed keys are
+ * kept in memory on each node.
+ */
+@ConfigurationProperties(prefix = "app.idempotency")
+public record IdempotencyProperties(Duration ttl, int maxCachedKeys, String cleanupCron) {
+}
@@ -0,0 +1,26 @@
+package tech.omarshabaan.tasksmanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Background job runner settings. Every node polls the {@code jobs} table every
+ * {@code pollInterval} and claims at most as many jobs as it has idle {@code workers}. A
+ * claim is a lease of {@code leaseDuration}, renewed while the job runs; a lease that
+ * runs out means the node died and another node takes the job over. Failed attempts are
+ * retried up to {@code maxAttempts} with exponential backoff from {@code backoffBase}
+ * capped at {@code backoffMax}.
+ */
+@ConfigurationProperties(prefix = "app.jobs")
+public record JobProperties(boolean enabled, String nodeId, int workers, Duration pollInterval, Duration leaseDuration,
+		int maxAttempts, Duration backoffBase, Duration backoffMax, History history) {
+
+	/**
+	 * Execution history and finished ad-hoc jobs older than {@code retention} are purged
+	 * on {@code cleanupCron}.
+	 */
+	public record History(Duration retention, String cleanupCron) {
+	}
+
+}
@@ -0,0 +1,118 @@
+package tech.omarshabaan.tasksmanagement.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Appends finished spans to a file, one JSON object per line, for looking at traces
+ * without a collector: {@code jq 'select(.traceId == "...")'} lists the spans of one
+ * request with their parents and durations.
+ */
+class JsonLinesSpanExporter implements SpanExporter {
+
+	private static final Logger logger = LoggerFactory.getLogger(JsonLinesSpanExporter.class);
+
+	private final JsonFactory jsonFactory = new JsonFactory();
+
+	private final Path file;
+
+	private final Writer writer;
+
+	private boolean closed;
+
+	JsonLinesSpanExporter(Path file) {
+		this.file = file;
+		try {
+			this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+					StandardOpenOption.APPEND);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Could not open span export file " + file, e);
+		}
+	}
+
+	@Override
+	public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+		if (closed) {
+			return CompletableResultCode.ofFailure();
+		}
+		try {
+			for (SpanData span : spans) {
+				write(span);
+				writer.write('\n');
+			}
+			writer.flush();
+			return CompletableResultCode.ofSuccess();
+		}
+		catch (IOException e) {
+			logger.warn("Could not write {} spans to {}: {}", spans.size(), file, e.getMessage());
+			return CompletableResultCode.ofFailure();
+		}
+	}
+
+	private void write(SpanData span) throws IOException {
+		// the generator must not close the shared writer
+		JsonGenerator json = jsonFactory.createGenerator(writer).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		json.writeStartObject();
+		json.writeStringField("traceId", span.getTraceId());
+		json.writeStringField("spanId", span.getSpanId());
+		if (span.getParentSpanContext().isValid()) {
+			json.writeStringField("parentSpanId", span.getParentSpanId());
+		}
+		json.writeStringField("name", span.getName());
+		json.writeStringField("kind", span.getKind().name());
+		json.writeNumberField("startEpochNanos", span.getStartEpochNanos());
+		json.writeNumberField("durationMicros", (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1_000);
+		json.writeStringField("status", span.getStatus().getStatusCode().name());
+		json.writeObjectFieldStart("attributes");
+		for (Map.Entry<AttributeKey<?>, Object> attribute : span.getAttributes().asMap().entrySet()) {
+			json.writeStringField(attribute.getKey().getKey(), String.valueOf(attribute.getValue()));
+		}
+		json.writeEndObject();
+		json.writeEndObject();
+		json.close();
+	}
+
+	@Override
+	public synchronized CompletableResultCode flush() {
+		try {
+			writer.flush();
+			return CompletableResultCode.ofSuccess();
+		}
+		catch (IOException e) {
+			return CompletableResultCode.ofFailure();
+		}
+	}
+
+	@Override
+	public synchronized CompletableResultCode shutdown() {
+		if (closed) {
+			return CompletableResultCode.ofSuccess();
+		}
+		closed = true;
+		try {
+			writer.close();
+			return CompletableResultCode.ofSuccess();
+		}
+		catch (IOException e) {
+			return CompletableResultCode.ofFailure();
+		}
+	}
+
+}
@@ -0,0 +1,54 @@
+package tech.omarshabaan.tasksmanagement.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Marks the bean definitions named in {@code app.startup.lazy-beans} lazy, so they are
+ * created when first injected or looked up instead of during the context refresh. Meant
+ * for beans no request path needs right away (management endpoints, background work
+ * triggered by events); a bean that is injected into an eagerly created bean is still
+ * created at startup. Beans with {@code @Scheduled} methods must not be listed: their
+ * schedules are only registered once the bean exists.
+ * <p>
+ * Unlike {@code spring.main.lazy-initialization}, which defers everything and moves the
+ * cost onto the first requests, this defers only what is listed.
+ */
+public class LazyInitializationPolicy implements BeanFactoryPostProcessor {
+
+	private static final Logger logger = LoggerFactory.getLogger(LazyInitializationPolicy.class);
+
+	private final Set<String> lazyBeans;
+
+	public LazyInitializationPolicy(Set<String> lazyBeans) {
+		this.lazyBeans = Set.copyOf(lazyBeans);
+	}
+
+	@Override
+	public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+		List<String> deferred = new ArrayList<>();
+		for (String name : lazyBeans) {
+			if (!beanFactory.containsBeanDefinition(name)) {
+				logger.warn("Bean '{}' in app.startup.lazy-beans does not exist", name);
+				continue;
+			}
+			BeanDefinition definition = beanFactory.getBeanDefinition(name);
+			if (definition.isSingleton()) {
+				definition.setLazyInit(true);
+				deferred.add(name);
+			}
+		}
+		if (!deferred.isEmpty()) {
+			logger.info("Deferring initialization of {}", deferred);
+		}
+	}
+
+}
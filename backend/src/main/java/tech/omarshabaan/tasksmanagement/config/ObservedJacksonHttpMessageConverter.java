@@ -0,0 +1,38 @@
+package tech.omarshabaan.tasksmanagement.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Observes writing a JSON response body as {@code http.response.serialization}, so a
+ * trace separates serialization from the handler that produced the value. Jackson writes
+ * straight to the response stream; for bodies larger than the response buffer the span
+ * also covers sending them to the client.
+ */
+class ObservedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+	private final ObservationRegistry observationRegistry;
+
+	ObservedJacksonHttpMessageConverter(ObjectMapper objectMapper, ObservationRegistry observationRegistry) {
+		super(objectMapper);
+		this.observationRegistry = observationRegistry;
+	}
+
+	@Override
+	protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+			throws IOException, HttpMessageNotWritableException {
+		String valueType = object.getClass().getSimpleName();
+		Observation.createNotStarted("http.response.serialization", observationRegistry)
+			.contextualName("serialize")
+			.lowCardinalityKeyValue("type", valueType)
+			.observeChecked(() -> super.writeInternal(object, type, outputMessage));
+	}
+
+}
@@ -0,0 +1,47 @@
+package tech.omarshabaan.tasksmanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Password hashing settings.
+ * <p>
+ * Executor: at most {@code threads} hashes run at once (0 means one per available
+ * processor) and at most {@code queueCapacity} wait behind them; a request that cannot be
+ * queued, or waits longer than {@code maxWait}, is rejected with 503 and a
+ * {@code Retry-After} of {@code retryAfter}.
+ * <p>
+ * Work factor: with {@code calibrate} on, startup measures {@code algorithm} on this
+ * machine and picks the highest work factor within the bounds whose hash still takes at
+ * most {@code targetTime}. With it off, the lower bound is used as is. The number of
+ * stored hashes per setting is refreshed every {@code settingsRefreshInterval}.
+ */
+@ConfigurationProperties(prefix = "app.security.password-hashing")
+public record PasswordHashingProperties(int threads, int queueCapacity, Duration maxWait, Duration retryAfter,
+		Algorithm algorithm, boolean calibrate, Duration targetTime, Bcrypt bcrypt, Argon2 argon2,
+		Duration settingsRefreshInterval) {
+
+	public int effectiveThreads() {
+		return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+	}
+
+	public enum Algorithm {
+
+		BCRYPT, ARGON2
+
+	}
+
+	/**
+	 * BCrypt cost bounds (log2 rounds).
+	 */
+	public record Bcrypt(int minStrength, int maxStrength) {
+	}
+
+	/**
+	 * Argon2id parameters; {@code memory} is in KiB and fixed, iterations are calibrated.
+	 */
+	public record Argon2(int memory, int parallelism, int minIterations, int maxIterations) {
+	}
+
+}
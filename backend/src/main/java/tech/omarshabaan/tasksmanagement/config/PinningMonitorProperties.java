@@ -0,0 +1,14 @@
+package tech.omarshabaan.tasksmanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * JFR {@code jdk.VirtualThreadPinned} monitoring: pins longer than {@code threshold} are
+ * timed per top application frame and the first occurrence of each frame is logged with
+ * up to {@code stackDepth} frames.
+ */
+@ConfigurationProperties(prefix = "app.threads.pinning-monitor")
+public record PinningMonitorProperties(boolean enabled, Duration threshold, int stackDepth) {
+}
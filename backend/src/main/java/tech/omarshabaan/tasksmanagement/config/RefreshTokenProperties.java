@@ -2,8 +2,10 @@ package tech.omarshabaan.tasksmanagement.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 @ConfigurationProperties(prefix = "app.security.refresh-token")
-public record RefreshTokenProperties(long expiration, Token token, Cookie cookie) {
+public record RefreshTokenProperties(long expiration, Token token, Cookie cookie, Cleanup cleanup) {
 
 	public record Token(int length, String hashAlgorithm) {
 	}
@@ -11,4 +13,13 @@ public record RefreshTokenProperties(long expiration, Token token, Cookie cookie
 	public record Cookie(String name, boolean secure, String sameSite, boolean httpOnly, int maxAge) {
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Expired token purge settings. Rows are deleted in batches of {@code batchSize},
+	 * each in its own transaction, with {@code batchPause} between batches and at most
+	 * {@code maxBatchesPerRun} batches per run. {@code partitionsAhead} is only used when
+	 * {@code refresh_tokens} is partitioned by expiry date.
+	 */
+	public record Cleanup(String cron, int batchSize, Duration batchPause, int maxBatchesPerRun, int partitionsAhead) {
+	}
+
+}
@@ -0,0 +1,33 @@
+package tech.omarshabaan.tasksmanagement.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestClient;
+import tech.omarshabaan.tasksmanagement.service.reminder.LoggingReminderSink;
+import tech.omarshabaan.tasksmanagement.service.reminder.ReminderSink;
+import tech.omarshabaan.tasksmanagement.service.reminder.WebhookReminderSink;
+
+/**
+ * Picks the {@link ReminderSink} named by {@code app.reminders.sink.type}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class ReminderConfiguration {
+
+	@Bean
+	@ConditionalOnProperty(prefix = "app.reminders.sink", name = "type", havingValue = "log", matchIfMissing = true)
+	ReminderSink loggingReminderSink() {
+		return new LoggingReminderSink();
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "app.reminders.sink", name = "type", havingValue = "webhook")
+	ReminderSink webhookReminderSink(ReminderProperties properties, RestClient.Builder restClientBuilder) {
+		ReminderProperties.Sink sink = properties.sink();
+		if (sink.webhookUrl() == null) {
+			throw new IllegalStateException("app.reminders.sink.webhook-url is required for the webhook sink");
+		}
+		return new WebhookReminderSink(restClientBuilder, sink.webhookUrl(), sink.timeout());
+	}
+
+}
@@ -0,0 +1,28 @@
+package tech.omarshabaan.tasksmanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Due-date reminders. A reminder fires {@code lead} before an open task is due. Every
+ * {@code refreshInterval} each node loads the reminders of the next {@code window} into
+ * an in-memory timing wheel that turns every {@code tick}, and reconciles the tasks
+ * changed since its last refresh, reading {@code overlap} of changes again. Fired markers
+ * older than {@code retention} are purged on {@code cleanupCron}. Unless {@code enabled},
+ * nothing is loaded or fired on a schedule.
+ */
+@ConfigurationProperties(prefix = "app.reminders")
+public record ReminderProperties(boolean enabled, Duration lead, Duration window, Duration refreshInterval,
+		Duration overlap, Duration tick, Duration retention, String cleanupCron, Sink sink) {
+
+	/**
+	 * Where fired reminders go: {@code log}, or {@code webhook}, a JSON array of the
+	 * reminders of a tick posted to {@code webhookUrl} with a {@code timeout} for connect
+	 * and read.
+	 */
+	public record Sink(String type, URI webhookUrl, Duration timeout) {
+	}
+
+}
@@ -0,0 +1,52 @@
+package tech.omarshabaan.tasksmanagement.config;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Observes each call to a Spring Data repository as {@code repository.operations}, tagged
+ * with the repository interface and method. In a trace the span sits between the service
+ * operation and the JDBC statements it issued, and also covers Hibernate's work around
+ * them: flushing, hydrating entities and initializing lazy associations.
+ */
+class RepositoryObservationInterceptor implements MethodInterceptor {
+
+	private final String repository;
+
+	private final ObjectProvider<ObservationRegistry> observationRegistryProvider;
+
+	// resolved on the first call: repositories are created before the registry is ready
+	private volatile ObservationRegistry observationRegistry;
+
+	RepositoryObservationInterceptor(Class<?> repositoryInterface,
+			ObjectProvider<ObservationRegistry> observationRegistryProvider) {
+		this.repository = repositoryInterface.getSimpleName();
+		this.observationRegistryProvider = observationRegistryProvider;
+	}
+
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		if (invocation.getMethod().getDeclaringClass() == Object.class) {
+			return invocation.proceed();
+		}
+		String method = invocation.getMethod().getName();
+		return Observation.createNotStarted("repository.operations", observationRegistry())
+			.contextualName(repository + "." + method)
+			.lowCardinalityKeyValue("repository", repository)
+			.lowCardinalityKeyValue("method", method)
+			.observeChecked(invocation::proceed);
+	}
+
+	private ObservationRegistry observationRegistry() {
+		ObservationRegistry registry = observationRegistry;
+		if (registry == null) {
+			registry = observationRegistryProvider.getIfAvailable(() -> ObservationRegistry.NOOP);
+			observationRegistry = registry;
+		}
+		return registry;
+	}
+
+}
@@ -1,5 +1,11 @@
 package tech.omarshabaan.tasksmanagement.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.boot.autoconfigure.security.servlet.PathRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -11,8 +17,8 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
@@ -20,10 +26,15 @@ import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+import tech.omarshabaan.tasksmanagement.security.BoundedPasswordEncoder;
+import tech.omarshabaan.tasksmanagement.security.CalibratedPasswordEncoder;
 import tech.omarshabaan.tasksmanagement.security.DelegatedAccessDeniedHandler;
 import tech.omarshabaan.tasksmanagement.security.DelegatedAuthenticationEntryPoint;
 import tech.omarshabaan.tasksmanagement.security.JwtToUserAuthenticationConverter;
+import tech.omarshabaan.tasksmanagement.security.PasswordHashCalibrator;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -50,19 +61,33 @@ public class SecurityConfig {
 
 	private final DelegatedAccessDeniedHandler delegatedAccessDeniedHandler;
 
+	/**
+	 * The management port, or -1 when actuator shares the application's port.
+	 */
+	private final int managementPort;
+
 	public SecurityConfig(RsaKeyProperties rsaKeys, JwtToUserAuthenticationConverter jwtToUserAuthenticationConverter,
 			CorsProperties corsProperties, DelegatedAuthenticationEntryPoint delegatedAuthenticationEntryPoint,
-			DelegatedAccessDeniedHandler delegatedAccessDeniedHandler) {
+			DelegatedAccessDeniedHandler delegatedAccessDeniedHandler,
+			@Value("${management.server.port:-1}") int managementPort, @Value("${server.port:8080}") int serverPort) {
 		this.rsaKeys = rsaKeys;
 		this.jwtToUserAuthenticationConverter = jwtToUserAuthenticationConverter;
 		this.corsProperties = corsProperties;
 		this.delegatedAuthenticationEntryPoint = delegatedAuthenticationEntryPoint;
 		this.delegatedAccessDeniedHandler = delegatedAccessDeniedHandler;
+		this.managementPort = managementPort != serverPort ? managementPort : -1;
 	}
 
 	@Bean
-	public PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+	public PasswordEncoder passwordEncoder(PasswordHashingProperties passwordHashingProperties,
+			ObjectProvider<MeterRegistry> meterRegistryProvider,
+			ObjectProvider<ObservationRegistry> observationRegistryProvider) {
+		// sliced MVC tests run without actuator metrics
+		MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable(SimpleMeterRegistry::new);
+		PasswordHashCalibrator.Result calibration = new PasswordHashCalibrator(passwordHashingProperties).calibrate();
+		return new BoundedPasswordEncoder(new CalibratedPasswordEncoder(calibration, meterRegistry),
+				passwordHashingProperties, meterRegistry,
+				observationRegistryProvider.getIfAvailable(() -> ObservationRegistry.NOOP));
 	}
 
 	@Bean
@@ -70,6 +95,11 @@ public class SecurityConfig {
 			PasswordEncoder passwordEncoder) {
 		DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider(userDetailsService);
 		authProvider.setPasswordEncoder(passwordEncoder);
+		// rehashes on successful sign-in when the stored hash is not on the calibrated
+		// setting
+		if (userDetailsService instanceof UserDetailsPasswordService userDetailsPasswordService) {
+			authProvider.setUserDetailsPasswordService(userDetailsPasswordService);
+		}
 		return authProvider;
 	}
 
@@ -100,6 +130,12 @@ public class SecurityConfig {
 				.permitAll() //
 				.requestMatchers("/actuator/info")
 				.permitAll() //
+				// the separate management port is internal only (metrics scrapes, health
+				// checks)
+				.requestMatchers(managementEndpoints())
+				.permitAll() //
+				.requestMatchers("/api/admin/**")
+				.hasRole("ADMIN") //
 				.anyRequest()
 				.authenticated())
 			.oauth2ResourceServer(oauth2 -> oauth2.authenticationEntryPoint(delegatedAuthenticationEntryPoint)
@@ -107,6 +143,15 @@ public class SecurityConfig {
 			.build();
 	}
 
+	/**
+	 * Actuator endpoints reached through the management port. Nothing matches when
+	 * actuator shares the application's port, where it is secured like the API.
+	 */
+	private RequestMatcher managementEndpoints() {
+		return new AndRequestMatcher(request -> managementPort > 0 && request.getLocalPort() == managementPort,
+				EndpointRequest.toAnyEndpoint());
+	}
+
 	@Bean
 	public CorsConfigurationSource corsConfigurationSource() {
 		CorsConfiguration configuration = new CorsConfiguration();
@@ -0,0 +1,27 @@
+package tech.omarshabaan.tasksmanagement.config;
+
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.Set;
+
+@Configuration(proxyBeanMethods = false)
+public class StartupConfiguration {
+
+	// static and bound directly: bean factory post-processors run before
+	// @ConfigurationProperties beans exist
+	@Bean
+	static LazyInitializationPolicy lazyInitializationPolicy(Environment environment) {
+		return new LazyInitializationPolicy(
+				Binder.get(environment).bind("app.startup.lazy-beans", Bindable.setOf(String.class)).orElse(Set.of()));
+	}
+
+	@Bean
+	StartupTimelineReport startupTimelineReport(StartupProperties properties) {
+		return new StartupTimelineReport(properties.reportSteps());
+	}
+
+}
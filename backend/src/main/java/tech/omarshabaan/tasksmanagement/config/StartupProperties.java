@@ -0,0 +1,20 @@
+package tech.omarshabaan.tasksmanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Set;
+
+/**
+ * Startup diagnostics and deferred initialization. {@code reportSteps} slowest startup
+ * steps are logged once the application is ready (0 disables the report); the full
+ * timeline is at {@code /actuator/startup}. Beans named in {@code lazyBeans} are created
+ * on first use instead of during startup, see {@link LazyInitializationPolicy}.
+ */
+@ConfigurationProperties(prefix = "app.startup")
+public record StartupProperties(int reportSteps, Set<String> lazyBeans) {
+
+	public StartupProperties {
+		lazyBeans = lazyBeans == null ? Set.of() : Set.copyOf(lazyBeans);
+	}
+
+}
@@ -0,0 +1,72 @@
+package tech.omarshabaan.tasksmanagement.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.metrics.StartupStep;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Logs the slowest steps of the recorded startup timeline once the application is ready.
+ * Steps nest (a bean's instantiation contains that of its dependencies), so they are
+ * ranked by self time, the step's duration minus that of its direct children: the top
+ * entries are where startup actually spends its time, e.g. the entity manager factory
+ * building the Hibernate metamodel, or Flyway validating migrations.
+ */
+public class StartupTimelineReport implements ApplicationListener<ApplicationReadyEvent> {
+
+	private static final Logger logger = LoggerFactory.getLogger(StartupTimelineReport.class);
+
+	private final int steps;
+
+	public StartupTimelineReport(int steps) {
+		this.steps = steps;
+	}
+
+	@Override
+	public void onApplicationEvent(ApplicationReadyEvent event) {
+		if (steps <= 0 || !(event.getApplicationContext()
+			.getApplicationStartup() instanceof BufferingApplicationStartup startup)) {
+			return;
+		}
+		List<StartupTimeline.TimelineEvent> events = startup.getBufferedTimeline().getEvents();
+		Map<Long, Duration> selfTimes = new HashMap<>();
+		for (StartupTimeline.TimelineEvent timelineEvent : events) {
+			selfTimes.merge(timelineEvent.getStartupStep().getId(), timelineEvent.getDuration(), Duration::plus);
+			Long parent = timelineEvent.getStartupStep().getParentId();
+			if (parent != null) {
+				selfTimes.merge(parent, timelineEvent.getDuration().negated(), Duration::plus);
+			}
+		}
+		String slowest = events.stream()
+			.sorted(Comparator
+				.comparing((StartupTimeline.TimelineEvent timelineEvent) -> selfTimes
+					.get(timelineEvent.getStartupStep().getId()))
+				.reversed())
+			.limit(steps)
+			.map(timelineEvent -> describe(timelineEvent.getStartupStep()) + " "
+					+ selfTimes.get(timelineEvent.getStartupStep().getId()).toMillis() + " ms")
+			.collect(Collectors.joining("; "));
+		logger.info("Started in {} ms; slowest startup steps by self time: {}",
+				event.getTimeTaken() != null ? event.getTimeTaken().toMillis() : -1, slowest);
+	}
+
+	private static String describe(StartupStep step) {
+		String tags = StreamSupport.stream(step.getTags().spliterator(), false)
+			.filter(tag -> !tag.getKey().equals("beanType"))
+			.map(tag -> tag.getKey() + "=" + tag.getValue())
+			.collect(Collectors.joining(","));
+		return tags.isEmpty() ? step.getName() : step.getName() + "[" + tags + "]";
+	}
+
+}
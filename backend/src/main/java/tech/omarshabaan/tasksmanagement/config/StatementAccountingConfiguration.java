@@ -0,0 +1,42 @@
+package tech.omarshabaan.tasksmanagement.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import tech.omarshabaan.tasksmanagement.common.sql.StatementAccountingFilter;
+import tech.omarshabaan.tasksmanagement.common.sql.StatementAccountingListener;
+
+/**
+ * Registers statement accounting (see
+ * {@link tech.omarshabaan.tasksmanagement.common.sql.StatementAccounting}): the listener
+ * is picked up by the datasource proxy of the JDBC observation auto-configuration, and
+ * the filter opens a scope per request ahead of the security filter chain, so statements
+ * issued while authenticating count too.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.datasource.statement-accounting", name = "enabled", havingValue = "true")
+public class StatementAccountingConfiguration {
+
+	@Bean
+	StatementAccountingListener statementAccountingListener() {
+		return new StatementAccountingListener();
+	}
+
+	@Bean
+	FilterRegistrationBean<StatementAccountingFilter> statementAccountingFilter(
+			StatementAccountingProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+		FilterRegistrationBean<StatementAccountingFilter> registration = new FilterRegistrationBean<>(
+				new StatementAccountingFilter(properties.repeatedStatementThreshold(), properties.accessLog(),
+						meterRegistry.getIfAvailable(SimpleMeterRegistry::new)));
+		// inside the verbose logging filter, so the access log line of a
+		// verbose request is marked
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+		return registration;
+	}
+
+}
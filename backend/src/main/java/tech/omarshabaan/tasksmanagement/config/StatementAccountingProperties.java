@@ -0,0 +1,13 @@
+package tech.omarshabaan.tasksmanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Per-request JDBC statement accounting: statement count and database time per request, a
+ * warning when one request executes the same SQL more than
+ * {@code repeatedStatementThreshold} times, and, with {@code accessLog}, one access log
+ * line per request carrying both.
+ */
+@ConfigurationProperties(prefix = "app.datasource.statement-accounting")
+public record StatementAccountingProperties(boolean enabled, int repeatedStatementThreshold, boolean accessLog) {
+}
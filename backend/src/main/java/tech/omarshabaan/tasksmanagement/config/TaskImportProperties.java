@@ -0,0 +1,14 @@
+package tech.omarshabaan.tasksmanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Bulk task import, see
+ * {@link tech.omarshabaan.tasksmanagement.service.task.TaskImportService}. An upload is
+ * spooled to a temporary file before any connection is taken and rejected once it exceeds
+ * {@code maxSize}.
+ */
+@ConfigurationProperties(prefix = "app.tasks.import")
+public record TaskImportProperties(DataSize maxSize) {
+}
@@ -0,0 +1,93 @@
+package tech.omarshabaan.tasksmanagement.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionMessage;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.nio.file.Path;
+
+/**
+ * Spans below the ones Spring Boot records for HTTP requests, {@code @Observed} services
+ * and JDBC: one per repository call, one per hash in the password encoder (see
+ * {@link tech.omarshabaan.tasksmanagement.security.BoundedPasswordEncoder}) and one for
+ * writing the JSON response body. Together they show whether a slow request spent its
+ * time in the database, in BCrypt or in serialization.
+ * <p>
+ * The trace context comes from the W3C {@code traceparent} header when the caller sends
+ * one. Trace and span ids are drawn from {@code ThreadLocalRandom} by the OpenTelemetry
+ * SDK, which is cheap and fine for ids that are not secrets.
+ */
+@Configuration(proxyBeanMethods = false)
+public class TracingConfiguration {
+
+	private static final Logger logger = LoggerFactory.getLogger(TracingConfiguration.class);
+
+	@Bean
+	static BeanPostProcessor repositoryObservationPostProcessor(
+			ObjectProvider<ObservationRegistry> observationRegistry) {
+		return new BeanPostProcessor() {
+
+			@Override
+			public Object postProcessBeforeInitialization(Object bean, String beanName) {
+				// before afterPropertiesSet, which creates the repository proxy
+				if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+					factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+							(proxyFactory, information) -> proxyFactory.addAdvice(new RepositoryObservationInterceptor(
+									information.getRepositoryInterface(), observationRegistry))));
+				}
+				return bean;
+			}
+
+		};
+	}
+
+	@Bean
+	MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+			ObservationRegistry observationRegistry) {
+		return new ObservedJacksonHttpMessageConverter(objectMapper, observationRegistry);
+	}
+
+	@Bean
+	@Conditional(TracingFileCondition.class)
+	SpanExporter jsonLinesSpanExporter(TracingProperties properties) {
+		logger.info("Exporting spans to {}", properties.file());
+		return new JsonLinesSpanExporter(Path.of(properties.file()));
+	}
+
+	/**
+	 * Matches when {@link TracingProperties#file()} is set. Bound here rather than
+	 * checked with {@code @ConditionalOnProperty}, which also matches the blank default.
+	 */
+	static class TracingFileCondition extends SpringBootCondition {
+
+		@Override
+		public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+			ConditionMessage.Builder message = ConditionMessage.forCondition("Tracing file");
+			String file = Binder.get(context.getEnvironment())
+				.bind("app.tracing", TracingProperties.class)
+				.map(TracingProperties::file)
+				.orElse(null);
+			if (file == null || file.isBlank()) {
+				return ConditionOutcome.noMatch(message.didNotFind("app.tracing.file").atAll());
+			}
+			return ConditionOutcome.match(message.found("app.tracing.file").items(file));
+		}
+
+	}
+
+}
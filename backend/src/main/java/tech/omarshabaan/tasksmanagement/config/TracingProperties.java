@@ -0,0 +1,12 @@
+package tech.omarshabaan.tasksmanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Local span export. When {@code file} is set, finished spans are appended to it as one
+ * JSON object per line, next to any OTLP export configured through
+ * {@code management.otlp.tracing.endpoint}.
+ */
+@ConfigurationProperties(prefix = "app.tracing")
+public record TracingProperties(String file) {
+}
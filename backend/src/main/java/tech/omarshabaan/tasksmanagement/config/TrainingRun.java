@@ -0,0 +1,187 @@
+package tech.omarshabaan.tasksmanagement.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClient;
+import tech.omarshabaan.tasksmanagement.dto.auth.UserSigninResponse;
+import tech.omarshabaan.tasksmanagement.dto.task.CreateTaskRequest;
+import tech.omarshabaan.tasksmanagement.dto.task.GetTaskResponse;
+import tech.omarshabaan.tasksmanagement.dto.task.UpdateTaskRequest;
+import tech.omarshabaan.tasksmanagement.entity.TaskPriority;
+import tech.omarshabaan.tasksmanagement.entity.TaskStatus;
+
+import java.net.HttpCookie;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Sends representative requests to the running application over HTTP and then exits it.
+ * Run under {@code -XX:AOTCacheOutput} (see the {@code Dockerfile}), the JVM records what
+ * startup and these requests loaded, linked and profiled: the security filter chain, JWT
+ * encoding and decoding, password hashing, validation, Jackson, Hibernate queries and
+ * error responses, not just the context refresh. Every iteration signs up a new user, so
+ * the run needs a throwaway database.
+ * <p>
+ * The application exits with status 1 if a request does not return what it should, so a
+ * broken training run fails the image build instead of producing a cache of the failure
+ * path.
+ */
+public class TrainingRun implements ApplicationListener<ApplicationReadyEvent> {
+
+	private static final Logger logger = LoggerFactory.getLogger(TrainingRun.class);
+
+	private static final String PASSWORD = "Tr4ining!Passw0rd";
+
+	private final int iterations;
+
+	private final String refreshCookieName;
+
+	private final RestClient.Builder restClientBuilder;
+
+	public TrainingRun(int iterations, String refreshCookieName, RestClient.Builder restClientBuilder) {
+		this.iterations = iterations;
+		this.refreshCookieName = refreshCookieName;
+		this.restClientBuilder = restClientBuilder;
+	}
+
+	@Override
+	public void onApplicationEvent(ApplicationReadyEvent event) {
+		ConfigurableApplicationContext context = event.getApplicationContext();
+		Environment environment = context.getEnvironment();
+		String port = environment.getRequiredProperty("local.server.port");
+		String managementPort = environment.getProperty("local.management.port", port);
+		RestClient api = restClientBuilder.clone().baseUrl("http://localhost:" + port).build();
+		RestClient management = restClientBuilder.clone().baseUrl("http://localhost:" + managementPort).build();
+
+		int exitCode = 0;
+		long started = System.nanoTime();
+		try {
+			String run = Long.toString(System.currentTimeMillis(), 36);
+			for (int i = 0; i < iterations; i++) {
+				exercise(api, management, "training" + run + "n" + i);
+			}
+			logger.info("Training run sent {} iterations in {} ms", iterations,
+					Duration.ofNanos(System.nanoTime() - started).toMillis());
+		}
+		catch (RuntimeException e) {
+			logger.error("Training run failed", e);
+			exitCode = 1;
+		}
+		int status = exitCode;
+		// the context cannot be closed from inside one of its own event callbacks
+		Thread.ofPlatform()
+			.name("training-run-exit")
+			.start(() -> System.exit(SpringApplication.exit(context, () -> status)));
+	}
+
+	private void exercise(RestClient api, RestClient management, String username) {
+		String email = username + "@training.invalid";
+		api.post()
+			.uri("/api/auth/signup")
+			.contentType(MediaType.APPLICATION_JSON)
+			.body(Map.of("username", username, "email", email, "password", PASSWORD, "confirmPassword", PASSWORD))
+			.retrieve()
+			.toBodilessEntity();
+		ResponseEntity<UserSigninResponse> signin = api.post()
+			.uri("/api/auth/signin")
+			.contentType(MediaType.APPLICATION_JSON)
+			.body(Map.of("email", email, "password", PASSWORD))
+			.retrieve()
+			.toEntity(UserSigninResponse.class);
+		ResponseEntity<UserSigninResponse> refreshed = api.post()
+			.uri("/api/auth/refresh")
+			.header(HttpHeaders.COOKIE, refreshCookie(signin))
+			.retrieve()
+			.toEntity(UserSigninResponse.class);
+		String bearer = "Bearer " + refreshed.getBody().accessToken();
+
+		List<UUID> tasks = new ArrayList<>();
+		for (TaskPriority priority : TaskPriority.values()) {
+			GetTaskResponse task = api.post()
+				.uri("/api/tasks")
+				.header(HttpHeaders.AUTHORIZATION, bearer)
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(new CreateTaskRequest("Training task " + priority, "Created by the training run", priority,
+						Instant.now().plus(Duration.ofDays(priority.ordinal() + 1))))
+				.retrieve()
+				.body(GetTaskResponse.class);
+			tasks.add(task.uuid());
+		}
+		api.get()
+			.uri("/api/tasks/me?page=0&size=20")
+			.header(HttpHeaders.AUTHORIZATION, bearer)
+			.retrieve()
+			.body(String.class);
+		api.get()
+			.uri("/api/tasks/me?status={status}", TaskStatus.PENDING)
+			.header(HttpHeaders.AUTHORIZATION, bearer)
+			.retrieve()
+			.body(String.class);
+		api.get()
+			.uri("/api/tasks/{uuid}", tasks.getFirst())
+			.header(HttpHeaders.AUTHORIZATION, bearer)
+			.retrieve()
+			.body(GetTaskResponse.class);
+		api.put()
+			.uri("/api/tasks/{uuid}", tasks.getFirst())
+			.header(HttpHeaders.AUTHORIZATION, bearer)
+			.contentType(MediaType.APPLICATION_JSON)
+			.body(new UpdateTaskRequest(null, null, TaskStatus.IN_PROGRESS, TaskPriority.HIGH, null))
+			.retrieve()
+			.body(GetTaskResponse.class);
+		api.delete()
+			.uri("/api/tasks/{uuid}", tasks.getLast())
+			.header(HttpHeaders.AUTHORIZATION, bearer)
+			.retrieve()
+			.toBodilessEntity();
+
+		// problem detail paths: validation and missing authentication
+		expect(400,
+				api.post()
+					.uri("/api/tasks")
+					.header(HttpHeaders.AUTHORIZATION, bearer)
+					.contentType(MediaType.APPLICATION_JSON)
+					.body(Map.of("title", "")));
+		expect(401, api.get().uri("/api/tasks/me"));
+
+		management.get().uri("/actuator/health").retrieve().toBodilessEntity();
+		management.get().uri("/actuator/prometheus").retrieve().toBodilessEntity();
+
+		api.post()
+			.uri("/api/auth/logout")
+			.header(HttpHeaders.COOKIE, refreshCookie(refreshed))
+			.retrieve()
+			.toBodilessEntity();
+	}
+
+	private String refreshCookie(ResponseEntity<?> response) {
+		return response.getHeaders()
+			.getOrEmpty(HttpHeaders.SET_COOKIE)
+			.stream()
+			.flatMap(header -> HttpCookie.parse(header).stream())
+			.filter(cookie -> cookie.getName().equals(refreshCookieName))
+			.map(cookie -> cookie.getName() + "=" + cookie.getValue())
+			.findFirst()
+			.orElseThrow(() -> new IllegalStateException("No " + refreshCookieName + " cookie in the response"));
+	}
+
+	private static void expect(int status, RestClient.RequestHeadersSpec<?> request) {
+		int actual = request.exchange((clientRequest, clientResponse) -> clientResponse.getStatusCode().value());
+		if (actual != status) {
+			throw new IllegalStateException("Expected " + status + " but got " + actual);
+		}
+	}
+
+}
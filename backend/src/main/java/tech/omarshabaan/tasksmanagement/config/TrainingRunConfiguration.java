@@ -0,0 +1,18 @@
+package tech.omarshabaan.tasksmanagement.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestClient;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.training-run", name = "enabled", havingValue = "true")
+public class TrainingRunConfiguration {
+
+	@Bean
+	TrainingRun trainingRun(TrainingRunProperties properties, RefreshTokenProperties refreshTokenProperties,
+			RestClient.Builder restClientBuilder) {
+		return new TrainingRun(properties.iterations(), refreshTokenProperties.cookie().name(), restClientBuilder);
+	}
+
+}
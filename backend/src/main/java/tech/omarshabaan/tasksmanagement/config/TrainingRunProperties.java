@@ -0,0 +1,13 @@
+package tech.omarshabaan.tasksmanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Training run for the JVM AOT cache: once the application is ready it sends
+ * {@code iterations} rounds of representative requests to itself and exits, so the
+ * classes, linkage and method profiles of a warmed-up application end up in the cache.
+ * See {@link TrainingRun}.
+ */
+@ConfigurationProperties(prefix = "app.training-run")
+public record TrainingRunProperties(boolean enabled, int iterations) {
+}
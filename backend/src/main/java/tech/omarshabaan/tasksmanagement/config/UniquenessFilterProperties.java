@@ -0,0 +1,14 @@
+package tech.omarshabaan.tasksmanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Per-node Bloom filters in front of the signup uniqueness checks. Each filter is sized
+ * for at least {@code expectedInsertions} values (twice the current row count when that
+ * is larger) at {@code falsePositiveRate}, and rebuilt from the database on
+ * {@code rebuildCron} to pick up users created on other nodes and drop deleted ones.
+ */
+@ConfigurationProperties(prefix = "app.validation.uniqueness-filter")
+public record UniquenessFilterProperties(boolean enabled, long expectedInsertions, double falsePositiveRate,
+		String rebuildCron) {
+}
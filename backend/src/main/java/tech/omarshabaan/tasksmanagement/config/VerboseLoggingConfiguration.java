@@ -0,0 +1,81 @@
+package tech.omarshabaan.tasksmanagement.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import tech.omarshabaan.tasksmanagement.common.logging.VerboseLogging;
+import tech.omarshabaan.tasksmanagement.common.logging.VerboseLoggingEndpoint;
+import tech.omarshabaan.tasksmanagement.common.logging.VerboseLoggingFilter;
+import tech.omarshabaan.tasksmanagement.common.logging.VerboseRequestTurboFilter;
+
+import java.util.HashSet;
+
+/**
+ * Installs per-request verbose logging (see {@link VerboseLogging}): the turbo filter on
+ * the Logback context, the servlet filter that marks requests ahead of Spring Security,
+ * and the actuator endpoint that changes sampling at runtime.
+ */
+@Configuration(proxyBeanMethods = false)
+public class VerboseLoggingConfiguration {
+
+	@Bean
+	VerboseLogging verboseLogging(VerboseLoggingProperties properties) {
+		return new VerboseLogging(Level.toLevel(properties.level(), Level.TRACE), properties.loggers(),
+				properties.headerToken(), properties.samplingRatio(), new HashSet<>(properties.userIds()));
+	}
+
+	@Bean
+	TurboFilterRegistration verboseRequestTurboFilter(VerboseLogging verboseLogging) {
+		return new TurboFilterRegistration(new VerboseRequestTurboFilter(verboseLogging));
+	}
+
+	@Bean
+	FilterRegistrationBean<VerboseLoggingFilter> verboseLoggingFilter(VerboseLogging verboseLogging) {
+		FilterRegistrationBean<VerboseLoggingFilter> registration = new FilterRegistrationBean<>(
+				new VerboseLoggingFilter(verboseLogging));
+		// after the HTTP observation filter, before the security filter chain
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+		return registration;
+	}
+
+	@Bean
+	VerboseLoggingEndpoint verboseLoggingEndpoint(VerboseLogging verboseLogging) {
+		return new VerboseLoggingEndpoint(verboseLogging);
+	}
+
+	/**
+	 * Adds the turbo filter to the Logback context for the lifetime of the application
+	 * context.
+	 */
+	static final class TurboFilterRegistration implements DisposableBean {
+
+		private final VerboseRequestTurboFilter filter;
+
+		private final LoggerContext loggerContext;
+
+		TurboFilterRegistration(VerboseRequestTurboFilter filter) {
+			this.filter = filter;
+			this.loggerContext = LoggerFactory.getILoggerFactory() instanceof LoggerContext context ? context : null;
+			if (loggerContext != null) {
+				filter.setContext(loggerContext);
+				filter.start();
+				loggerContext.addTurboFilter(filter);
+			}
+		}
+
+		@Override
+		public void destroy() {
+			if (loggerContext != null) {
+				loggerContext.getTurboFilterList().remove(filter);
+				filter.stop();
+			}
+		}
+
+	}
+
+}
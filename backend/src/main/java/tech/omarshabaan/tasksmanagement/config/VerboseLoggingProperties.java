@@ -0,0 +1,17 @@
+package tech.omarshabaan.tasksmanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * Per-request verbose logging: requests carrying {@code headerToken} in
+ * {@code X-Verbose-Logging}, a {@code samplingRatio} share of all requests, and requests
+ * of the listed {@code userIds} log at {@code level} for the {@code loggers} prefixes,
+ * whatever the configured levels. A blank token disables the header. Sampling and user
+ * ids can be changed at runtime through the {@code verboselogging} actuator endpoint.
+ */
+@ConfigurationProperties(prefix = "app.logging.verbose")
+public record VerboseLoggingProperties(String level, List<String> loggers, double samplingRatio, List<String> userIds,
+		String headerToken) {
+}
@@ -0,0 +1,113 @@
+package tech.omarshabaan.tasksmanagement.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Streams JFR {@code jdk.VirtualThreadPinned} events in-process. A virtual thread that
+ * blocks while pinned (inside native code, a class initializer, or, before JDK 24, a
+ * {@code synchronized} block such as older Hibernate and pgjdbc paths) holds its carrier
+ * thread and shrinks the scheduler; each pin is timed under
+ * {@code virtual_threads.pinned{frame}}, where {@code frame} is the first non-JDK frame,
+ * and the first pin per frame is logged with its stack.
+ */
+@Component
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+	private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+	private static final String EVENT = "jdk.VirtualThreadPinned";
+
+	// keeps the frame tag bounded; later frames are counted as "other"
+	private static final int MAX_FRAMES = 100;
+
+	private final PinningMonitorProperties properties;
+
+	private final MeterRegistry meterRegistry;
+
+	private final Set<String> frames = ConcurrentHashMap.newKeySet();
+
+	private volatile RecordingStream stream;
+
+	public VirtualThreadPinningMonitor(PinningMonitorProperties properties, MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public void start() {
+		if (!properties.enabled()) {
+			return;
+		}
+		RecordingStream recording = new RecordingStream();
+		recording.enable(EVENT).withThreshold(properties.threshold()).withStackTrace();
+		recording.onEvent(EVENT, this::onPinned);
+		recording.startAsync();
+		stream = recording;
+		logger.info("Monitoring virtual thread pinning longer than {}", properties.threshold());
+	}
+
+	@Override
+	public void stop() {
+		RecordingStream recording = stream;
+		stream = null;
+		if (recording != null) {
+			recording.close();
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return stream != null;
+	}
+
+	private void onPinned(RecordedEvent event) {
+		List<RecordedFrame> stack = stackOf(event);
+		String frame = topFrame(stack);
+		boolean first = frames.size() < MAX_FRAMES && frames.add(frame);
+		if (!first && !frames.contains(frame)) {
+			frame = "other";
+		}
+		Timer.builder("virtual_threads.pinned")
+			.description("Time virtual threads spent blocked while pinned to their carrier")
+			.tag("frame", frame)
+			.register(meterRegistry)
+			.record(event.getDuration());
+		if (first) {
+			logger.warn("Virtual thread pinned its carrier for {} ms at {}:\n{}", event.getDuration().toMillis(), frame,
+					stack.stream()
+						.limit(properties.stackDepth())
+						.map(f -> "\tat " + f.getMethod().getType().getName() + "." + f.getMethod().getName() + ":"
+								+ f.getLineNumber())
+						.collect(Collectors.joining("\n")));
+		}
+	}
+
+	private static List<RecordedFrame> stackOf(RecordedEvent event) {
+		RecordedStackTrace stackTrace = event.getStackTrace();
+		return stackTrace != null ? stackTrace.getFrames() : List.of();
+	}
+
+	private static String topFrame(List<RecordedFrame> stack) {
+		return stack.stream()
+			.filter(RecordedFrame::isJavaFrame)
+			.map(f -> f.getMethod().getType().getName() + "." + f.getMethod().getName())
+			.filter(name -> !name.startsWith("java.") && !name.startsWith("jdk.") && !name.startsWith("sun."))
+			.findFirst()
+			.orElse(stack.isEmpty() ? "unknown" : "jdk");
+	}
+
+}
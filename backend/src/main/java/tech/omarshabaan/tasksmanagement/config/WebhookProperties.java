@@ -0,0 +1,20 @@
+package tech.omarshabaan.tasksmanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Outgoing webhooks. Every {@code pollInterval} each node claims up to {@code batchSize}
+ * due deliveries from the outbox and posts them, at most {@code maxConcurrency} at a time
+ * to any one endpoint, each with a {@code timeout} for connect and read. Failed
+ * deliveries are retried up to {@code maxAttempts} with exponential backoff from
+ * {@code backoffBase} capped at {@code backoffMax}, then dead-lettered. Delivered rows
+ * older than {@code retention} are purged on {@code cleanupCron}. Unless {@code enabled},
+ * nothing is dispatched on a schedule; events are still recorded.
+ */
+@ConfigurationProperties(prefix = "app.webhooks")
+public record WebhookProperties(boolean enabled, Duration pollInterval, int batchSize, int maxConcurrency,
+		Duration timeout, int maxAttempts, Duration backoffBase, Duration backoffMax, Duration retention,
+		String cleanupCron) {
+}
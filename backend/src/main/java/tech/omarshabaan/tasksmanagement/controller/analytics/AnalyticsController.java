@@ -0,0 +1,56 @@
+package tech.omarshabaan.tasksmanagement.controller.analytics;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import tech.omarshabaan.tasksmanagement.dto.analytics.DailyTaskCountsResponse;
+import tech.omarshabaan.tasksmanagement.dto.analytics.OverdueTaskCountsResponse;
+import tech.omarshabaan.tasksmanagement.dto.analytics.TaskStatusPriorityCountsResponse;
+import tech.omarshabaan.tasksmanagement.service.analytics.TaskAnalyticsService;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * Task analytics for admins; access is restricted to {@code ROLE_ADMIN} in
+ * {@code SecurityConfig}.
+ */
+@RestController
+@RequestMapping("/api/admin/analytics")
+public class AnalyticsController {
+
+	/**
+	 * Longest range of {@code GET /api/admin/analytics/tasks/daily}, in days.
+	 */
+	public static final int MAX_DAYS = 366;
+
+	private final TaskAnalyticsService taskAnalyticsService;
+
+	public AnalyticsController(TaskAnalyticsService taskAnalyticsService) {
+		this.taskAnalyticsService = taskAnalyticsService;
+	}
+
+	@GetMapping("/tasks/status-priority")
+	public ResponseEntity<TaskStatusPriorityCountsResponse> getStatusPriorityCounts() {
+		return ResponseEntity.ok(taskAnalyticsService.getStatusPriorityCounts());
+	}
+
+	@GetMapping("/tasks/overdue")
+	public ResponseEntity<OverdueTaskCountsResponse> getOverdueCounts() {
+		return ResponseEntity.ok(taskAnalyticsService.getOverdueCounts());
+	}
+
+	@GetMapping("/tasks/daily")
+	public ResponseEntity<DailyTaskCountsResponse> getDailyCounts(
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+			@RequestParam(defaultValue = "30") @Min(1) @Max(MAX_DAYS) int days) {
+		LocalDate lastDay = to != null ? to : LocalDate.now(ZoneOffset.UTC);
+		return ResponseEntity.ok(taskAnalyticsService.getDailyCounts(lastDay, days));
+	}
+
+}
@@ -1,8 +1,13 @@
 package tech.omarshabaan.tasksmanagement.controller.task;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -12,45 +17,127 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import tech.omarshabaan.tasksmanagement.dto.task.CreateTaskRequest;
 import tech.omarshabaan.tasksmanagement.dto.task.GetTaskResponse;
+import tech.omarshabaan.tasksmanagement.dto.task.MoveTaskRequest;
+import tech.omarshabaan.tasksmanagement.dto.task.TaskExportFormat;
+import tech.omarshabaan.tasksmanagement.dto.task.TaskImportResponse;
 import tech.omarshabaan.tasksmanagement.dto.task.TaskSummaryResponse;
 import tech.omarshabaan.tasksmanagement.dto.task.UpdateTaskRequest;
 import tech.omarshabaan.tasksmanagement.entity.TaskStatus;
 import tech.omarshabaan.tasksmanagement.security.CustomUserDetails;
+import tech.omarshabaan.tasksmanagement.service.task.TaskExportService;
+import tech.omarshabaan.tasksmanagement.service.task.TaskImportService;
 import tech.omarshabaan.tasksmanagement.service.task.TaskService;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
 import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/tasks")
 public class TaskController {
 
+	/**
+	 * Largest page of {@code GET /api/tasks/me}; all tasks at once are available from
+	 * {@code GET /api/tasks/me/export}.
+	 */
+	public static final int MAX_PAGE_SIZE = 100;
+
+	/**
+	 * Furthest ahead {@code GET /api/tasks/me/due-soon} looks, in hours.
+	 */
+	public static final int MAX_DUE_SOON_HOURS = 720;
+
+	/**
+	 * Header that makes {@code POST /api/tasks} safe to retry: a task is created once per
+	 * user and key, and a retry with the key gets the original response.
+	 */
+	public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+	public static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
 	private final TaskService taskService;
 
-	public TaskController(TaskService taskService) {
+	private final TaskExportService taskExportService;
+
+	private final TaskImportService taskImportService;
+
+	public TaskController(TaskService taskService, TaskExportService taskExportService,
+			TaskImportService taskImportService) {
 		this.taskService = taskService;
+		this.taskExportService = taskExportService;
+		this.taskImportService = taskImportService;
 	}
 
 	@PostMapping
 	public ResponseEntity<GetTaskResponse> createTask(@Valid @RequestBody CreateTaskRequest request,
+			@RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) @Size(min = 1,
+					max = MAX_IDEMPOTENCY_KEY_LENGTH) String idempotencyKey,
 			@AuthenticationPrincipal CustomUserDetails userDetails) {
-		GetTaskResponse response = taskService.createTask(request, userDetails.getUserUuid());
+		GetTaskResponse response = idempotencyKey != null
+				? taskService.createTask(request, userDetails.getUserUuid(), idempotencyKey)
+				: taskService.createTask(request, userDetails.getUserUuid());
 		return ResponseEntity.status(HttpStatus.CREATED).body(response);
 	}
 
+	@PostMapping("/import")
+	public ResponseEntity<TaskImportResponse> importTasks(@AuthenticationPrincipal CustomUserDetails userDetails,
+			@RequestParam(defaultValue = "csv") TaskExportFormat format, InputStream body) throws IOException {
+		// the body is spooled to a temporary file, never held as a whole
+		TaskImportResponse response = taskImportService.importTasks(userDetails.getUserUuid(), format, body);
+		return ResponseEntity.ok(response);
+	}
+
 	@GetMapping("/me")
 	public ResponseEntity<Page<TaskSummaryResponse>> getTasks(@AuthenticationPrincipal CustomUserDetails userDetails,
-			@RequestParam(required = false) TaskStatus status, @RequestParam(defaultValue = "0") int page,
-			@RequestParam(defaultValue = "20") int size) {
+			@RequestParam(required = false) TaskStatus status, @RequestParam(defaultValue = "0") @Min(0) int page,
+			@RequestParam(defaultValue = "20") @Min(1) @Max(MAX_PAGE_SIZE) int size) {
 		Page<TaskSummaryResponse> tasks = taskService.getUserTasks(userDetails.getUserUuid(), status,
 				PageRequest.of(page, size));
 		return ResponseEntity.ok(tasks);
 	}
 
+	@GetMapping("/me/overdue")
+	public ResponseEntity<Page<TaskSummaryResponse>> getOverdueTasks(
+			@AuthenticationPrincipal CustomUserDetails userDetails, @RequestParam(defaultValue = "0") @Min(0) int page,
+			@RequestParam(defaultValue = "20") @Min(1) @Max(MAX_PAGE_SIZE) int size) {
+		Page<TaskSummaryResponse> tasks = taskService.getOverdueTasks(userDetails.getUserUuid(),
+				PageRequest.of(page, size));
+		return ResponseEntity.ok(tasks);
+	}
+
+	@GetMapping("/me/due-soon")
+	public ResponseEntity<Page<TaskSummaryResponse>> getTasksDueSoon(
+			@AuthenticationPrincipal CustomUserDetails userDetails,
+			@RequestParam(defaultValue = "24") @Min(1) @Max(MAX_DUE_SOON_HOURS) int hours,
+			@RequestParam(defaultValue = "0") @Min(0) int page,
+			@RequestParam(defaultValue = "20") @Min(1) @Max(MAX_PAGE_SIZE) int size) {
+		Page<TaskSummaryResponse> tasks = taskService.getTasksDueSoon(userDetails.getUserUuid(),
+				Duration.ofHours(hours), PageRequest.of(page, size));
+		return ResponseEntity.ok(tasks);
+	}
+
+	@GetMapping("/me/export")
+	public ResponseEntity<StreamingResponseBody> exportTasks(@AuthenticationPrincipal CustomUserDetails userDetails,
+			@RequestParam(required = false) TaskStatus status,
+			@RequestParam(defaultValue = "csv") TaskExportFormat format) {
+		UUID userUuid = userDetails.getUserUuid();
+		// written on an async request thread after this method returns
+		StreamingResponseBody body = out -> taskExportService.exportUserTasks(userUuid, status, format, out);
+		return ResponseEntity.ok()
+			.contentType(format.mediaType())
+			.header(HttpHeaders.CONTENT_DISPOSITION,
+					ContentDisposition.attachment().filename("tasks." + format.fileExtension()).build().toString())
+			.body(body);
+	}
+
 	@GetMapping("/{taskUuid}")
 	public ResponseEntity<GetTaskResponse> getTask(@PathVariable UUID taskUuid,
 			@AuthenticationPrincipal CustomUserDetails userDetails) {
@@ -65,6 +152,13 @@ public class TaskController {
 		return ResponseEntity.ok(response);
 	}
 
+	@PutMapping("/{taskUuid}/position")
+	public ResponseEntity<GetTaskResponse> moveTask(@PathVariable UUID taskUuid,
+			@Valid @RequestBody MoveTaskRequest request, @AuthenticationPrincipal CustomUserDetails userDetails) {
+		GetTaskResponse response = taskService.moveTask(taskUuid, request, userDetails.getUserUuid());
+		return ResponseEntity.ok(response);
+	}
+
 	@DeleteMapping("/{taskUuid}")
 	public ResponseEntity<Void> deleteTask(@PathVariable UUID taskUuid,
 			@AuthenticationPrincipal CustomUserDetails userDetails) {
@@ -0,0 +1,21 @@
+package tech.omarshabaan.tasksmanagement.controller.task;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+import tech.omarshabaan.tasksmanagement.dto.task.TaskExportFormat;
+
+import java.util.Locale;
+
+/**
+ * Binds {@code format=csv|ndjson} regardless of case; an unknown format fails the
+ * conversion and is answered with 400.
+ */
+@Component
+class TaskExportFormatConverter implements Converter<String, TaskExportFormat> {
+
+	@Override
+	public TaskExportFormat convert(String source) {
+		return TaskExportFormat.valueOf(source.trim().toUpperCase(Locale.ROOT));
+	}
+
+}
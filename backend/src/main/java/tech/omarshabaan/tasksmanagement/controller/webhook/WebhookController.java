@@ -0,0 +1,82 @@
+package tech.omarshabaan.tasksmanagement.controller.webhook;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import tech.omarshabaan.tasksmanagement.dto.webhook.CreateWebhookSubscriptionRequest;
+import tech.omarshabaan.tasksmanagement.dto.webhook.CreatedWebhookSubscriptionResponse;
+import tech.omarshabaan.tasksmanagement.dto.webhook.WebhookDeadLetterResponse;
+import tech.omarshabaan.tasksmanagement.dto.webhook.WebhookRedriveResponse;
+import tech.omarshabaan.tasksmanagement.dto.webhook.WebhookSubscriptionResponse;
+import tech.omarshabaan.tasksmanagement.service.webhook.WebhookSubscriptionService;
+
+import java.util.UUID;
+
+/**
+ * Webhook subscriptions for admins; access is restricted to {@code ROLE_ADMIN} in
+ * {@code SecurityConfig}.
+ */
+@RestController
+@RequestMapping("/api/admin/webhooks")
+public class WebhookController {
+
+	/**
+	 * Largest page of subscriptions and of dead letters.
+	 */
+	public static final int MAX_PAGE_SIZE = 100;
+
+	private final WebhookSubscriptionService webhookSubscriptionService;
+
+	public WebhookController(WebhookSubscriptionService webhookSubscriptionService) {
+		this.webhookSubscriptionService = webhookSubscriptionService;
+	}
+
+	@PostMapping
+	public ResponseEntity<CreatedWebhookSubscriptionResponse> createSubscription(
+			@Valid @RequestBody CreateWebhookSubscriptionRequest request) {
+		CreatedWebhookSubscriptionResponse response = webhookSubscriptionService.createSubscription(request);
+		return ResponseEntity.status(HttpStatus.CREATED).body(response);
+	}
+
+	@GetMapping
+	public ResponseEntity<Page<WebhookSubscriptionResponse>> getSubscriptions(
+			@RequestParam(defaultValue = "0") @Min(0) int page,
+			@RequestParam(defaultValue = "20") @Min(1) @Max(MAX_PAGE_SIZE) int size) {
+		return ResponseEntity
+			.ok(webhookSubscriptionService.getSubscriptions(PageRequest.of(page, size, Sort.by("id"))));
+	}
+
+	@DeleteMapping("/{subscriptionUuid}")
+	public ResponseEntity<Void> deleteSubscription(@PathVariable UUID subscriptionUuid) {
+		webhookSubscriptionService.deleteSubscription(subscriptionUuid);
+		return ResponseEntity.noContent().build();
+	}
+
+	@GetMapping("/{subscriptionUuid}/dead-letters")
+	public ResponseEntity<Page<WebhookDeadLetterResponse>> getDeadLetters(@PathVariable UUID subscriptionUuid,
+			@RequestParam(defaultValue = "0") @Min(0) int page,
+			@RequestParam(defaultValue = "20") @Min(1) @Max(MAX_PAGE_SIZE) int size) {
+		return ResponseEntity
+			.ok(webhookSubscriptionService.getDeadLetters(subscriptionUuid, PageRequest.of(page, size)));
+	}
+
+	@PostMapping("/{subscriptionUuid}/dead-letters/redrive")
+	public ResponseEntity<WebhookRedriveResponse> redriveDeadLetters(@PathVariable UUID subscriptionUuid) {
+		return ResponseEntity
+			.ok(new WebhookRedriveResponse(webhookSubscriptionService.redriveDeadLetters(subscriptionUuid)));
+	}
+
+}
@@ -0,0 +1,6 @@
+package tech.omarshabaan.tasksmanagement.dto.analytics;
+
+import java.time.LocalDate;
+
+public record DailyTaskCount(LocalDate day, long created, long completed) {
+}
@@ -0,0 +1,11 @@
+package tech.omarshabaan.tasksmanagement.dto.analytics;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Tasks created and completed per UTC day, oldest first and with every day of the range,
+ * as of {@code refreshedAt}, the last rollup refresh.
+ */
+public record DailyTaskCountsResponse(Instant refreshedAt, List<DailyTaskCount> days) {
+}
@@ -0,0 +1,14 @@
+package tech.omarshabaan.tasksmanagement.dto.analytics;
+
+import tech.omarshabaan.tasksmanagement.entity.TaskPriority;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Open tasks due before {@code asOf}, the start of the current UTC hour, as of
+ * {@code refreshedAt}, the last rollup refresh; {@code byPriority} has every priority.
+ */
+public record OverdueTaskCountsResponse(Instant refreshedAt, Instant asOf, long total,
+		Map<TaskPriority, Long> byPriority) {
+}
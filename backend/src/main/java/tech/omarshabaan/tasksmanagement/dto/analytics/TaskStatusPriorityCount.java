@@ -0,0 +1,7 @@
+package tech.omarshabaan.tasksmanagement.dto.analytics;
+
+import tech.omarshabaan.tasksmanagement.entity.TaskPriority;
+import tech.omarshabaan.tasksmanagement.entity.TaskStatus;
+
+public record TaskStatusPriorityCount(TaskStatus status, TaskPriority priority, long count) {
+}
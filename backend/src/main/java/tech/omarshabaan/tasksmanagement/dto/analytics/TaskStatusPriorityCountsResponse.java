@@ -0,0 +1,11 @@
+package tech.omarshabaan.tasksmanagement.dto.analytics;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Tasks by status and priority as of {@code refreshedAt}, the last rollup refresh;
+ * combinations without tasks are left out.
+ */
+public record TaskStatusPriorityCountsResponse(Instant refreshedAt, List<TaskStatusPriorityCount> counts) {
+}
@@ -5,6 +5,7 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import tech.omarshabaan.tasksmanagement.validation.AdvancedSignupRequestValidation;
 import tech.omarshabaan.tasksmanagement.validation.BasicSignupRequestValidation;
+import tech.omarshabaan.tasksmanagement.validation.NotBreachedPassword;
 import tech.omarshabaan.tasksmanagement.validation.PasswordMatch;
 import tech.omarshabaan.tasksmanagement.validation.PasswordPolicy;
 import tech.omarshabaan.tasksmanagement.validation.UniqueEmail;
@@ -18,5 +19,7 @@ public record UserSignupRequest(
 		@NotNull(groups = BasicSignupRequestValidation.class) @Email(
 				groups = BasicSignupRequestValidation.class) @UniqueEmail(
 						groups = AdvancedSignupRequestValidation.class) String email,
-		@PasswordPolicy(groups = BasicSignupRequestValidation.class) String password, String confirmPassword) {
+		@PasswordPolicy(groups = BasicSignupRequestValidation.class) @NotBreachedPassword(
+				groups = AdvancedSignupRequestValidation.class) String password,
+		String confirmPassword) {
 }
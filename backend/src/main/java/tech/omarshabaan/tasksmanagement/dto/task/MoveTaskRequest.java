@@ -0,0 +1,13 @@
+package tech.omarshabaan.tasksmanagement.dto.task;
+
+import jakarta.validation.constraints.NotNull;
+import tech.omarshabaan.tasksmanagement.entity.TaskStatus;
+
+import java.util.UUID;
+
+public record MoveTaskRequest(//
+		@NotNull(message = "Status is required") //
+		TaskStatus status, //
+
+		UUID afterTaskUuid) {
+}
@@ -0,0 +1,32 @@
+package tech.omarshabaan.tasksmanagement.dto.task;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Formats of {@code GET /api/tasks/me/export} and {@code POST /api/tasks/import},
+ * selected with {@code format=csv|ndjson}.
+ */
+public enum TaskExportFormat {
+
+	CSV(new MediaType("text", "csv"), "csv"),
+
+	NDJSON(MediaType.APPLICATION_NDJSON, "ndjson");
+
+	private final MediaType mediaType;
+
+	private final String fileExtension;
+
+	TaskExportFormat(MediaType mediaType, String fileExtension) {
+		this.mediaType = mediaType;
+		this.fileExtension = fileExtension;
+	}
+
+	public MediaType mediaType() {
+		return mediaType;
+	}
+
+	public String fileExtension() {
+		return fileExtension;
+	}
+
+}
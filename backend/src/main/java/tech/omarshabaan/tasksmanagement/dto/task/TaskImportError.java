@@ -0,0 +1,8 @@
+package tech.omarshabaan.tasksmanagement.dto.task;
+
+/**
+ * A row of an import that was skipped: its 1-based number among the data rows, the field
+ * at fault, or null when the row as a whole could not be read, and why.
+ */
+public record TaskImportError(long row, String field, String message) {
+}
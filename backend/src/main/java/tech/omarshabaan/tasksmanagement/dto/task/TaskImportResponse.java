@@ -0,0 +1,10 @@
+package tech.omarshabaan.tasksmanagement.dto.task;
+
+import java.util.List;
+
+/**
+ * Outcome of {@code POST /api/tasks/import}; {@code errors} lists the first skipped rows,
+ * {@code failed} counts all of them.
+ */
+public record TaskImportResponse(long imported, long failed, List<TaskImportError> errors) {
+}
@@ -0,0 +1,10 @@
+package tech.omarshabaan.tasksmanagement.dto.webhook;
+
+import jakarta.validation.constraints.NotBlank;
+import org.hibernate.validator.constraints.URL;
+
+public record CreateWebhookSubscriptionRequest(//
+		@NotBlank(message = "URL is required") //
+		@URL(regexp = "^https?://.*", message = "URL must be an absolute http or https URL") //
+		String url) {
+}
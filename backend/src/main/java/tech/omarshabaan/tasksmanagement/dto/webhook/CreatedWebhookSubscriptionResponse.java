@@ -0,0 +1,10 @@
+package tech.omarshabaan.tasksmanagement.dto.webhook;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A new subscription with its signing secret, which is never returned again.
+ */
+public record CreatedWebhookSubscriptionResponse(UUID uuid, String url, String secret, Instant createdAt) {
+}
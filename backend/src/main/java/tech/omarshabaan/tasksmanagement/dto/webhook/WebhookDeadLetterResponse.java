@@ -0,0 +1,8 @@
+package tech.omarshabaan.tasksmanagement.dto.webhook;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record WebhookDeadLetterResponse(UUID eventId, String eventType, int attempts, String lastError,
+		Instant createdAt, Instant deadAt) {
+}
@@ -0,0 +1,4 @@
+package tech.omarshabaan.tasksmanagement.dto.webhook;
+
+public record WebhookRedriveResponse(int redriven) {
+}
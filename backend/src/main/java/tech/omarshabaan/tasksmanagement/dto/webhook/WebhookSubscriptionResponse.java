@@ -0,0 +1,7 @@
+package tech.omarshabaan.tasksmanagement.dto.webhook;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record WebhookSubscriptionResponse(UUID uuid, String url, Instant createdAt) {
+}
@@ -0,0 +1,200 @@
+package tech.omarshabaan.tasksmanagement.entity;
+
+import com.fasterxml.uuid.Generators;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A unit of background work. Ad-hoc jobs run once and end up {@code SUCCEEDED} or
+ * {@code FAILED}; periodic jobs carry a {@code name} and {@code cron} and go back to
+ * {@code PENDING} for their next slot after every run.
+ */
+@Entity
+@Table(name = "jobs")
+public class Job extends BaseEntity {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "jobs_id_seq")
+	@SequenceGenerator(name = "jobs_id_seq", sequenceName = "jobs_id_seq", allocationSize = 1)
+	private Long id;
+
+	@Column(nullable = false, unique = true, updatable = false)
+	private UUID uuid;
+
+	@Column(nullable = false, updatable = false)
+	private String type;
+
+	@Column(unique = true, updatable = false)
+	private String name;
+
+	@Column
+	private String cron;
+
+	@Column(columnDefinition = "TEXT")
+	private String payload;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false)
+	private JobStatus status = JobStatus.PENDING;
+
+	@Column(nullable = false)
+	private int attempts;
+
+	@Column(nullable = false)
+	private int maxAttempts;
+
+	@Column(nullable = false)
+	private Instant runAt;
+
+	@Column
+	private String lockedBy;
+
+	@Column
+	private Instant lockedUntil;
+
+	@Column(columnDefinition = "TEXT")
+	private String lastError;
+
+	@PrePersist
+	public void generateUuid() {
+		if (this.uuid == null) {
+			this.uuid = Generators.timeBasedEpochGenerator().generate();
+		}
+	}
+
+	protected Job() {
+	}
+
+	public Job(String type, String payload, int maxAttempts, Instant runAt) {
+		this.type = type;
+		this.payload = payload;
+		this.maxAttempts = maxAttempts;
+		this.runAt = runAt;
+	}
+
+	public static Job periodic(String type, String cron, int maxAttempts, Instant runAt) {
+		Job job = new Job(type, null, maxAttempts, runAt);
+		job.name = type;
+		job.cron = cron;
+		return job;
+	}
+
+	public boolean isPeriodic() {
+		return cron != null;
+	}
+
+	public void claim(String node, Instant leaseUntil) {
+		this.status = JobStatus.RUNNING;
+		this.attempts++;
+		this.lockedBy = node;
+		this.lockedUntil = leaseUntil;
+	}
+
+	public boolean isLeasedBy(String node) {
+		return status == JobStatus.RUNNING && node.equals(lockedBy);
+	}
+
+	public void succeed() {
+		release();
+		this.status = JobStatus.SUCCEEDED;
+		this.lastError = null;
+	}
+
+	public void fail(String error) {
+		release();
+		this.status = JobStatus.FAILED;
+		this.lastError = error;
+	}
+
+	public void retryAt(Instant runAt, String error) {
+		release();
+		this.status = JobStatus.PENDING;
+		this.runAt = runAt;
+		this.lastError = error;
+	}
+
+	public void rescheduleAt(Instant runAt, String error) {
+		release();
+		this.status = JobStatus.PENDING;
+		this.runAt = runAt;
+		this.attempts = 0;
+		this.lastError = error;
+	}
+
+	private void release() {
+		this.lockedBy = null;
+		this.lockedUntil = null;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public UUID getUuid() {
+		return uuid;
+	}
+
+	public String getType() {
+		return type;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getCron() {
+		return cron;
+	}
+
+	public void setCron(String cron) {
+		this.cron = cron;
+	}
+
+	public String getPayload() {
+		return payload;
+	}
+
+	public JobStatus getStatus() {
+		return status;
+	}
+
+	public int getAttempts() {
+		return attempts;
+	}
+
+	public int getMaxAttempts() {
+		return maxAttempts;
+	}
+
+	public Instant getRunAt() {
+		return runAt;
+	}
+
+	public void setRunAt(Instant runAt) {
+		this.runAt = runAt;
+	}
+
+	public String getLockedBy() {
+		return lockedBy;
+	}
+
+	public Instant getLockedUntil() {
+		return lockedUntil;
+	}
+
+	public String getLastError() {
+		return lastError;
+	}
+
+}
@@ -0,0 +1,100 @@
+package tech.omarshabaan.tasksmanagement.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/**
+ * One attempt at running a {@link Job}, written when the attempt finishes. Rows are
+ * append-only and purged after the configured history retention.
+ */
+@Entity
+@Table(name = "job_executions")
+public class JobExecution {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "job_executions_id_seq")
+	@SequenceGenerator(name = "job_executions_id_seq", sequenceName = "job_executions_id_seq", allocationSize = 1)
+	private Long id;
+
+	@ManyToOne(fetch = FetchType.LAZY, optional = false)
+	@JoinColumn(name = "job_id", nullable = false, updatable = false)
+	private Job job;
+
+	@Column(nullable = false, updatable = false)
+	private int attempt;
+
+	@Column(nullable = false, updatable = false)
+	private String node;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, updatable = false)
+	private JobExecutionOutcome outcome;
+
+	@Column(columnDefinition = "TEXT", updatable = false)
+	private String error;
+
+	@Column(nullable = false, updatable = false)
+	private Instant startedAt;
+
+	@Column(nullable = false, updatable = false)
+	private Instant finishedAt;
+
+	protected JobExecution() {
+	}
+
+	public JobExecution(Job job, int attempt, String node, JobExecutionOutcome outcome, String error, Instant startedAt,
+			Instant finishedAt) {
+		this.job = job;
+		this.attempt = attempt;
+		this.node = node;
+		this.outcome = outcome;
+		this.error = error;
+		this.startedAt = startedAt;
+		this.finishedAt = finishedAt;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public Job getJob() {
+		return job;
+	}
+
+	public int getAttempt() {
+		return attempt;
+	}
+
+	public String getNode() {
+		return node;
+	}
+
+	public JobExecutionOutcome getOutcome() {
+		return outcome;
+	}
+
+	public String getError() {
+		return error;
+	}
+
+	public Instant getStartedAt() {
+		return startedAt;
+	}
+
+	public Instant getFinishedAt() {
+		return finishedAt;
+	}
+
+}
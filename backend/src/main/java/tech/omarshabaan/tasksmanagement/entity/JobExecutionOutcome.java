@@ -0,0 +1,7 @@
+package tech.omarshabaan.tasksmanagement.entity;
+
+public enum JobExecutionOutcome {
+
+	SUCCEEDED, FAILED, LEASE_EXPIRED
+
+}
@@ -0,0 +1,7 @@
+package tech.omarshabaan.tasksmanagement.entity;
+
+public enum JobStatus {
+
+	PENDING, RUNNING, SUCCEEDED, FAILED
+
+}
@@ -22,6 +22,8 @@ import java.util.UUID;
 @Table(name = "tasks")
 public class Task extends BaseEntity {
 
+	private static final String DEFAULT_RANK = "i";
+
 	@Id
 	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_id_seq")
 	@SequenceGenerator(name = "tasks_id_seq", sequenceName = "tasks_id_seq", allocationSize = 1)
@@ -47,6 +49,14 @@ public class Task extends BaseEntity {
 	@Column
 	private Instant dueDate;
 
+	/**
+	 * Position in the assignee's board column of the task's status. Only written on
+	 * insert; a move or a rebalance rewrites it with a statement of its own, which an
+	 * update of the task's other fields can never revert.
+	 */
+	@Column(nullable = false, updatable = false)
+	private String rank;
+
 	@ManyToOne(fetch = FetchType.LAZY, optional = false)
 	@JoinColumn(name = "created_by_id", nullable = false)
 	private User createdBy;
@@ -60,6 +70,10 @@ public class Task extends BaseEntity {
 		if (this.uuid == null) {
 			this.uuid = Generators.timeBasedEpochGenerator().generate();
 		}
+		if (this.rank == null) {
+			// the middle of the column; tasks with equal ranks are ordered by id
+			this.rank = DEFAULT_RANK;
+		}
 	}
 
 	protected Task() {
@@ -127,6 +141,14 @@ public class Task extends BaseEntity {
 		this.dueDate = dueDate;
 	}
 
+	public String getRank() {
+		return rank;
+	}
+
+	public void setRank(String rank) {
+		this.rank = rank;
+	}
+
 	public User getCreatedBy() {
 		return createdBy;
 	}
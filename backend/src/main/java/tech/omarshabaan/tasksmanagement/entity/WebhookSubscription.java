@@ -0,0 +1,69 @@
+package tech.omarshabaan.tasksmanagement.entity;
+
+import com.fasterxml.uuid.Generators;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+import java.util.UUID;
+
+/**
+ * An endpoint that receives every task event, signed with {@code secret}. The events
+ * themselves go through the {@code webhook_deliveries} outbox.
+ */
+@Entity
+@Table(name = "webhook_subscriptions")
+public class WebhookSubscription extends BaseEntity {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "webhook_subscriptions_id_seq")
+	@SequenceGenerator(name = "webhook_subscriptions_id_seq", sequenceName = "webhook_subscriptions_id_seq",
+			allocationSize = 1)
+	private Long id;
+
+	@Column(nullable = false, unique = true, updatable = false)
+	private UUID uuid;
+
+	@Column(nullable = false, updatable = false)
+	private String url;
+
+	@Column(nullable = false, updatable = false)
+	private String secret;
+
+	@PrePersist
+	public void generateUuid() {
+		if (this.uuid == null) {
+			this.uuid = Generators.timeBasedEpochGenerator().generate();
+		}
+	}
+
+	protected WebhookSubscription() {
+	}
+
+	public WebhookSubscription(String url, String secret) {
+		this.url = url;
+		this.secret = secret;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public UUID getUuid() {
+		return uuid;
+	}
+
+	public String getUrl() {
+		return url;
+	}
+
+	public String getSecret() {
+		return secret;
+	}
+
+}
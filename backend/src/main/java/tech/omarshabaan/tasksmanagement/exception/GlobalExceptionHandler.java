@@ -1,7 +1,10 @@
 package tech.omarshabaan.tasksmanagement.exception;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -9,6 +12,7 @@ import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -26,6 +30,10 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
 	private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+	private static final Map<String, Map<String, String>> UNIQUE_CONSTRAINT_ERRORS = Map.of("user_security_email_key",
+			Map.of("email", "Email already exists"), "users_username_key",
+			Map.of("username", "Username already exists"));
+
 	@Override
 	protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex,
 			HttpHeaders headers, HttpStatusCode status, WebRequest request) {
@@ -64,6 +72,119 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 		return problemDetail;
 	}
 
+	@ExceptionHandler(PasswordHashingUnavailableException.class)
+	ResponseEntity<ProblemDetail> handlePasswordHashingUnavailableException(PasswordHashingUnavailableException ex) {
+		logger.warn("Password hashing saturated: {}", ex.getMessage());
+
+		var problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+		problemDetail.setTitle("Service Unavailable");
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+			.header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+			.body(problemDetail);
+	}
+
+	@ExceptionHandler(RateLimitExceededException.class)
+	ResponseEntity<ProblemDetail> handleRateLimitExceededException(RateLimitExceededException ex) {
+		logger.warn("Rate limit exceeded: {}", ex.getMessage());
+
+		var problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage());
+		problemDetail.setTitle("Too Many Requests");
+		// rounded up, a client retrying after the header's seconds finds a token
+		long retryAfterSeconds = (ex.getRetryAfter().toMillis() + 999) / 1000;
+		return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+			.header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfterSeconds)))
+			.body(problemDetail);
+	}
+
+	@ExceptionHandler(PayloadTooLargeException.class)
+	@ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+	ProblemDetail handlePayloadTooLargeException(PayloadTooLargeException ex) {
+		logger.warn("Payload too large: {}", ex.getMessage());
+
+		var problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.PAYLOAD_TOO_LARGE, ex.getMessage());
+		problemDetail.setTitle("Payload Too Large");
+		return problemDetail;
+	}
+
+	@ExceptionHandler(InvalidImportFileException.class)
+	@ResponseStatus(HttpStatus.BAD_REQUEST)
+	ProblemDetail handleInvalidImportFileException(InvalidImportFileException ex) {
+		logger.warn("Invalid import file: {}", ex.getMessage());
+
+		var problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage());
+		problemDetail.setTitle("Invalid Import File");
+		return problemDetail;
+	}
+
+	@ExceptionHandler(WebhookSubscriptionNotFoundException.class)
+	@ResponseStatus(HttpStatus.NOT_FOUND)
+	ProblemDetail handleWebhookSubscriptionNotFoundException(WebhookSubscriptionNotFoundException ex) {
+		logger.warn("Webhook subscription not found: {}", ex.getMessage());
+
+		var problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, ex.getMessage());
+		problemDetail.setTitle("Not Found");
+		return problemDetail;
+	}
+
+	@ExceptionHandler(IdempotencyKeyMismatchException.class)
+	@ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+	ProblemDetail handleIdempotencyKeyMismatchException(IdempotencyKeyMismatchException ex) {
+		logger.warn("Idempotency key mismatch: {}", ex.getMessage());
+
+		var problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.UNPROCESSABLE_ENTITY, ex.getMessage());
+		problemDetail.setTitle("Idempotency Key Reused");
+		return problemDetail;
+	}
+
+	/**
+	 * No database connection could be obtained in time, e.g. the database gate or the
+	 * pool is saturated; the client should back off and retry.
+	 */
+	@ExceptionHandler({ CannotCreateTransactionException.class, DataAccessResourceFailureException.class })
+	ResponseEntity<ProblemDetail> handleDatabaseUnavailableException(Exception ex) {
+		logger.warn("Database unavailable: {}", ex.getMessage());
+
+		var problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE,
+				"The service is temporarily overloaded, please retry");
+		problemDetail.setTitle("Service Unavailable");
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+			.header(HttpHeaders.RETRY_AFTER, "1")
+			.body(problemDetail);
+	}
+
+	/**
+	 * Unique constraint violations the request validators would normally have caught,
+	 * e.g. a signup racing another one or slipping past a stale uniqueness filter, are
+	 * reported like the validation error; anything else is a plain conflict.
+	 */
+	@ExceptionHandler(DataIntegrityViolationException.class)
+	ResponseEntity<ProblemDetail> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+		String constraint = constraintName(ex);
+		logger.warn("Data integrity violation on constraint {}: {}", constraint, ex.getMessage());
+
+		Map<String, String> error = constraint == null ? null : UNIQUE_CONSTRAINT_ERRORS.get(constraint);
+		if (error != null) {
+			var problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, "Validation failed");
+			problemDetail.setTitle("Validation Error");
+			problemDetail.setProperty("errors", error);
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(problemDetail);
+		}
+
+		var problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT,
+				"The request conflicts with existing data");
+		problemDetail.setTitle("Conflict");
+		return ResponseEntity.status(HttpStatus.CONFLICT).body(problemDetail);
+	}
+
+	private static String constraintName(Throwable ex) {
+		for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+			if (cause instanceof ConstraintViolationException violation) {
+				return violation.getConstraintName();
+			}
+		}
+		return null;
+	}
+
 	@ExceptionHandler(AccessDeniedException.class)
 	@ResponseStatus(HttpStatus.FORBIDDEN)
 	ProblemDetail handleAccessDeniedException(AccessDeniedException ex) {
@@ -0,0 +1,9 @@
+package tech.omarshabaan.tasksmanagement.exception;
+
+public class IdempotencyKeyMismatchException extends RuntimeException {
+
+	public IdempotencyKeyMismatchException(String idempotencyKey) {
+		super("Idempotency key " + idempotencyKey + " was already used with a different request");
+	}
+
+}
@@ -0,0 +1,9 @@
+package tech.omarshabaan.tasksmanagement.exception;
+
+public class InvalidImportFileException extends RuntimeException {
+
+	public InvalidImportFileException(String message) {
+		super(message);
+	}
+
+}
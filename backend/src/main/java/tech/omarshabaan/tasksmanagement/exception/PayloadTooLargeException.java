@@ -0,0 +1,9 @@
+package tech.omarshabaan.tasksmanagement.exception;
+
+public class PayloadTooLargeException extends RuntimeException {
+
+	public PayloadTooLargeException(String message) {
+		super(message);
+	}
+
+}
@@ -0,0 +1,11 @@
+package tech.omarshabaan.tasksmanagement.exception;
+
+import java.util.UUID;
+
+public class WebhookSubscriptionNotFoundException extends RuntimeException {
+
+	public WebhookSubscriptionNotFoundException(UUID uuid) {
+		super("Webhook subscription " + uuid + " not found");
+	}
+
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import tech.omarshabaan.tasksmanagement.entity.RefreshToken;
+import tech.omarshabaan.tasksmanagement.entity.User;
 import tech.omarshabaan.tasksmanagement.entity.UserSecurity;
 
 import java.time.Instant;
@@ -17,18 +18,70 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
 
 	Optional<RefreshToken> findByToken(String token);
 
+	/**
+	 * Loads a refresh token together with its user, credentials, roles and authorities in
+	 * one statement. The role and authority fetch joins repeat the row per authority, so
+	 * callers take the first element.
+	 */
+	@Query("""
+			SELECT rt AS refreshToken, u AS user FROM User u
+			JOIN FETCH u.userSecurity us
+			LEFT JOIN FETCH us.roles r
+			LEFT JOIN FETCH r.authorities
+			JOIN RefreshToken rt ON rt.user = us
+			WHERE rt.token = :token
+			""")
+	List<RefreshTokenWithUser> findWithUserByToken(@Param("token") String token);
+
 	List<RefreshToken> findByUser(UserSecurity user);
 
 	@Modifying
 	@Query("DELETE FROM RefreshToken rt WHERE rt.user = :user")
 	void deleteByUser(@Param("user") UserSecurity user);
 
+	/**
+	 * Deletes at most {@code batchSize} tokens that expired before {@code cutoff}. Rows
+	 * locked by concurrent transactions are skipped and picked up by a later batch.
+	 */
 	@Modifying
-	@Query("DELETE FROM RefreshToken rt WHERE rt.expiryDate <= :now")
-	int deleteExpiredTokens(@Param("now") Instant now);
+	@Query(value = """
+			DELETE FROM refresh_tokens
+			WHERE id IN (SELECT id FROM refresh_tokens
+			             WHERE expiry_date <= :cutoff
+			             ORDER BY expiry_date
+			             LIMIT :batchSize
+			             FOR UPDATE SKIP LOCKED)
+			""", nativeQuery = true)
+	int deleteExpiredTokensBatch(@Param("cutoff") Instant cutoff, @Param("batchSize") int batchSize);
+
+	@Query(value = "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = 'refresh_tokens'::regclass)",
+			nativeQuery = true)
+	boolean isPartitioned();
+
+	/**
+	 * Drops the daily partitions whose whole range lies before {@code cutoff}. Only
+	 * available once the optional partitioning migration has been applied.
+	 */
+	@Query(value = "SELECT refresh_tokens_drop_partitions_before(:cutoff)", nativeQuery = true)
+	int dropPartitionsBefore(@Param("cutoff") Instant cutoff);
+
+	/**
+	 * Creates the missing daily partitions from today up to {@code daysAhead} days ahead.
+	 * Only available once the optional partitioning migration has been applied.
+	 */
+	@Query(value = "SELECT refresh_tokens_create_partitions(:daysAhead)", nativeQuery = true)
+	int createPartitions(@Param("daysAhead") int daysAhead);
 
 	@Modifying
-	@Query("UPDATE RefreshToken rt SET rt.revoked = true WHERE rt.user = :user")
+	@Query("UPDATE RefreshToken rt SET rt.revoked = true WHERE rt.user = :user AND rt.revoked = false")
 	void revokeAllByUser(@Param("user") UserSecurity user);
 
+	interface RefreshTokenWithUser {
+
+		RefreshToken getRefreshToken();
+
+		User getUser();
+
+	}
+
 }
\ No newline at end of file
@@ -1,17 +1,63 @@
 package tech.omarshabaan.tasksmanagement.repository.auth;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import tech.omarshabaan.tasksmanagement.entity.UserSecurity;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface UserSecurityRepository extends JpaRepository<UserSecurity, Long> {
 
 	boolean existsByEmail(String email);
 
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+	@Query("SELECT us.email FROM UserSecurity us")
+	Stream<String> streamAllEmails();
+
 	Optional<UserSecurity> findByEmail(String email);
 
 	Optional<UserSecurity> findByUuid(UUID uuid);
 
+	@Modifying
+	@Query("""
+			UPDATE UserSecurity us
+			SET us.password = :newPassword, us.updatedAt = :now, us.version = us.version + 1
+			WHERE us.email = :email AND us.password = :oldPassword
+			""")
+	int updatePasswordIfUnchanged(@Param("email") String email, @Param("oldPassword") String oldPassword,
+			@Param("newPassword") String newPassword, @Param("now") Instant now);
+
+	/**
+	 * Counts stored password hashes per algorithm and work factor, labelled like
+	 * {@link tech.omarshabaan.tasksmanagement.security.PasswordHashSetting}.
+	 */
+	@Query(value = """
+			SELECT CASE
+			         WHEN h LIKE '$argon2id$%' THEN 'argon2id:' || split_part(h, '$', 4)
+			         WHEN h LIKE '$2%' THEN 'bcrypt:' || ltrim(split_part(h, '$', 3), '0')
+			         ELSE 'unknown'
+			       END AS setting,
+			       count(*) AS count
+			FROM (SELECT regexp_replace(password, '^[^$]*', '') AS h FROM user_security) hashes
+			GROUP BY 1
+			""", nativeQuery = true)
+	List<PasswordHashSettingCount> countByPasswordHashSetting();
+
+	interface PasswordHashSettingCount {
+
+		String getSetting();
+
+		long getCount();
+
+	}
+
 }
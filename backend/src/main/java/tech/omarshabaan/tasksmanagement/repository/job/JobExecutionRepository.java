@@ -0,0 +1,23 @@
+package tech.omarshabaan.tasksmanagement.repository.job;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import tech.omarshabaan.tasksmanagement.entity.Job;
+import tech.omarshabaan.tasksmanagement.entity.JobExecution;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface JobExecutionRepository extends JpaRepository<JobExecution, Long> {
+
+	List<JobExecution> findByJobOrderByStartedAt(Job job);
+
+	@Modifying
+	@Query("DELETE FROM JobExecution e WHERE e.finishedAt < :cutoff")
+	int deleteFinishedBefore(@Param("cutoff") Instant cutoff);
+
+}
@@ -0,0 +1,62 @@
+package tech.omarshabaan.tasksmanagement.repository.job;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import tech.omarshabaan.tasksmanagement.entity.Job;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface JobRepository extends JpaRepository<Job, Long> {
+
+	Optional<Job> findByUuid(UUID uuid);
+
+	Optional<Job> findByName(String name);
+
+	/**
+	 * Locks up to {@code limit} jobs of the given types that are due, or whose lease has
+	 * expired because the node running them died. Rows already locked by another node's
+	 * claim are skipped, so concurrent pollers never see the same job.
+	 */
+	@Query(value = """
+			SELECT * FROM jobs
+			WHERE ((status = 'PENDING' AND run_at <= :now)
+			    OR (status = 'RUNNING' AND locked_until < :now))
+			  AND type IN (:types)
+			ORDER BY run_at
+			LIMIT :limit
+			FOR UPDATE SKIP LOCKED
+			""", nativeQuery = true)
+	List<Job> lockClaimable(@Param("now") Instant now, @Param("limit") int limit,
+			@Param("types") Collection<String> types);
+
+	@Modifying
+	@Query("UPDATE Job j SET j.lockedUntil = :leaseUntil WHERE j.id IN :ids AND j.lockedBy = :node")
+	int extendLeases(@Param("ids") Collection<Long> ids, @Param("node") String node,
+			@Param("leaseUntil") Instant leaseUntil);
+
+	@Modifying
+	@Query("""
+			DELETE FROM Job j
+			WHERE j.name = :name AND j.cron IS NOT NULL
+			  AND j.status <> tech.omarshabaan.tasksmanagement.entity.JobStatus.RUNNING
+			""")
+	int deletePeriodic(@Param("name") String name);
+
+	@Modifying
+	@Query("""
+			DELETE FROM Job j
+			WHERE j.cron IS NULL AND j.updatedAt < :cutoff
+			  AND j.status IN (tech.omarshabaan.tasksmanagement.entity.JobStatus.SUCCEEDED,
+			                   tech.omarshabaan.tasksmanagement.entity.JobStatus.FAILED)
+			""")
+	int deleteFinishedBefore(@Param("cutoff") Instant cutoff);
+
+}
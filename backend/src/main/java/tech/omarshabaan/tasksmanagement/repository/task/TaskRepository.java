@@ -1,10 +1,14 @@
 package tech.omarshabaan.tasksmanagement.repository.task;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import tech.omarshabaan.tasksmanagement.dto.task.GetTaskResponse;
 import tech.omarshabaan.tasksmanagement.entity.Task;
 import tech.omarshabaan.tasksmanagement.entity.TaskStatus;
 import tech.omarshabaan.tasksmanagement.entity.User;
@@ -12,16 +16,23 @@ import tech.omarshabaan.tasksmanagement.entity.User;
 import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface TaskRepository extends JpaRepository<Task, Long> {
 
+	String EXPORT_FETCH_SIZE = "500";
+
 	Page<Task> findByCreatedBy(User user, Pageable pageable);
 
 	Page<Task> findByAssignedTo(User user, Pageable pageable);
 
 	Page<Task> findByCreatedByAndStatus(User user, TaskStatus status, Pageable pageable);
 
-	Page<Task> findByAssignedToAndStatus(User user, TaskStatus status, Pageable pageable);
+	/**
+	 * A board column: the user's tasks in the status in board order, served from
+	 * {@code idx_tasks_assigned_to_status_rank}.
+	 */
+	Page<Task> findByAssignedToAndStatusOrderByRankAscIdAsc(User user, TaskStatus status, Pageable pageable);
 
 	Optional<Task> findByUuidAndCreatedBy(UUID uuid, User user);
 
@@ -35,6 +46,56 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
 	Page<Task> findByAssignedToAndDueDateBetween(@Param("user") User user, @Param("start") Instant start,
 			@Param("end") Instant end, Pageable pageable);
 
+	/**
+	 * Open tasks assigned to the user that were due before {@code now}, the longest
+	 * overdue first. The statuses are literals rather than parameters so the planner can
+	 * match the partial index on open tasks, {@code idx_tasks_open_assigned_to_due_date}.
+	 */
+	@Query("""
+			SELECT t FROM Task t WHERE t.assignedTo = :user
+			AND t.status IN (tech.omarshabaan.tasksmanagement.entity.TaskStatus.PENDING,
+			tech.omarshabaan.tasksmanagement.entity.TaskStatus.IN_PROGRESS)
+			AND t.dueDate < :now
+			ORDER BY t.dueDate, t.id""")
+	Page<Task> findOverdueByAssignedTo(@Param("user") User user, @Param("now") Instant now, Pageable pageable);
+
+	/**
+	 * Open tasks assigned to the user due from {@code now} up to, not including,
+	 * {@code until}, the soonest first; served from the same partial index as
+	 * {@link #findOverdueByAssignedTo}.
+	 */
+	@Query("""
+			SELECT t FROM Task t WHERE t.assignedTo = :user
+			AND t.status IN (tech.omarshabaan.tasksmanagement.entity.TaskStatus.PENDING,
+			tech.omarshabaan.tasksmanagement.entity.TaskStatus.IN_PROGRESS)
+			AND t.dueDate >= :now AND t.dueDate < :until
+			ORDER BY t.dueDate, t.id""")
+	Page<Task> findDueSoonByAssignedTo(@Param("user") User user, @Param("now") Instant now,
+			@Param("until") Instant until, Pageable pageable);
+
+	/**
+	 * All tasks assigned to the user as rows, read through a cursor
+	 * {@value #EXPORT_FETCH_SIZE} at a time; the constructor expression keeps them out of
+	 * the persistence context. Must be consumed, and closed, inside a transaction.
+	 */
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+	@Query("""
+			SELECT new tech.omarshabaan.tasksmanagement.dto.task.GetTaskResponse(t.uuid, t.title, t.description,
+			t.status, t.priority, t.dueDate, t.createdAt, t.updatedAt)
+			FROM Task t WHERE t.assignedTo = :user ORDER BY t.id""")
+	Stream<GetTaskResponse> streamRowsByAssignedTo(@Param("user") User user);
+
+	/**
+	 * As {@link #streamRowsByAssignedTo(User)}, only tasks in the given status.
+	 */
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+	@Query("""
+			SELECT new tech.omarshabaan.tasksmanagement.dto.task.GetTaskResponse(t.uuid, t.title, t.description,
+			t.status, t.priority, t.dueDate, t.createdAt, t.updatedAt)
+			FROM Task t WHERE t.assignedTo = :user AND t.status = :status ORDER BY t.id""")
+	Stream<GetTaskResponse> streamRowsByAssignedToAndStatus(@Param("user") User user,
+			@Param("status") TaskStatus status);
+
 	long countByCreatedByAndStatus(User user, TaskStatus status);
 
 	long countByAssignedToAndStatus(User user, TaskStatus status);
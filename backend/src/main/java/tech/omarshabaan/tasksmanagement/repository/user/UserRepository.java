@@ -1,18 +1,41 @@
 package tech.omarshabaan.tasksmanagement.repository.user;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import tech.omarshabaan.tasksmanagement.entity.User;
 import tech.omarshabaan.tasksmanagement.entity.UserSecurity;
 
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
 	boolean existsByUsername(String username);
 
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+	@Query("SELECT u.username FROM User u")
+	Stream<String> streamAllUsernames();
+
 	Optional<User> findByUserSecurity(UserSecurity userSecurity);
 
 	Optional<User> findByUuid(UUID uuid);
 
+	/**
+	 * Loads a user with its credentials, roles and authorities in one statement, which is
+	 * everything needed to build the authentication principal.
+	 */
+	@Query("""
+			SELECT u FROM User u
+			JOIN FETCH u.userSecurity us
+			LEFT JOIN FETCH us.roles r
+			LEFT JOIN FETCH r.authorities
+			WHERE us.email = :email
+			""")
+	Optional<User> findPrincipalByEmail(@Param("email") String email);
+
 }
@@ -0,0 +1,15 @@
+package tech.omarshabaan.tasksmanagement.repository.webhook;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import tech.omarshabaan.tasksmanagement.entity.WebhookSubscription;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface WebhookSubscriptionRepository extends JpaRepository<WebhookSubscription, Long> {
+
+	Optional<WebhookSubscription> findByUuid(UUID uuid);
+
+}
@@ -0,0 +1,200 @@
+package tech.omarshabaan.tasksmanagement.security;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import tech.omarshabaan.tasksmanagement.exception.PayloadTooLargeException;
+import tech.omarshabaan.tasksmanagement.exception.RateLimitExceededException;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Throttles the unauthenticated auth endpoints ahead of the security filter chain: every
+ * request takes a token from the bucket of its client address, and sign-in and sign-up
+ * also from the bucket of the email in the body, trimmed and lower-cased. A request
+ * without a token is answered with 429 and a {@code Retry-After} through the
+ * {@link HandlerExceptionResolver}, before the body is bound, the password is hashed or
+ * anything else reaches the {@code AuthenticationManager}.
+ * <p>
+ * The address is {@link HttpServletRequest#getRemoteAddr()}; behind a proxy it is the
+ * proxy's unless {@code server.forward-headers-strategy} is set. To find the email, the
+ * JSON body is read and handed on unchanged. A body over {@value #MAX_BODY_BYTES} bytes
+ * is answered with 413, so padding cannot push the email out of reach; a malformed body
+ * is only limited by address and left to the controller to reject.
+ */
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+	static final int MAX_BODY_BYTES = 8192;
+
+	private static final Set<String> PATHS = Set.of("/api/auth/signin", "/api/auth/signup", "/api/auth/refresh");
+
+	private static final Set<String> PATHS_WITH_EMAIL = Set.of("/api/auth/signin", "/api/auth/signup");
+
+	private final TokenBucketLimiter addressLimiter;
+
+	private final TokenBucketLimiter emailLimiter;
+
+	private final JsonFactory jsonFactory;
+
+	private final HandlerExceptionResolver resolver;
+
+	public AuthRateLimitFilter(TokenBucketLimiter addressLimiter, TokenBucketLimiter emailLimiter,
+			JsonFactory jsonFactory, HandlerExceptionResolver resolver) {
+		this.addressLimiter = addressLimiter;
+		this.emailLimiter = emailLimiter;
+		this.jsonFactory = jsonFactory;
+		this.resolver = resolver;
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !HttpMethod.POST.matches(request.getMethod()) || !PATHS.contains(path(request));
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		Duration wait = addressLimiter.tryAcquire(request.getRemoteAddr());
+		if (!wait.isZero()) {
+			reject(request, response, wait);
+			return;
+		}
+
+		if (PATHS_WITH_EMAIL.contains(path(request))) {
+			// Content-Length up front, a chunked body by reading one byte past
+			byte[] body = request.getContentLengthLong() > MAX_BODY_BYTES ? null
+					: request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+			if (body == null || body.length > MAX_BODY_BYTES) {
+				resolver.resolveException(request, response, null,
+						new PayloadTooLargeException("Request body exceeds " + MAX_BODY_BYTES + " bytes"));
+				return;
+			}
+			String email = email(body);
+			if (email != null) {
+				wait = emailLimiter.tryAcquire(email.trim().toLowerCase(Locale.ROOT));
+				if (!wait.isZero()) {
+					reject(request, response, wait);
+					return;
+				}
+			}
+			request = new BufferedBodyRequest(request, body);
+		}
+		filterChain.doFilter(request, response);
+	}
+
+	private void reject(HttpServletRequest request, HttpServletResponse response, Duration wait) {
+		resolver.resolveException(request, response, null,
+				new RateLimitExceededException("Too many attempts, try again later", wait));
+	}
+
+	private static String path(HttpServletRequest request) {
+		return request.getRequestURI().substring(request.getContextPath().length());
+	}
+
+	/**
+	 * The top-level {@code email} of a JSON object as the controller binds it, or null.
+	 * When the key repeats that is the last value, and a number or boolean is taken as
+	 * its text.
+	 */
+	private String email(byte[] body) {
+		try (JsonParser parser = jsonFactory.createParser(body)) {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				return null;
+			}
+			String email = null;
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String field = parser.currentName();
+				JsonToken value = parser.nextToken();
+				if (field.equals("email")) {
+					email = value.isScalarValue() && value != JsonToken.VALUE_NULL ? parser.getText() : null;
+				}
+				parser.skipChildren();
+			}
+			return email;
+		}
+		catch (IOException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Serves the request body from the bytes read up front; being all in memory, it is
+	 * ready for a {@link ReadListener} at once.
+	 */
+	private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+		private final ByteArrayInputStream stream;
+
+		private BufferedBodyRequest(HttpServletRequest request, byte[] body) {
+			super(request);
+			this.stream = new ByteArrayInputStream(body);
+		}
+
+		@Override
+		public ServletInputStream getInputStream() {
+			return new ServletInputStream() {
+
+				@Override
+				public int read() throws IOException {
+					return stream.read();
+				}
+
+				@Override
+				public int read(byte[] buffer, int offset, int length) throws IOException {
+					return stream.read(buffer, offset, length);
+				}
+
+				@Override
+				public boolean isFinished() {
+					return stream.available() == 0;
+				}
+
+				@Override
+				public boolean isReady() {
+					return true;
+				}
+
+				@Override
+				public void setReadListener(ReadListener readListener) {
+					try {
+						if (!isFinished()) {
+							readListener.onDataAvailable();
+						}
+						readListener.onAllDataRead();
+					}
+					catch (IOException ex) {
+						readListener.onError(ex);
+					}
+				}
+
+			};
+		}
+
+		@Override
+		public BufferedReader getReader() {
+			String encoding = getCharacterEncoding();
+			Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+			return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+		}
+
+	}
+
+}
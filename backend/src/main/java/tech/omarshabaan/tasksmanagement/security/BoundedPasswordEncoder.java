@@ -0,0 +1,182 @@
+package tech.omarshabaan.tasksmanagement.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import tech.omarshabaan.tasksmanagement.config.PasswordHashingProperties;
+import tech.omarshabaan.tasksmanagement.exception.PasswordHashingUnavailableException;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs a {@link PasswordEncoder}'s {@code encode} and {@code matches} on a small fixed
+ * pool with a bounded queue. Hashing is deliberately slow and CPU-bound; running it on
+ * request threads lets a burst of sign-ins occupy every Tomcat thread and every core.
+ * Here at most {@code threads} hashes run at once, and once the queue is full, or a
+ * caller has waited longer than {@code maxWait}, callers get a
+ * {@link PasswordHashingUnavailableException} instead of piling up.
+ * <p>
+ * Each call is observed as {@code password_hashing.request} on the calling thread, so a
+ * trace shows the time a request spent queued for and running the hash as one span.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+	private final PasswordEncoder delegate;
+
+	private final ThreadPoolExecutor executor;
+
+	private final Duration maxWait;
+
+	private final Duration retryAfter;
+
+	private final Timer waitTimer;
+
+	private final Timer encodeTimer;
+
+	private final Timer matchesTimer;
+
+	private final Counter queueFullRejections;
+
+	private final Counter timeoutRejections;
+
+	private final ObservationRegistry observationRegistry;
+
+	public BoundedPasswordEncoder(PasswordEncoder delegate, PasswordHashingProperties properties,
+			MeterRegistry meterRegistry) {
+		this(delegate, properties, meterRegistry, ObservationRegistry.NOOP);
+	}
+
+	public BoundedPasswordEncoder(PasswordEncoder delegate, PasswordHashingProperties properties,
+			MeterRegistry meterRegistry, ObservationRegistry observationRegistry) {
+		this.delegate = delegate;
+		this.observationRegistry = observationRegistry;
+		this.maxWait = properties.maxWait();
+		this.retryAfter = properties.retryAfter();
+		int threads = properties.effectiveThreads();
+		this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(properties.queueCapacity()),
+				Thread.ofPlatform().name("password-hash-", 0).daemon(true).factory(),
+				new ThreadPoolExecutor.AbortPolicy());
+
+		Gauge.builder("password_hashing.queue.depth", executor, pool -> pool.getQueue().size())
+			.description("Password hashing requests waiting for a worker")
+			.register(meterRegistry);
+		Gauge.builder("password_hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+			.description("Password hashing requests currently running")
+			.register(meterRegistry);
+		this.waitTimer = Timer.builder("password_hashing.wait")
+			.description("Time a password hashing request spent queued before a worker picked it up")
+			.register(meterRegistry);
+		this.encodeTimer = hashTimer(meterRegistry, "encode");
+		this.matchesTimer = hashTimer(meterRegistry, "matches");
+		this.queueFullRejections = rejectionCounter(meterRegistry, "queue_full");
+		this.timeoutRejections = rejectionCounter(meterRegistry, "timeout");
+	}
+
+	private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+		return Timer.builder("password_hashing.duration")
+			.description("Time spent hashing or verifying a password")
+			.tag("operation", operation)
+			.register(meterRegistry);
+	}
+
+	private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+		return Counter.builder("password_hashing.rejected")
+			.description("Password hashing requests rejected because the executor was saturated")
+			.tag("reason", reason)
+			.register(meterRegistry);
+	}
+
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return observe("encode", () -> submit(encodeTimer, () -> delegate.encode(rawPassword)));
+	}
+
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		return observe("matches", () -> submit(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword)));
+	}
+
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		return delegate.upgradeEncoding(encodedPassword);
+	}
+
+	private <T> T observe(String operation, Supplier<T> call) {
+		return Observation.createNotStarted("password_hashing.request", observationRegistry)
+			.contextualName("password-hash " + operation)
+			.lowCardinalityKeyValue("operation", operation)
+			.observe(call);
+	}
+
+	private <T> T submit(Timer timer, Callable<T> work) {
+		long queuedAt = System.nanoTime();
+		FutureTask<T> result = new FutureTask<>(() -> {
+			waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+			return timer.recordCallable(work);
+		});
+		try {
+			executor.execute(result);
+		}
+		catch (RejectedExecutionException e) {
+			queueFullRejections.increment();
+			throw unavailable();
+		}
+
+		try {
+			return result.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+		}
+		catch (TimeoutException e) {
+			abandon(result);
+			timeoutRejections.increment();
+			throw unavailable();
+		}
+		catch (InterruptedException e) {
+			abandon(result);
+			Thread.currentThread().interrupt();
+			throw unavailable();
+		}
+		catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			if (e.getCause() instanceof Error error) {
+				throw error;
+			}
+			throw new IllegalStateException("Password hashing failed", e.getCause());
+		}
+	}
+
+	/**
+	 * Frees the queue slot of a request nobody waits for any more. A hash that already
+	 * started runs to completion; BCrypt does not check for interrupts.
+	 */
+	private void abandon(FutureTask<?> task) {
+		task.cancel(false);
+		executor.remove(task);
+	}
+
+	private PasswordHashingUnavailableException unavailable() {
+		return new PasswordHashingUnavailableException("Too many concurrent sign-in requests, try again shortly",
+				retryAfter);
+	}
+
+	@Override
+	public void close() {
+		executor.shutdownNow();
+	}
+
+}
@@ -0,0 +1,72 @@
+package tech.omarshabaan.tasksmanagement.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Encodes with the calibrated {@link PasswordHashSetting} through a
+ * {@link DelegatingPasswordEncoder}, and verifies BCrypt and Argon2id hashes of any work
+ * factor, including the unprefixed BCrypt hashes stored before the prefix was introduced.
+ * <p>
+ * Unlike the stock encoders, {@link #upgradeEncoding} asks for a rehash whenever the
+ * stored setting differs from the calibrated one, lower or higher, so a move to smaller
+ * hardware also brings login latency back down.
+ */
+public class CalibratedPasswordEncoder implements PasswordEncoder {
+
+	private final PasswordHashSetting setting;
+
+	private final DelegatingPasswordEncoder delegate;
+
+	public CalibratedPasswordEncoder(PasswordHashCalibrator.Result calibration, MeterRegistry meterRegistry) {
+		this.setting = calibration.setting();
+
+		BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder();
+		Map<String, PasswordEncoder> encoders = new HashMap<>();
+		encoders.put(PasswordHashSetting.BCRYPT, bcrypt);
+		encoders.put(PasswordHashSetting.ARGON2, Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+		encoders.put(setting.id(), setting.encoder());
+		this.delegate = new DelegatingPasswordEncoder(setting.id(), encoders);
+		this.delegate.setDefaultPasswordEncoderForMatches(bcrypt);
+
+		Gauge.builder("password_hashing.calibrated.time", calibration, result -> result.hashTime().toMillis())
+			.description("Measured time of one hash with the calibrated setting, in milliseconds")
+			.tag("setting", setting.label())
+			.register(meterRegistry);
+	}
+
+	public PasswordHashSetting getSetting() {
+		return setting;
+	}
+
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return delegate.encode(rawPassword);
+	}
+
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		return delegate.matches(rawPassword, encodedPassword);
+	}
+
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		if (encodedPassword == null) {
+			return false;
+		}
+		if (!encodedPassword.startsWith("{")) {
+			// legacy hash without an id prefix
+			return true;
+		}
+		return !Objects.equals(setting, PasswordHashSetting.of(encodedPassword));
+	}
+
+}
@@ -16,6 +16,8 @@ public class CustomUserDetails implements UserDetails {
 
 	private final UUID userSecurityUuid;
 
+	private final Long userSecurityId; // Only set when loaded from the database
+
 	private final String email;
 
 	private final String password; // Only used during initial authentication, null for
@@ -29,10 +31,12 @@ public class CustomUserDetails implements UserDetails {
 
 	/**
 	 * Constructor for authentication (from database) - includes password for credential
-	 * verification.
+	 * verification and the UserSecurity id, so the sign-in flow can reference the row
+	 * without loading it again.
 	 */
-	public CustomUserDetails(UUID userUuid, UUID userSecurityUuid, String email, String password,
+	public CustomUserDetails(Long userSecurityId, UUID userUuid, UUID userSecurityUuid, String email, String password,
 			Collection<? extends GrantedAuthority> authorities, boolean enabled, boolean accountNonLocked) {
+		this.userSecurityId = userSecurityId;
 		this.userUuid = userUuid;
 		this.userSecurityUuid = userSecurityUuid;
 		this.email = email;
@@ -42,12 +46,25 @@ public class CustomUserDetails implements UserDetails {
 		this.accountNonLocked = accountNonLocked;
 	}
 
+	public CustomUserDetails(UUID userUuid, UUID userSecurityUuid, String email, String password,
+			Collection<? extends GrantedAuthority> authorities, boolean enabled, boolean accountNonLocked) {
+		this(null, userUuid, userSecurityUuid, email, password, authorities, enabled, accountNonLocked);
+	}
+
 	/**
 	 * Constructor for JWT-based authorization (no password needed).
 	 */
 	public CustomUserDetails(UUID userUuid, UUID userSecurityUuid, String email,
 			Collection<? extends GrantedAuthority> authorities, boolean enabled, boolean accountNonLocked) {
-		this(userUuid, userSecurityUuid, email, null, authorities, enabled, accountNonLocked);
+		this(null, userUuid, userSecurityUuid, email, null, authorities, enabled, accountNonLocked);
+	}
+
+	/**
+	 * Copy with a new password hash, used after the hash is upgraded on sign-in.
+	 */
+	public CustomUserDetails withPassword(String password) {
+		return new CustomUserDetails(userSecurityId, userUuid, userSecurityUuid, email, password, authorities, enabled,
+				accountNonLocked);
 	}
 
 	@Override
@@ -92,6 +109,13 @@ public class CustomUserDetails implements UserDetails {
 		return userUuid;
 	}
 
+	/**
+	 * @return the UserSecurity database id, {@code null} for JWT-based principals
+	 */
+	public Long getUserSecurityId() {
+		return userSecurityId;
+	}
+
 	/**
 	 * @return the UserSecurity UUID for traceability (optional)
 	 */
@@ -0,0 +1,94 @@
+package tech.omarshabaan.tasksmanagement.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import tech.omarshabaan.tasksmanagement.config.PasswordHashingProperties;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * Picks the password hash work factor at startup by timing real hashes on this machine:
+ * the highest setting within the configured bounds whose hash takes at most the target
+ * time. Each candidate is timed three times and the median kept, so one GC pause does not
+ * skew the choice.
+ */
+public class PasswordHashCalibrator {
+
+	private static final Logger logger = LoggerFactory.getLogger(PasswordHashCalibrator.class);
+
+	private static final String SAMPLE_PASSWORD = "calibration-Sample-Passw0rd!";
+
+	private static final int SAMPLES = 3;
+
+	private final PasswordHashingProperties properties;
+
+	public PasswordHashCalibrator(PasswordHashingProperties properties) {
+		this.properties = properties;
+	}
+
+	public Result calibrate() {
+		return switch (properties.algorithm()) {
+			case BCRYPT -> calibrate(properties.bcrypt().minStrength(), properties.bcrypt().maxStrength(),
+					PasswordHashSetting::bcrypt);
+			case ARGON2 -> {
+				PasswordHashingProperties.Argon2 argon2 = properties.argon2();
+				yield calibrate(argon2.minIterations(), argon2.maxIterations(),
+						iterations -> PasswordHashSetting.argon2(argon2.memory(), iterations, argon2.parallelism()));
+			}
+		};
+	}
+
+	private Result calibrate(int min, int max, IntFunction<PasswordHashSetting> settings) {
+		PasswordHashSetting chosen = settings.apply(min);
+		if (!properties.calibrate()) {
+			logger.info("Password hashing calibration disabled, using {}", chosen);
+			return new Result(chosen, Duration.ZERO);
+		}
+
+		Duration target = properties.targetTime();
+		Duration chosenTime = time(chosen);
+		for (int workFactor = min + 1; workFactor <= max && chosenTime.compareTo(target) < 0; workFactor++) {
+			PasswordHashSetting candidate = settings.apply(workFactor);
+			Duration candidateTime = time(candidate);
+			logger.debug("Password hashing calibration: {} takes {} ms", candidate, candidateTime.toMillis());
+			if (candidateTime.compareTo(target) > 0) {
+				break;
+			}
+			chosen = candidate;
+			chosenTime = candidateTime;
+		}
+
+		if (chosenTime.compareTo(target) > 0) {
+			logger.warn("Password hashing with {} takes {} ms, above the {} ms target even at the lowest allowed cost",
+					chosen, chosenTime.toMillis(), target.toMillis());
+		}
+		else {
+			logger.info("Password hashing calibrated to {} ({} ms per hash, target {} ms)", chosen,
+					chosenTime.toMillis(), target.toMillis());
+		}
+		return new Result(chosen, chosenTime);
+	}
+
+	private static Duration time(PasswordHashSetting setting) {
+		PasswordEncoder encoder = setting.encoder();
+		long[] samples = new long[SAMPLES];
+		for (int i = 0; i < SAMPLES; i++) {
+			long start = System.nanoTime();
+			encoder.encode(SAMPLE_PASSWORD);
+			samples[i] = System.nanoTime() - start;
+		}
+		Arrays.sort(samples);
+		return Duration.ofNanos(samples[SAMPLES / 2]);
+	}
+
+	/**
+	 * @param setting the setting new hashes are produced with
+	 * @param hashTime median time of one hash with that setting, zero when not measured
+	 */
+	public record Result(PasswordHashSetting setting, Duration hashTime) {
+	}
+
+}
@@ -0,0 +1,71 @@
+package tech.omarshabaan.tasksmanagement.security;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * The algorithm and work factor a password hash was produced with, e.g. {@code bcrypt:12}
+ * or {@code argon2id:m=19456,t=2,p=1}. Parsed from stored hashes to decide whether they
+ * need rehashing, and used as a metric tag.
+ */
+public record PasswordHashSetting(String id, String label) {
+
+	public static final String BCRYPT = "bcrypt";
+
+	public static final String ARGON2 = "argon2";
+
+	private static final int ARGON2_SALT_LENGTH = 16;
+
+	private static final int ARGON2_HASH_LENGTH = 32;
+
+	public static PasswordHashSetting bcrypt(int strength) {
+		return new PasswordHashSetting(BCRYPT, "bcrypt:" + strength);
+	}
+
+	public static PasswordHashSetting argon2(int memory, int iterations, int parallelism) {
+		return new PasswordHashSetting(ARGON2, "argon2id:m=" + memory + ",t=" + iterations + ",p=" + parallelism);
+	}
+
+	/**
+	 * Reads the setting from an encoded password, with or without the {@code {id}} prefix
+	 * of {@link org.springframework.security.crypto.password.DelegatingPasswordEncoder}.
+	 * @return the setting, or {@code null} if the hash is in an unknown format
+	 */
+	public static PasswordHashSetting of(String encodedPassword) {
+		if (encodedPassword == null) {
+			return null;
+		}
+		String hash = encodedPassword.startsWith("{") ? encodedPassword.substring(encodedPassword.indexOf('}') + 1)
+				: encodedPassword;
+		String[] parts = hash.split("\\$");
+		// $2a$12$<salt+hash>
+		if (parts.length == 4 && parts[1].startsWith("2") && parts[2].matches("\\d+")) {
+			return new PasswordHashSetting(BCRYPT, "bcrypt:" + Integer.parseInt(parts[2]));
+		}
+		// $argon2id$v=19$m=19456,t=2,p=1$<salt>$<hash>
+		if (parts.length == 6 && parts[1].equals("argon2id")) {
+			return new PasswordHashSetting(ARGON2, "argon2id:" + parts[3]);
+		}
+		return null;
+	}
+
+	PasswordEncoder encoder() {
+		String[] parameters = label.substring(label.indexOf(':') + 1).split(",");
+		if (BCRYPT.equals(id)) {
+			return new BCryptPasswordEncoder(Integer.parseInt(parameters[0]));
+		}
+		return new Argon2PasswordEncoder(ARGON2_SALT_LENGTH, ARGON2_HASH_LENGTH, parameter(parameters[2]),
+				parameter(parameters[0]), parameter(parameters[1]));
+	}
+
+	private static int parameter(String keyValue) {
+		return Integer.parseInt(keyValue.substring(keyValue.indexOf('=') + 1));
+	}
+
+	@Override
+	public String toString() {
+		return label;
+	}
+
+}
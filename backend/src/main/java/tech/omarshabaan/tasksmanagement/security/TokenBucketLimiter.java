@@ -0,0 +1,181 @@
+package tech.omarshabaan.tasksmanagement.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory token buckets, one per key. A bucket holds at most {@code capacity} tokens
+ * and refills at {@code capacity} tokens per {@code refillPeriod}; every request takes
+ * one token, and a request that finds less than one is told how long until the next one.
+ * <p>
+ * Buckets live in a fixed number of stripes, each a small access-ordered map behind its
+ * own lock, so concurrent requests for different keys rarely contend. Memory is bounded
+ * in two ways: a bucket untouched for a whole refill period is full again and no
+ * different from a missing one, so such buckets are dropped from the head of the stripe
+ * on every access; and a stripe holding more than its share of {@code maxKeys} drops its
+ * least recently used bucket, which is counted as an eviction.
+ */
+public class TokenBucketLimiter {
+
+	private static final int STRIPES = 64;
+
+	private final double capacity;
+
+	private final double tokensPerNano;
+
+	private final long refillNanos;
+
+	private final int maxKeysPerStripe;
+
+	private final Stripe[] stripes;
+
+	private final LongSupplier nanoClock;
+
+	private final Counter allowed;
+
+	private final Counter rejected;
+
+	private final Counter evicted;
+
+	public TokenBucketLimiter(String name, int capacity, Duration refillPeriod, int maxKeys,
+			MeterRegistry meterRegistry) {
+		this(name, capacity, refillPeriod, maxKeys, meterRegistry, System::nanoTime);
+	}
+
+	TokenBucketLimiter(String name, int capacity, Duration refillPeriod, int maxKeys, MeterRegistry meterRegistry,
+			LongSupplier nanoClock) {
+		if (capacity < 1 || refillPeriod.isNegative() || refillPeriod.isZero()) {
+			throw new IllegalArgumentException(
+					"A token bucket needs a capacity and a refill period, got " + capacity + " per " + refillPeriod);
+		}
+		this.capacity = capacity;
+		this.refillNanos = refillPeriod.toNanos();
+		this.tokensPerNano = capacity / (double) refillNanos;
+		this.maxKeysPerStripe = Math.max(1, maxKeys / STRIPES);
+		this.nanoClock = nanoClock;
+		this.stripes = new Stripe[STRIPES];
+		for (int i = 0; i < STRIPES; i++) {
+			stripes[i] = new Stripe();
+		}
+
+		Gauge.builder("auth_rate_limit.buckets", this, TokenBucketLimiter::size)
+			.description("Token buckets currently held in memory")
+			.tag("limiter", name)
+			.register(meterRegistry);
+		this.allowed = requestCounter(meterRegistry, name, "allowed");
+		this.rejected = requestCounter(meterRegistry, name, "rejected");
+		this.evicted = Counter.builder("auth_rate_limit.evicted")
+			.description("Token buckets dropped before they were full again because the limiter held max-keys")
+			.tag("limiter", name)
+			.register(meterRegistry);
+	}
+
+	private static Counter requestCounter(MeterRegistry meterRegistry, String name, String outcome) {
+		return Counter.builder("auth_rate_limit.requests")
+			.description("Requests checked against a rate limiter")
+			.tag("limiter", name)
+			.tag("outcome", outcome)
+			.register(meterRegistry);
+	}
+
+	/**
+	 * Takes a token from the bucket of {@code key}.
+	 * @return zero if a token was taken, otherwise how long until the bucket holds one
+	 */
+	public Duration tryAcquire(String key) {
+		Stripe stripe = stripes[(key.hashCode() ^ (key.hashCode() >>> 16)) & (STRIPES - 1)];
+		long now = nanoClock.getAsLong();
+		long waitNanos;
+		stripe.lock.lock();
+		try {
+			stripe.expire(now);
+			Bucket bucket = stripe.buckets.get(key);
+			if (bucket == null) {
+				bucket = new Bucket(capacity, now);
+				stripe.buckets.put(key, bucket);
+			}
+			else {
+				bucket.tokens = Math.min(capacity, bucket.tokens + (now - bucket.updatedAt) * tokensPerNano);
+				bucket.updatedAt = now;
+			}
+			if (bucket.tokens >= 1) {
+				bucket.tokens -= 1;
+				waitNanos = 0;
+			}
+			else {
+				waitNanos = (long) Math.ceil((1 - bucket.tokens) / tokensPerNano);
+			}
+		}
+		finally {
+			stripe.lock.unlock();
+		}
+		(waitNanos == 0 ? allowed : rejected).increment();
+		return Duration.ofNanos(waitNanos);
+	}
+
+	int size() {
+		int size = 0;
+		for (Stripe stripe : stripes) {
+			stripe.lock.lock();
+			try {
+				size += stripe.buckets.size();
+			}
+			finally {
+				stripe.lock.unlock();
+			}
+		}
+		return size;
+	}
+
+	private static final class Bucket {
+
+		private double tokens;
+
+		private long updatedAt;
+
+		private Bucket(double tokens, long updatedAt) {
+			this.tokens = tokens;
+			this.updatedAt = updatedAt;
+		}
+
+	}
+
+	private final class Stripe {
+
+		private final ReentrantLock lock = new ReentrantLock();
+
+		private final LinkedHashMap<String, Bucket> buckets = new LinkedHashMap<>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+				if (size() > maxKeysPerStripe) {
+					evicted.increment();
+					return true;
+				}
+				return false;
+			}
+
+		};
+
+		/**
+		 * Drops buckets that have refilled completely; access order keeps the least
+		 * recently touched at the head.
+		 */
+		private void expire(long now) {
+			Iterator<Bucket> iterator = buckets.values().iterator();
+			while (iterator.hasNext() && now - iterator.next().updatedAt >= refillNanos) {
+				iterator.remove();
+			}
+		}
+
+	}
+
+}
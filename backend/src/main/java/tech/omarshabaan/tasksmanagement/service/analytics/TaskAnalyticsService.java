@@ -0,0 +1,112 @@
+package tech.omarshabaan.tasksmanagement.service.analytics;
+
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.omarshabaan.tasksmanagement.dto.analytics.DailyTaskCount;
+import tech.omarshabaan.tasksmanagement.dto.analytics.DailyTaskCountsResponse;
+import tech.omarshabaan.tasksmanagement.dto.analytics.OverdueTaskCountsResponse;
+import tech.omarshabaan.tasksmanagement.dto.analytics.TaskStatusPriorityCount;
+import tech.omarshabaan.tasksmanagement.dto.analytics.TaskStatusPriorityCountsResponse;
+import tech.omarshabaan.tasksmanagement.entity.TaskPriority;
+import tech.omarshabaan.tasksmanagement.entity.TaskStatus;
+
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Task analytics for admins, read from the rollups kept by {@link TaskRollupRefreshJob};
+ * none of these queries read {@code tasks}, so their cost does not grow with it. Every
+ * response says when the rollups were last refreshed.
+ */
+@Service
+@Observed(name = "service.operations")
+@Transactional(readOnly = true)
+public class TaskAnalyticsService {
+
+	private static final String SELECT_REFRESHED_AT = "SELECT refreshed_at FROM task_rollup_watermark WHERE id = 1";
+
+	private static final String SELECT_STATUS_PRIORITY_COUNTS = """
+			SELECT status, priority, task_count FROM task_status_priority_counts
+			WHERE task_count > 0
+			ORDER BY status, priority""";
+
+	private static final String SELECT_OVERDUE_COUNTS = """
+			SELECT priority, sum(task_count) AS task_count FROM task_open_due_counts
+			WHERE due_hour < ?
+			GROUP BY priority""";
+
+	private static final String SELECT_DAILY_COUNTS = """
+			SELECT day, created_count, completed_count FROM task_daily_counts
+			WHERE day BETWEEN ? AND ?""";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public TaskAnalyticsService(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	public TaskStatusPriorityCountsResponse getStatusPriorityCounts() {
+		List<TaskStatusPriorityCount> counts = jdbcTemplate.query(SELECT_STATUS_PRIORITY_COUNTS,
+				(rs, rowNum) -> new TaskStatusPriorityCount(TaskStatus.valueOf(rs.getString("status")),
+						TaskPriority.valueOf(rs.getString("priority")), rs.getLong("task_count")));
+		return new TaskStatusPriorityCountsResponse(refreshedAt(), counts);
+	}
+
+	/**
+	 * Open tasks due before the start of the current UTC hour, the granularity the
+	 * rollups keep due dates at.
+	 */
+	public OverdueTaskCountsResponse getOverdueCounts() {
+		Instant asOf = Instant.now().truncatedTo(ChronoUnit.HOURS);
+		Map<TaskPriority, Long> byPriority = new EnumMap<>(TaskPriority.class);
+		for (TaskPriority priority : TaskPriority.values()) {
+			byPriority.put(priority, 0L);
+		}
+		jdbcTemplate.query(SELECT_OVERDUE_COUNTS,
+				ps -> ps.setObject(1, asOf.atOffset(ZoneOffset.UTC), Types.TIMESTAMP_WITH_TIMEZONE), rs -> {
+					byPriority.put(TaskPriority.valueOf(rs.getString("priority")), rs.getLong("task_count"));
+				});
+		long total = byPriority.values().stream().mapToLong(Long::longValue).sum();
+		return new OverdueTaskCountsResponse(refreshedAt(), asOf, total, byPriority);
+	}
+
+	/**
+	 * Tasks created and completed on each UTC day of the {@code days} days ending with
+	 * {@code to}.
+	 */
+	public DailyTaskCountsResponse getDailyCounts(LocalDate to, int days) {
+		LocalDate from = to.minusDays(days - 1L);
+		Map<LocalDate, DailyTaskCount> counted = new HashMap<>();
+		jdbcTemplate.query(SELECT_DAILY_COUNTS, rs -> {
+			LocalDate day = rs.getObject("day", LocalDate.class);
+			counted.put(day, new DailyTaskCount(day, rs.getLong("created_count"), rs.getLong("completed_count")));
+		}, from, to);
+
+		List<DailyTaskCount> counts = new ArrayList<>(days);
+		for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+			counts.add(counted.getOrDefault(day, new DailyTaskCount(day, 0, 0)));
+		}
+		return new DailyTaskCountsResponse(refreshedAt(), counts);
+	}
+
+	/**
+	 * When the rollups were last refreshed; {@code null} before the first refresh.
+	 */
+	private Instant refreshedAt() {
+		OffsetDateTime refreshedAt = jdbcTemplate.queryForObject(SELECT_REFRESHED_AT,
+				(rs, rowNum) -> rs.getObject("refreshed_at", OffsetDateTime.class));
+		return refreshedAt != null ? refreshedAt.toInstant() : null;
+	}
+
+}
@@ -0,0 +1,361 @@
+package tech.omarshabaan.tasksmanagement.service.analytics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.omarshabaan.tasksmanagement.config.AnalyticsProperties;
+import tech.omarshabaan.tasksmanagement.entity.TaskStatus;
+import tech.omarshabaan.tasksmanagement.service.job.PeriodicJobHandler;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Refreshes the rollups behind the admin analytics from the tasks changed since the last
+ * refresh, so no dashboard query has to read {@code tasks}.
+ * <p>
+ * Changed tasks are read in {@code (updated_at, id)} order past a stored watermark, a
+ * batch per transaction. Each task is compared with the state the rollups last counted it
+ * in, kept in {@code task_rollup_state}: the old state is taken out of the counts and the
+ * new one put in. That makes reading a task again harmless, so every refresh starts
+ * {@code overlap} before the watermark and still counts tasks whose {@code updated_at}
+ * lags their commit. Deleted tasks are logged by a trigger on {@code tasks} and taken out
+ * of the counts before the changes are read.
+ * <p>
+ * The counts are of the tasks as they are now: a task counts on the UTC day it was
+ * created and, while completed, on the day of the update it was first seen completed in.
+ */
+@Component
+public class TaskRollupRefreshJob implements PeriodicJobHandler {
+
+	private static final Logger logger = LoggerFactory.getLogger(TaskRollupRefreshJob.class);
+
+	private static final String LOCK_WATERMARK = """
+			SELECT updated_at, task_id FROM task_rollup_watermark WHERE id = 1 FOR UPDATE""";
+
+	private static final String ADVANCE_WATERMARK = """
+			UPDATE task_rollup_watermark SET updated_at = ?, task_id = ?
+			WHERE id = 1 AND (updated_at, task_id) < (?, ?)""";
+
+	private static final String MARK_REFRESHED = """
+			UPDATE task_rollup_watermark SET refreshed_at = CURRENT_TIMESTAMP WHERE id = 1""";
+
+	private static final String SELECT_CHANGED_TASKS = """
+			SELECT id, status, priority, date_trunc('hour', due_date, 'UTC') AS due_hour,
+			       created_at::date AS created_on, updated_at::date AS updated_on, updated_at
+			FROM tasks
+			WHERE (updated_at, id) > (?, ?)
+			ORDER BY updated_at, id
+			LIMIT ?""";
+
+	private static final String SELECT_STATES = """
+			SELECT task_id, status, priority, due_hour, created_on, completed_on
+			FROM task_rollup_state
+			WHERE task_id = ANY (?)""";
+
+	private static final String UPSERT_STATE = """
+			INSERT INTO task_rollup_state (task_id, status, priority, due_hour, created_on, completed_on)
+			VALUES (?, ?, ?, ?, ?, ?)
+			ON CONFLICT (task_id) DO UPDATE SET status = EXCLUDED.status, priority = EXCLUDED.priority,
+			    due_hour = EXCLUDED.due_hour, completed_on = EXCLUDED.completed_on""";
+
+	private static final String TAKE_DELETIONS = """
+			DELETE FROM task_rollup_deletions
+			WHERE ctid = ANY (ARRAY(SELECT ctid FROM task_rollup_deletions LIMIT ?))
+			RETURNING task_id""";
+
+	private static final String DELETE_STATES = """
+			DELETE FROM task_rollup_state
+			WHERE task_id = ANY (?)
+			RETURNING task_id, status, priority, due_hour, created_on, completed_on""";
+
+	private static final String ADD_STATUS_PRIORITY_COUNT = """
+			INSERT INTO task_status_priority_counts (status, priority, task_count) VALUES (?, ?, ?)
+			ON CONFLICT (status, priority)
+			DO UPDATE SET task_count = task_status_priority_counts.task_count + EXCLUDED.task_count""";
+
+	private static final String ADD_OPEN_DUE_COUNT = """
+			INSERT INTO task_open_due_counts (due_hour, priority, task_count) VALUES (?, ?, ?)
+			ON CONFLICT (due_hour, priority)
+			DO UPDATE SET task_count = task_open_due_counts.task_count + EXCLUDED.task_count""";
+
+	private static final String ADD_DAILY_COUNTS = """
+			INSERT INTO task_daily_counts (day, created_count, completed_count) VALUES (?, ?, ?)
+			ON CONFLICT (day) DO UPDATE SET created_count = task_daily_counts.created_count + EXCLUDED.created_count,
+			    completed_count = task_daily_counts.completed_count + EXCLUDED.completed_count""";
+
+	private static final List<String> DELETE_EMPTY_COUNTS = List.of(
+			"DELETE FROM task_status_priority_counts WHERE task_count = 0",
+			"DELETE FROM task_open_due_counts WHERE task_count = 0",
+			"DELETE FROM task_daily_counts WHERE created_count = 0 AND completed_count = 0");
+
+	private static final RowMapper<Counted> COUNTED_MAPPER = (rs, rowNum) -> new Counted(rs.getString("status"),
+			rs.getString("priority"), instant(rs, "due_hour"), rs.getObject("created_on", LocalDate.class),
+			rs.getObject("completed_on", LocalDate.class));
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final AnalyticsProperties.Rollup properties;
+
+	public TaskRollupRefreshJob(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+			AnalyticsProperties analyticsProperties) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.properties = analyticsProperties.rollup();
+	}
+
+	@Override
+	public String type() {
+		return "task-rollup-refresh";
+	}
+
+	@Override
+	public String cron() {
+		return properties.refreshCron();
+	}
+
+	@Override
+	public void execute(String payload) {
+		int batchSize = properties.batchSize();
+
+		long deleted = 0;
+		int taken;
+		do {
+			taken = transactionTemplate.execute(status -> applyDeletions(batchSize));
+			deleted += taken;
+		}
+		while (taken == batchSize);
+
+		Position watermark = transactionTemplate.execute(status -> lockWatermark());
+		Position from = new Position(watermark.updatedAt().minus(properties.overlap()), 0);
+		long changed = 0;
+		while (from != null) {
+			Position after = from;
+			Batch batch = transactionTemplate.execute(status -> applyChanges(after, batchSize));
+			changed += batch.changed();
+			from = batch.read() == batchSize ? batch.last() : null;
+		}
+
+		transactionTemplate.executeWithoutResult(status -> {
+			lockWatermark();
+			DELETE_EMPTY_COUNTS.forEach(jdbcTemplate::update);
+			jdbcTemplate.update(MARK_REFRESHED);
+		});
+		logger.info("Task rollups refreshed: {} changed and {} deleted tasks", changed, deleted);
+	}
+
+	/**
+	 * Takes up to {@code limit} logged deletions out of the counts.
+	 * @return the number of deletions taken from the log
+	 */
+	private int applyDeletions(int limit) {
+		lockWatermark();
+		List<Long> taskIds = jdbcTemplate.queryForList(TAKE_DELETIONS, Long.class, limit);
+		if (taskIds.isEmpty()) {
+			return 0;
+		}
+		Counts counts = new Counts();
+		jdbcTemplate
+			.query(DELETE_STATES, ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", taskIds.toArray())),
+					COUNTED_MAPPER)
+			.forEach(counts::remove);
+		counts.apply();
+		return taskIds.size();
+	}
+
+	private Batch applyChanges(Position after, int limit) {
+		Position watermark = lockWatermark();
+		List<Changed> tasks = jdbcTemplate.query(SELECT_CHANGED_TASKS,
+				(rs, rowNum) -> new Changed(rs.getLong("id"), rs.getString("status"), rs.getString("priority"),
+						instant(rs, "due_hour"), rs.getObject("created_on", LocalDate.class),
+						rs.getObject("updated_on", LocalDate.class),
+						new Position(rs.getObject("updated_at", LocalDateTime.class), rs.getLong("id"))),
+				after.updatedAt(), after.taskId(), limit);
+		if (tasks.isEmpty()) {
+			return new Batch(0, 0, after);
+		}
+
+		Long[] taskIds = tasks.stream().map(Changed::taskId).toArray(Long[]::new);
+		Map<Long, Counted> states = new HashMap<>();
+		jdbcTemplate.query(SELECT_STATES, ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", taskIds)),
+				rs -> {
+					states.put(rs.getLong("task_id"), COUNTED_MAPPER.mapRow(rs, rs.getRow()));
+				});
+
+		Counts counts = new Counts();
+		Map<Long, Counted> updated = new HashMap<>();
+		for (Changed task : tasks) {
+			Counted old = states.get(task.taskId());
+			Counted now = task.counted(old);
+			if (!now.equals(old)) {
+				if (old != null) {
+					counts.remove(old);
+				}
+				counts.add(now);
+				updated.put(task.taskId(), now);
+			}
+		}
+		counts.apply();
+		jdbcTemplate.batchUpdate(UPSERT_STATE, new ArrayList<>(updated.entrySet()), updated.size(), (ps, entry) -> {
+			Counted counted = entry.getValue();
+			ps.setLong(1, entry.getKey());
+			ps.setString(2, counted.status());
+			ps.setString(3, counted.priority());
+			setTimestamp(ps, 4, counted.dueHour());
+			ps.setObject(5, counted.createdOn());
+			ps.setObject(6, counted.completedOn(), Types.DATE);
+		});
+
+		Position last = tasks.getLast().position();
+		if (last.compareTo(watermark) > 0) {
+			jdbcTemplate.update(ADVANCE_WATERMARK, last.updatedAt(), last.taskId(), last.updatedAt(), last.taskId());
+		}
+		return new Batch(tasks.size(), updated.size(), last);
+	}
+
+	/**
+	 * Locks the watermark for the rest of the transaction, so refreshes never overlap.
+	 */
+	private Position lockWatermark() {
+		return jdbcTemplate.queryForObject(LOCK_WATERMARK,
+				(rs, rowNum) -> new Position(rs.getObject("updated_at", LocalDateTime.class), rs.getLong("task_id")));
+	}
+
+	private static Instant instant(ResultSet rs, String column) throws SQLException {
+		OffsetDateTime value = rs.getObject(column, OffsetDateTime.class);
+		return value != null ? value.toInstant() : null;
+	}
+
+	private static void setTimestamp(PreparedStatement ps, int index, Instant value) throws SQLException {
+		ps.setObject(index, value != null ? value.atOffset(ZoneOffset.UTC) : null, Types.TIMESTAMP_WITH_TIMEZONE);
+	}
+
+	/**
+	 * A task as the rollups count it.
+	 */
+	private record Counted(String status, String priority, Instant dueHour, LocalDate createdOn,
+			LocalDate completedOn) {
+
+		boolean isOpenAndDue() {
+			return dueHour != null
+					&& (status.equals(TaskStatus.PENDING.name()) || status.equals(TaskStatus.IN_PROGRESS.name()));
+		}
+
+	}
+
+	private record Changed(long taskId, String status, String priority, Instant dueHour, LocalDate createdOn,
+			LocalDate updatedOn, Position position) {
+
+		Counted counted(Counted old) {
+			LocalDate completedOn = null;
+			if (status.equals(TaskStatus.COMPLETED.name())) {
+				completedOn = old != null && old.completedOn() != null ? old.completedOn() : updatedOn;
+			}
+			return new Counted(status, priority, dueHour, createdOn, completedOn);
+		}
+
+	}
+
+	private record Position(LocalDateTime updatedAt, long taskId) implements Comparable<Position> {
+
+		Position minus(Duration duration) {
+			return new Position(updatedAt.minus(duration), taskId);
+		}
+
+		@Override
+		public int compareTo(Position other) {
+			int byTime = updatedAt.compareTo(other.updatedAt);
+			return byTime != 0 ? byTime : Long.compare(taskId, other.taskId);
+		}
+
+	}
+
+	private record Batch(int read, int changed, Position last) {
+	}
+
+	private record StatusPriority(String status, String priority) {
+	}
+
+	private record DueHour(Instant hour, String priority) {
+	}
+
+	/**
+	 * Changes to the rollup counts, written as one upsert per affected row.
+	 */
+	private final class Counts {
+
+		private final Map<StatusPriority, Long> statusPriority = new HashMap<>();
+
+		private final Map<DueHour, Long> openDue = new HashMap<>();
+
+		private final Map<LocalDate, long[]> daily = new HashMap<>();
+
+		void add(Counted counted) {
+			count(counted, 1);
+		}
+
+		void remove(Counted counted) {
+			count(counted, -1);
+		}
+
+		private void count(Counted counted, long delta) {
+			statusPriority.merge(new StatusPriority(counted.status(), counted.priority()), delta, Long::sum);
+			if (counted.isOpenAndDue()) {
+				openDue.merge(new DueHour(counted.dueHour(), counted.priority()), delta, Long::sum);
+			}
+			daily.computeIfAbsent(counted.createdOn(), day -> new long[2])[0] += delta;
+			if (counted.completedOn() != null) {
+				daily.computeIfAbsent(counted.completedOn(), day -> new long[2])[1] += delta;
+			}
+		}
+
+		void apply() {
+			List<Map.Entry<StatusPriority, Long>> statusPriorityDeltas = nonZero(statusPriority);
+			jdbcTemplate.batchUpdate(ADD_STATUS_PRIORITY_COUNT, statusPriorityDeltas, statusPriorityDeltas.size(),
+					(ps, entry) -> {
+						ps.setString(1, entry.getKey().status());
+						ps.setString(2, entry.getKey().priority());
+						ps.setLong(3, entry.getValue());
+					});
+			List<Map.Entry<DueHour, Long>> openDueDeltas = nonZero(openDue);
+			jdbcTemplate.batchUpdate(ADD_OPEN_DUE_COUNT, openDueDeltas, openDueDeltas.size(), (ps, entry) -> {
+				setTimestamp(ps, 1, entry.getKey().hour());
+				ps.setString(2, entry.getKey().priority());
+				ps.setLong(3, entry.getValue());
+			});
+			List<Map.Entry<LocalDate, long[]>> dailyDeltas = daily.entrySet()
+				.stream()
+				.filter(entry -> entry.getValue()[0] != 0 || entry.getValue()[1] != 0)
+				.toList();
+			jdbcTemplate.batchUpdate(ADD_DAILY_COUNTS, dailyDeltas, dailyDeltas.size(), (ps, entry) -> {
+				ps.setObject(1, entry.getKey());
+				ps.setLong(2, entry.getValue()[0]);
+				ps.setLong(3, entry.getValue()[1]);
+			});
+		}
+
+		private static <K> List<Map.Entry<K, Long>> nonZero(Map<K, Long> deltas) {
+			return deltas.entrySet().stream().filter(entry -> entry.getValue() != 0).toList();
+		}
+
+	}
+
+}
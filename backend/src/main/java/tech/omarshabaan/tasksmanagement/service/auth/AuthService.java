@@ -1,5 +1,6 @@
 package tech.omarshabaan.tasksmanagement.service.auth;
 
+import io.micrometer.observation.annotation.Observed;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
@@ -7,6 +8,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import tech.omarshabaan.tasksmanagement.config.RefreshTokenProperties;
 import tech.omarshabaan.tasksmanagement.dto.auth.RefreshTokenResponse;
@@ -14,14 +16,12 @@ import tech.omarshabaan.tasksmanagement.dto.auth.UserSigninRequest;
 import tech.omarshabaan.tasksmanagement.dto.auth.UserSigninResponse;
 import tech.omarshabaan.tasksmanagement.dto.auth.UserSignupRequest;
 import tech.omarshabaan.tasksmanagement.entity.RefreshToken;
-import tech.omarshabaan.tasksmanagement.entity.UserSecurity;
 import tech.omarshabaan.tasksmanagement.exception.InvalidRefreshTokenException;
+import tech.omarshabaan.tasksmanagement.repository.auth.RefreshTokenRepository;
 import tech.omarshabaan.tasksmanagement.security.CustomUserDetails;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @Service
+@Observed(name = "service.operations")
 public class AuthService {
 
 	private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
@@ -36,69 +36,72 @@ public class AuthService {
 
 	private final RefreshTokenProperties refreshTokenProperties;
 
+	private final PasswordEncoder passwordEncoder;
+
 	public AuthService(UserAuthService userAuthService, AuthenticationManager authenticationManager,
 			JwtService jwtService, RefreshTokenService refreshTokenService,
-			RefreshTokenProperties refreshTokenProperties) {
+			RefreshTokenProperties refreshTokenProperties, PasswordEncoder passwordEncoder) {
 		this.userAuthService = userAuthService;
 		this.authenticationManager = authenticationManager;
 		this.jwtService = jwtService;
 		this.refreshTokenService = refreshTokenService;
 		this.refreshTokenProperties = refreshTokenProperties;
+		this.passwordEncoder = passwordEncoder;
 	}
 
 	public void registerUser(UserSignupRequest request) {
 		logger.info("User registration for email: {}", request.email());
-		userAuthService.saveUserSecurity(request);
+		// hash before the transaction starts so waiting for a hashing slot does not hold
+		// a pooled connection
+		String encodedPassword = passwordEncoder.encode(request.password());
+		userAuthService.saveUserSecurity(request, encodedPassword);
 	}
 
+	/**
+	 * Signs a user in with four statements: the principal select (user, credentials,
+	 * roles and authorities), the revoke update, the token sequence and the token insert.
+	 * {@code AuthIntegrationTest} asserts the count.
+	 */
 	public UserSigninResponse authenticateUser(UserSigninRequest request, HttpServletResponse response) {
-		logger.info("User signin attempt for email: {}", request.email());
+		logger.debug("User signin attempt for email: {}", request.email());
 
 		Authentication authentication = authenticationManager
 			.authenticate(new UsernamePasswordAuthenticationToken(request.email(), request.password()));
 
+		// the principal loaded by UserAuthService carries everything needed below, so the
+		// user is not read again
 		CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
 		String accessToken = jwtService.generateAccessToken(userDetails);
 
-		UserSecurity userSecurity = userAuthService.findUserSecurityByEmail(userDetails.getEmail());
-		RefreshTokenResponse refreshToken = refreshTokenService.createRefreshToken(userSecurity);
+		RefreshTokenResponse refreshToken = refreshTokenService.createRefreshToken(userDetails.getUserSecurityId());
 		setRefreshTokenCookie(response, refreshToken.rawToken());
 
 		logger.info("User authenticated successfully for email: {}", request.email());
 		return new UserSigninResponse(accessToken);
 	}
 
+	/**
+	 * Rotates a refresh token with four statements: the token select joined to its
+	 * principal, the revoke update, the token sequence and the token insert.
+	 * {@code AuthIntegrationTest} asserts the count.
+	 */
 	public UserSigninResponse refreshAccessToken(String refreshTokenValue, HttpServletResponse response) {
-		logger.info("Token refresh attempt");
+		logger.debug("Token refresh attempt");
 
-		RefreshToken refreshToken = refreshTokenService.findByToken(refreshTokenValue)
+		// token, user, credentials, roles and authorities in one statement
+		RefreshTokenRepository.RefreshTokenWithUser tokenWithUser = refreshTokenService
+			.findWithUserByToken(refreshTokenValue)
 			.orElseThrow(() -> new InvalidRefreshTokenException("Invalid refresh token"));
 
-		refreshToken = refreshTokenService.verifyExpiration(refreshToken);
-
-		UserSecurity userSecurity = refreshToken.getUser();
-
-		// Extract authorities from UserSecurity
-		List<String> authorities = userSecurity.getRoles()
-			.stream()
-			.flatMap(role -> role.getAuthorities().stream())
-			.map(authority -> authority.getName().toString())
-			.collect(Collectors.toList());
+		refreshTokenService.verifyExpiration(tokenWithUser.getRefreshToken());
 
-		userSecurity.getRoles().forEach(role -> authorities.add("ROLE_" + role.getName().toString()));
-
-		// Get the User domain entity to retrieve the userUuid
-		tech.omarshabaan.tasksmanagement.entity.User user = userAuthService.findUserByUserSecurity(userSecurity);
-
-		// Generate access token with User UUID as subject and UserSecurity UUID for
-		// traceability
-		String accessToken = jwtService.generateAccessToken(user.getUuid(), userSecurity.getUuid(),
-				userSecurity.getEmail(), authorities);
+		CustomUserDetails userDetails = userAuthService.toUserDetails(tokenWithUser.getUser());
+		String accessToken = jwtService.generateAccessToken(userDetails);
 
-		RefreshTokenResponse newRefreshToken = refreshTokenService.createRefreshToken(userSecurity);
+		RefreshTokenResponse newRefreshToken = refreshTokenService.createRefreshToken(userDetails.getUserSecurityId());
 		setRefreshTokenCookie(response, newRefreshToken.rawToken());
 
-		logger.info("Token refreshed successfully for user: {}", userSecurity.getEmail());
+		logger.info("Token refreshed successfully for user: {}", userDetails.getEmail());
 		return new UserSigninResponse(accessToken);
 	}
 
@@ -108,7 +111,7 @@ public class AuthService {
 			throw new InvalidRefreshTokenException("Refresh token is required for logout");
 		}
 
-		logger.info("User logout initiated");
+		logger.debug("User logout initiated");
 		RefreshToken token = refreshTokenService.findByToken(refreshTokenValue)
 			.orElseThrow(() -> new InvalidRefreshTokenException("Invalid refresh token"));
 
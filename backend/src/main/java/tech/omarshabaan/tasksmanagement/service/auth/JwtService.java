@@ -1,5 +1,6 @@
 package tech.omarshabaan.tasksmanagement.service.auth;
 
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.oauth2.jwt.JwtClaimsSet;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
@@ -18,6 +19,7 @@ import java.util.stream.Collectors;
  * principals.
  */
 @Service
+@Observed(name = "service.operations")
 public class JwtService {
 
 	private final JwtEncoder jwtEncoder;
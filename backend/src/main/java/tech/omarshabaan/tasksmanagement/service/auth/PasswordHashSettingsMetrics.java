@@ -0,0 +1,49 @@
+package tech.omarshabaan.tasksmanagement.service.auth;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import tech.omarshabaan.tasksmanagement.repository.auth.UserSecurityRepository;
+
+/**
+ * Publishes how many stored password hashes are on each algorithm and work factor, so the
+ * progress of rehash-on-sign-in after a recalibration can be followed. Refreshed
+ * periodically on every node; the count is a single aggregate over {@code user_security}.
+ */
+@Component
+public class PasswordHashSettingsMetrics {
+
+	private static final Logger logger = LoggerFactory.getLogger(PasswordHashSettingsMetrics.class);
+
+	private final UserSecurityRepository userSecurityRepository;
+
+	private final MultiGauge hashesBySetting;
+
+	public PasswordHashSettingsMetrics(UserSecurityRepository userSecurityRepository, MeterRegistry meterRegistry) {
+		this.userSecurityRepository = userSecurityRepository;
+		this.hashesBySetting = MultiGauge.builder("password_hashing.stored.hashes")
+			.description("Stored password hashes per algorithm and work factor")
+			.register(meterRegistry);
+	}
+
+	@Scheduled(fixedDelayString = "${app.security.password-hashing.settings-refresh-interval}")
+	@Transactional(readOnly = true)
+	public void refresh() {
+		try {
+			hashesBySetting.register(userSecurityRepository.countByPasswordHashSetting()
+				.stream()
+				.map(row -> MultiGauge.Row.of(Tags.of("setting", row.getSetting()), row.getCount()))
+				.toList(), true);
+		}
+		catch (DataAccessException e) {
+			logger.warn("Could not refresh password hash setting metrics: {}", e.getMessage());
+		}
+	}
+
+}
@@ -0,0 +1,41 @@
+package tech.omarshabaan.tasksmanagement.service.auth;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import tech.omarshabaan.tasksmanagement.config.RefreshTokenProperties;
+import tech.omarshabaan.tasksmanagement.service.job.PeriodicJobHandler;
+
+@Component
+public class RefreshTokenCleanupJob implements PeriodicJobHandler {
+
+	private static final Logger logger = LoggerFactory.getLogger(RefreshTokenCleanupJob.class);
+
+	private final RefreshTokenCleanupService refreshTokenCleanupService;
+
+	private final RefreshTokenProperties refreshTokenProperties;
+
+	public RefreshTokenCleanupJob(RefreshTokenCleanupService refreshTokenCleanupService,
+			RefreshTokenProperties refreshTokenProperties) {
+		this.refreshTokenCleanupService = refreshTokenCleanupService;
+		this.refreshTokenProperties = refreshTokenProperties;
+	}
+
+	@Override
+	public String type() {
+		return "refresh-token-cleanup";
+	}
+
+	@Override
+	public String cron() {
+		return refreshTokenProperties.cleanup().cron();
+	}
+
+	@Override
+	public void execute(String payload) {
+		RefreshTokenCleanupService.CleanupResult result = refreshTokenCleanupService.purgeExpiredTokens();
+		logger.info("Cleaned up expired refresh tokens: {} rows deleted in {} batches, {} partitions dropped",
+				result.deletedRows(), result.batches(), result.droppedPartitions());
+	}
+
+}
@@ -0,0 +1,134 @@
+package tech.omarshabaan.tasksmanagement.service.auth;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.omarshabaan.tasksmanagement.config.RefreshTokenProperties;
+import tech.omarshabaan.tasksmanagement.repository.auth.RefreshTokenRepository;
+
+import java.time.Instant;
+
+/**
+ * Purges expired refresh tokens without holding one long transaction. When
+ * {@code refresh_tokens} is partitioned by expiry date, whole expired partitions are
+ * dropped first; whatever is left (default partition, or the plain table) is deleted in
+ * bounded batches, each committed separately, with a pause in between so replication and
+ * vacuum can keep up.
+ */
+@Service
+public class RefreshTokenCleanupService {
+
+	private static final Logger logger = LoggerFactory.getLogger(RefreshTokenCleanupService.class);
+
+	private final RefreshTokenRepository refreshTokenRepository;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final RefreshTokenProperties.Cleanup properties;
+
+	private final Counter deletedRows;
+
+	private final Counter droppedPartitions;
+
+	private final Timer batchTimer;
+
+	private final Timer runTimer;
+
+	public RefreshTokenCleanupService(RefreshTokenRepository refreshTokenRepository,
+			PlatformTransactionManager transactionManager, RefreshTokenProperties refreshTokenProperties,
+			MeterRegistry meterRegistry) {
+		this.refreshTokenRepository = refreshTokenRepository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.properties = refreshTokenProperties.cleanup();
+		this.deletedRows = Counter.builder("refresh_tokens.cleanup.deleted.rows")
+			.description("Expired refresh tokens deleted row by row")
+			.register(meterRegistry);
+		this.droppedPartitions = Counter.builder("refresh_tokens.cleanup.dropped.partitions")
+			.description("Expired refresh token partitions dropped")
+			.register(meterRegistry);
+		this.batchTimer = Timer.builder("refresh_tokens.cleanup.batch")
+			.description("Duration of a single delete batch")
+			.register(meterRegistry);
+		this.runTimer = Timer.builder("refresh_tokens.cleanup.run")
+			.description("Duration of a full cleanup run")
+			.register(meterRegistry);
+	}
+
+	public CleanupResult purgeExpiredTokens() {
+		return runTimer.record(() -> purgeExpiredTokens(Instant.now()));
+	}
+
+	private CleanupResult purgeExpiredTokens(Instant cutoff) {
+		int partitions = 0;
+		if (Boolean.TRUE.equals(transactionTemplate.execute(status -> refreshTokenRepository.isPartitioned()))) {
+			partitions = maintainPartitions(cutoff);
+		}
+
+		long deleted = 0;
+		int batches = 0;
+		boolean lastBatchFull = false;
+		while (batches < properties.maxBatchesPerRun()) {
+			Integer batchDeleted = batchTimer.record(() -> transactionTemplate
+				.execute(status -> refreshTokenRepository.deleteExpiredTokensBatch(cutoff, properties.batchSize())));
+			int count = batchDeleted != null ? batchDeleted : 0;
+			batches++;
+			deleted += count;
+			deletedRows.increment(count);
+			lastBatchFull = count >= properties.batchSize();
+
+			if (!lastBatchFull) {
+				break;
+			}
+			logger.debug("Deleted {} expired refresh tokens so far ({} batches)", deleted, batches);
+			if (!pauseBetweenBatches()) {
+				break;
+			}
+		}
+
+		// a last batch that came back short emptied the backlog, however many batches it
+		// took
+		if (batches >= properties.maxBatchesPerRun() && lastBatchFull) {
+			logger.warn("Refresh token cleanup stopped after {} batches; remaining rows are left for the next run",
+					batches);
+		}
+		return new CleanupResult(partitions, deleted, batches);
+	}
+
+	private int maintainPartitions(Instant cutoff) {
+		try {
+			Integer dropped = transactionTemplate.execute(status -> {
+				refreshTokenRepository.createPartitions(properties.partitionsAhead());
+				return refreshTokenRepository.dropPartitionsBefore(cutoff);
+			});
+			int count = dropped != null ? dropped : 0;
+			droppedPartitions.increment(count);
+			return count;
+		}
+		catch (RuntimeException e) {
+			// e.g. lock_timeout while another transaction holds refresh_tokens; batches
+			// below still make progress and the partitions are retried next run
+			logger.warn("Could not maintain refresh token partitions: {}", e.getMessage());
+			return 0;
+		}
+	}
+
+	private boolean pauseBetweenBatches() {
+		try {
+			Thread.sleep(properties.batchPause());
+			return true;
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	public record CleanupResult(int droppedPartitions, long deletedRows, int batches) {
+	}
+
+}
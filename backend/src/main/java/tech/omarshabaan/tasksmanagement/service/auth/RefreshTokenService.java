@@ -1,5 +1,6 @@
 package tech.omarshabaan.tasksmanagement.service.auth;
 
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import tech.omarshabaan.tasksmanagement.config.RefreshTokenProperties;
@@ -8,6 +9,7 @@ import tech.omarshabaan.tasksmanagement.entity.RefreshToken;
 import tech.omarshabaan.tasksmanagement.entity.UserSecurity;
 import tech.omarshabaan.tasksmanagement.exception.InvalidRefreshTokenException;
 import tech.omarshabaan.tasksmanagement.repository.auth.RefreshTokenRepository;
+import tech.omarshabaan.tasksmanagement.repository.auth.UserSecurityRepository;
 
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
@@ -17,19 +19,29 @@ import java.util.Base64;
 import java.util.Optional;
 
 @Service
+@Observed(name = "service.operations")
 @Transactional
 public class RefreshTokenService {
 
 	private final RefreshTokenRepository refreshTokenRepository;
 
+	private final UserSecurityRepository userSecurityRepository;
+
 	private final RefreshTokenProperties properties;
 
-	public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, RefreshTokenProperties properties) {
+	public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+			UserSecurityRepository userSecurityRepository, RefreshTokenProperties properties) {
 		this.refreshTokenRepository = refreshTokenRepository;
+		this.userSecurityRepository = userSecurityRepository;
 		this.properties = properties;
 	}
 
-	public RefreshTokenResponse createRefreshToken(UserSecurity user) {
+	/**
+	 * Revokes the user's active tokens and issues a new one. Takes the UserSecurity id so
+	 * callers that already hold the principal do not load the row again.
+	 */
+	public RefreshTokenResponse createRefreshToken(Long userSecurityId) {
+		UserSecurity user = userSecurityRepository.getReferenceById(userSecurityId);
 		refreshTokenRepository.revokeAllByUser(user);
 
 		String rawToken = generateSecureToken();
@@ -51,6 +63,15 @@ public class RefreshTokenService {
 		return refreshTokenRepository.findByToken(hashedToken);
 	}
 
+	/**
+	 * Finds a refresh token and loads its user with credentials, roles and authorities in
+	 * the same statement.
+	 */
+	@Transactional(readOnly = true)
+	public Optional<RefreshTokenRepository.RefreshTokenWithUser> findWithUserByToken(String token) {
+		return refreshTokenRepository.findWithUserByToken(hashToken(token)).stream().findFirst();
+	}
+
 	public RefreshToken verifyExpiration(RefreshToken token) {
 		if (token.isExpired() || token.isRevoked()) {
 			refreshTokenRepository.delete(token);
@@ -64,10 +85,6 @@ public class RefreshTokenService {
 		refreshTokenRepository.save(token);
 	}
 
-	public void deleteExpiredTokens() {
-		refreshTokenRepository.deleteExpiredTokens(Instant.now());
-	}
-
 	private String generateSecureToken() {
 		byte[] randomBytes = new byte[properties.token().length()];
 		new SecureRandom().nextBytes(randomBytes);
@@ -1,12 +1,16 @@
 package tech.omarshabaan.tasksmanagement.service.auth;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import tech.omarshabaan.tasksmanagement.dto.auth.UserSignupRequest;
@@ -19,13 +23,18 @@ import tech.omarshabaan.tasksmanagement.repository.auth.UserSecurityRepository;
 import tech.omarshabaan.tasksmanagement.repository.auth.RoleRepository;
 import tech.omarshabaan.tasksmanagement.repository.user.UserRepository;
 import tech.omarshabaan.tasksmanagement.security.CustomUserDetails;
+import tech.omarshabaan.tasksmanagement.security.PasswordHashSetting;
 
+import java.time.Instant;
 import java.util.Collection;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
-public class UserAuthService implements UserDetailsService {
+public class UserAuthService implements UserDetailsService, UserDetailsPasswordService {
+
+	private static final Logger logger = LoggerFactory.getLogger(UserAuthService.class);
 
 	private final UserSecurityRepository userSecurityRepository;
 
@@ -35,24 +44,24 @@ public class UserAuthService implements UserDetailsService {
 
 	private final ApplicationEventPublisher eventPublisher;
 
-	private final PasswordEncoder passwordEncoder;
+	private final MeterRegistry meterRegistry;
 
 	public UserAuthService(UserSecurityRepository userSecurityRepository, RoleRepository roleRepository,
-			UserRepository userRepository, ApplicationEventPublisher eventPublisher, PasswordEncoder passwordEncoder) {
+			UserRepository userRepository, ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
 		this.userSecurityRepository = userSecurityRepository;
 		this.roleRepository = roleRepository;
 		this.userRepository = userRepository;
 		this.eventPublisher = eventPublisher;
-		this.passwordEncoder = passwordEncoder;
+		this.meterRegistry = meterRegistry;
 	}
 
-	public void saveUserSecurity(UserSignupRequest request) {
+	public void saveUserSecurity(UserSignupRequest request, String encodedPassword) {
 		Role userRole = roleRepository.findByName(RoleName.USER)
 			.orElseThrow(() -> new RuntimeException("Default USER role not found"));
 
 		UserSecurity userSecurity = userSecurityRepository.save(UserSecurity.builder()
 			.email(request.email())
-			.password(passwordEncoder.encode(request.password()))
+			.password(encodedPassword)
 			.enabled(true)
 			.locked(false)
 			.addRole(userRole)
@@ -61,15 +70,24 @@ public class UserAuthService implements UserDetailsService {
 		eventPublisher.publishEvent(new UserSecurityCreatedEvent(userSecurity, request.username()));
 	}
 
+	/**
+	 * Loads the principal for sign-in in a single statement (user, credentials, roles and
+	 * authorities).
+	 */
 	@Override
 	@Transactional(readOnly = true)
 	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-		UserSecurity userSecurity = userSecurityRepository.findByEmail(username)
+		User user = userRepository.findPrincipalByEmail(username)
 			.orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + username));
+		return toUserDetails(user);
+	}
 
-		// Find the associated User domain entity
-		User user = userRepository.findByUserSecurity(userSecurity)
-			.orElseThrow(() -> new UsernameNotFoundException("User domain entity not found for email: " + username));
+	/**
+	 * Builds the principal from a user whose credentials, roles and authorities are
+	 * already loaded.
+	 */
+	public CustomUserDetails toUserDetails(User user) {
+		UserSecurity userSecurity = user.getUserSecurity();
 
 		// Build authorities from UserSecurity roles
 		Collection<GrantedAuthority> authorities = userSecurity.getRoles()
@@ -83,20 +101,37 @@ public class UserAuthService implements UserDetailsService {
 			.map(role -> new SimpleGrantedAuthority("ROLE_" + role.getName().name()))
 			.forEach(authorities::add);
 
-		return new CustomUserDetails(user.getUuid(), userSecurity.getUuid(), userSecurity.getEmail(),
-				userSecurity.getPassword(), authorities, userSecurity.isEnabled(), !userSecurity.isLocked());
+		return new CustomUserDetails(userSecurity.getId(), user.getUuid(), userSecurity.getUuid(),
+				userSecurity.getEmail(), userSecurity.getPassword(), authorities, userSecurity.isEnabled(),
+				!userSecurity.isLocked());
 	}
 
-	@Transactional(readOnly = true)
-	public UserSecurity findUserSecurityByEmail(String email) {
-		return userSecurityRepository.findByEmail(email)
-			.orElseThrow(() -> new RuntimeException("UserSecurity not found with email: " + email));
+	/**
+	 * Stores a rehash produced on successful sign-in. The update only applies if the
+	 * stored hash is still the one the user signed in with, so concurrent sign-ins of the
+	 * same user never conflict: the first one wins and the others change nothing.
+	 */
+	@Override
+	public UserDetails updatePassword(UserDetails user, String newPassword) {
+		int updated = userSecurityRepository.updatePasswordIfUnchanged(user.getUsername(), user.getPassword(),
+				newPassword, Instant.now());
+		if (updated == 0) {
+			return user;
+		}
+		String from = settingLabel(user.getPassword());
+		String to = settingLabel(newPassword);
+		Counter.builder("password_hashing.rehashed")
+			.description("Stored password hashes moved to another setting on sign-in")
+			.tag("from", from)
+			.tag("to", to)
+			.register(meterRegistry)
+			.increment();
+		logger.debug("Rehashed password for {} from {} to {}", user.getUsername(), from, to);
+		return user instanceof CustomUserDetails details ? details.withPassword(newPassword) : user;
 	}
 
-	@Transactional(readOnly = true)
-	public User findUserByUserSecurity(UserSecurity userSecurity) {
-		return userRepository.findByUserSecurity(userSecurity)
-			.orElseThrow(() -> new RuntimeException("User not found for UserSecurity: " + userSecurity.getEmail()));
+	private static String settingLabel(String encodedPassword) {
+		return Objects.toString(PasswordHashSetting.of(encodedPassword), "unknown");
 	}
 
 }
@@ -0,0 +1,50 @@
+package tech.omarshabaan.tasksmanagement.service.idempotency;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import tech.omarshabaan.tasksmanagement.config.IdempotencyProperties;
+import tech.omarshabaan.tasksmanagement.service.job.PeriodicJobHandler;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Purges idempotency keys past the TTL. An expired key still in the table is taken over
+ * by the next request that uses it, so this only bounds the table's size.
+ */
+@Component
+public class IdempotencyKeyCleanupJob implements PeriodicJobHandler {
+
+	private static final Logger logger = LoggerFactory.getLogger(IdempotencyKeyCleanupJob.class);
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final IdempotencyProperties properties;
+
+	public IdempotencyKeyCleanupJob(JdbcTemplate jdbcTemplate, IdempotencyProperties properties) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.properties = properties;
+	}
+
+	@Override
+	public String type() {
+		return "idempotency-key-cleanup";
+	}
+
+	@Override
+	public String cron() {
+		return properties.cleanupCron();
+	}
+
+	@Override
+	@Transactional
+	public void execute(String payload) {
+		Instant cutoff = Instant.now().minus(properties.ttl());
+		int keys = jdbcTemplate.update("DELETE FROM idempotency_keys WHERE created_at < ?", Timestamp.from(cutoff));
+		logger.info("Purged {} idempotency keys created before {}", keys, cutoff);
+	}
+
+}
@@ -0,0 +1,225 @@
+package tech.omarshabaan.tasksmanagement.service.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.support.DataAccessUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.omarshabaan.tasksmanagement.config.IdempotencyProperties;
+import tech.omarshabaan.tasksmanagement.exception.IdempotencyKeyMismatchException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Runs an operation once per user and {@code Idempotency-Key}. The first request with a
+ * key claims it by inserting its row, runs the operation in the same transaction and
+ * stores the response in the row; a retry within the TTL gets that response back and the
+ * operation does not run again.
+ * <p>
+ * A concurrent duplicate's insert waits on the first request's uncommitted row, then
+ * finds the key taken and replays the committed response; if the first rolls back, the
+ * duplicate claims the key and runs. Duplicates are serialized by that one row lock, held
+ * no longer than the first request's transaction. Completed keys are also cached in
+ * memory, so a retry that reaches the same node is answered without a query.
+ * <p>
+ * The key is stored with a hash of the request, and a key reused with a different request
+ * is rejected rather than answered with another request's response.
+ */
+@Service
+public class IdempotencyKeyStore {
+
+	private static final String CLAIM = """
+			INSERT INTO idempotency_keys (user_id, idempotency_key, request_hash)
+			SELECT id, ?, ? FROM users WHERE uuid = ?
+			ON CONFLICT (user_id, idempotency_key) DO UPDATE
+			SET request_hash = EXCLUDED.request_hash, response = NULL, created_at = CURRENT_TIMESTAMP
+			WHERE idempotency_keys.created_at < ?""";
+
+	private static final String SELECT = """
+			SELECT k.request_hash, k.response, k.created_at FROM idempotency_keys k
+			JOIN users u ON u.id = k.user_id
+			WHERE u.uuid = ? AND k.idempotency_key = ?""";
+
+	private static final String COMPLETE = """
+			UPDATE idempotency_keys SET response = ?
+			WHERE user_id = (SELECT id FROM users WHERE uuid = ?) AND idempotency_key = ?""";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final ObjectMapper objectMapper;
+
+	private final IdempotencyProperties properties;
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private final LinkedHashMap<CacheKey, Completed> cache;
+
+	private final Counter executed;
+
+	private final Counter replayed;
+
+	private final Counter rejected;
+
+	public IdempotencyKeyStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+			ObjectMapper objectMapper, IdempotencyProperties properties, MeterRegistry meterRegistry) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.objectMapper = objectMapper;
+		this.properties = properties;
+		int maxCachedKeys = properties.maxCachedKeys();
+		this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<CacheKey, Completed> eldest) {
+				return size() > maxCachedKeys;
+			}
+
+		};
+		this.executed = outcomeCounter(meterRegistry, "executed");
+		this.replayed = outcomeCounter(meterRegistry, "replayed");
+		this.rejected = outcomeCounter(meterRegistry, "rejected");
+	}
+
+	private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+		return Counter.builder("idempotency.requests")
+			.description("Requests with an Idempotency-Key by outcome")
+			.tag("outcome", outcome)
+			.register(meterRegistry);
+	}
+
+	/**
+	 * Runs {@code operation} in a new transaction unless {@code key} was already used by
+	 * the user within the TTL, in which case the response it stored is returned.
+	 * @throws IdempotencyKeyMismatchException if the key was used with another request
+	 */
+	public <T> T execute(UUID userUuid, String key, Object request, Class<T> responseType, Supplier<T> operation) {
+		byte[] requestHash = hash(request);
+		CacheKey cacheKey = new CacheKey(userUuid, key);
+		Completed completed = cached(cacheKey);
+		if (completed == null) {
+			completed = transactionTemplate.execute(status -> {
+				Instant now = Instant.now();
+				int claimed = jdbcTemplate.update(CLAIM, key, requestHash, userUuid,
+						Timestamp.from(now.minus(properties.ttl())));
+				if (claimed == 0) {
+					Completed stored = DataAccessUtils.singleResult(jdbcTemplate.query(SELECT,
+							(rs, rowNum) -> new Completed(rs.getBytes("request_hash"),
+									read(rs.getString("response"), responseType),
+									rs.getTimestamp("created_at").toInstant().plus(properties.ttl()), true),
+							userUuid, key));
+					if (stored != null) {
+						return stored;
+					}
+					// no such user; left to the operation to report
+				}
+				T response = operation.get();
+				jdbcTemplate.update(COMPLETE, write(response), userUuid, key);
+				return new Completed(requestHash, response, now.plus(properties.ttl()), false);
+			});
+			cache(cacheKey, completed);
+		}
+		else {
+			completed = completed.replay();
+		}
+
+		if (!MessageDigest.isEqual(completed.requestHash(), requestHash)) {
+			rejected.increment();
+			throw new IdempotencyKeyMismatchException(key);
+		}
+		(completed.replayed() ? replayed : executed).increment();
+		return responseType.cast(completed.response());
+	}
+
+	private Completed cached(CacheKey cacheKey) {
+		lock.lock();
+		try {
+			Completed completed = cache.get(cacheKey);
+			if (completed != null && !Instant.now().isBefore(completed.expiresAt())) {
+				cache.remove(cacheKey);
+				return null;
+			}
+			return completed;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	private void cache(CacheKey cacheKey, Completed completed) {
+		lock.lock();
+		try {
+			cache.put(cacheKey, completed);
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * SHA-256 of the request's type and JSON, so the same key sent to another operation
+	 * does not match either.
+	 */
+	private byte[] hash(Object request) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update(request.getClass().getName().getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) 0);
+			return digest.digest(objectMapper.writeValueAsBytes(request));
+		}
+		catch (NoSuchAlgorithmException | JsonProcessingException e) {
+			throw new IllegalStateException("Could not hash " + request.getClass().getSimpleName(), e);
+		}
+	}
+
+	private String write(Object response) {
+		try {
+			return objectMapper.writeValueAsString(response);
+		}
+		catch (JsonProcessingException e) {
+			throw new IllegalStateException("Could not serialize " + response.getClass().getSimpleName(), e);
+		}
+	}
+
+	private <T> T read(String response, Class<T> responseType) {
+		if (response == null) {
+			// only an uncommitted claim has no response, and those are never visible here
+			throw new IllegalStateException("Idempotency key has no response");
+		}
+		try {
+			return objectMapper.readValue(response, responseType);
+		}
+		catch (JsonProcessingException e) {
+			throw new IllegalStateException("Could not read stored " + responseType.getSimpleName(), e);
+		}
+	}
+
+	private record CacheKey(UUID userUuid, String key) {
+	}
+
+	/**
+	 * A key whose operation committed: the request it was used with and the response.
+	 */
+	private record Completed(byte[] requestHash, Object response, Instant expiresAt, boolean replayed) {
+
+		private Completed replay() {
+			return new Completed(requestHash, response, expiresAt, true);
+		}
+
+	}
+
+}
@@ -0,0 +1,17 @@
+package tech.omarshabaan.tasksmanagement.service.job;
+
+/**
+ * Executes jobs of one {@link #type()}. Handlers are plain beans; the runner discovers
+ * them at startup and only claims jobs whose type has a handler on this node, so a
+ * rolling deploy never hands a new job type to an old node.
+ * <p>
+ * A job may run more than once (a retry after a failure, or after its node died mid-run),
+ * so handlers must be idempotent. Throwing marks the attempt as failed.
+ */
+public interface JobHandler {
+
+	String type();
+
+	void execute(String payload) throws Exception;
+
+}
@@ -0,0 +1,50 @@
+package tech.omarshabaan.tasksmanagement.service.job;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import tech.omarshabaan.tasksmanagement.config.JobProperties;
+import tech.omarshabaan.tasksmanagement.repository.job.JobExecutionRepository;
+import tech.omarshabaan.tasksmanagement.repository.job.JobRepository;
+
+import java.time.Instant;
+
+@Component
+public class JobHistoryCleanupJob implements PeriodicJobHandler {
+
+	private static final Logger logger = LoggerFactory.getLogger(JobHistoryCleanupJob.class);
+
+	private final JobRepository jobRepository;
+
+	private final JobExecutionRepository jobExecutionRepository;
+
+	private final JobProperties.History properties;
+
+	public JobHistoryCleanupJob(JobRepository jobRepository, JobExecutionRepository jobExecutionRepository,
+			JobProperties jobProperties) {
+		this.jobRepository = jobRepository;
+		this.jobExecutionRepository = jobExecutionRepository;
+		this.properties = jobProperties.history();
+	}
+
+	@Override
+	public String type() {
+		return "job-history-cleanup";
+	}
+
+	@Override
+	public String cron() {
+		return properties.cleanupCron();
+	}
+
+	@Override
+	@Transactional
+	public void execute(String payload) {
+		Instant cutoff = Instant.now().minus(properties.retention());
+		int executions = jobExecutionRepository.deleteFinishedBefore(cutoff);
+		int jobs = jobRepository.deleteFinishedBefore(cutoff);
+		logger.info("Purged {} job executions and {} finished jobs older than {}", executions, jobs, cutoff);
+	}
+
+}
@@ -0,0 +1,330 @@
+package tech.omarshabaan.tasksmanagement.service.job;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import tech.omarshabaan.tasksmanagement.config.JobProperties;
+import tech.omarshabaan.tasksmanagement.entity.Job;
+import tech.omarshabaan.tasksmanagement.entity.JobExecution;
+import tech.omarshabaan.tasksmanagement.entity.JobExecutionOutcome;
+import tech.omarshabaan.tasksmanagement.entity.JobStatus;
+import tech.omarshabaan.tasksmanagement.repository.job.JobExecutionRepository;
+import tech.omarshabaan.tasksmanagement.repository.job.JobRepository;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.springframework.scheduling.annotation.Scheduled.CRON_DISABLED;
+
+/**
+ * Runs the jobs in the {@code jobs} table on a fixed pool of workers. Every node polls; a
+ * poll claims due jobs with {@code FOR UPDATE SKIP LOCKED} and leases them to this node,
+ * so each job runs on exactly one node and the load spreads across whichever nodes have
+ * idle workers. Leases of running jobs are renewed on every poll. When a node dies, its
+ * leases run out and the jobs are claimed again elsewhere, counting as a failed attempt.
+ */
+@Service
+public class JobRunner {
+
+	private static final Logger logger = LoggerFactory.getLogger(JobRunner.class);
+
+	private static final int MAX_ERROR_LENGTH = 2000;
+
+	private static final Duration SHUTDOWN_GRACE = Duration.ofSeconds(20);
+
+	private final JobRepository jobRepository;
+
+	private final JobExecutionRepository jobExecutionRepository;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final JobProperties properties;
+
+	private final Map<String, JobHandler> handlers;
+
+	private final List<PeriodicJobHandler> periodicHandlers;
+
+	private final String nodeId;
+
+	private final ExecutorService workers;
+
+	private final Semaphore idleWorkers;
+
+	private final Set<Long> runningJobs = ConcurrentHashMap.newKeySet();
+
+	private final MeterRegistry meterRegistry;
+
+	private final Counter expiredLeases;
+
+	private volatile boolean shuttingDown;
+
+	public JobRunner(JobRepository jobRepository, JobExecutionRepository jobExecutionRepository,
+			PlatformTransactionManager transactionManager, JobProperties properties, List<JobHandler> handlers,
+			MeterRegistry meterRegistry) {
+		this.jobRepository = jobRepository;
+		this.jobExecutionRepository = jobExecutionRepository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.properties = properties;
+		this.handlers = handlers.stream().collect(Collectors.toUnmodifiableMap(JobHandler::type, Function.identity()));
+		this.periodicHandlers = handlers.stream()
+			.filter(PeriodicJobHandler.class::isInstance)
+			.map(PeriodicJobHandler.class::cast)
+			.toList();
+		this.nodeId = StringUtils.hasText(properties.nodeId()) ? properties.nodeId()
+				: ManagementFactory.getRuntimeMXBean().getName();
+		this.workers = Executors.newFixedThreadPool(properties.workers(),
+				Thread.ofPlatform().name("job-worker-", 0).factory());
+		this.idleWorkers = new Semaphore(properties.workers());
+		this.meterRegistry = meterRegistry;
+		this.expiredLeases = Counter.builder("jobs.leases.expired")
+			.description("Jobs claimed again because the node running them stopped renewing its lease")
+			.register(meterRegistry);
+		Gauge.builder("jobs.workers.busy", runningJobs, Set::size)
+			.description("Job workers currently running a job on this node")
+			.register(meterRegistry);
+	}
+
+	/**
+	 * The name this node leases jobs under, {@code app.jobs.node-id} or pid@hostname.
+	 */
+	public String nodeId() {
+		return nodeId;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void registerPeriodicJobs() {
+		if (!properties.enabled()) {
+			return;
+		}
+		for (PeriodicJobHandler handler : periodicHandlers) {
+			try {
+				transactionTemplate.executeWithoutResult(status -> registerPeriodicJob(handler));
+			}
+			catch (DataAccessException e) {
+				// another node registered or claimed it at the same moment; its row wins
+				logger.debug("Periodic job {} was registered concurrently: {}", handler.type(), e.getMessage());
+			}
+		}
+	}
+
+	private void registerPeriodicJob(PeriodicJobHandler handler) {
+		String cron = handler.cron();
+		if (CRON_DISABLED.equals(cron)) {
+			if (jobRepository.deletePeriodic(handler.type()) > 0) {
+				logger.info("Periodic job {} disabled", handler.type());
+			}
+			return;
+		}
+		Instant nextRun = nextRun(cron, Instant.now());
+		jobRepository.findByName(handler.type()).ifPresentOrElse(job -> {
+			if (!cron.equals(job.getCron())) {
+				job.setCron(cron);
+				if (job.getStatus() == JobStatus.PENDING) {
+					job.setRunAt(nextRun);
+				}
+				logger.info("Periodic job {} rescheduled to '{}'", handler.type(), cron);
+			}
+		}, () -> {
+			jobRepository.save(Job.periodic(handler.type(), cron, properties.maxAttempts(), nextRun));
+			logger.info("Periodic job {} registered with '{}', first run at {}", handler.type(), cron, nextRun);
+		});
+	}
+
+	/**
+	 * Renews the leases of the jobs running here, then claims as many due jobs as there
+	 * are idle workers and hands them to the pool.
+	 * @return the number of jobs claimed
+	 */
+	@Scheduled(fixedDelayString = "${app.jobs.poll-interval}", initialDelayString = "${app.jobs.poll-interval}")
+	public int poll() {
+		if (!properties.enabled() || shuttingDown) {
+			return 0;
+		}
+		renewLeases();
+
+		int capacity = idleWorkers.availablePermits();
+		if (capacity == 0) {
+			return 0;
+		}
+		List<ClaimedJob> claimed = transactionTemplate.execute(status -> claim(capacity));
+		if (claimed == null) {
+			return 0;
+		}
+		for (ClaimedJob job : claimed) {
+			idleWorkers.acquireUninterruptibly();
+			runningJobs.add(job.id());
+			workers.execute(() -> run(job));
+		}
+		return claimed.size();
+	}
+
+	private void renewLeases() {
+		if (runningJobs.isEmpty()) {
+			return;
+		}
+		try {
+			transactionTemplate.executeWithoutResult(status -> jobRepository.extendLeases(Set.copyOf(runningJobs),
+					nodeId, Instant.now().plus(properties.leaseDuration())));
+		}
+		catch (DataAccessException e) {
+			logger.warn("Could not renew job leases: {}", e.getMessage());
+		}
+	}
+
+	private List<ClaimedJob> claim(int limit) {
+		Instant now = Instant.now();
+		List<ClaimedJob> claimed = new ArrayList<>();
+		for (Job job : jobRepository.lockClaimable(now, limit, handlers.keySet())) {
+			if (job.getStatus() == JobStatus.RUNNING) {
+				expiredLeases.increment();
+				String error = "Lease held by " + job.getLockedBy() + " expired at " + job.getLockedUntil();
+				logger.warn("Job {} ({}): {}", job.getUuid(), job.getType(), error);
+				jobExecutionRepository.save(new JobExecution(job, job.getAttempts(), job.getLockedBy(),
+						JobExecutionOutcome.LEASE_EXPIRED, error, job.getUpdatedAt(), now));
+				if (job.getAttempts() >= job.getMaxAttempts()) {
+					giveUp(job, error, now);
+					continue;
+				}
+			}
+			job.claim(nodeId, now.plus(properties.leaseDuration()));
+			claimed.add(new ClaimedJob(job.getId(), job.getUuid().toString(), job.getType(), job.getPayload()));
+		}
+		return claimed;
+	}
+
+	private void run(ClaimedJob job) {
+		Instant startedAt = Instant.now();
+		Timer.Sample sample = Timer.start(meterRegistry);
+		Exception failure = null;
+		try {
+			handlers.get(job.type()).execute(job.payload());
+		}
+		catch (Exception e) {
+			failure = e;
+			logger.warn("Job {} ({}) failed", job.uuid(), job.type(), e);
+		}
+		sample.stop(Timer.builder("jobs.execution")
+			.description("Job execution time")
+			.tag("type", job.type())
+			.tag("outcome", failure == null ? "success" : "failure")
+			.register(meterRegistry));
+
+		String error = failure != null ? describe(failure) : null;
+		try {
+			transactionTemplate.executeWithoutResult(status -> complete(job, startedAt, error));
+		}
+		catch (RuntimeException e) {
+			// the lease runs out and another node retries the job
+			logger.error("Could not record the result of job {} ({})", job.uuid(), job.type(), e);
+		}
+		finally {
+			runningJobs.remove(job.id());
+			idleWorkers.release();
+		}
+	}
+
+	private void complete(ClaimedJob claimed, Instant startedAt, String error) {
+		Job job = jobRepository.findById(claimed.id()).orElse(null);
+		if (job == null || !job.isLeasedBy(nodeId)) {
+			logger.warn("Lease on job {} ({}) was lost before it finished; result discarded", claimed.uuid(),
+					claimed.type());
+			return;
+		}
+		Instant now = Instant.now();
+		jobExecutionRepository.save(new JobExecution(job, job.getAttempts(), nodeId,
+				error == null ? JobExecutionOutcome.SUCCEEDED : JobExecutionOutcome.FAILED, error, startedAt, now));
+
+		if (error == null) {
+			if (job.isPeriodic()) {
+				job.rescheduleAt(nextRun(job.getCron(), now), null);
+			}
+			else {
+				job.succeed();
+			}
+		}
+		else if (job.getAttempts() < job.getMaxAttempts()) {
+			Instant retryAt = now.plus(backoff(job.getAttempts()));
+			logger.info("Job {} ({}) will be retried at {} (attempt {} of {})", job.getUuid(), job.getType(), retryAt,
+					job.getAttempts() + 1, job.getMaxAttempts());
+			job.retryAt(retryAt, error);
+		}
+		else {
+			giveUp(job, error, now);
+		}
+	}
+
+	private void giveUp(Job job, String error, Instant now) {
+		if (job.isPeriodic()) {
+			Instant nextRun = nextRun(job.getCron(), now);
+			logger.error("Periodic job {} failed {} times; skipping to its next slot at {}", job.getType(),
+					job.getAttempts(), nextRun);
+			job.rescheduleAt(nextRun, error);
+		}
+		else {
+			logger.error("Job {} ({}) failed {} times; giving up", job.getUuid(), job.getType(), job.getAttempts());
+			job.fail(error);
+		}
+	}
+
+	/**
+	 * Exponential backoff with jitter: between half and all of
+	 * {@code backoffBase * 2^(attempt - 1)}, capped at {@code backoffMax}, so jobs that
+	 * failed together do not all retry together.
+	 */
+	private Duration backoff(int attempt) {
+		long base = properties.backoffBase().toMillis();
+		long delay = Math.min(properties.backoffMax().toMillis(), base << Math.min(attempt - 1, 20));
+		return Duration.ofMillis(delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1));
+	}
+
+	private static Instant nextRun(String cron, Instant after) {
+		return CronExpression.parse(cron).next(after.atZone(ZoneId.systemDefault())).toInstant();
+	}
+
+	private static String describe(Exception e) {
+		String error = e.getClass().getName() + ": " + e.getMessage();
+		return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+	}
+
+	@PreDestroy
+	public void shutdown() throws InterruptedException {
+		shuttingDown = true;
+		workers.shutdown();
+		if (!workers.awaitTermination(SHUTDOWN_GRACE.toMillis(), TimeUnit.MILLISECONDS)) {
+			logger.warn("{} jobs still running at shutdown; their leases will expire and they will be retried",
+					runningJobs.size());
+			workers.shutdownNow();
+		}
+	}
+
+	private record ClaimedJob(Long id, String uuid, String type, String payload) {
+	}
+
+}
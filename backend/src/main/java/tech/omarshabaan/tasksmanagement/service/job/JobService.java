@@ -0,0 +1,48 @@
+package tech.omarshabaan.tasksmanagement.service.job;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.omarshabaan.tasksmanagement.config.JobProperties;
+import tech.omarshabaan.tasksmanagement.entity.Job;
+import tech.omarshabaan.tasksmanagement.repository.job.JobRepository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+public class JobService {
+
+	private final JobRepository jobRepository;
+
+	private final JobProperties jobProperties;
+
+	private final Set<String> jobTypes;
+
+	public JobService(JobRepository jobRepository, JobProperties jobProperties, List<JobHandler> handlers) {
+		this.jobRepository = jobRepository;
+		this.jobProperties = jobProperties;
+		this.jobTypes = handlers.stream().map(JobHandler::type).collect(Collectors.toUnmodifiableSet());
+	}
+
+	/**
+	 * Enqueues an ad-hoc job to run as soon as a worker is free. Joins the caller's
+	 * transaction, so the job only becomes visible if the caller commits.
+	 */
+	@Transactional
+	public UUID enqueue(String type, String payload) {
+		return enqueue(type, payload, Instant.now());
+	}
+
+	@Transactional
+	public UUID enqueue(String type, String payload, Instant runAt) {
+		if (!jobTypes.contains(type)) {
+			throw new IllegalArgumentException("Unknown job type: " + type);
+		}
+		Job job = jobRepository.save(new Job(type, payload, jobProperties.maxAttempts(), runAt));
+		return job.getUuid();
+	}
+
+}
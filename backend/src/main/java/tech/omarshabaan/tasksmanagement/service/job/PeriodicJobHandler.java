@@ -0,0 +1,12 @@
+package tech.omarshabaan.tasksmanagement.service.job;
+
+/**
+ * A {@link JobHandler} that runs on a cron schedule. Each periodic job is a single row in
+ * {@code jobs}, so a slot runs on exactly one node no matter how many nodes are up.
+ * Returning {@code "-"} from {@link #cron()} disables the job.
+ */
+public interface PeriodicJobHandler extends JobHandler {
+
+	String cron();
+
+}
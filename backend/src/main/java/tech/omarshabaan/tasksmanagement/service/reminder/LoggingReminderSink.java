@@ -0,0 +1,23 @@
+package tech.omarshabaan.tasksmanagement.service.reminder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Logs every reminder at INFO; the default sink.
+ */
+public class LoggingReminderSink implements ReminderSink {
+
+	private static final Logger logger = LoggerFactory.getLogger(LoggingReminderSink.class);
+
+	@Override
+	public void deliver(List<TaskReminder> reminders) {
+		for (TaskReminder reminder : reminders) {
+			logger.info("Task {} '{}' assigned to {} is due at {}", reminder.taskUuid(), reminder.title(),
+					reminder.assigneeUuid(), reminder.dueDate());
+		}
+	}
+
+}
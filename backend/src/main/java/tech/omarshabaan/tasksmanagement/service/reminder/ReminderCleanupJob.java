@@ -0,0 +1,51 @@
+package tech.omarshabaan.tasksmanagement.service.reminder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import tech.omarshabaan.tasksmanagement.config.ReminderProperties;
+import tech.omarshabaan.tasksmanagement.service.job.PeriodicJobHandler;
+
+import java.sql.Types;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+/**
+ * Purges the fired markers of due dates long past, which no refresh loads again.
+ */
+@Component
+public class ReminderCleanupJob implements PeriodicJobHandler {
+
+	private static final Logger logger = LoggerFactory.getLogger(ReminderCleanupJob.class);
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final ReminderProperties properties;
+
+	public ReminderCleanupJob(JdbcTemplate jdbcTemplate, ReminderProperties properties) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.properties = properties;
+	}
+
+	@Override
+	public String type() {
+		return "task-reminder-cleanup";
+	}
+
+	@Override
+	public String cron() {
+		return properties.cleanupCron();
+	}
+
+	@Override
+	@Transactional
+	public void execute(String payload) {
+		Instant cutoff = Instant.now().minus(properties.retention());
+		int markers = jdbcTemplate.update("DELETE FROM task_reminders WHERE due_date < ?",
+				ps -> ps.setObject(1, cutoff.atOffset(ZoneOffset.UTC), Types.TIMESTAMP_WITH_TIMEZONE));
+		logger.info("Purged {} fired reminder markers due before {}", markers, cutoff);
+	}
+
+}
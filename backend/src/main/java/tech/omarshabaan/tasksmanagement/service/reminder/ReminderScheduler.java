@@ -0,0 +1,306 @@
+package tech.omarshabaan.tasksmanagement.service.reminder;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.omarshabaan.tasksmanagement.config.ReminderProperties;
+import tech.omarshabaan.tasksmanagement.service.job.JobRunner;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fires a reminder {@code lead} before each open task is due.
+ * <p>
+ * Pending reminders live in a {@link TimingWheel} on every node, so firing them costs no
+ * queries until they are due. The wheel only ever holds the next {@code window}: every
+ * refresh loads the slice of due dates that has come into the window since the last one,
+ * and reconciles the tasks changed since the last one, scheduling again the ones whose
+ * due date moved and cancelling the ones closed or moved out. Deleted tasks are left in
+ * the wheel and dropped when they come up.
+ * <p>
+ * On every tick the reminders due are claimed in {@code task_reminders} in one statement
+ * that also checks each task is still there, open and due when the reminder was scheduled
+ * for. Only the node whose insert of the fired marker wins delivers, so a reminder fires
+ * once however many nodes hold it and however often they restart.
+ */
+@Service
+public class ReminderScheduler {
+
+	private static final Logger logger = LoggerFactory.getLogger(ReminderScheduler.class);
+
+	private static final int CURSOR_FETCH_SIZE = 1000;
+
+	private static final int CLAIM_BATCH_SIZE = 1000;
+
+	private static final String SELECT_WINDOW = """
+			SELECT t.id, t.due_date FROM tasks t
+			WHERE t.status IN ('PENDING', 'IN_PROGRESS') AND t.due_date >= ? AND t.due_date < ?
+			AND NOT EXISTS (SELECT 1 FROM task_reminders r WHERE r.task_id = t.id AND r.due_date = t.due_date)""";
+
+	private static final String SELECT_CHANGED = """
+			SELECT t.id, t.due_date, t.status IN ('PENDING', 'IN_PROGRESS')
+			       AND NOT EXISTS (SELECT 1 FROM task_reminders r WHERE r.task_id = t.id AND r.due_date = t.due_date)
+			       AS pending
+			FROM tasks t
+			WHERE t.updated_at >= ?""";
+
+	private static final String CLAIM = """
+			WITH claimed AS (
+			    INSERT INTO task_reminders (task_id, due_date, node)
+			    SELECT t.id, t.due_date, ?
+			    FROM unnest(?::bigint[], ?::timestamptz[]) AS due (task_id, due_date)
+			    JOIN tasks t ON t.id = due.task_id AND t.due_date = due.due_date
+			    WHERE t.status IN ('PENDING', 'IN_PROGRESS')
+			    ON CONFLICT (task_id, due_date) DO NOTHING
+			    RETURNING task_id, due_date)
+			SELECT t.uuid, t.title, claimed.due_date, u.uuid AS assignee_uuid
+			FROM claimed
+			JOIN tasks t ON t.id = claimed.task_id
+			JOIN users u ON u.id = t.assigned_to_id
+			ORDER BY claimed.due_date""";
+
+	private final ReminderProperties properties;
+
+	private final ReminderSink sink;
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final JdbcTemplate cursorTemplate;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final TransactionTemplate readOnlyTransactionTemplate;
+
+	private final String nodeId;
+
+	private final long tickMillis;
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private final TimingWheel<Due> wheel;
+
+	private final Counter delivered;
+
+	private final Counter failed;
+
+	private Instant loadedUntil;
+
+	private LocalDateTime changesFrom;
+
+	public ReminderScheduler(ReminderProperties properties, ReminderSink sink, JdbcTemplate jdbcTemplate,
+			DataSource dataSource, PlatformTransactionManager transactionManager, JobRunner jobRunner,
+			MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.sink = sink;
+		this.jdbcTemplate = jdbcTemplate;
+		// a cursor for the window and the changes, which can run to many rows
+		this.cursorTemplate = new JdbcTemplate(dataSource);
+		this.cursorTemplate.setFetchSize(CURSOR_FETCH_SIZE);
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+		this.readOnlyTransactionTemplate.setReadOnly(true);
+		this.nodeId = jobRunner.nodeId();
+		this.tickMillis = properties.tick().toMillis();
+		this.wheel = new TimingWheel<>(Math.floorDiv(System.currentTimeMillis(), tickMillis));
+
+		Gauge.builder("reminders.scheduled", this, ReminderScheduler::scheduled)
+			.description("Reminders waiting in this node's timing wheel")
+			.register(meterRegistry);
+		this.delivered = outcomeCounter(meterRegistry, "delivered");
+		this.failed = outcomeCounter(meterRegistry, "failed");
+	}
+
+	private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+		return Counter.builder("reminders.fired")
+			.description("Reminders claimed by this node and handed to the sink")
+			.tag("outcome", outcome)
+			.register(meterRegistry);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		if (properties.enabled()) {
+			refresh();
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${app.reminders.refresh-interval}",
+			initialDelayString = "${app.reminders.refresh-interval}")
+	public void scheduledRefresh() {
+		if (properties.enabled()) {
+			refresh();
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${app.reminders.tick}", initialDelayString = "${app.reminders.tick}")
+	public void scheduledTick() {
+		if (properties.enabled()) {
+			tick();
+		}
+	}
+
+	/**
+	 * Loads the reminders that came into the window and reconciles the changed tasks.
+	 * @return the number of reminders scheduled
+	 */
+	public int refresh() {
+		Instant now = Instant.now();
+		// updated_at is wall-clock time in the session's, and so the JVM's, time zone
+		LocalDateTime changesUntil = LocalDateTime.now();
+		Instant from = loadedUntil != null ? loadedUntil : now;
+		Instant until = now.plus(properties.lead()).plus(properties.window());
+
+		int[] scheduled = { 0 };
+		readOnlyTransactionTemplate.executeWithoutResult(status -> {
+			cursorTemplate.query(SELECT_WINDOW, ps -> {
+				setTimestamp(ps, 1, from);
+				setTimestamp(ps, 2, until);
+			}, rs -> {
+				schedule(rs.getLong("id"), instant(rs, "due_date"));
+				scheduled[0]++;
+			});
+			if (changesFrom != null) {
+				cursorTemplate.query(SELECT_CHANGED,
+						(PreparedStatementSetter) ps -> ps.setObject(1, changesFrom.minus(properties.overlap())),
+						rs -> {
+							Instant dueDate = instant(rs, "due_date");
+							if (rs.getBoolean("pending") && dueDate != null && !dueDate.isBefore(now)
+									&& dueDate.isBefore(until)) {
+								schedule(rs.getLong("id"), dueDate);
+								scheduled[0]++;
+							}
+							else {
+								cancel(rs.getLong("id"));
+							}
+						});
+			}
+		});
+		loadedUntil = until;
+		changesFrom = changesUntil;
+		logger.debug("Reminders refreshed up to {}: {} scheduled, {} waiting", until, scheduled[0], scheduled());
+		return scheduled[0];
+	}
+
+	/**
+	 * Turns the wheel to now and fires the reminders that came up.
+	 * @return the number of reminders delivered
+	 */
+	public int tick() {
+		List<Due> due = new ArrayList<>();
+		lock.lock();
+		try {
+			wheel.advanceTo(Math.floorDiv(System.currentTimeMillis(), tickMillis), due::add);
+		}
+		finally {
+			lock.unlock();
+		}
+
+		int fired = 0;
+		for (int from = 0; from < due.size(); from += CLAIM_BATCH_SIZE) {
+			List<Due> batch = due.subList(from, Math.min(from + CLAIM_BATCH_SIZE, due.size()));
+			List<TaskReminder> reminders;
+			try {
+				reminders = transactionTemplate.execute(status -> claim(batch));
+			}
+			catch (DataAccessException e) {
+				// nothing was marked fired; back into the wheel for the next tick
+				logger.warn("Could not claim {} due reminders: {}", batch.size(), e.getMessage());
+				batch.forEach(reminder -> schedule(reminder.taskId(), reminder.dueDate()));
+				continue;
+			}
+			if (reminders == null || reminders.isEmpty()) {
+				continue;
+			}
+			try {
+				sink.deliver(reminders);
+				delivered.increment(reminders.size());
+				fired += reminders.size();
+			}
+			catch (RuntimeException e) {
+				failed.increment(reminders.size());
+				logger.warn("Could not deliver {} reminders: {}", reminders.size(), e.getMessage());
+			}
+		}
+		return fired;
+	}
+
+	private List<TaskReminder> claim(List<Due> batch) {
+		return jdbcTemplate.query(CLAIM, ps -> {
+			ps.setString(1, nodeId);
+			ps.setArray(2, ps.getConnection().createArrayOf("bigint", batch.stream().map(Due::taskId).toArray()));
+			ps.setArray(3, ps.getConnection()
+				.createArrayOf("timestamptz", batch.stream().map(reminder -> reminder.dueDate().toString()).toArray()));
+		}, (rs, rowNum) -> new TaskReminder(rs.getObject("uuid", UUID.class), rs.getString("title"),
+				instant(rs, "due_date"), rs.getObject("assignee_uuid", UUID.class)));
+	}
+
+	private void schedule(long taskId, Instant dueDate) {
+		long fireAt = dueDate.minus(properties.lead()).toEpochMilli();
+		lock.lock();
+		try {
+			wheel.schedule(taskId, Math.ceilDiv(fireAt, tickMillis), new Due(taskId, dueDate));
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	private void cancel(long taskId) {
+		lock.lock();
+		try {
+			wheel.cancel(taskId);
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	private int scheduled() {
+		lock.lock();
+		try {
+			return wheel.size();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	private static Instant instant(ResultSet rs, String column) throws SQLException {
+		OffsetDateTime value = rs.getObject(column, OffsetDateTime.class);
+		return value != null ? value.toInstant() : null;
+	}
+
+	private static void setTimestamp(PreparedStatement ps, int index, Instant value) throws SQLException {
+		ps.setObject(index, value.atOffset(ZoneOffset.UTC), Types.TIMESTAMP_WITH_TIMEZONE);
+	}
+
+	/**
+	 * A reminder in the wheel: the task and the due date it fires for.
+	 */
+	private record Due(long taskId, Instant dueDate) {
+	}
+
+}
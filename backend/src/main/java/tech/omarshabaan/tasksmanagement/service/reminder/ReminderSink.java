@@ -0,0 +1,14 @@
+package tech.omarshabaan.tasksmanagement.service.reminder;
+
+import java.util.List;
+
+/**
+ * Delivers fired reminders, all those of one tick at a time. A reminder is marked fired
+ * before it is delivered, so one that fails here is not fired again: delivery is at most
+ * once.
+ */
+public interface ReminderSink {
+
+	void deliver(List<TaskReminder> reminders);
+
+}
@@ -0,0 +1,10 @@
+package tech.omarshabaan.tasksmanagement.service.reminder;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A fired reminder, as handed to the {@link ReminderSink}.
+ */
+public record TaskReminder(UUID taskUuid, String title, Instant dueDate, UUID assigneeUuid) {
+}
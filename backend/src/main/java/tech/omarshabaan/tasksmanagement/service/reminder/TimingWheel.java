@@ -0,0 +1,211 @@
+package tech.omarshabaan.tasksmanagement.service.reminder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timing wheel of entries keyed by a {@code long}, each due at a tick.
+ * <p>
+ * There are {@value #LEVELS} wheels of {@value #SLOTS} slots; a slot of level {@code k}
+ * spans {@code 64^k} ticks, so the wheels together cover {@code 64^4} ticks ahead (194
+ * days at one tick a second). An entry goes into the lowest level whose span reaches its
+ * tick. Each time the ticks pass a slot boundary of a higher level, that slot's entries
+ * move down, and the level 0 slot of the current tick holds exactly the entries due. A
+ * slot is an intrusive list and entries are found by key through a map, so scheduling,
+ * cancelling and expiring an entry are constant time, and every entry moves down at most
+ * {@code LEVELS - 1} times over its life; no tick looks at entries that are not due.
+ * <p>
+ * Not thread-safe.
+ */
+final class TimingWheel<T> {
+
+	static final int LEVELS = 4;
+
+	static final int SLOTS = 64;
+
+	private static final int SLOT_BITS = 6;
+
+	private static final int SLOT_MASK = SLOTS - 1;
+
+	/**
+	 * Ticks ahead the wheels reach; entries further out are refused.
+	 */
+	static final long SPAN = 1L << (SLOT_BITS * LEVELS);
+
+	private final Node<T>[][] slots;
+
+	private final Map<Long, Node<T>> entries = new HashMap<>();
+
+	/**
+	 * Entries scheduled at or before the current tick, expired on the next advance.
+	 */
+	private final Node<T> overdue = Node.sentinel();
+
+	private long currentTick;
+
+	@SuppressWarnings("unchecked")
+	TimingWheel(long startTick) {
+		this.currentTick = startTick;
+		this.slots = new Node[LEVELS][SLOTS];
+		for (Node<T>[] level : slots) {
+			for (int i = 0; i < SLOTS; i++) {
+				level[i] = Node.sentinel();
+			}
+		}
+	}
+
+	long currentTick() {
+		return currentTick;
+	}
+
+	int size() {
+		return entries.size();
+	}
+
+	boolean contains(long key) {
+		return entries.containsKey(key);
+	}
+
+	/**
+	 * Schedules {@code value} under {@code key} for {@code tick}, replacing whatever was
+	 * scheduled under the key. A tick that has passed expires on the next advance.
+	 * @return {@code false}, leaving the key unscheduled, if the tick is beyond
+	 * {@link #SPAN} ticks ahead
+	 */
+	boolean schedule(long key, long tick, T value) {
+		cancel(key);
+		if (tick - currentTick >= SPAN) {
+			return false;
+		}
+		Node<T> node = new Node<>(key, tick, value);
+		entries.put(key, node);
+		if (tick <= currentTick) {
+			overdue.append(node);
+		}
+		else {
+			place(node);
+		}
+		return true;
+	}
+
+	/**
+	 * @return whether anything was scheduled under the key
+	 */
+	boolean cancel(long key) {
+		Node<T> node = entries.remove(key);
+		if (node == null) {
+			return false;
+		}
+		node.unlink();
+		return true;
+	}
+
+	/**
+	 * Moves the wheels on to {@code tick}, handing every entry due by then to
+	 * {@code expired}, in tick order, and forgetting it.
+	 */
+	void advanceTo(long tick, Consumer<T> expired) {
+		expire(overdue, expired);
+		if (entries.isEmpty()) {
+			currentTick = Math.max(currentTick, tick);
+			return;
+		}
+		while (currentTick < tick) {
+			currentTick++;
+			for (int level = LEVELS - 1; level > 0; level--) {
+				int shift = SLOT_BITS * level;
+				if ((currentTick & ((1L << shift) - 1)) == 0) {
+					cascade(slots[level][(int) ((currentTick >>> shift) & SLOT_MASK)]);
+				}
+			}
+			expire(slots[0][(int) (currentTick & SLOT_MASK)], expired);
+			if (entries.isEmpty()) {
+				currentTick = tick;
+			}
+		}
+	}
+
+	private void place(Node<T> node) {
+		long delta = node.tick - currentTick;
+		int level = 0;
+		while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+			level++;
+		}
+		slots[level][(int) ((node.tick >>> (SLOT_BITS * level)) & SLOT_MASK)].append(node);
+	}
+
+	private void cascade(Node<T> slot) {
+		for (Node<T> node : slot.drain()) {
+			place(node);
+		}
+	}
+
+	private void expire(Node<T> slot, Consumer<T> expired) {
+		for (Node<T> node : slot.drain()) {
+			entries.remove(node.key);
+			expired.accept(node.value);
+		}
+	}
+
+	private static final class Node<T> {
+
+		private final long key;
+
+		private final long tick;
+
+		private final T value;
+
+		private Node<T> prev = this;
+
+		private Node<T> next = this;
+
+		private Node(long key, long tick, T value) {
+			this.key = key;
+			this.tick = tick;
+			this.value = value;
+		}
+
+		static <T> Node<T> sentinel() {
+			return new Node<>(0, 0, null);
+		}
+
+		void append(Node<T> node) {
+			node.prev = prev;
+			node.next = this;
+			prev.next = node;
+			prev = node;
+		}
+
+		void unlink() {
+			prev.next = next;
+			next.prev = prev;
+			prev = this;
+			next = this;
+		}
+
+		/**
+		 * Unlinks and returns every node of this sentinel's list.
+		 */
+		List<Node<T>> drain() {
+			if (next == this) {
+				return List.of();
+			}
+			List<Node<T>> nodes = new ArrayList<>();
+			for (Node<T> node = next; node != this;) {
+				Node<T> following = node.next;
+				node.prev = node;
+				node.next = node;
+				nodes.add(node);
+				node = following;
+			}
+			prev = this;
+			next = this;
+			return nodes;
+		}
+
+	}
+
+}
@@ -0,0 +1,40 @@
+package tech.omarshabaan.tasksmanagement.service.reminder;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Posts the reminders of a tick to a URL as one JSON array. A failed post is not retried;
+ * see {@link ReminderSink}.
+ */
+public class WebhookReminderSink implements ReminderSink {
+
+	private final RestClient restClient;
+
+	private final URI url;
+
+	public WebhookReminderSink(RestClient.Builder restClientBuilder, URI url, Duration timeout) {
+		JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(
+				HttpClient.newBuilder().connectTimeout(timeout).build());
+		requestFactory.setReadTimeout(timeout);
+		this.restClient = restClientBuilder.requestFactory(requestFactory).build();
+		this.url = url;
+	}
+
+	@Override
+	public void deliver(List<TaskReminder> reminders) {
+		restClient.post()
+			.uri(url)
+			.contentType(MediaType.APPLICATION_JSON)
+			.body(reminders)
+			.retrieve()
+			.toBodilessEntity();
+	}
+
+}
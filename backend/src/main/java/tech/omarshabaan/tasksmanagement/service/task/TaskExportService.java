@@ -0,0 +1,56 @@
+package tech.omarshabaan.tasksmanagement.service.task;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.omarshabaan.tasksmanagement.dto.task.GetTaskResponse;
+import tech.omarshabaan.tasksmanagement.dto.task.TaskExportFormat;
+import tech.omarshabaan.tasksmanagement.entity.TaskStatus;
+import tech.omarshabaan.tasksmanagement.entity.User;
+import tech.omarshabaan.tasksmanagement.repository.task.TaskRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Exports all tasks of a user. Rows come from a database cursor and go straight to the
+ * output stream, so memory use does not grow with the number of tasks; the read-only
+ * transaction, and its connection, are held until the last row is written.
+ */
+@Service
+@Observed(name = "service.operations")
+public class TaskExportService {
+
+	private final TaskRepository taskRepository;
+
+	private final UserLookupService userLookupService;
+
+	private final ObjectMapper objectMapper;
+
+	public TaskExportService(TaskRepository taskRepository, UserLookupService userLookupService,
+			ObjectMapper objectMapper) {
+		this.taskRepository = taskRepository;
+		this.userLookupService = userLookupService;
+		this.objectMapper = objectMapper;
+	}
+
+	@Transactional(readOnly = true)
+	public void exportUserTasks(UUID userUuid, TaskStatus status, TaskExportFormat format, OutputStream out)
+			throws IOException {
+		User user = userLookupService.findUserByUuid(userUuid);
+
+		try (Stream<GetTaskResponse> rows = status != null
+				? taskRepository.streamRowsByAssignedToAndStatus(user, status)
+				: taskRepository.streamRowsByAssignedTo(user);
+				TaskExportWriter writer = TaskExportWriter.create(format, out, objectMapper)) {
+			for (Iterator<GetTaskResponse> iterator = rows.iterator(); iterator.hasNext();) {
+				writer.write(iterator.next());
+			}
+		}
+	}
+
+}
@@ -0,0 +1,145 @@
+package tech.omarshabaan.tasksmanagement.service.task;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import tech.omarshabaan.tasksmanagement.dto.task.GetTaskResponse;
+import tech.omarshabaan.tasksmanagement.dto.task.TaskExportFormat;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Writes exported tasks one row at a time through a fixed-size buffer; the buffer is
+ * flushed to the response when full and on {@link #close()}, which leaves the stream
+ * itself open.
+ */
+abstract sealed class TaskExportWriter implements Closeable {
+
+	static TaskExportWriter create(TaskExportFormat format, OutputStream out, ObjectMapper objectMapper)
+			throws IOException {
+		return switch (format) {
+			case CSV -> new Csv(out);
+			case NDJSON -> new Ndjson(out, objectMapper);
+		};
+	}
+
+	abstract void write(GetTaskResponse task) throws IOException;
+
+	/**
+	 * RFC 4180: a header line, CRLF line endings, and fields containing a separator,
+	 * quote or line break quoted, with quotes doubled. A text field that a spreadsheet
+	 * would read as a formula, one starting with {@code =}, {@code +}, {@code -},
+	 * {@code @}, a tab or a carriage return, is prefixed with {@code '} so it opens as
+	 * text.
+	 */
+	static final class Csv extends TaskExportWriter {
+
+		private static final String HEADER = "uuid,title,description,status,priority,dueDate,createdAt,updatedAt";
+
+		private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+		private final Writer writer;
+
+		Csv(OutputStream out) throws IOException {
+			this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+			writer.write(HEADER);
+			writer.write("\r\n");
+		}
+
+		@Override
+		void write(GetTaskResponse task) throws IOException {
+			writer.write(task.uuid().toString());
+			field(task.title());
+			field(task.description());
+			field(task.status().name());
+			field(task.priority().name());
+			field(task.dueDate());
+			field(task.createdAt());
+			field(task.updatedAt());
+			writer.write("\r\n");
+		}
+
+		private void field(Instant value) throws IOException {
+			writer.write(',');
+			if (value != null) {
+				writer.write(value.toString());
+			}
+		}
+
+		private void field(String value) throws IOException {
+			writer.write(',');
+			if (value == null) {
+				return;
+			}
+			if (readAsFormula(value)) {
+				value = "'" + value;
+			}
+			if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+					&& value.indexOf('\r') < 0) {
+				writer.write(value);
+				return;
+			}
+			writer.write('"');
+			writer.write(value.replace("\"", "\"\""));
+			writer.write('"');
+		}
+
+		/**
+		 * Whether a field, after any leading {@code '}, starts like a formula. Such a
+		 * field is written with one more {@code '}, which the import removes again.
+		 */
+		static boolean readAsFormula(String value) {
+			int i = 0;
+			while (i < value.length() && value.charAt(i) == '\'') {
+				i++;
+			}
+			return i < value.length() && FORMULA_PREFIXES.indexOf(value.charAt(i)) >= 0;
+		}
+
+		@Override
+		public void close() throws IOException {
+			writer.flush();
+		}
+
+	}
+
+	/**
+	 * One JSON object per line, with the application's Jackson settings.
+	 */
+	static final class Ndjson extends TaskExportWriter {
+
+		private final JsonGenerator generator;
+
+		private final ObjectWriter writer;
+
+		Ndjson(OutputStream out, ObjectMapper objectMapper) throws IOException {
+			this.generator = objectMapper.getFactory()
+				.createGenerator(out)
+				.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+				.setRootValueSeparator(null);
+			this.writer = objectMapper.writerFor(GetTaskResponse.class)
+				.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		}
+
+		@Override
+		void write(GetTaskResponse task) throws IOException {
+			writer.writeValue(generator, task);
+			generator.writeRaw('\n');
+		}
+
+		@Override
+		public void close() throws IOException {
+			generator.close();
+		}
+
+	}
+
+}
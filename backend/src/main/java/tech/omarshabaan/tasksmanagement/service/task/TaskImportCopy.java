@@ -0,0 +1,80 @@
+package tech.omarshabaan.tasksmanagement.service.task;
+
+import org.postgresql.copy.CopyIn;
+import tech.omarshabaan.tasksmanagement.dto.task.CreateTaskRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * Feeds staged tasks to a {@code COPY ... FROM STDIN (FORMAT csv)} in chunks of about
+ * {@value #CHUNK_CHARS} characters. Every value is quoted, so an unquoted empty field is
+ * the only null. {@link #close()} cancels a copy that was not {@link #finish() finished},
+ * which leaves the connection usable for the rollback.
+ */
+final class TaskImportCopy implements AutoCloseable {
+
+	private static final int CHUNK_CHARS = 32768;
+
+	private final CopyIn copyIn;
+
+	private final StringBuilder chunk = new StringBuilder(CHUNK_CHARS + 1024);
+
+	TaskImportCopy(CopyIn copyIn) {
+		this.copyIn = copyIn;
+	}
+
+	void write(long row, UUID uuid, CreateTaskRequest task) throws SQLException {
+		chunk.append(row).append(',').append(uuid).append(',');
+		quoted(task.title());
+		chunk.append(',');
+		if (task.description() != null) {
+			quoted(task.description());
+		}
+		chunk.append(',').append(task.priority().name()).append(',');
+		if (task.dueDate() != null) {
+			chunk.append(task.dueDate());
+		}
+		chunk.append('\n');
+		if (chunk.length() >= CHUNK_CHARS) {
+			flush();
+		}
+	}
+
+	/**
+	 * Ends the copy; the number of rows staged.
+	 */
+	long finish() throws SQLException {
+		flush();
+		return copyIn.endCopy();
+	}
+
+	private void quoted(String value) {
+		chunk.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"') {
+				chunk.append('"');
+			}
+			chunk.append(c);
+		}
+		chunk.append('"');
+	}
+
+	private void flush() throws SQLException {
+		if (!chunk.isEmpty()) {
+			byte[] bytes = chunk.toString().getBytes(StandardCharsets.UTF_8);
+			copyIn.writeToCopy(bytes, 0, bytes.length);
+			chunk.setLength(0);
+		}
+	}
+
+	@Override
+	public void close() throws SQLException {
+		if (copyIn.isActive()) {
+			copyIn.cancelCopy();
+		}
+	}
+
+}
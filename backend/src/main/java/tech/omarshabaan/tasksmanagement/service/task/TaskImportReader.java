@@ -0,0 +1,363 @@
+package tech.omarshabaan.tasksmanagement.service.task;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import tech.omarshabaan.tasksmanagement.dto.task.CreateTaskRequest;
+import tech.omarshabaan.tasksmanagement.dto.task.TaskExportFormat;
+import tech.omarshabaan.tasksmanagement.dto.task.TaskImportError;
+import tech.omarshabaan.tasksmanagement.entity.TaskPriority;
+import tech.omarshabaan.tasksmanagement.exception.InvalidImportFileException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads imported tasks one row at a time through a fixed-size buffer. A row that cannot
+ * be turned into a {@link CreateTaskRequest} comes back with an error instead, and a row
+ * longer than {@value #MAX_ROW_LENGTH} characters is skipped without being held, so
+ * memory use does not depend on the input. Rows are numbered from 1, not counting the CSV
+ * header or blank lines.
+ */
+abstract sealed class TaskImportReader {
+
+	static final int MAX_ROW_LENGTH = 65536;
+
+	static final String PRIORITY_MESSAGE = "Priority must be one of " + Arrays.toString(TaskPriority.values());
+
+	static final String DUE_DATE_MESSAGE = "Due date must be an ISO-8601 instant, e.g. 2025-01-31T17:00:00Z";
+
+	private static final String TOO_LONG_MESSAGE = "Row is longer than " + MAX_ROW_LENGTH + " characters";
+
+	private final Reader reader;
+
+	private final char[] buffer = new char[8192];
+
+	private int position;
+
+	private int limit;
+
+	private int pushedBack = -1;
+
+	private long rows;
+
+	TaskImportReader(InputStream in) throws IOException {
+		this.reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+		int first = read();
+		// a byte order mark, as spreadsheet programs write it
+		if (first != '\uFEFF') {
+			unread(first);
+		}
+	}
+
+	static TaskImportReader create(TaskExportFormat format, InputStream in, ObjectMapper objectMapper)
+			throws IOException {
+		return switch (format) {
+			case CSV -> new Csv(in);
+			case NDJSON -> new Ndjson(in, objectMapper);
+		};
+	}
+
+	/**
+	 * The next row, or null at the end of the input.
+	 */
+	abstract Row next() throws IOException;
+
+	final int read() throws IOException {
+		if (pushedBack != -1) {
+			int c = pushedBack;
+			pushedBack = -1;
+			return c;
+		}
+		if (position == limit) {
+			int read = reader.read(buffer, 0, buffer.length);
+			if (read <= 0) {
+				return -1;
+			}
+			position = 0;
+			limit = read;
+		}
+		return buffer[position++];
+	}
+
+	final void unread(int c) {
+		pushedBack = c;
+	}
+
+	final Row row(CreateTaskRequest request) {
+		return new Row(++rows, request, null);
+	}
+
+	final Row error(String field, String message) {
+		long row = ++rows;
+		return new Row(row, null, new TaskImportError(row, field, message));
+	}
+
+	record Row(long number, CreateTaskRequest request, TaskImportError error) {
+	}
+
+	/**
+	 * RFC 4180 with a header line naming the columns, in any order and case; the columns
+	 * {@code title}, {@code description}, {@code priority} and {@code dueDate} are read
+	 * and any others, such as those of an export, are ignored. Empty fields are null. The
+	 * {@code '} an export puts before a formula-like text field is removed.
+	 */
+	static final class Csv extends TaskImportReader {
+
+		private final List<String> fields = new ArrayList<>();
+
+		private final StringBuilder field = new StringBuilder();
+
+		private int length;
+
+		private boolean unterminated;
+
+		private int columns;
+
+		private int title = -1;
+
+		private int description = -1;
+
+		private int priority = -1;
+
+		private int dueDate = -1;
+
+		Csv(InputStream in) throws IOException {
+			super(in);
+			if (!readRecord()) {
+				return;
+			}
+			columns = fields.size();
+			for (int i = 0; i < columns; i++) {
+				switch (fields.get(i).trim().toLowerCase(Locale.ROOT)) {
+					case "title" -> title = i;
+					case "description" -> description = i;
+					case "priority" -> priority = i;
+					case "duedate" -> dueDate = i;
+					default -> {
+					}
+				}
+			}
+			if (title < 0 || priority < 0) {
+				throw new InvalidImportFileException("The CSV header must name a title and a priority column");
+			}
+		}
+
+		@Override
+		Row next() throws IOException {
+			if (columns == 0) {
+				return null;
+			}
+			do {
+				if (!readRecord()) {
+					return null;
+				}
+			}
+			while (fields.size() == 1 && fields.getFirst().isEmpty() && !unterminated);
+
+			if (unterminated) {
+				return error(null, "Quoted field is not closed before the end of the file");
+			}
+			if (length > MAX_ROW_LENGTH) {
+				return error(null, TOO_LONG_MESSAGE);
+			}
+			if (fields.size() != columns) {
+				return error(null, "Row has " + fields.size() + " fields, the header has " + columns);
+			}
+
+			TaskPriority taskPriority = null;
+			String priorityValue = value(priority);
+			if (priorityValue != null) {
+				try {
+					taskPriority = TaskPriority.valueOf(priorityValue.trim().toUpperCase(Locale.ROOT));
+				}
+				catch (IllegalArgumentException e) {
+					return error("priority", PRIORITY_MESSAGE);
+				}
+			}
+			Instant taskDueDate = null;
+			String dueDateValue = value(dueDate);
+			if (dueDateValue != null) {
+				try {
+					taskDueDate = Instant.parse(dueDateValue.trim());
+				}
+				catch (DateTimeParseException e) {
+					return error("dueDate", DUE_DATE_MESSAGE);
+				}
+			}
+			return row(new CreateTaskRequest(text(title), text(description), taskPriority, taskDueDate));
+		}
+
+		private String text(int column) {
+			String value = value(column);
+			if (value != null && value.charAt(0) == '\'' && TaskExportWriter.Csv.readAsFormula(value.substring(1))) {
+				return value.substring(1);
+			}
+			return value;
+		}
+
+		private String value(int column) {
+			if (column < 0) {
+				return null;
+			}
+			String value = fields.get(column);
+			return value.isEmpty() ? null : value;
+		}
+
+		/**
+		 * Reads the next record into {@link #fields}; false at the end of the input.
+		 * Characters past {@value #MAX_ROW_LENGTH} are counted but not kept.
+		 */
+		private boolean readRecord() throws IOException {
+			int c = read();
+			if (c == -1) {
+				return false;
+			}
+			fields.clear();
+			field.setLength(0);
+			length = 0;
+			unterminated = false;
+			boolean quoted = false;
+			boolean atFieldStart = true;
+			while (true) {
+				if (quoted) {
+					if (c == -1) {
+						unterminated = true;
+						fields.add(field.toString());
+						return true;
+					}
+					if (c == '"') {
+						int next = read();
+						if (next != '"') {
+							quoted = false;
+							c = next;
+							continue;
+						}
+					}
+					append((char) c);
+				}
+				else if (c == -1 || c == '\n') {
+					fields.add(field.toString());
+					return true;
+				}
+				else if (c == '\r') {
+					int next = read();
+					if (next != '\n') {
+						unread(next);
+					}
+					fields.add(field.toString());
+					return true;
+				}
+				else if (c == ',') {
+					fields.add(field.toString());
+					field.setLength(0);
+					atFieldStart = true;
+					c = read();
+					continue;
+				}
+				else if (c == '"' && atFieldStart) {
+					quoted = true;
+				}
+				else {
+					append((char) c);
+				}
+				atFieldStart = false;
+				c = read();
+			}
+		}
+
+		private void append(char c) {
+			if (++length <= MAX_ROW_LENGTH) {
+				field.append(c);
+			}
+		}
+
+	}
+
+	/**
+	 * One JSON object per line with the fields of {@link CreateTaskRequest}; unknown
+	 * fields, such as those of an export, are ignored.
+	 */
+	static final class Ndjson extends TaskImportReader {
+
+		private final ObjectReader objectReader;
+
+		private final StringBuilder line = new StringBuilder();
+
+		Ndjson(InputStream in, ObjectMapper objectMapper) throws IOException {
+			super(in);
+			this.objectReader = objectMapper.readerFor(CreateTaskRequest.class);
+		}
+
+		@Override
+		Row next() throws IOException {
+			int length;
+			do {
+				length = readLine();
+				if (length < 0) {
+					return null;
+				}
+			}
+			while (line.toString().isBlank());
+
+			if (length > MAX_ROW_LENGTH) {
+				return error(null, TOO_LONG_MESSAGE);
+			}
+			try {
+				return row(objectReader.readValue(line.toString()));
+			}
+			catch (JsonMappingException e) {
+				List<JsonMappingException.Reference> path = e.getPath();
+				if (path.isEmpty() || path.getFirst().getFieldName() == null) {
+					return error(null, "Row must be a JSON object");
+				}
+				String fieldName = path.getFirst().getFieldName();
+				return error(fieldName, switch (fieldName) {
+					case "priority" -> PRIORITY_MESSAGE;
+					case "dueDate" -> DUE_DATE_MESSAGE;
+					default -> "Invalid value";
+				});
+			}
+			catch (JsonProcessingException e) {
+				return error(null, "Row is not valid JSON");
+			}
+		}
+
+		/**
+		 * Reads the next line into {@link #line}, without its line ending; the length of
+		 * the line, of which at most {@value #MAX_ROW_LENGTH} characters are kept, or -1
+		 * at the end of the input.
+		 */
+		private int readLine() throws IOException {
+			int c = read();
+			if (c == -1) {
+				return -1;
+			}
+			line.setLength(0);
+			int length = 0;
+			while (c != -1 && c != '\n') {
+				if (++length <= MAX_ROW_LENGTH) {
+					line.append((char) c);
+				}
+				c = read();
+			}
+			if (!line.isEmpty() && line.charAt(line.length() - 1) == '\r') {
+				line.setLength(line.length() - 1);
+				length--;
+			}
+			return length;
+		}
+
+	}
+
+}
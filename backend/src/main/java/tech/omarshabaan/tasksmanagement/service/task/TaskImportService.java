@@ -0,0 +1,228 @@
+package tech.omarshabaan.tasksmanagement.service.task;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.uuid.Generators;
+import com.fasterxml.uuid.impl.TimeBasedEpochGenerator;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.omarshabaan.tasksmanagement.config.TaskImportProperties;
+import tech.omarshabaan.tasksmanagement.dto.task.CreateTaskRequest;
+import tech.omarshabaan.tasksmanagement.dto.task.TaskExportFormat;
+import tech.omarshabaan.tasksmanagement.dto.task.TaskImportError;
+import tech.omarshabaan.tasksmanagement.dto.task.TaskImportResponse;
+import tech.omarshabaan.tasksmanagement.entity.TaskStatus;
+import tech.omarshabaan.tasksmanagement.entity.User;
+import tech.omarshabaan.tasksmanagement.exception.PayloadTooLargeException;
+import tech.omarshabaan.tasksmanagement.service.job.JobService;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Imports tasks in bulk for their creator. Rows are read and validated one at a time and
+ * the valid ones streamed with {@code COPY} into a temporary staging table, which is then
+ * merged into {@code tasks} with a single {@code INSERT ... SELECT}; nothing reaches
+ * {@code tasks} unless the whole input was read. Memory use does not depend on the size
+ * of the input: at most {@value #MAX_REPORTED_ERRORS} errors are kept for the report.
+ * <p>
+ * The upload is first spooled to a temporary file, up to {@code maxSize}, so the
+ * transaction and its pooled connection only last as long as the database work and a slow
+ * client cannot hold one. The rows are stamped with the time of the merge rather than of
+ * the transaction start, so they are not written behind the analytics rollup's watermark;
+ * see {@link tech.omarshabaan.tasksmanagement.service.analytics.TaskRollupRefreshJob}.
+ * <p>
+ * Imported tasks go to the bottom of the creator's pending column in input order: each
+ * gets the column's last rank followed by its row number in fixed-width hex, which sorts
+ * after that rank and in row order; see {@link TaskRankService}.
+ */
+@Service
+@Observed(name = "service.operations")
+public class TaskImportService {
+
+	static final int MAX_REPORTED_ERRORS = 1000;
+
+	private static final String CREATE_STAGING_TABLE = """
+			CREATE TEMPORARY TABLE task_import
+			(
+			    row_no      BIGINT      NOT NULL,
+			    uuid        UUID        NOT NULL,
+			    title       TEXT        NOT NULL,
+			    description TEXT,
+			    priority    TEXT        NOT NULL,
+			    due_date    TIMESTAMPTZ
+			) ON COMMIT DROP""";
+
+	private static final String COPY_INTO_STAGING_TABLE = """
+			COPY task_import (row_no, uuid, title, description, priority, due_date) FROM STDIN (FORMAT csv)""";
+
+	private static final String MERGE_STAGING_TABLE = """
+			INSERT INTO tasks (uuid, title, description, priority, due_date, created_by_id, assigned_to_id, rank,
+			                   created_at, updated_at)
+			SELECT uuid, title, description, priority, due_date, ?, ?, ? || lpad(to_hex(row_no), 8, '0') || 'i',
+			       stamp.at, stamp.at
+			FROM task_import, (SELECT clock_timestamp() AS at) stamp
+			ORDER BY row_no""";
+
+	/**
+	 * The shape of what the merge appends to the column's last rank.
+	 */
+	private static final String IMPORTED_RANK_SUFFIX = "00000001i";
+
+	private static final TimeBasedEpochGenerator UUID_GENERATOR = Generators.timeBasedEpochGenerator();
+
+	private final UserLookupService userLookupService;
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final DataSource dataSource;
+
+	private final Validator validator;
+
+	private final ObjectMapper objectMapper;
+
+	private final TaskRankService taskRankService;
+
+	private final JobService jobService;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final TaskImportProperties properties;
+
+	public TaskImportService(UserLookupService userLookupService, JdbcTemplate jdbcTemplate, DataSource dataSource,
+			Validator validator, ObjectMapper objectMapper, TaskRankService taskRankService, JobService jobService,
+			PlatformTransactionManager transactionManager, TaskImportProperties properties) {
+		this.userLookupService = userLookupService;
+		this.jdbcTemplate = jdbcTemplate;
+		this.dataSource = dataSource;
+		this.validator = validator;
+		this.objectMapper = objectMapper;
+		this.taskRankService = taskRankService;
+		this.jobService = jobService;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.properties = properties;
+	}
+
+	public TaskImportResponse importTasks(UUID userUuid, TaskExportFormat format, InputStream in) throws IOException {
+		Path spool = Files.createTempFile("task-import-", null);
+		try {
+			spool(in, spool);
+			try (InputStream spooled = Files.newInputStream(spool)) {
+				return transactionTemplate.execute(status -> {
+					try {
+						return importTasks(userLookupService.findUserByUuid(userUuid), format, spooled);
+					}
+					catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+			}
+			catch (UncheckedIOException e) {
+				throw e.getCause();
+			}
+		}
+		finally {
+			Files.delete(spool);
+		}
+	}
+
+	private void spool(InputStream in, Path spool) throws IOException {
+		long maxSize = properties.maxSize().toBytes();
+		try (OutputStream out = Files.newOutputStream(spool)) {
+			byte[] buffer = new byte[8192];
+			long size = 0;
+			for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+				size += read;
+				if (size > maxSize) {
+					throw new PayloadTooLargeException("Import file exceeds " + maxSize + " bytes");
+				}
+				out.write(buffer, 0, read);
+			}
+		}
+	}
+
+	private TaskImportResponse importTasks(User user, TaskExportFormat format, InputStream in) throws IOException {
+		TaskImportReader reader = TaskImportReader.create(format, in, objectMapper);
+		jdbcTemplate.execute(CREATE_STAGING_TABLE);
+
+		List<TaskImportError> errors = new ArrayList<>();
+		long failed = 0;
+		// the transaction's connection, so the staging table and the copy share it
+		Connection connection = DataSourceUtils.getConnection(dataSource);
+		try (TaskImportCopy copy = new TaskImportCopy(
+				connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_INTO_STAGING_TABLE))) {
+			for (TaskImportReader.Row row = reader.next(); row != null; row = reader.next()) {
+				List<TaskImportError> rowErrors = validate(row);
+				if (rowErrors.isEmpty()) {
+					copy.write(row.number(), UUID_GENERATOR.generate(), row.request());
+				}
+				else {
+					failed++;
+					for (TaskImportError error : rowErrors) {
+						if (errors.size() < MAX_REPORTED_ERRORS) {
+							errors.add(error);
+						}
+					}
+				}
+			}
+			copy.finish();
+		}
+		catch (SQLException e) {
+			throw jdbcTemplate.getExceptionTranslator().translate("COPY", COPY_INTO_STAGING_TABLE, e);
+		}
+		finally {
+			DataSourceUtils.releaseConnection(connection, dataSource);
+		}
+
+		// locks the board until the merge commits
+		String last = taskRankService.lastRank(user.getId(), TaskStatus.PENDING);
+		String prefix = last != null ? last : "";
+		int imported = jdbcTemplate.update(MERGE_STAGING_TABLE, user.getId(), user.getId(), prefix);
+		if (imported > 0 && TaskRankService.needsRebalance(prefix + IMPORTED_RANK_SUFFIX)) {
+			jobService.enqueue(TaskRankRebalanceJob.TYPE,
+					TaskRankRebalanceJob.payload(user.getId(), TaskStatus.PENDING));
+		}
+		return new TaskImportResponse(imported, failed, errors);
+	}
+
+	private List<TaskImportError> validate(TaskImportReader.Row row) {
+		if (row.error() != null) {
+			return List.of(row.error());
+		}
+		CreateTaskRequest request = row.request();
+		Set<ConstraintViolation<CreateTaskRequest>> violations = validator.validate(request);
+		if (!violations.isEmpty()) {
+			return violations.stream()
+				.map(violation -> new TaskImportError(row.number(), violation.getPropertyPath().toString(),
+						violation.getMessage()))
+				.toList();
+		}
+		// PostgreSQL text cannot hold NUL, one such row would fail the whole copy
+		if (request.title().indexOf('\0') >= 0) {
+			return List.of(new TaskImportError(row.number(), "title", "Title must not contain NUL characters"));
+		}
+		if (request.description() != null && request.description().indexOf('\0') >= 0) {
+			return List
+				.of(new TaskImportError(row.number(), "description", "Description must not contain NUL characters"));
+		}
+		return List.of();
+	}
+
+}
@@ -0,0 +1,159 @@
+package tech.omarshabaan.tasksmanagement.service.task;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lexicographic fractional ranks that order the tasks of a board column. A rank is a
+ * non-empty string over {@code 0-9a-z} read as a base-36 fraction, so comparing ranks
+ * byte by byte, as the {@code "C"} collation of {@code tasks.rank} does, compares their
+ * values. No rank ends in {@code 0}: there is always a rank before any rank and between
+ * any two, and a task is moved by giving it a rank between its new neighbours, without
+ * touching any other task.
+ * <p>
+ * Moves into the same gap make ranks longer: splitting a gap in half takes about one
+ * character every five moves, while appending after the last rank or prepending before
+ * the first takes one every 35. {@link #spread(int)} renumbers a column with short ranks
+ * of equal length once they have grown.
+ */
+final class TaskRank {
+
+	static final String ALPHABET = "0123456789abcdefghijklmnopqrstuvwxyz";
+
+	private static final int BASE = ALPHABET.length();
+
+	private static final char MIN_DIGIT = ALPHABET.charAt(0);
+
+	private static final char MAX_DIGIT = ALPHABET.charAt(BASE - 1);
+
+	/**
+	 * The rank of the only task in a column, the middle of the space.
+	 */
+	static final String MIDDLE = String.valueOf(ALPHABET.charAt(BASE / 2));
+
+	private TaskRank() {
+	}
+
+	/**
+	 * A rank after {@code last}, made by raising its first digit that is not the largest
+	 * and dropping the rest; if all its digits are the largest, by appending {@code 1}.
+	 */
+	static String after(String last) {
+		requireValid(last);
+		for (int i = 0; i < last.length(); i++) {
+			if (last.charAt(i) != MAX_DIGIT) {
+				return last.substring(0, i) + ALPHABET.charAt(digit(last.charAt(i)) + 1);
+			}
+		}
+		return last + ALPHABET.charAt(1);
+	}
+
+	/**
+	 * A rank before {@code first}, made by lowering its first digit above {@code 1} and
+	 * dropping the rest; if all its digits are {@code 0} or {@code 1}, by lowering its
+	 * first {@code 1} to {@code 0} followed by the largest digit.
+	 */
+	static String before(String first) {
+		requireValid(first);
+		for (int i = 0; i < first.length(); i++) {
+			int digit = digit(first.charAt(i));
+			if (digit > 1) {
+				return first.substring(0, i) + ALPHABET.charAt(digit - 1);
+			}
+		}
+		// a valid rank ends in a non-zero digit, so here in a 1
+		int one = first.indexOf(ALPHABET.charAt(1));
+		return first.substring(0, one) + MIN_DIGIT + MAX_DIGIT;
+	}
+
+	/**
+	 * A rank strictly between {@code lower} and {@code upper}, about halfway.
+	 */
+	static String between(String lower, String upper) {
+		requireValid(lower);
+		requireValid(upper);
+		if (lower.compareTo(upper) >= 0) {
+			throw new IllegalArgumentException("Rank " + lower + " is not before " + upper);
+		}
+		return midpoint(lower, upper);
+	}
+
+	/**
+	 * {@code count} ascending ranks of equal length spread evenly over the space, with at
+	 * least {@value #BASE} free values in every gap.
+	 */
+	static List<String> spread(int count) {
+		int width = 1;
+		long space = BASE;
+		while (space <= (long) (count + 1) * BASE) {
+			width++;
+			space *= BASE;
+		}
+		long step = space / (count + 1);
+		List<String> ranks = new ArrayList<>(count);
+		char[] digits = new char[width];
+		for (int i = 1; i <= count; i++) {
+			long value = step * i;
+			for (int position = width - 1; position >= 0; position--) {
+				digits[position] = ALPHABET.charAt((int) (value % BASE));
+				value /= BASE;
+			}
+			int length = width;
+			while (digits[length - 1] == MIN_DIGIT) {
+				length--;
+			}
+			ranks.add(new String(digits, 0, length));
+		}
+		return ranks;
+	}
+
+	static boolean isValid(String rank) {
+		if (rank == null || rank.isEmpty() || rank.charAt(rank.length() - 1) == MIN_DIGIT) {
+			return false;
+		}
+		for (int i = 0; i < rank.length(); i++) {
+			if (ALPHABET.indexOf(rank.charAt(i)) < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Midpoint of {@code lower}, which may be empty, and {@code upper}. Past their common
+	 * prefix, a missing digit of {@code lower} counts as {@code 0}.
+	 */
+	private static String midpoint(String lower, String upper) {
+		int common = 0;
+		while ((common < lower.length() ? lower.charAt(common) : MIN_DIGIT) == upper.charAt(common)) {
+			common++;
+		}
+		if (common > 0) {
+			return upper.substring(0, common)
+					+ midpoint(common < lower.length() ? lower.substring(common) : "", upper.substring(common));
+		}
+		int low = lower.isEmpty() ? 0 : digit(lower.charAt(0));
+		int high = digit(upper.charAt(0));
+		if (high - low > 1) {
+			return String.valueOf(ALPHABET.charAt((low + high + 1) / 2));
+		}
+		if (upper.length() > 1) {
+			// the first digit of upper alone is past lower and before upper
+			return upper.substring(0, 1);
+		}
+		// consecutive digits: keep lower's and go past the rest of it
+		String rest = lower.length() > 1 ? lower.substring(1) : "";
+		return ALPHABET.charAt(low) + (rest.isEmpty() ? MIDDLE : after(rest));
+	}
+
+	private static int digit(char c) {
+		return ALPHABET.indexOf(c);
+	}
+
+	private static void requireValid(String rank) {
+		if (!isValid(rank)) {
+			throw new IllegalArgumentException("Invalid rank: " + rank);
+		}
+	}
+
+}
@@ -0,0 +1,48 @@
+package tech.omarshabaan.tasksmanagement.service.task;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import tech.omarshabaan.tasksmanagement.entity.TaskStatus;
+import tech.omarshabaan.tasksmanagement.service.job.JobHandler;
+
+/**
+ * Rebalances one board column whose ranks grew too long, see
+ * {@link TaskRankService#rebalance}. The payload is the assignee's id and the status,
+ * {@code 42:PENDING}. A column may be queued more than once before the first job runs;
+ * rebalancing an already short column only renumbers it again.
+ */
+@Component
+public class TaskRankRebalanceJob implements JobHandler {
+
+	public static final String TYPE = "task-rank-rebalance";
+
+	private static final Logger logger = LoggerFactory.getLogger(TaskRankRebalanceJob.class);
+
+	private final TaskRankService taskRankService;
+
+	public TaskRankRebalanceJob(TaskRankService taskRankService) {
+		this.taskRankService = taskRankService;
+	}
+
+	public static String payload(long assigneeId, TaskStatus status) {
+		return assigneeId + ":" + status.name();
+	}
+
+	@Override
+	public String type() {
+		return TYPE;
+	}
+
+	@Override
+	@Transactional
+	public void execute(String payload) {
+		int separator = payload.indexOf(':');
+		long assigneeId = Long.parseLong(payload.substring(0, separator));
+		TaskStatus status = TaskStatus.valueOf(payload.substring(separator + 1));
+		int tasks = taskRankService.rebalance(assigneeId, status);
+		logger.info("Rebalanced the ranks of {} {} tasks of user {}", tasks, status, assigneeId);
+	}
+
+}
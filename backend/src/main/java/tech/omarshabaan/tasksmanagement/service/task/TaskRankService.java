@@ -0,0 +1,184 @@
+package tech.omarshabaan.tasksmanagement.service.task;
+
+import org.springframework.dao.support.DataAccessUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tech.omarshabaan.tasksmanagement.entity.TaskStatus;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Keeps the ranks that order the tasks of each board column, a column being the tasks of
+ * one assignee in one status; see {@link TaskRank}. A new task goes to the bottom of its
+ * column and a moved task gets a rank between its new neighbours, so neither touches any
+ * other row. Once a rank grows past {@value #REBALANCE_LENGTH} characters its column
+ * should be {@link #rebalance rebalanced}, which the callers leave to a
+ * {@link TaskRankRebalanceJob}.
+ * <p>
+ * Every rank written to a user's board, by an insert, a move or a rebalance, is computed
+ * under a transaction-scoped advisory lock on the user's id, so two writers never compute
+ * the same rank for one gap or for the bottom of a column. Equal ranks, should any be
+ * written some other way, are ordered by id. The lock is taken before any row of
+ * {@code tasks} is written, so a caller that updates a task and then ranks it must
+ * {@link #lockBoard lock the board} first, or it can deadlock with a move.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class TaskRankService {
+
+	static final int REBALANCE_LENGTH = 24;
+
+	private static final String LOCK_BOARD = "SELECT pg_advisory_xact_lock(?)";
+
+	private static final String SELECT_LAST = """
+			SELECT rank FROM tasks WHERE assigned_to_id = ? AND status = ?
+			ORDER BY rank DESC LIMIT 1""";
+
+	private static final String SELECT_FIRST = """
+			SELECT id, rank FROM tasks WHERE assigned_to_id = ? AND status = ? AND id <> ?
+			ORDER BY rank, id LIMIT 1""";
+
+	private static final String SELECT_TASK = """
+			SELECT id, rank FROM tasks WHERE uuid = ? AND assigned_to_id = ? AND status = ?""";
+
+	private static final String SELECT_NEXT = """
+			SELECT id, rank FROM tasks WHERE assigned_to_id = ? AND status = ? AND id <> ? AND (rank, id) > (?, ?)
+			ORDER BY rank, id LIMIT 1""";
+
+	private static final String UPDATE_RANK = "UPDATE tasks SET rank = ? WHERE id = ?";
+
+	private static final String SELECT_COLUMN = """
+			SELECT id FROM tasks WHERE assigned_to_id = ? AND status = ?
+			ORDER BY rank, id""";
+
+	private static final String UPDATE_RANKS = """
+			UPDATE tasks t SET rank = r.rank
+			FROM unnest(?::bigint[], ?::text[]) AS r (id, rank)
+			WHERE t.id = r.id""";
+
+	private static final RowMapper<Neighbour> NEIGHBOUR = (rs, rowNum) -> new Neighbour(rs.getLong("id"),
+			rs.getString("rank"));
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public TaskRankService(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	/**
+	 * Whether the column of a task given {@code rank} should be rebalanced.
+	 */
+	public static boolean needsRebalance(String rank) {
+		return rank.length() > REBALANCE_LENGTH;
+	}
+
+	/**
+	 * Locks the user's board for the rest of the transaction; taking it again is a no-op.
+	 */
+	public void lockBoard(long assigneeId) {
+		jdbcTemplate.queryForList(LOCK_BOARD, assigneeId);
+	}
+
+	/**
+	 * The last rank of the column, or null if it is empty. Locks the board for the rest
+	 * of the transaction, so the caller's insert after that rank is not raced.
+	 */
+	public String lastRank(long assigneeId, TaskStatus status) {
+		lockBoard(assigneeId);
+		return DataAccessUtils
+			.singleResult(jdbcTemplate.queryForList(SELECT_LAST, String.class, assigneeId, status.name()));
+	}
+
+	/**
+	 * A rank at the bottom of the column; locks the board like {@link #lastRank}.
+	 */
+	public String nextRank(long assigneeId, TaskStatus status) {
+		String last = lastRank(assigneeId, status);
+		return last != null ? TaskRank.after(last) : TaskRank.MIDDLE;
+	}
+
+	/**
+	 * Moves the task into the column of {@code status}, right after the task
+	 * {@code afterTaskUuid} of that column or at its top if null, and updates its rank.
+	 * @return the task's new rank, or empty if there is no such task in the column
+	 */
+	public Optional<String> move(long taskId, long assigneeId, TaskStatus status, UUID afterTaskUuid) {
+		lockBoard(assigneeId);
+		String rank;
+		if (afterTaskUuid == null) {
+			Neighbour first = first(taskId, assigneeId, status);
+			rank = first != null ? TaskRank.before(first.rank()) : TaskRank.MIDDLE;
+		}
+		else {
+			Neighbour previous = task(afterTaskUuid, assigneeId, status);
+			if (previous == null) {
+				return Optional.empty();
+			}
+			if (previous.id() == taskId) {
+				// right after itself, where it already is
+				return Optional.of(previous.rank());
+			}
+			Neighbour next = next(taskId, assigneeId, status, previous);
+			if (next != null && next.rank().equals(previous.rank())) {
+				// no rank fits between equal ranks; renumber the column first
+				rebalance(assigneeId, status);
+				previous = task(afterTaskUuid, assigneeId, status);
+				next = next(taskId, assigneeId, status, previous);
+			}
+			rank = next != null ? TaskRank.between(previous.rank(), next.rank()) : TaskRank.after(previous.rank());
+		}
+		jdbcTemplate.update(UPDATE_RANK, rank, taskId);
+		return Optional.of(rank);
+	}
+
+	/**
+	 * Moves the task to the bottom of the column of {@code status}, as when its status
+	 * was changed by an update.
+	 * @return the task's new rank
+	 */
+	public String moveToBottom(long taskId, long assigneeId, TaskStatus status) {
+		String rank = nextRank(assigneeId, status);
+		jdbcTemplate.update(UPDATE_RANK, rank, taskId);
+		return rank;
+	}
+
+	/**
+	 * Gives the tasks of the column short ranks of equal length, evenly spread, in their
+	 * current order.
+	 * @return the number of tasks in the column
+	 */
+	public int rebalance(long assigneeId, TaskStatus status) {
+		lockBoard(assigneeId);
+		List<Long> ids = jdbcTemplate.queryForList(SELECT_COLUMN, Long.class, assigneeId, status.name());
+		List<String> ranks = TaskRank.spread(ids.size());
+		jdbcTemplate.update(UPDATE_RANKS, ps -> {
+			ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray()));
+			ps.setArray(2, ps.getConnection().createArrayOf("text", ranks.toArray()));
+		});
+		return ids.size();
+	}
+
+	private Neighbour first(long taskId, long assigneeId, TaskStatus status) {
+		return DataAccessUtils
+			.singleResult(jdbcTemplate.query(SELECT_FIRST, NEIGHBOUR, assigneeId, status.name(), taskId));
+	}
+
+	private Neighbour task(UUID taskUuid, long assigneeId, TaskStatus status) {
+		return DataAccessUtils
+			.singleResult(jdbcTemplate.query(SELECT_TASK, NEIGHBOUR, taskUuid, assigneeId, status.name()));
+	}
+
+	private Neighbour next(long taskId, long assigneeId, TaskStatus status, Neighbour previous) {
+		return DataAccessUtils.singleResult(jdbcTemplate.query(SELECT_NEXT, NEIGHBOUR, assigneeId, status.name(),
+				taskId, previous.rank(), previous.id()));
+	}
+
+	private record Neighbour(long id, String rank) {
+	}
+
+}
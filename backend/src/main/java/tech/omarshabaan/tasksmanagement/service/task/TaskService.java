@@ -1,22 +1,32 @@
 package tech.omarshabaan.tasksmanagement.service.task;
 
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import tech.omarshabaan.tasksmanagement.dto.task.CreateTaskRequest;
 import tech.omarshabaan.tasksmanagement.dto.task.GetTaskResponse;
+import tech.omarshabaan.tasksmanagement.dto.task.MoveTaskRequest;
 import tech.omarshabaan.tasksmanagement.dto.task.TaskSummaryResponse;
 import tech.omarshabaan.tasksmanagement.dto.task.UpdateTaskRequest;
 import tech.omarshabaan.tasksmanagement.entity.Task;
 import tech.omarshabaan.tasksmanagement.entity.TaskStatus;
 import tech.omarshabaan.tasksmanagement.entity.User;
 import tech.omarshabaan.tasksmanagement.repository.task.TaskRepository;
+import tech.omarshabaan.tasksmanagement.service.idempotency.IdempotencyKeyStore;
+import tech.omarshabaan.tasksmanagement.service.job.JobService;
+import tech.omarshabaan.tasksmanagement.service.webhook.WebhookOutbox;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 @Service
+@Observed(name = "service.operations")
 @Transactional
 public class TaskService {
 
@@ -24,18 +34,46 @@ public class TaskService {
 
 	private final UserLookupService userLookupService;
 
-	public TaskService(TaskRepository taskRepository, UserLookupService userLookupService) {
+	private final WebhookOutbox webhookOutbox;
+
+	private final IdempotencyKeyStore idempotencyKeyStore;
+
+	private final TaskRankService taskRankService;
+
+	private final JobService jobService;
+
+	public TaskService(TaskRepository taskRepository, UserLookupService userLookupService, WebhookOutbox webhookOutbox,
+			IdempotencyKeyStore idempotencyKeyStore, TaskRankService taskRankService, JobService jobService) {
 		this.taskRepository = taskRepository;
 		this.userLookupService = userLookupService;
+		this.webhookOutbox = webhookOutbox;
+		this.idempotencyKeyStore = idempotencyKeyStore;
+		this.taskRankService = taskRankService;
+		this.jobService = jobService;
 	}
 
 	public GetTaskResponse createTask(CreateTaskRequest request, UUID userUuid) {
 		User user = userLookupService.findUserByUuid(userUuid);
 
 		Task task = new Task(request.title(), request.description(), request.priority(), request.dueDate(), user, user);
+		task.setRank(taskRankService.nextRank(user.getId(), task.getStatus()));
+		rebalanceIfLong(user, task.getStatus(), task.getRank());
 
 		Task savedTask = taskRepository.save(task);
-		return mapToGetTaskResponse(savedTask);
+		GetTaskResponse response = mapToGetTaskResponse(savedTask);
+		webhookOutbox.publish(WebhookOutbox.TASK_CREATED, response);
+		return response;
+	}
+
+	/**
+	 * Creates the task once per user and {@code idempotencyKey}; a retry with the same
+	 * key gets the original response. Runs outside a transaction so that a replay from
+	 * the cache needs no connection; the store opens one for the creation.
+	 */
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public GetTaskResponse createTask(CreateTaskRequest request, UUID userUuid, String idempotencyKey) {
+		return idempotencyKeyStore.execute(userUuid, idempotencyKey, request, GetTaskResponse.class,
+				() -> createTask(request, userUuid));
 	}
 
 	@Transactional(readOnly = true)
@@ -43,13 +81,37 @@ public class TaskService {
 		User user = userLookupService.findUserByUuid(userUuid);
 
 		if (status != null) {
-			return taskRepository.findByAssignedToAndStatus(user, status, pageable).map(this::mapToTaskSummaryResponse);
+			return taskRepository.findByAssignedToAndStatusOrderByRankAscIdAsc(user, status, pageable)
+				.map(this::mapToTaskSummaryResponse);
 		}
 		else {
 			return taskRepository.findByAssignedTo(user, pageable).map(this::mapToTaskSummaryResponse);
 		}
 	}
 
+	/**
+	 * Open tasks of the user that are past their due date, the longest overdue first.
+	 */
+	@Transactional(readOnly = true)
+	public Page<TaskSummaryResponse> getOverdueTasks(UUID userUuid, Pageable pageable) {
+		User user = userLookupService.findUserByUuid(userUuid);
+
+		return taskRepository.findOverdueByAssignedTo(user, Instant.now(), pageable)
+			.map(this::mapToTaskSummaryResponse);
+	}
+
+	/**
+	 * Open tasks of the user due within {@code within} from now, the soonest first.
+	 */
+	@Transactional(readOnly = true)
+	public Page<TaskSummaryResponse> getTasksDueSoon(UUID userUuid, Duration within, Pageable pageable) {
+		User user = userLookupService.findUserByUuid(userUuid);
+
+		Instant now = Instant.now();
+		return taskRepository.findDueSoonByAssignedTo(user, now, now.plus(within), pageable)
+			.map(this::mapToTaskSummaryResponse);
+	}
+
 	@Transactional(readOnly = true)
 	public GetTaskResponse getTaskByUuid(UUID taskUuid, UUID userUuid) {
 		User user = userLookupService.findUserByUuid(userUuid);
@@ -66,14 +128,54 @@ public class TaskService {
 		Task task = taskRepository.findByUuidAndAssignedTo(taskUuid, user)
 			.orElseThrow(() -> new RuntimeException("Task not found"));
 
+		TaskStatus previousStatus = task.getStatus();
+		if (request.status() != null && request.status() != previousStatus) {
+			// before the row is written, the order a move takes them in
+			taskRankService.lockBoard(user.getId());
+		}
 		Optional.ofNullable(request.title()).ifPresent(task::setTitle);
 		Optional.ofNullable(request.description()).ifPresent(task::setDescription);
 		Optional.ofNullable(request.status()).ifPresent(task::setStatus);
 		Optional.ofNullable(request.priority()).ifPresent(task::setPriority);
 		Optional.ofNullable(request.dueDate()).ifPresent(task::setDueDate);
 
-		Task savedTask = taskRepository.save(task);
-		return mapToGetTaskResponse(savedTask);
+		// flushed so the response and the event carry the new version's updatedAt
+		Task savedTask = taskRepository.saveAndFlush(task);
+		if (savedTask.getStatus() != previousStatus) {
+			// to the bottom of the new column rather than wherever its rank falls there
+			savedTask.setRank(taskRankService.moveToBottom(savedTask.getId(), user.getId(), savedTask.getStatus()));
+			rebalanceIfLong(user, savedTask.getStatus(), savedTask.getRank());
+		}
+		GetTaskResponse response = mapToGetTaskResponse(savedTask);
+		webhookOutbox.publish(WebhookOutbox.TASK_UPDATED, response);
+		return response;
+	}
+
+	/**
+	 * Moves the task right after {@code afterTaskUuid}, or to the top, of the board
+	 * column of {@code status}. A move within a column rewrites the task's rank and
+	 * nothing else; a move into another column also changes its status, which is an
+	 * update.
+	 */
+	public GetTaskResponse moveTask(UUID taskUuid, MoveTaskRequest request, UUID userUuid) {
+		User user = userLookupService.findUserByUuid(userUuid);
+
+		Task task = taskRepository.findByUuidAndAssignedTo(taskUuid, user)
+			.orElseThrow(() -> new RuntimeException("Task not found"));
+
+		String rank = taskRankService.move(task.getId(), user.getId(), request.status(), request.afterTaskUuid())
+			.orElseThrow(() -> new RuntimeException("Task not found"));
+		task.setRank(rank);
+		rebalanceIfLong(user, request.status(), rank);
+		if (task.getStatus() == request.status()) {
+			return mapToGetTaskResponse(task);
+		}
+
+		task.setStatus(request.status());
+		Task savedTask = taskRepository.saveAndFlush(task);
+		GetTaskResponse response = mapToGetTaskResponse(savedTask);
+		webhookOutbox.publish(WebhookOutbox.TASK_UPDATED, response);
+		return response;
 	}
 
 	public void deleteTask(UUID taskUuid, UUID userUuid) {
@@ -83,6 +185,13 @@ public class TaskService {
 			.orElseThrow(() -> new RuntimeException("Task not found"));
 
 		taskRepository.delete(task);
+		webhookOutbox.publish(WebhookOutbox.TASK_DELETED, Map.of("uuid", taskUuid));
+	}
+
+	private void rebalanceIfLong(User user, TaskStatus status, String rank) {
+		if (TaskRankService.needsRebalance(rank)) {
+			jobService.enqueue(TaskRankRebalanceJob.TYPE, TaskRankRebalanceJob.payload(user.getId(), status));
+		}
 	}
 
 	private GetTaskResponse mapToGetTaskResponse(Task task) {
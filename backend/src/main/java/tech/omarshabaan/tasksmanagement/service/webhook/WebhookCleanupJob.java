@@ -0,0 +1,52 @@
+package tech.omarshabaan.tasksmanagement.service.webhook;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import tech.omarshabaan.tasksmanagement.config.WebhookProperties;
+import tech.omarshabaan.tasksmanagement.service.job.PeriodicJobHandler;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Purges delivered outbox rows past the retention. Dead letters stay until they are
+ * redriven or their subscription is deleted.
+ */
+@Component
+public class WebhookCleanupJob implements PeriodicJobHandler {
+
+	private static final Logger logger = LoggerFactory.getLogger(WebhookCleanupJob.class);
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final WebhookProperties properties;
+
+	public WebhookCleanupJob(JdbcTemplate jdbcTemplate, WebhookProperties properties) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.properties = properties;
+	}
+
+	@Override
+	public String type() {
+		return "webhook-delivery-cleanup";
+	}
+
+	@Override
+	public String cron() {
+		return properties.cleanupCron();
+	}
+
+	@Override
+	@Transactional
+	public void execute(String payload) {
+		Instant cutoff = Instant.now().minus(properties.retention());
+		int deliveries = jdbcTemplate.update(
+				"DELETE FROM webhook_deliveries WHERE status = 'DELIVERED' AND finished_at < ?",
+				Timestamp.from(cutoff));
+		logger.info("Purged {} webhook deliveries finished before {}", deliveries, cutoff);
+	}
+
+}
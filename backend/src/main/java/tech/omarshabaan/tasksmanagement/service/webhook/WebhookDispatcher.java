@@ -0,0 +1,262 @@
+package tech.omarshabaan.tasksmanagement.service.webhook;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClient;
+import tech.omarshabaan.tasksmanagement.config.WebhookProperties;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Delivers the webhook outbox. Every node polls; a poll claims a batch of due deliveries
+ * with {@code FOR UPDATE SKIP LOCKED}, posts them on virtual threads with at most
+ * {@code maxConcurrency} requests in flight per endpoint, and records every outcome in
+ * one batched update. A claim pushes {@code next_attempt_at} out by a lease long enough
+ * for the whole batch, so a node that dies mid-batch only delays its deliveries.
+ * <p>
+ * Delivery is at least once: a receiver may see an event again after a timeout or a lost
+ * lease, and should drop repeats by the {@code Webhook-Id} header. Each request is signed
+ * with the subscription's secret; see {@link WebhookSigner}. A delivery that failed
+ * {@code maxAttempts} times is dead-lettered, kept for the subscription's admin to
+ * inspect and redrive.
+ * <p>
+ * A batch can block on slow receivers for several timeouts, so the schedule only hands it
+ * to the dispatcher's own thread and returns; the shared scheduler thread stays free for
+ * the other {@code @Scheduled} work, and a poll while a batch is running is skipped.
+ */
+@Service
+public class WebhookDispatcher {
+
+	private static final Logger logger = LoggerFactory.getLogger(WebhookDispatcher.class);
+
+	private static final int MAX_ERROR_LENGTH = 2000;
+
+	private static final String CLAIM = """
+			UPDATE webhook_deliveries d
+			SET attempts = d.attempts + 1, next_attempt_at = ?
+			FROM (SELECT id FROM webhook_deliveries
+			      WHERE status = 'PENDING' AND next_attempt_at <= ?
+			      ORDER BY next_attempt_at
+			      LIMIT ?
+			      FOR UPDATE SKIP LOCKED) due,
+			     webhook_subscriptions s
+			WHERE d.id = due.id AND s.id = d.subscription_id
+			RETURNING d.id, d.subscription_id, s.url, s.secret, d.event_id, d.event_type, d.payload, d.attempts""";
+
+	private static final String RECORD = """
+			UPDATE webhook_deliveries
+			SET status = ?, next_attempt_at = ?, last_error = ?, finished_at = ?
+			WHERE id = ?""";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final WebhookProperties properties;
+
+	private final RestClient restClient;
+
+	private final Duration lease;
+
+	private final Map<Outcome, Counter> outcomes = new LinkedHashMap<>();
+
+	private final ExecutorService poller = Executors
+		.newSingleThreadExecutor(Thread.ofPlatform().name("webhook-dispatcher").factory());
+
+	private final AtomicBoolean dispatching = new AtomicBoolean();
+
+	public WebhookDispatcher(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+			WebhookProperties properties, RestClient.Builder restClientBuilder, MeterRegistry meterRegistry) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.properties = properties;
+		JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(
+				HttpClient.newBuilder().connectTimeout(properties.timeout()).build());
+		requestFactory.setReadTimeout(properties.timeout());
+		this.restClient = restClientBuilder.requestFactory(requestFactory).build();
+		// a batch of one slow endpoint takes batchSize / maxConcurrency timeouts in a row
+		int rounds = Math.ceilDiv(properties.batchSize(), properties.maxConcurrency());
+		this.lease = properties.timeout().multipliedBy(rounds + 1);
+		for (Outcome outcome : Outcome.values()) {
+			outcomes.put(outcome,
+					Counter.builder("webhooks.deliveries")
+						.description("Webhook delivery attempts by outcome")
+						.tag("outcome", outcome.name().toLowerCase())
+						.register(meterRegistry));
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${app.webhooks.poll-interval}", initialDelayString = "${app.webhooks.poll-interval}")
+	public void scheduledDispatch() {
+		if (!properties.enabled() || !dispatching.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			poller.execute(() -> {
+				try {
+					dispatch();
+				}
+				catch (RuntimeException e) {
+					logger.warn("Webhook dispatch failed: {}", e.getMessage());
+				}
+				finally {
+					dispatching.set(false);
+				}
+			});
+		}
+		catch (RejectedExecutionException e) {
+			// shutting down
+			dispatching.set(false);
+		}
+	}
+
+	/**
+	 * Claims a batch of due deliveries, posts them and records the outcomes.
+	 * @return the number of deliveries claimed
+	 */
+	public int dispatch() {
+		Instant now = Instant.now();
+		List<Delivery> claimed = transactionTemplate.execute(status -> jdbcTemplate.query(CLAIM,
+				(rs, rowNum) -> new Delivery(rs.getLong("id"), rs.getLong("subscription_id"), rs.getString("url"),
+						rs.getString("secret"), rs.getObject("event_id", UUID.class), rs.getString("event_type"),
+						rs.getString("payload"), rs.getInt("attempts")),
+				Timestamp.from(now.plus(lease)), Timestamp.from(now), properties.batchSize()));
+		if (claimed == null || claimed.isEmpty()) {
+			return 0;
+		}
+
+		Map<Long, Queue<Delivery>> byEndpoint = new LinkedHashMap<>();
+		for (Delivery delivery : claimed) {
+			byEndpoint.computeIfAbsent(delivery.subscriptionId(), id -> new ConcurrentLinkedQueue<>()).add(delivery);
+		}
+		Queue<Result> results = new ConcurrentLinkedQueue<>();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (Queue<Delivery> queue : byEndpoint.values()) {
+				// each sender drains the endpoint's queue, so no more than this many
+				// requests are ever in flight to it
+				int senders = Math.min(queue.size(), properties.maxConcurrency());
+				for (int i = 0; i < senders; i++) {
+					executor.execute(() -> {
+						for (Delivery delivery = queue.poll(); delivery != null; delivery = queue.poll()) {
+							results.add(send(delivery));
+						}
+					});
+				}
+			}
+		}
+
+		transactionTemplate.executeWithoutResult(status -> record(List.copyOf(results)));
+		return claimed.size();
+	}
+
+	private Result send(Delivery delivery) {
+		long timestamp = Instant.now().getEpochSecond();
+		try {
+			restClient.post()
+				.uri(URI.create(delivery.url()))
+				.contentType(MediaType.APPLICATION_JSON)
+				.header(WebhookSigner.ID_HEADER, delivery.eventId().toString())
+				.header(WebhookSigner.TIMESTAMP_HEADER, String.valueOf(timestamp))
+				.header(WebhookSigner.SIGNATURE_HEADER,
+						WebhookSigner.sign(delivery.secret(), timestamp, delivery.payload()))
+				.header(WebhookSigner.EVENT_HEADER, delivery.eventType())
+				.body(delivery.payload())
+				.retrieve()
+				.toBodilessEntity();
+			return new Result(delivery, null);
+		}
+		catch (RuntimeException e) {
+			String error = e.getClass().getName() + ": " + e.getMessage();
+			return new Result(delivery,
+					error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+		}
+	}
+
+	private void record(List<Result> results) {
+		Instant now = Instant.now();
+		List<Object[]> updates = new ArrayList<>(results.size());
+		for (Result result : results) {
+			Delivery delivery = result.delivery();
+			Outcome outcome;
+			if (result.error() == null) {
+				outcome = Outcome.DELIVERED;
+				updates
+					.add(new Object[] { "DELIVERED", Timestamp.from(now), null, Timestamp.from(now), delivery.id() });
+			}
+			else if (delivery.attempts() < properties.maxAttempts()) {
+				outcome = Outcome.RETRIED;
+				Instant retryAt = now.plus(backoff(delivery.attempts()));
+				updates.add(new Object[] { "PENDING", Timestamp.from(retryAt), result.error(), null, delivery.id() });
+			}
+			else {
+				outcome = Outcome.DEAD;
+				logger.warn("Webhook event {} ({}) to {} failed {} times; dead-lettered: {}", delivery.eventId(),
+						delivery.eventType(), delivery.url(), delivery.attempts(), result.error());
+				updates.add(new Object[] { "DEAD", Timestamp.from(now), result.error(), Timestamp.from(now),
+						delivery.id() });
+			}
+			outcomes.get(outcome).increment();
+		}
+		jdbcTemplate.batchUpdate(RECORD, updates);
+	}
+
+	/**
+	 * Exponential backoff with jitter, as for jobs: between half and all of
+	 * {@code backoffBase * 2^(attempt - 1)}, capped at {@code backoffMax}.
+	 */
+	private Duration backoff(int attempt) {
+		long base = properties.backoffBase().toMillis();
+		long delay = Math.min(properties.backoffMax().toMillis(), base << Math.min(attempt - 1, 20));
+		return Duration.ofMillis(delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1));
+	}
+
+	@PreDestroy
+	public void shutdown() throws InterruptedException {
+		poller.shutdown();
+		// a batch cut short is claimed again once its lease runs out
+		if (!poller.awaitTermination(properties.timeout().toMillis(), TimeUnit.MILLISECONDS)) {
+			poller.shutdownNow();
+		}
+	}
+
+	private enum Outcome {
+
+		DELIVERED, RETRIED, DEAD
+
+	}
+
+	private record Delivery(long id, long subscriptionId, String url, String secret, UUID eventId, String eventType,
+			String payload, int attempts) {
+	}
+
+	private record Result(Delivery delivery, String error) {
+	}
+
+}
@@ -0,0 +1,11 @@
+package tech.omarshabaan.tasksmanagement.service.webhook;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * The body of a webhook delivery. {@code id} is the same for every delivery and retry of
+ * the event, for receivers to drop duplicates by.
+ */
+public record WebhookEvent(UUID id, String type, Instant occurredAt, Object data) {
+}
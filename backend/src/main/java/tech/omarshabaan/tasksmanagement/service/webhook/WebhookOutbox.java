@@ -0,0 +1,59 @@
+package tech.omarshabaan.tasksmanagement.service.webhook;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.uuid.Generators;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Records task events for the webhook subscriptions. An event becomes one outbox row per
+ * subscription, inserted in the caller's transaction: it is delivered if and only if the
+ * change it describes commits, and no HTTP call ever runs inside that transaction.
+ * {@link WebhookDispatcher} delivers the rows afterwards.
+ */
+@Service
+public class WebhookOutbox {
+
+	public static final String TASK_CREATED = "task.created";
+
+	public static final String TASK_UPDATED = "task.updated";
+
+	public static final String TASK_DELETED = "task.deleted";
+
+	private static final String INSERT_DELIVERIES = """
+			INSERT INTO webhook_deliveries (subscription_id, event_id, event_type, payload)
+			SELECT id, ?, ?, ? FROM webhook_subscriptions""";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final ObjectMapper objectMapper;
+
+	public WebhookOutbox(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * Queues an event of {@code type} with {@code data} for every subscription.
+	 * @return the number of deliveries queued
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public int publish(String type, Object data) {
+		UUID eventId = Generators.timeBasedEpochGenerator().generate();
+		String payload;
+		try {
+			payload = objectMapper.writeValueAsString(new WebhookEvent(eventId, type, Instant.now(), data));
+		}
+		catch (JsonProcessingException e) {
+			throw new IllegalArgumentException("Could not serialize " + type + " event", e);
+		}
+		return jdbcTemplate.update(INSERT_DELIVERIES, eventId, type, payload);
+	}
+
+}
@@ -0,0 +1,54 @@
+package tech.omarshabaan.tasksmanagement.service.webhook;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Signs webhook deliveries. The signature is {@code sha256=} and the hex HMAC-SHA256,
+ * keyed with the subscription's secret, of the {@code Webhook-Timestamp} header value, a
+ * {@code .} and the body. A receiver recomputes it to check that the delivery came from
+ * us unchanged, and rejects old timestamps to stop replays.
+ */
+public final class WebhookSigner {
+
+	public static final String ID_HEADER = "Webhook-Id";
+
+	public static final String EVENT_HEADER = "Webhook-Event";
+
+	public static final String TIMESTAMP_HEADER = "Webhook-Timestamp";
+
+	public static final String SIGNATURE_HEADER = "Webhook-Signature";
+
+	private static final String ALGORITHM = "HmacSHA256";
+
+	private static final int SECRET_BYTES = 32;
+
+	private static final SecureRandom random = new SecureRandom();
+
+	private WebhookSigner() {
+	}
+
+	public static String newSecret() {
+		byte[] secret = new byte[SECRET_BYTES];
+		random.nextBytes(secret);
+		return "whsec_" + Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+	}
+
+	public static String sign(String secret, long timestamp, String body) {
+		try {
+			Mac mac = Mac.getInstance(ALGORITHM);
+			mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+			byte[] signature = mac.doFinal((timestamp + "." + body).getBytes(StandardCharsets.UTF_8));
+			return "sha256=" + HexFormat.of().formatHex(signature);
+		}
+		catch (GeneralSecurityException e) {
+			throw new IllegalStateException(ALGORITHM + " is not available", e);
+		}
+	}
+
+}
@@ -0,0 +1,111 @@
+package tech.omarshabaan.tasksmanagement.service.webhook;
+
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.omarshabaan.tasksmanagement.dto.webhook.CreateWebhookSubscriptionRequest;
+import tech.omarshabaan.tasksmanagement.dto.webhook.CreatedWebhookSubscriptionResponse;
+import tech.omarshabaan.tasksmanagement.dto.webhook.WebhookDeadLetterResponse;
+import tech.omarshabaan.tasksmanagement.dto.webhook.WebhookSubscriptionResponse;
+import tech.omarshabaan.tasksmanagement.entity.WebhookSubscription;
+import tech.omarshabaan.tasksmanagement.exception.WebhookSubscriptionNotFoundException;
+import tech.omarshabaan.tasksmanagement.repository.webhook.WebhookSubscriptionRepository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@Observed(name = "service.operations")
+@Transactional
+public class WebhookSubscriptionService {
+
+	private static final String SELECT_DEAD_LETTERS = """
+			SELECT event_id, event_type, attempts, last_error, created_at, finished_at
+			FROM webhook_deliveries
+			WHERE subscription_id = ? AND status = 'DEAD'
+			ORDER BY id
+			LIMIT ? OFFSET ?""";
+
+	private static final String COUNT_DEAD_LETTERS = """
+			SELECT count(*) FROM webhook_deliveries WHERE subscription_id = ? AND status = 'DEAD'""";
+
+	private static final String REDRIVE_DEAD_LETTERS = """
+			UPDATE webhook_deliveries
+			SET status = 'PENDING', attempts = 0, next_attempt_at = CURRENT_TIMESTAMP, finished_at = NULL
+			WHERE subscription_id = ? AND status = 'DEAD'""";
+
+	private final WebhookSubscriptionRepository subscriptionRepository;
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public WebhookSubscriptionService(WebhookSubscriptionRepository subscriptionRepository, JdbcTemplate jdbcTemplate) {
+		this.subscriptionRepository = subscriptionRepository;
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	/**
+	 * Subscribes {@code url} to every task event from now on, with a new signing secret.
+	 */
+	public CreatedWebhookSubscriptionResponse createSubscription(CreateWebhookSubscriptionRequest request) {
+		WebhookSubscription subscription = subscriptionRepository
+			.save(new WebhookSubscription(request.url(), WebhookSigner.newSecret()));
+		return new CreatedWebhookSubscriptionResponse(subscription.getUuid(), subscription.getUrl(),
+				subscription.getSecret(), subscription.getCreatedAt());
+	}
+
+	@Transactional(readOnly = true)
+	public Page<WebhookSubscriptionResponse> getSubscriptions(Pageable pageable) {
+		return subscriptionRepository.findAll(pageable)
+			.map(subscription -> new WebhookSubscriptionResponse(subscription.getUuid(), subscription.getUrl(),
+					subscription.getCreatedAt()));
+	}
+
+	/**
+	 * Deletes the subscription with its pending deliveries and dead letters.
+	 */
+	public void deleteSubscription(UUID uuid) {
+		subscriptionRepository.delete(findSubscription(uuid));
+	}
+
+	/**
+	 * Deliveries to the subscription that failed every attempt, the oldest first.
+	 */
+	@Transactional(readOnly = true)
+	public Page<WebhookDeadLetterResponse> getDeadLetters(UUID uuid, Pageable pageable) {
+		Long subscriptionId = findSubscription(uuid).getId();
+		List<WebhookDeadLetterResponse> deadLetters = jdbcTemplate.query(SELECT_DEAD_LETTERS,
+				(rs, rowNum) -> new WebhookDeadLetterResponse(rs.getObject("event_id", UUID.class),
+						rs.getString("event_type"), rs.getInt("attempts"), rs.getString("last_error"),
+						instant(rs, "created_at"), instant(rs, "finished_at")),
+				subscriptionId, pageable.getPageSize(), pageable.getOffset());
+		Long total = jdbcTemplate.queryForObject(COUNT_DEAD_LETTERS, Long.class, subscriptionId);
+		return new PageImpl<>(deadLetters, pageable, total != null ? total : 0);
+	}
+
+	/**
+	 * Queues the subscription's dead letters again, each with a fresh set of attempts.
+	 * @return the number of deliveries queued
+	 */
+	public int redriveDeadLetters(UUID uuid) {
+		return jdbcTemplate.update(REDRIVE_DEAD_LETTERS, findSubscription(uuid).getId());
+	}
+
+	private WebhookSubscription findSubscription(UUID uuid) {
+		return subscriptionRepository.findByUuid(uuid)
+			.orElseThrow(() -> new WebhookSubscriptionNotFoundException(uuid));
+	}
+
+	private static Instant instant(ResultSet rs, String column) throws SQLException {
+		Timestamp value = rs.getTimestamp(column);
+		return value != null ? value.toInstant() : null;
+	}
+
+}
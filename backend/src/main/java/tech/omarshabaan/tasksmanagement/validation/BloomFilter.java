@@ -0,0 +1,91 @@
+package tech.omarshabaan.tasksmanagement.validation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over strings. {@link #mightContain} never returns
+ * {@code false} for a value that was {@link #put}; it returns {@code true} for an absent
+ * value with roughly the configured false-positive rate while the filter holds no more
+ * than the expected number of values.
+ */
+class BloomFilter {
+
+	private static final double LN2 = Math.log(2);
+
+	private final AtomicLongArray words;
+
+	private final long bitCount;
+
+	private final int hashCount;
+
+	BloomFilter(long expectedInsertions, double falsePositiveRate) {
+		if (expectedInsertions <= 0) {
+			throw new IllegalArgumentException("expectedInsertions must be positive");
+		}
+		if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+			throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+		}
+		long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (LN2 * LN2));
+		int wordCount = Math.toIntExact(Math.max(1, (bits + 63) / 64));
+		this.words = new AtomicLongArray(wordCount);
+		this.bitCount = (long) wordCount * 64;
+		this.hashCount = Math.max(1, (int) Math.round((double) bits / expectedInsertions * LN2));
+	}
+
+	void put(String value) {
+		long h1 = hash(value);
+		long h2 = mix(h1 ^ 0xC2B2AE3D27D4EB4FL) | 1;
+		for (int i = 0; i < hashCount; i++) {
+			long bit = Math.floorMod(h1 + i * h2, bitCount);
+			int word = (int) (bit >>> 6);
+			long mask = 1L << bit;
+			if ((words.get(word) & mask) == 0) {
+				words.getAndAccumulate(word, mask, (current, m) -> current | m);
+			}
+		}
+	}
+
+	boolean mightContain(String value) {
+		long h1 = hash(value);
+		long h2 = mix(h1 ^ 0xC2B2AE3D27D4EB4FL) | 1;
+		for (int i = 0; i < hashCount; i++) {
+			long bit = Math.floorMod(h1 + i * h2, bitCount);
+			if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	long bitCount() {
+		return bitCount;
+	}
+
+	int hashCount() {
+		return hashCount;
+	}
+
+	/**
+	 * FNV-1a over the UTF-16 code units followed by a 64-bit finalizer; avoids encoding
+	 * the string to bytes on every check. The two probe hashes are derived from it
+	 * (Kirsch-Mitzenmacher double hashing).
+	 */
+	private static long hash(String value) {
+		long h = 0xCBF29CE484222325L;
+		for (int i = 0; i < value.length(); i++) {
+			h ^= value.charAt(i);
+			h *= 0x100000001B3L;
+		}
+		return mix(h);
+	}
+
+	private static long mix(long h) {
+		h ^= h >>> 33;
+		h *= 0xFF51AFD7ED558CCDL;
+		h ^= h >>> 33;
+		h *= 0xC4CEB9FE1A85EC53L;
+		h ^= h >>> 33;
+		return h;
+	}
+
+}
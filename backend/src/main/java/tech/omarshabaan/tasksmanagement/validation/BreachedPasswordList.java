@@ -0,0 +1,166 @@
+package tech.omarshabaan.tasksmanagement.validation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import tech.omarshabaan.tasksmanagement.config.BreachedPasswordProperties;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Sorted list of SHA-1 digests of breached passwords, memory-mapped read-only and
+ * searched by binary search. The list stays off the heap and out of the process unless
+ * pages are touched: a lookup in a billion entries reads about 30 records, and the first
+ * levels of the search hit the same few pages every time, so they stay in the page cache.
+ * <p>
+ * A mapped buffer is limited to 2 GiB, so larger files are mapped as several chunks of
+ * whole records. The file can be produced from the Have I Been Pwned "ordered by hash"
+ * SHA-1 download, which is already in digest order:
+ * {@code cut -d: -f1 pwned-passwords-sha1-ordered-by-hash.txt | xxd -r -p > breached.sha1}.
+ */
+@Component
+public class BreachedPasswordList {
+
+	private static final Logger logger = LoggerFactory.getLogger(BreachedPasswordList.class);
+
+	static final int DIGEST_LENGTH = 20;
+
+	// 64Mi records per chunk, 1.25 GiB
+	private static final int RECORDS_PER_CHUNK = 1 << 26;
+
+	// records checked for ascending order when the file is opened
+	private static final int ORDER_CHECK_RECORDS = 1024;
+
+	private final ByteBuffer[] chunks;
+
+	private final int recordsPerChunk;
+
+	private final long size;
+
+	@Autowired
+	public BreachedPasswordList(BreachedPasswordProperties properties) {
+		this(properties.file() == null || properties.file().isBlank() ? null : Path.of(properties.file()),
+				RECORDS_PER_CHUNK);
+		if (size > 0) {
+			logger.info("Mapped {} breached password digests from {}", size, properties.file());
+		}
+		else {
+			logger.info("No breached password list configured; signup does not check for breached passwords");
+		}
+	}
+
+	BreachedPasswordList(Path file, int recordsPerChunk) {
+		this.recordsPerChunk = recordsPerChunk;
+		if (file == null) {
+			this.chunks = new ByteBuffer[0];
+			this.size = 0;
+			return;
+		}
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long bytes = channel.size();
+			if (bytes % DIGEST_LENGTH != 0) {
+				throw new IllegalStateException("Breached password list " + file + " is not a sequence of "
+						+ DIGEST_LENGTH + "-byte SHA-1 digests (size " + bytes + ")");
+			}
+			this.size = bytes / DIGEST_LENGTH;
+			long chunkBytes = (long) recordsPerChunk * DIGEST_LENGTH;
+			this.chunks = new ByteBuffer[Math.toIntExact((bytes + chunkBytes - 1) / chunkBytes)];
+			for (int i = 0; i < chunks.length; i++) {
+				long position = i * chunkBytes;
+				// the mapping stays valid after the channel is closed
+				chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, position,
+						Math.min(chunkBytes, bytes - position));
+			}
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Could not map breached password list " + file, e);
+		}
+		for (long i = 1; i < Math.min(size, ORDER_CHECK_RECORDS); i++) {
+			if (compare(i - 1, i) >= 0) {
+				throw new IllegalStateException("Breached password list " + file + " is not sorted by digest");
+			}
+		}
+	}
+
+	public boolean contains(String password) {
+		if (size == 0) {
+			return false;
+		}
+		byte[] digest = sha1(password);
+		ByteBuffer key = ByteBuffer.wrap(digest);
+		long high = key.getLong(0);
+		long middle = key.getLong(8);
+		int low = key.getInt(16);
+
+		long from = 0;
+		long to = size - 1;
+		while (from <= to) {
+			long mid = (from + to) >>> 1;
+			int cmp = compare(mid, high, middle, low);
+			if (cmp < 0) {
+				from = mid + 1;
+			}
+			else if (cmp > 0) {
+				to = mid - 1;
+			}
+			else {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public long size() {
+		return size;
+	}
+
+	private int compare(long left, long right) {
+		ByteBuffer chunk = chunk(right);
+		int offset = offset(right);
+		return compare(left, chunk.getLong(offset), chunk.getLong(offset + 8), chunk.getInt(offset + 16));
+	}
+
+	/**
+	 * Compares the record at {@code index} with a digest split into its big-endian words;
+	 * unsigned so the order matches the byte order of the file.
+	 */
+	private int compare(long index, long high, long middle, int low) {
+		ByteBuffer chunk = chunk(index);
+		int offset = offset(index);
+		int cmp = Long.compareUnsigned(chunk.getLong(offset), high);
+		if (cmp == 0) {
+			cmp = Long.compareUnsigned(chunk.getLong(offset + 8), middle);
+		}
+		if (cmp == 0) {
+			cmp = Integer.compareUnsigned(chunk.getInt(offset + 16), low);
+		}
+		return cmp;
+	}
+
+	private ByteBuffer chunk(long index) {
+		return chunks[(int) (index / recordsPerChunk)];
+	}
+
+	private int offset(long index) {
+		return (int) (index % recordsPerChunk) * DIGEST_LENGTH;
+	}
+
+	static byte[] sha1(String password) {
+		try {
+			return MessageDigest.getInstance("SHA-1").digest(password.getBytes(StandardCharsets.UTF_8));
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-1 algorithm not available", e);
+		}
+	}
+
+}
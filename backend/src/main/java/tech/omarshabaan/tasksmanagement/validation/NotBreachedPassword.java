@@ -0,0 +1,22 @@
+package tech.omarshabaan.tasksmanagement.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target({ ElementType.METHOD, ElementType.FIELD })
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = NotBreachedPasswordValidator.class)
+public @interface NotBreachedPassword {
+
+	String message() default "Password has appeared in a known data breach, please choose another one";
+
+	Class<?>[] groups() default {};
+
+	Class<? extends Payload>[] payload() default {};
+
+}
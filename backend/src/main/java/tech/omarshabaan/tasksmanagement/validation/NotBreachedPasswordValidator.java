@@ -0,0 +1,24 @@
+package tech.omarshabaan.tasksmanagement.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Rejects passwords found in the {@link BreachedPasswordList}. Without the list (e.g. in
+ * slice tests) every password passes.
+ */
+public class NotBreachedPasswordValidator implements ConstraintValidator<NotBreachedPassword, String> {
+
+	private final BreachedPasswordList breachedPasswords;
+
+	public NotBreachedPasswordValidator(ObjectProvider<BreachedPasswordList> breachedPasswords) {
+		this.breachedPasswords = breachedPasswords.getIfAvailable();
+	}
+
+	@Override
+	public boolean isValid(String password, ConstraintValidatorContext context) {
+		return password == null || breachedPasswords == null || !breachedPasswords.contains(password);
+	}
+
+}
@@ -0,0 +1,173 @@
+package tech.omarshabaan.tasksmanagement.validation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.omarshabaan.tasksmanagement.config.UniquenessFilterProperties;
+import tech.omarshabaan.tasksmanagement.event.UserSecurityCreatedEvent;
+import tech.omarshabaan.tasksmanagement.repository.auth.UserSecurityRepository;
+import tech.omarshabaan.tasksmanagement.repository.user.UserRepository;
+
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filters over the stored emails and usernames, used by
+ * {@link UniqueEmailValidator} and {@link UniqueUsernameValidator} to skip the existence
+ * query when a value is certainly new. The filters are local to this node: built once the
+ * application is ready, updated on {@link UserSecurityCreatedEvent} and rebuilt on a
+ * schedule. A value created on another node since the last rebuild reads as new, so the
+ * validator lets it through and the unique constraints reject the insert. Until the first
+ * build finishes, every value is a possible hit and the database is queried as before.
+ */
+@Component
+public class SignupUniquenessFilter {
+
+	private static final Logger logger = LoggerFactory.getLogger(SignupUniquenessFilter.class);
+
+	private final UserSecurityRepository userSecurityRepository;
+
+	private final UserRepository userRepository;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final UniquenessFilterProperties properties;
+
+	private final Field emails;
+
+	private final Field usernames;
+
+	public SignupUniquenessFilter(UserSecurityRepository userSecurityRepository, UserRepository userRepository,
+			PlatformTransactionManager transactionManager, UniquenessFilterProperties properties,
+			MeterRegistry meterRegistry) {
+		this.userSecurityRepository = userSecurityRepository;
+		this.userRepository = userRepository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setReadOnly(true);
+		this.properties = properties;
+		this.emails = new Field("email", meterRegistry);
+		this.usernames = new Field("username", meterRegistry);
+	}
+
+	public boolean mightContainEmail(String email) {
+		return emails.mightContain(email);
+	}
+
+	public boolean mightContainUsername(String username) {
+		return usernames.mightContain(username);
+	}
+
+	@EventListener
+	public void onUserSecurityCreated(UserSecurityCreatedEvent event) {
+		// added before the transaction commits; if it rolls back the value only becomes a
+		// false positive
+		emails.put(event.userSecurity().getEmail());
+		usernames.put(event.username());
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void build() {
+		rebuild();
+	}
+
+	@Scheduled(cron = "${app.validation.uniqueness-filter.rebuild-cron}")
+	public void rebuild() {
+		if (!properties.enabled()) {
+			return;
+		}
+		try {
+			emails.rebuild(userSecurityRepository::count, userSecurityRepository::streamAllEmails);
+			usernames.rebuild(userRepository::count, userRepository::streamAllUsernames);
+		}
+		catch (DataAccessException e) {
+			logger.warn("Could not build signup uniqueness filters: {}", e.getMessage());
+		}
+	}
+
+	private final class Field {
+
+		private final String name;
+
+		private final Counter misses;
+
+		private final Counter possibleHits;
+
+		private volatile BloomFilter current;
+
+		// receives values created while a rebuild scans the table; one committed
+		// after the scan's snapshot but added before the scan started can still be
+		// missed until the next rebuild, which the unique constraints cover
+		private volatile BloomFilter building;
+
+		Field(String name, MeterRegistry meterRegistry) {
+			this.name = name;
+			this.misses = Counter.builder("signup.uniqueness_filter.checks")
+				.description("Signup uniqueness checks answered by the Bloom filter")
+				.tag("field", name)
+				.tag("result", "miss")
+				.register(meterRegistry);
+			this.possibleHits = Counter.builder("signup.uniqueness_filter.checks")
+				.description("Signup uniqueness checks answered by the Bloom filter")
+				.tag("field", name)
+				.tag("result", "possible_hit")
+				.register(meterRegistry);
+		}
+
+		boolean mightContain(String value) {
+			BloomFilter filter = current;
+			if (filter == null) {
+				return true;
+			}
+			if (filter.mightContain(value)) {
+				possibleHits.increment();
+				return true;
+			}
+			misses.increment();
+			return false;
+		}
+
+		void put(String value) {
+			// building before current: a rebuild publishes current before clearing
+			// building, so the value always reaches the filter that ends up in use
+			BloomFilter next = building;
+			if (next != null) {
+				next.put(value);
+			}
+			BloomFilter filter = current;
+			if (filter != null) {
+				filter.put(value);
+			}
+		}
+
+		synchronized void rebuild(Supplier<Long> count, Supplier<Stream<String>> values) {
+			long started = System.nanoTime();
+			long rows = transactionTemplate.execute(status -> count.get());
+			BloomFilter next = new BloomFilter(Math.max(properties.expectedInsertions(), rows * 2),
+					properties.falsePositiveRate());
+			building = next;
+			try {
+				transactionTemplate.executeWithoutResult(status -> {
+					try (Stream<String> stream = values.get()) {
+						stream.forEach(next::put);
+					}
+				});
+				current = next;
+			}
+			finally {
+				building = null;
+			}
+			logger.info("Built {} uniqueness filter from {} rows ({} bits, {} hashes) in {} ms", name, rows,
+					next.bitCount(), next.hashCount(), (System.nanoTime() - started) / 1_000_000);
+		}
+
+	}
+
+}
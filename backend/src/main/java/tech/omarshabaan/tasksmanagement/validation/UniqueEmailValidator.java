@@ -2,19 +2,34 @@ package tech.omarshabaan.tasksmanagement.validation;
 
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
+import org.springframework.beans.factory.ObjectProvider;
 import tech.omarshabaan.tasksmanagement.repository.auth.UserSecurityRepository;
 
+/**
+ * Rejects emails that already exist. A definite miss in the
+ * {@link SignupUniquenessFilter} skips the query; without the filter (e.g. in slice
+ * tests) every check queries.
+ */
 public class UniqueEmailValidator implements ConstraintValidator<UniqueEmail, String> {
 
 	private final UserSecurityRepository repository;
 
-	public UniqueEmailValidator(UserSecurityRepository repository) {
+	private final SignupUniquenessFilter filter;
+
+	public UniqueEmailValidator(UserSecurityRepository repository, ObjectProvider<SignupUniquenessFilter> filter) {
 		this.repository = repository;
+		this.filter = filter.getIfAvailable();
 	}
 
 	@Override
 	public boolean isValid(String email, ConstraintValidatorContext context) {
-		return email != null && !repository.existsByEmail(email);
+		if (email == null) {
+			return false;
+		}
+		if (filter != null && !filter.mightContainEmail(email)) {
+			return true;
+		}
+		return !repository.existsByEmail(email);
 	}
 
 }
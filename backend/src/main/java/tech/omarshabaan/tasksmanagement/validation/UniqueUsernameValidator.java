@@ -2,19 +2,34 @@ package tech.omarshabaan.tasksmanagement.validation;
 
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
+import org.springframework.beans.factory.ObjectProvider;
 import tech.omarshabaan.tasksmanagement.repository.user.UserRepository;
 
+/**
+ * Rejects usernames that already exist. A definite miss in the
+ * {@link SignupUniquenessFilter} skips the query; without the filter (e.g. in slice
+ * tests) every check queries.
+ */
 public class UniqueUsernameValidator implements ConstraintValidator<UniqueUsername, String> {
 
 	private final UserRepository repository;
 
-	public UniqueUsernameValidator(UserRepository repository) {
+	private final SignupUniquenessFilter filter;
+
+	public UniqueUsernameValidator(UserRepository repository, ObjectProvider<SignupUniquenessFilter> filter) {
 		this.repository = repository;
+		this.filter = filter.getIfAvailable();
 	}
 
 	@Override
 	public boolean isValid(String username, ConstraintValidatorContext context) {
-		return username != null && !repository.existsByUsername(username);
+		if (username == null) {
+			return false;
+		}
+		if (filter != null && !filter.mightContainUsername(username)) {
+			return true;
+		}
+		return !repository.existsByUsername(username);
 	}
 
 }
@@ -0,0 +1,15 @@
+-- one row per due-date reminder fired: inserting it claims the reminder, so a task fires once
+-- for each due date it has had, whichever node gets there first and however often nodes restart
+CREATE TABLE task_reminders (
+    task_id BIGINT NOT NULL REFERENCES tasks (id) ON DELETE CASCADE,
+    due_date TIMESTAMPTZ NOT NULL,
+    fired_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    node TEXT NOT NULL,
+    PRIMARY KEY (task_id, due_date)
+);
+
+CREATE INDEX idx_task_reminders_due_date ON task_reminders (due_date);
+
+-- the slice of open tasks coming due that every reminder refresh loads
+CREATE INDEX idx_tasks_open_due_date ON tasks (due_date)
+    WHERE status IN ('PENDING', 'IN_PROGRESS');
@@ -0,0 +1,44 @@
+CREATE SEQUENCE IF NOT EXISTS webhook_subscriptions_id_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE webhook_subscriptions
+(
+    id         BIGINT PRIMARY KEY DEFAULT nextval('webhook_subscriptions_id_seq'),
+    uuid       UUID        NOT NULL UNIQUE,
+    url        TEXT        NOT NULL,
+    -- signs every delivery; shown once, when the subscription is created
+    secret     TEXT        NOT NULL,
+    version    INTEGER     NOT NULL DEFAULT 0,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE SEQUENCE IF NOT EXISTS webhook_deliveries_id_seq START WITH 1 INCREMENT BY 1;
+
+-- the outbox: one row per event and subscription, inserted in the transaction of the task
+-- change. A claimed delivery's next_attempt_at is pushed out by a lease, so a dispatcher that
+-- dies mid-batch leaves its deliveries to be claimed again once the lease runs out.
+CREATE TABLE webhook_deliveries
+(
+    id              BIGINT PRIMARY KEY DEFAULT nextval('webhook_deliveries_id_seq'),
+    subscription_id BIGINT      NOT NULL,
+    event_id        UUID        NOT NULL,
+    event_type      TEXT        NOT NULL,
+    payload         TEXT        NOT NULL,
+    status          TEXT        NOT NULL DEFAULT 'PENDING',
+    attempts        INTEGER     NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_error      TEXT,
+    created_at      TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    finished_at     TIMESTAMPTZ,
+    CONSTRAINT fk_webhook_deliveries_subscription FOREIGN KEY (subscription_id)
+        REFERENCES webhook_subscriptions (id) ON DELETE CASCADE
+);
+
+-- the dispatcher only ever claims due pending deliveries; dead letters are listed and
+-- redriven per subscription; delivered rows are purged by age
+CREATE INDEX idx_webhook_deliveries_pending_next_attempt_at ON webhook_deliveries (next_attempt_at)
+    WHERE status = 'PENDING';
+CREATE INDEX idx_webhook_deliveries_dead_subscription_id ON webhook_deliveries (subscription_id, id)
+    WHERE status = 'DEAD';
+CREATE INDEX idx_webhook_deliveries_delivered_finished_at ON webhook_deliveries (finished_at)
+    WHERE status = 'DELIVERED';
@@ -0,0 +1,16 @@
+-- Idempotency-Key of task creation: a key is claimed by inserting its row in the transaction that
+-- creates the task, so a concurrent duplicate waits on the row and then finds the response. The
+-- request hash tells a retry from a different request sent with the same key.
+CREATE TABLE idempotency_keys
+(
+    user_id         BIGINT      NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    idempotency_key TEXT        NOT NULL,
+    request_hash    BYTEA       NOT NULL,
+    -- the JSON response, set before the claiming transaction commits
+    response        TEXT,
+    created_at      TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (user_id, idempotency_key)
+);
+
+-- the cleanup job purges expired keys by age
+CREATE INDEX idx_idempotency_keys_created_at ON idempotency_keys (created_at);
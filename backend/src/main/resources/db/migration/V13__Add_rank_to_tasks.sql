@@ -0,0 +1,18 @@
+-- order of the tasks in a board column (assignee and status): a fractional rank over 0-9a-z,
+-- compared byte by byte, so moving a task rewrites only its own rank. See TaskRank.
+ALTER TABLE tasks ADD COLUMN rank TEXT COLLATE "C";
+
+-- existing tasks keep their order by id. Fixed-width hex digits are ranks too, and a trailing
+-- 'i' keeps them from ending in 0; a rebalance shortens them once a column is moved around.
+UPDATE tasks t
+SET rank = ranked.rank
+FROM (SELECT id,
+             lpad(to_hex(row_number() OVER (PARTITION BY assigned_to_id, status ORDER BY id)), 8, '0') || 'i'
+                 AS rank
+      FROM tasks) ranked
+WHERE t.id = ranked.id;
+
+ALTER TABLE tasks ALTER COLUMN rank SET NOT NULL;
+
+-- a column in board order, and its first, last and next task when one is moved
+CREATE INDEX idx_tasks_assigned_to_status_rank ON tasks (assigned_to_id, status, rank);
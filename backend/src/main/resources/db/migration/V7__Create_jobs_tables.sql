@@ -0,0 +1,44 @@
+CREATE SEQUENCE IF NOT EXISTS jobs_id_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE jobs
+(
+    id           BIGINT PRIMARY KEY DEFAULT nextval('jobs_id_seq'),
+    uuid         UUID        NOT NULL UNIQUE,
+    type         TEXT        NOT NULL,
+    -- set for periodic jobs only, one row per periodic job across the cluster
+    name         TEXT UNIQUE,
+    cron         TEXT,
+    payload      TEXT,
+    status       TEXT        NOT NULL DEFAULT 'PENDING',
+    attempts     INTEGER     NOT NULL DEFAULT 0,
+    max_attempts INTEGER     NOT NULL,
+    run_at       TIMESTAMPTZ NOT NULL,
+    locked_by    TEXT,
+    locked_until TIMESTAMPTZ,
+    last_error   TEXT,
+    version      INTEGER     NOT NULL DEFAULT 0,
+    created_at   TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at   TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- the claim query only ever looks at due pending jobs and expired leases
+CREATE INDEX idx_jobs_pending_run_at ON jobs (run_at) WHERE status = 'PENDING';
+CREATE INDEX idx_jobs_running_locked_until ON jobs (locked_until) WHERE status = 'RUNNING';
+
+CREATE SEQUENCE IF NOT EXISTS job_executions_id_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE job_executions
+(
+    id          BIGINT PRIMARY KEY DEFAULT nextval('job_executions_id_seq'),
+    job_id      BIGINT      NOT NULL,
+    attempt     INTEGER     NOT NULL,
+    node        TEXT        NOT NULL,
+    outcome     TEXT        NOT NULL,
+    error       TEXT,
+    started_at  TIMESTAMPTZ NOT NULL,
+    finished_at TIMESTAMPTZ NOT NULL,
+    CONSTRAINT fk_job_executions_job FOREIGN KEY (job_id) REFERENCES jobs (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_job_executions_job_id ON job_executions (job_id);
+CREATE INDEX idx_job_executions_finished_at ON job_executions (finished_at);
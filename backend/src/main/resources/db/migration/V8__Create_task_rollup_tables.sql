@@ -0,0 +1,73 @@
+-- Rollups behind the admin analytics. The task-rollup-refresh job keeps them up to date
+-- from the tasks changed past its watermark, so dashboard queries never read tasks.
+
+-- the refresh reads changed tasks in (updated_at, id) order
+CREATE INDEX idx_tasks_updated_at_id ON tasks (updated_at, id);
+
+-- how far the refresh has read, in the order above, and when it last finished
+CREATE TABLE task_rollup_watermark
+(
+    id           INTEGER PRIMARY KEY CHECK (id = 1),
+    updated_at   TIMESTAMP NOT NULL,
+    task_id      BIGINT    NOT NULL,
+    refreshed_at TIMESTAMPTZ
+);
+
+INSERT INTO task_rollup_watermark (id, updated_at, task_id) VALUES (1, '1970-01-01 00:00:00', 0);
+
+-- every task as the rollups last counted it, to take it out again when it changes
+CREATE TABLE task_rollup_state
+(
+    task_id      BIGINT PRIMARY KEY,
+    status       TEXT NOT NULL,
+    priority     TEXT NOT NULL,
+    due_hour     TIMESTAMPTZ,
+    created_on   DATE NOT NULL,
+    completed_on DATE
+);
+
+-- deleted tasks leave nothing behind to read past the watermark, so they are logged
+CREATE TABLE task_rollup_deletions
+(
+    task_id BIGINT NOT NULL
+);
+
+CREATE FUNCTION task_rollup_log_deletions() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    INSERT INTO task_rollup_deletions (task_id) SELECT id FROM deleted_tasks;
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER tasks_rollup_log_deletions
+    AFTER DELETE ON tasks
+    REFERENCING OLD TABLE AS deleted_tasks
+    FOR EACH STATEMENT
+EXECUTE FUNCTION task_rollup_log_deletions();
+
+CREATE TABLE task_status_priority_counts
+(
+    status     TEXT   NOT NULL,
+    priority   TEXT   NOT NULL,
+    task_count BIGINT NOT NULL,
+    PRIMARY KEY (status, priority)
+);
+
+-- open (PENDING or IN_PROGRESS) tasks with a due date, by the UTC hour they are due in
+CREATE TABLE task_open_due_counts
+(
+    due_hour   TIMESTAMPTZ NOT NULL,
+    priority   TEXT        NOT NULL,
+    task_count BIGINT      NOT NULL,
+    PRIMARY KEY (due_hour, priority)
+);
+
+-- tasks by the UTC day they were created and the day they were completed
+CREATE TABLE task_daily_counts
+(
+    day             DATE PRIMARY KEY,
+    created_count   BIGINT NOT NULL,
+    completed_count BIGINT NOT NULL
+);
@@ -0,0 +1,5 @@
+-- overdue and due-soon lists of a user; only open tasks are indexed, so the index grows with
+-- the open tasks rather than with every task ever completed or cancelled. Queries must spell
+-- out the same status literals for the planner to prove they fall inside the predicate.
+CREATE INDEX idx_tasks_open_assigned_to_due_date ON tasks (assigned_to_id, due_date)
+    WHERE status IN ('PENDING', 'IN_PROGRESS');
@@ -0,0 +1,93 @@
+-- Optional: range-partitions refresh_tokens by expiry_date, one partition per day, so expired
+-- tokens are removed by dropping whole partitions instead of deleting rows one by one.
+-- Enabled by adding classpath:db/optional/refresh-token-partitioning to FLYWAY_LOCATIONS.
+-- The conversion is one-way; once applied, keep the location configured.
+
+CREATE OR REPLACE FUNCTION refresh_tokens_create_partitions(p_days_ahead INTEGER) RETURNS INTEGER AS
+$$
+DECLARE
+    v_day     DATE;
+    v_name    TEXT;
+    v_created INTEGER := 0;
+BEGIN
+    FOR i IN 0..p_days_ahead
+        LOOP
+            v_day := current_date + i;
+            v_name := 'refresh_tokens_p' || to_char(v_day, 'YYYYMMDD');
+            IF to_regclass(v_name) IS NULL THEN
+                BEGIN
+                    EXECUTE format('CREATE TABLE %I PARTITION OF refresh_tokens FOR VALUES FROM (%L) TO (%L)',
+                                   v_name, v_day, v_day + 1);
+                    v_created := v_created + 1;
+                EXCEPTION
+                    WHEN check_violation THEN
+                        -- rows for that day already sit in the default partition; they are
+                        -- purged by the batched delete instead
+                        RAISE NOTICE 'Skipping partition %: default partition holds rows in range', v_name;
+                END;
+            END IF;
+        END LOOP;
+    RETURN v_created;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION refresh_tokens_drop_partitions_before(p_cutoff TIMESTAMPTZ) RETURNS INTEGER AS
+$$
+DECLARE
+    v_partition RECORD;
+    v_dropped   INTEGER := 0;
+BEGIN
+    -- dropping a partition briefly locks the parent; give up rather than queue behind
+    -- long transactions and block sign-ins
+    PERFORM set_config('lock_timeout', '2s', true);
+
+    FOR v_partition IN
+        SELECT c.relname
+        FROM pg_inherits i
+                 JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'refresh_tokens'::regclass
+          AND c.relname ~ '^refresh_tokens_p[0-9]{8}$'
+          AND to_date(substring(c.relname FROM '[0-9]{8}$'), 'YYYYMMDD') + 1 <= p_cutoff::date
+        ORDER BY c.relname
+        LOOP
+            EXECUTE format('DROP TABLE %I', v_partition.relname);
+            v_dropped := v_dropped + 1;
+        END LOOP;
+    RETURN v_dropped;
+END;
+$$ LANGUAGE plpgsql;
+
+DO
+$$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = 'refresh_tokens'::regclass) THEN
+        RETURN;
+    END IF;
+
+    CREATE TABLE refresh_tokens_partitioned (LIKE refresh_tokens INCLUDING DEFAULTS) PARTITION BY RANGE (expiry_date);
+    CREATE TABLE refresh_tokens_default PARTITION OF refresh_tokens_partitioned DEFAULT;
+
+    -- expired tokens are not carried over; they would be purged on the next run anyway
+    FOR i IN 0..14
+        LOOP
+            EXECUTE format('CREATE TABLE %I PARTITION OF refresh_tokens_partitioned FOR VALUES FROM (%L) TO (%L)',
+                           'refresh_tokens_p' || to_char(current_date + i, 'YYYYMMDD'), current_date + i,
+                           current_date + i + 1);
+        END LOOP;
+
+    INSERT INTO refresh_tokens_partitioned SELECT * FROM refresh_tokens WHERE expiry_date > now();
+
+    DROP TABLE refresh_tokens;
+    ALTER TABLE refresh_tokens_partitioned RENAME TO refresh_tokens;
+
+    -- the partition key has to be part of every unique constraint, so the primary key
+    -- becomes (id, expiry_date) and token uniqueness rests on its 512-bit randomness
+    ALTER TABLE refresh_tokens ADD CONSTRAINT refresh_tokens_pkey PRIMARY KEY (id, expiry_date);
+    ALTER TABLE refresh_tokens
+        ADD CONSTRAINT fk_refresh_tokens_user FOREIGN KEY (user_id) REFERENCES user_security (id) ON DELETE CASCADE;
+
+    CREATE INDEX idx_refresh_tokens_user_id ON refresh_tokens (user_id);
+    CREATE INDEX idx_refresh_tokens_token ON refresh_tokens USING HASH (token);
+    CREATE INDEX idx_refresh_tokens_expiry_date ON refresh_tokens (expiry_date);
+END;
+$$;
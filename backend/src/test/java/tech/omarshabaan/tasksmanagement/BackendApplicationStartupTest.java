@@ -0,0 +1,73 @@
+package tech.omarshabaan.tasksmanagement;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.actuate.startup.StartupEndpoint;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.metrics.StartupStep;
+import tech.omarshabaan.tasksmanagement.validation.BreachedPasswordList;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the application through {@link BackendApplication#main} and keeps its context
+ * refresh within a budget. The budget is generous for a shared CI runner; override it
+ * with {@code -Dstartup.budget=PT20S} to tighten it on a known machine.
+ */
+class BackendApplicationStartupTest {
+
+	private static final Duration BUDGET = Duration.parse(System.getProperty("startup.budget", "PT45S"));
+
+	@Test
+	void shouldRefreshContextWithinBudget_AndDeferLazyBeans() {
+		// When
+		SpringApplication.Running running = SpringApplication.from(BackendApplication::main)
+			.with(TestcontainersConfiguration.class)
+			.withAdditionalProfiles("test")
+			.run("--server.port=0");
+
+		try (ConfigurableApplicationContext context = running.getApplicationContext()) {
+			// Then - the timeline is recorded and served by the startup endpoint
+			assertThat(context.getApplicationStartup()).isInstanceOf(BufferingApplicationStartup.class);
+			StartupTimeline timeline = ((BufferingApplicationStartup) context.getApplicationStartup())
+				.getBufferedTimeline();
+			assertThat(context.getBean(StartupEndpoint.class).startupSnapshot().getTimeline().getEvents()).isNotEmpty();
+
+			// the refresh, less the time spent starting the database container
+			Duration refresh = duration(timeline.getEvents(), "spring.context.refresh", null).orElseThrow()
+				.minus(duration(timeline.getEvents(), "spring.beans.instantiate", "postgresContainer")
+					.orElse(Duration.ZERO));
+			assertThat(refresh).isLessThan(BUDGET);
+
+			// breachedPasswordList is listed in app.startup.lazy-beans
+			assertThat(context.getBeanFactory().containsSingleton("breachedPasswordList")).isFalse();
+			assertThat(context.getBean(BreachedPasswordList.class).size()).isZero();
+			assertThat(context.getBeanFactory().containsSingleton("breachedPasswordList")).isTrue();
+		}
+	}
+
+	private static Optional<Duration> duration(List<StartupTimeline.TimelineEvent> events, String step,
+			String beanName) {
+		return events.stream()
+			.filter(event -> event.getStartupStep().getName().equals(step))
+			.filter(event -> beanName == null || hasBeanName(event, beanName))
+			.map(StartupTimeline.TimelineEvent::getDuration)
+			.findFirst();
+	}
+
+	private static boolean hasBeanName(StartupTimeline.TimelineEvent event, String beanName) {
+		for (StartupStep.Tag tag : event.getStartupStep().getTags()) {
+			if (tag.getKey().equals("beanName") && tag.getValue().equals(beanName)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
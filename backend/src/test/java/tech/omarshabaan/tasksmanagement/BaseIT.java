@@ -2,12 +2,14 @@ package tech.omarshabaan.tasksmanagement;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import tech.omarshabaan.tasksmanagement.config.TracingTestConfiguration;
 import tech.omarshabaan.tasksmanagement.repository.auth.RefreshTokenRepository;
 import tech.omarshabaan.tasksmanagement.repository.auth.RoleRepository;
 import tech.omarshabaan.tasksmanagement.repository.auth.UserSecurityRepository;
@@ -21,7 +23,8 @@ import tech.omarshabaan.tasksmanagement.service.auth.RefreshTokenService;
  */
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureMockMvc
-@Import(TestcontainersConfiguration.class)
+@AutoConfigureObservability(metrics = false)
+@Import({ TestcontainersConfiguration.class, TracingTestConfiguration.class })
 @ActiveProfiles("test")
 public abstract class BaseIT {
 
@@ -0,0 +1,61 @@
+package tech.omarshabaan.tasksmanagement;
+
+import tech.omarshabaan.tasksmanagement.common.sql.StatementAccounting;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement budget for integration tests. Counts the JDBC statements executed on the test
+ * thread from {@link #start()}, which includes requests performed through MockMvc:
+ *
+ * <pre>
+ * try (QueryBudget budget = QueryBudget.start()) {
+ *     mockMvc.perform(get("/api/tasks/me")...);
+ *     budget.assertAtMost(3).assertNoRepeatedStatements();
+ * }
+ * </pre>
+ */
+public final class QueryBudget implements AutoCloseable {
+
+	// same default as app.datasource.statement-accounting.repeated-statement-threshold
+	private static final int REPEATED_STATEMENT_THRESHOLD = 5;
+
+	private final StatementAccounting.Scope scope;
+
+	private QueryBudget() {
+		this.scope = StatementAccounting.begin();
+	}
+
+	public static QueryBudget start() {
+		return new QueryBudget();
+	}
+
+	public int statements() {
+		return scope.statements();
+	}
+
+	public QueryBudget assertStatements(int expected) {
+		assertThat(scope.statements()).as("JDBC statements executed").isEqualTo(expected);
+		return this;
+	}
+
+	public QueryBudget assertAtMost(int max) {
+		assertThat(scope.statements()).as("JDBC statements executed").isLessThanOrEqualTo(max);
+		return this;
+	}
+
+	public QueryBudget assertNoRepeatedStatements() {
+		return assertNoStatementRepeatedMoreThan(REPEATED_STATEMENT_THRESHOLD);
+	}
+
+	public QueryBudget assertNoStatementRepeatedMoreThan(int times) {
+		assertThat(scope.repeatedStatements(times)).as("SQL executed more than %d times (N+1)", times).isEmpty();
+		return this;
+	}
+
+	@Override
+	public void close() {
+		scope.close();
+	}
+
+}
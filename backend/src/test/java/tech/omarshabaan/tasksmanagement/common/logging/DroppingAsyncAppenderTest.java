@@ -0,0 +1,83 @@
+package tech.omarshabaan.tasksmanagement.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DroppingAsyncAppenderTest {
+
+	@Test
+	void shouldDropAndCountInfoAndDebug_ButKeepWarn_WhenQueueIsNearlyFull() throws Exception {
+		// Given - a writer that stalls on the first event, and a queue of 4 that
+		// drops below 2 free slots
+		LoggerContext loggerContext = new LoggerContext();
+		loggerContext.setMDCAdapter(new LogbackMDCAdapter());
+		StalledAppender writer = new StalledAppender();
+		writer.setContext(loggerContext);
+		writer.start();
+		DroppingAsyncAppender appender = new DroppingAsyncAppender();
+		appender.setContext(loggerContext);
+		appender.setQueueSize(4);
+		appender.setDiscardingThreshold(2);
+		appender.addAppender(writer);
+		appender.start();
+
+		appender.doAppend(event(loggerContext, Level.WARN, "stalls the writer"));
+		assertThat(writer.entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+		// When
+		appender.doAppend(event(loggerContext, Level.WARN, "warn 1"));
+		appender.doAppend(event(loggerContext, Level.WARN, "warn 2"));
+		appender.doAppend(event(loggerContext, Level.INFO, "info kept"));
+		appender.doAppend(event(loggerContext, Level.INFO, "info dropped"));
+		appender.doAppend(event(loggerContext, Level.DEBUG, "debug dropped"));
+		appender.doAppend(event(loggerContext, Level.ERROR, "error kept"));
+		writer.release.countDown();
+		appender.stop();
+
+		// Then
+		assertThat(appender.droppedCount(Level.INFO)).isEqualTo(1);
+		assertThat(appender.droppedCount(Level.DEBUG)).isEqualTo(1);
+		assertThat(appender.droppedCount(Level.WARN)).isZero();
+		assertThat(writer.messages).containsExactly("stalls the writer", "warn 1", "warn 2", "info kept", "error kept");
+	}
+
+	private static LoggingEvent event(LoggerContext loggerContext, Level level, String message) {
+		return new LoggingEvent(DroppingAsyncAppenderTest.class.getName(), loggerContext.getLogger("test"), level,
+				message, null, null);
+	}
+
+	private static final class StalledAppender extends AppenderBase<ILoggingEvent> {
+
+		private final CountDownLatch entered = new CountDownLatch(1);
+
+		private final CountDownLatch release = new CountDownLatch(1);
+
+		private final List<String> messages = new CopyOnWriteArrayList<>();
+
+		@Override
+		protected void append(ILoggingEvent event) {
+			messages.add(event.getFormattedMessage());
+			entered.countDown();
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+	}
+
+}
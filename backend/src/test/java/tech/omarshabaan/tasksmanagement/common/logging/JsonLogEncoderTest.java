@@ -0,0 +1,79 @@
+package tech.omarshabaan.tasksmanagement.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonLogEncoderTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final LoggerContext loggerContext = new LoggerContext();
+
+	private final JsonLogEncoder encoder = new JsonLogEncoder();
+
+	@BeforeEach
+	void setUp() {
+		encoder.setContext(loggerContext);
+		encoder.start();
+	}
+
+	@Test
+	void shouldWriteOneJsonLinePerEvent() throws Exception {
+		// Given
+		LoggingEvent event = event(Level.WARN, "Quote \" backslash \\ tab \t bell \u0007 café € 🚀",
+				Map.of("traceId", "4bf92f3577b34da6a3ce929d0e0e4736", "userId", "anonymousUser"), null);
+
+		// When
+		byte[] line = encoder.encode(event);
+
+		// Then
+		String text = new String(line, StandardCharsets.UTF_8);
+		assertThat(text).endsWith("}\n").doesNotContain("\t").hasLineCount(1);
+		JsonNode json = objectMapper.readTree(line);
+		assertThat(json.get("timestamp").asLong()).isEqualTo(event.getTimeStamp());
+		assertThat(json.get("level").asText()).isEqualTo("WARN");
+		assertThat(json.get("thread").asText()).isEqualTo("main-test");
+		assertThat(json.get("logger").asText()).isEqualTo("tech.omarshabaan.Test");
+		assertThat(json.get("message").asText()).isEqualTo(event.getFormattedMessage());
+		assertThat(json.get("mdc").get("traceId").asText()).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+		assertThat(json.get("mdc").get("userId").asText()).isEqualTo("anonymousUser");
+		assertThat(json.has("stackTrace")).isFalse();
+	}
+
+	@Test
+	void shouldIncludeStackTrace_AndReuseBufferAfterLargeEvent() throws Exception {
+		// Given
+		LoggingEvent failure = event(Level.ERROR, "x".repeat(100_000), Map.of(), new IllegalStateException("boom"));
+		LoggingEvent small = event(Level.INFO, "ok", Map.of(), null);
+
+		// When
+		JsonNode large = objectMapper.readTree(encoder.encode(failure));
+		JsonNode next = objectMapper.readTree(encoder.encode(small));
+
+		// Then
+		assertThat(large.get("message").asText()).hasSize(100_000);
+		assertThat(large.get("stackTrace").asText()).contains("java.lang.IllegalStateException: boom")
+			.contains("JsonLogEncoderTest");
+		assertThat(next.get("message").asText()).isEqualTo("ok");
+		assertThat(next.has("mdc")).isFalse();
+	}
+
+	private LoggingEvent event(Level level, String message, Map<String, String> mdc, Throwable throwable) {
+		LoggingEvent event = new LoggingEvent(getClass().getName(), loggerContext.getLogger("tech.omarshabaan.Test"),
+				level, message, throwable, null);
+		event.setThreadName("main-test");
+		event.setMDCPropertyMap(mdc);
+		return event;
+	}
+
+}
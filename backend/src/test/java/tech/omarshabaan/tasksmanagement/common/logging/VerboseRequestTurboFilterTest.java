@@ -0,0 +1,98 @@
+package tech.omarshabaan.tasksmanagement.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VerboseRequestTurboFilterTest {
+
+	private final LoggerContext loggerContext = new LoggerContext();
+
+	private final VerboseLogging verboseLogging = new VerboseLogging(Level.DEBUG,
+			List.of("org.springframework.security", "tech.omarshabaan"), "secret", 0, Set.of("user-1"));
+
+	private Logger securityLogger;
+
+	private Logger otherLogger;
+
+	@BeforeEach
+	void setUp() {
+		VerboseRequestTurboFilter filter = new VerboseRequestTurboFilter(verboseLogging);
+		filter.setContext(loggerContext);
+		filter.start();
+		loggerContext.addTurboFilter(filter);
+		loggerContext.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.INFO);
+		securityLogger = loggerContext.getLogger("org.springframework.security.web.FilterChainProxy");
+		otherLogger = loggerContext.getLogger("org.hibernate.SQL");
+	}
+
+	@AfterEach
+	void tearDown() {
+		MDC.clear();
+	}
+
+	@Test
+	void shouldEnableVerboseLevels_OnlyForMarkedRequestsAndConfiguredLoggers() {
+		// Given - not marked
+		assertThat(securityLogger.isDebugEnabled()).isFalse();
+		assertThat(securityLogger.isInfoEnabled()).isTrue();
+
+		// When - marked by the servlet filter
+		MDC.put(VerboseLogging.MDC_KEY, "header");
+
+		// Then - down to the verbose level, configured loggers only
+		assertThat(securityLogger.isDebugEnabled()).isTrue();
+		assertThat(securityLogger.isTraceEnabled()).isFalse();
+		assertThat(otherLogger.isDebugEnabled()).isFalse();
+	}
+
+	@Test
+	void shouldEnableVerboseLevels_ForConfiguredUserIdsInMdc() {
+		// Given
+		MDC.put("userId", "user-2");
+		assertThat(securityLogger.isDebugEnabled()).isFalse();
+
+		// When
+		MDC.put("userId", "user-1");
+
+		// Then
+		assertThat(securityLogger.isDebugEnabled()).isTrue();
+
+		// and user ids can be replaced at runtime
+		verboseLogging.update(null, Set.of("user-2"));
+		assertThat(securityLogger.isDebugEnabled()).isFalse();
+		verboseLogging.reset();
+		assertThat(securityLogger.isDebugEnabled()).isTrue();
+	}
+
+	@Test
+	void shouldMarkRequestsByHeaderTokenOrSampling() {
+		// Given
+		MockHttpServletRequest withToken = new MockHttpServletRequest();
+		withToken.addHeader(VerboseLogging.HEADER, "secret");
+		MockHttpServletRequest withWrongToken = new MockHttpServletRequest();
+		withWrongToken.addHeader(VerboseLogging.HEADER, "guess");
+		MockHttpServletRequest plain = new MockHttpServletRequest();
+
+		// Then
+		assertThat(verboseLogging.reason(withToken)).isEqualTo("header");
+		assertThat(verboseLogging.reason(withWrongToken)).isNull();
+		assertThat(verboseLogging.reason(plain)).isNull();
+
+		verboseLogging.update(1.0, null);
+		assertThat(verboseLogging.reason(plain)).isEqualTo("sampled");
+		assertThatThrownBy(() -> verboseLogging.update(1.5, null)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+}
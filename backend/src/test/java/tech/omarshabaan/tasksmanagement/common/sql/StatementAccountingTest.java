@@ -0,0 +1,49 @@
+package tech.omarshabaan.tasksmanagement.common.sql;
+
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatementAccountingTest {
+
+	private final StatementAccountingListener listener = new StatementAccountingListener();
+
+	@Test
+	void shouldCountStatementsInEveryOpenScope() {
+		try (StatementAccounting.Scope outer = StatementAccounting.begin()) {
+			execute("select 1");
+			try (StatementAccounting.Scope inner = StatementAccounting.begin()) {
+				execute("select 2");
+				assertThat(inner.statements()).isEqualTo(1);
+			}
+			execute("select 3");
+
+			assertThat(outer.statements()).isEqualTo(3);
+			assertThat(outer.time()).isGreaterThanOrEqualTo(Duration.ZERO);
+		}
+		assertThat(StatementAccounting.current()).isNull();
+	}
+
+	@Test
+	void shouldReportSqlRepeatedAboveThreshold() {
+		try (StatementAccounting.Scope scope = StatementAccounting.begin()) {
+			execute("select * from tasks where assigned_to_id=?");
+			for (int i = 0; i < 6; i++) {
+				execute("select * from users where id=?");
+			}
+
+			assertThat(scope.repeatedStatements(5)).containsOnlyKeys("select * from users where id=?").containsValue(6);
+			assertThat(scope.repeatedStatements(6)).isEmpty();
+		}
+	}
+
+	private void execute(String sql) {
+		listener.beforeQuery(null, List.of());
+		listener.afterQuery(null, List.of(new QueryInfo(sql)));
+	}
+
+}
@@ -0,0 +1,61 @@
+package tech.omarshabaan.tasksmanagement.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+
+class GatedDataSourceTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final DataSource target = mock(DataSource.class);
+
+	private final Connection connection = mock(Connection.class);
+
+	@Test
+	void shouldRejectConnectionRequest_WhenNoPermitIsFreedInTime() throws SQLException {
+		// Given
+		given(target.getConnection()).willReturn(connection);
+		GatedDataSource dataSource = new GatedDataSource(target, 1, Duration.ofMillis(50), meterRegistry);
+		Connection held = dataSource.getConnection();
+
+		// When & Then
+		assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+		assertThat(meterRegistry.get("db.gate.rejected").counter().count()).isEqualTo(1);
+		then(target).should(times(1)).getConnection();
+
+		// When - closing the held connection frees the permit, once
+		held.close();
+		held.close();
+
+		// Then
+		assertThat(meterRegistry.get("db.gate.available").gauge().value()).isEqualTo(1);
+		dataSource.getConnection();
+		then(target).should(times(2)).getConnection();
+		then(connection).should(times(2)).close();
+	}
+
+	@Test
+	void shouldReleasePermit_WhenPoolFailsToProvideConnection() throws SQLException {
+		// Given
+		given(target.getConnection()).willThrow(new SQLTransientConnectionException("pool timeout"));
+		GatedDataSource dataSource = new GatedDataSource(target, 1, Duration.ofMillis(50), meterRegistry);
+
+		// When & Then
+		assertThatThrownBy(dataSource::getConnection).hasMessage("pool timeout");
+		assertThat(meterRegistry.get("db.gate.available").gauge().value()).isEqualTo(1);
+	}
+
+}
@@ -0,0 +1,42 @@
+package tech.omarshabaan.tasksmanagement.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TracingFileConditionTest {
+
+	private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+		.withUserConfiguration(FileExportConfiguration.class);
+
+	@Test
+	void shouldMatch_WhenFileIsSet() {
+		contextRunner.withPropertyValues("app.tracing.file=/tmp/spans.jsonl")
+			.run(context -> assertThat(context).hasBean("fileExport"));
+	}
+
+	@Test
+	void shouldNotMatch_WhenFileIsBlankOrMissing() {
+		contextRunner.withPropertyValues("app.tracing.file=")
+			.run(context -> assertThat(context).doesNotHaveBean("fileExport"));
+		contextRunner.withPropertyValues("app.tracing.file=  ")
+			.run(context -> assertThat(context).doesNotHaveBean("fileExport"));
+		contextRunner.run(context -> assertThat(context).doesNotHaveBean("fileExport"));
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	static class FileExportConfiguration {
+
+		@Bean
+		@Conditional(TracingConfiguration.TracingFileCondition.class)
+		String fileExport() {
+			return "file";
+		}
+
+	}
+
+}
@@ -0,0 +1,18 @@
+package tech.omarshabaan.tasksmanagement.config;
+
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Collects finished spans in memory so integration tests can assert on traces.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class TracingTestConfiguration {
+
+	@Bean
+	public InMemorySpanExporter inMemorySpanExporter() {
+		return InMemorySpanExporter.create();
+	}
+
+}
@@ -0,0 +1,177 @@
+package tech.omarshabaan.tasksmanagement.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.restdocs.AutoConfigureRestDocs;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import tech.omarshabaan.tasksmanagement.config.RestDocsTestConfiguration;
+import tech.omarshabaan.tasksmanagement.config.SecurityConfig;
+import tech.omarshabaan.tasksmanagement.controller.analytics.AnalyticsController;
+import tech.omarshabaan.tasksmanagement.dto.analytics.DailyTaskCount;
+import tech.omarshabaan.tasksmanagement.dto.analytics.DailyTaskCountsResponse;
+import tech.omarshabaan.tasksmanagement.dto.analytics.OverdueTaskCountsResponse;
+import tech.omarshabaan.tasksmanagement.dto.analytics.TaskStatusPriorityCount;
+import tech.omarshabaan.tasksmanagement.dto.analytics.TaskStatusPriorityCountsResponse;
+import tech.omarshabaan.tasksmanagement.entity.TaskPriority;
+import tech.omarshabaan.tasksmanagement.entity.TaskStatus;
+import tech.omarshabaan.tasksmanagement.exception.GlobalExceptionHandler;
+import tech.omarshabaan.tasksmanagement.security.CustomUserDetails;
+import tech.omarshabaan.tasksmanagement.security.DelegatedAccessDeniedHandler;
+import tech.omarshabaan.tasksmanagement.security.DelegatedAuthenticationEntryPoint;
+import tech.omarshabaan.tasksmanagement.service.analytics.TaskAnalyticsService;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.get;
+import static org.springframework.restdocs.operation.preprocess.Preprocessors.preprocessRequest;
+import static org.springframework.restdocs.operation.preprocess.Preprocessors.preprocessResponse;
+import static org.springframework.restdocs.operation.preprocess.Preprocessors.prettyPrint;
+import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
+import static org.springframework.restdocs.payload.PayloadDocumentation.responseFields;
+import static org.springframework.restdocs.payload.PayloadDocumentation.subsectionWithPath;
+import static org.springframework.restdocs.request.RequestDocumentation.parameterWithName;
+import static org.springframework.restdocs.request.RequestDocumentation.queryParameters;
+import static org.springframework.restdocs.snippet.Attributes.key;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(AnalyticsController.class)
+@AutoConfigureRestDocs
+@Import({ SecurityConfig.class, GlobalExceptionHandler.class, DelegatedAuthenticationEntryPoint.class,
+		DelegatedAccessDeniedHandler.class, RestDocsTestConfiguration.class })
+class AnalyticsControllerTest {
+
+	private static final Instant REFRESHED_AT = Instant.parse("2025-10-01T08:15:00Z");
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private TaskAnalyticsService taskAnalyticsService;
+
+	@MockitoBean
+	private UserDetailsService userDetailsService;
+
+	private UsernamePasswordAuthenticationToken createAuthentication(String role) {
+		CustomUserDetails userDetails = new CustomUserDetails(UUID.randomUUID(), UUID.randomUUID(), "admin@example.com",
+				List.of(new SimpleGrantedAuthority(role)), true, false);
+		return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+	}
+
+	@Test
+	void shouldGetStatusPriorityCounts_whenAdmin() throws Exception {
+		// Given
+		given(taskAnalyticsService.getStatusPriorityCounts()).willReturn(new TaskStatusPriorityCountsResponse(
+				REFRESHED_AT, List.of(new TaskStatusPriorityCount(TaskStatus.COMPLETED, TaskPriority.LOW, 12),
+						new TaskStatusPriorityCount(TaskStatus.PENDING, TaskPriority.HIGH, 3))));
+
+		// When & Then
+		mockMvc
+			.perform(get("/api/admin/analytics/tasks/status-priority")
+				.with(authentication(createAuthentication("ROLE_ADMIN"))))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.counts.size()").value(2))
+			.andExpect(jsonPath("$.counts[1].count").value(3))
+			.andDo(document("analytics-controller/status-priority/success", preprocessRequest(prettyPrint()),
+					preprocessResponse(prettyPrint()),
+					responseFields(fieldWithPath("refreshedAt").description("When the rollups were last refreshed"),
+							fieldWithPath("counts[].status").description("Status of the tasks"),
+							fieldWithPath("counts[].priority").description("Priority of the tasks"),
+							fieldWithPath("counts[].count").description("Number of tasks"))));
+	}
+
+	@Test
+	void shouldGetOverdueCounts_whenAdmin() throws Exception {
+		// Given
+		given(taskAnalyticsService.getOverdueCounts()).willReturn(new OverdueTaskCountsResponse(REFRESHED_AT,
+				Instant.parse("2025-10-01T08:00:00Z"), 7,
+				Map.of(TaskPriority.LOW, 0L, TaskPriority.MEDIUM, 2L, TaskPriority.HIGH, 4L, TaskPriority.URGENT, 1L)));
+
+		// When & Then
+		mockMvc
+			.perform(get("/api/admin/analytics/tasks/overdue").with(authentication(createAuthentication("ROLE_ADMIN"))))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.total").value(7))
+			.andExpect(jsonPath("$.byPriority.HIGH").value(4))
+			.andDo(document("analytics-controller/overdue/success", preprocessRequest(prettyPrint()),
+					preprocessResponse(prettyPrint()),
+					responseFields(fieldWithPath("refreshedAt").description("When the rollups were last refreshed"),
+							fieldWithPath("asOf")
+								.description("Start of the current UTC hour; open tasks due before it are overdue"),
+							fieldWithPath("total").description("Number of overdue tasks"),
+							subsectionWithPath("byPriority").description("Number of overdue tasks by priority"))));
+	}
+
+	@Test
+	void shouldGetDailyCounts_whenAdmin() throws Exception {
+		// Given
+		LocalDate to = LocalDate.parse("2025-10-01");
+		given(taskAnalyticsService.getDailyCounts(to, 2)).willReturn(new DailyTaskCountsResponse(REFRESHED_AT,
+				List.of(new DailyTaskCount(to.minusDays(1), 5, 1), new DailyTaskCount(to, 0, 3))));
+
+		// When & Then
+		mockMvc
+			.perform(get("/api/admin/analytics/tasks/daily").param("to", "2025-10-01")
+				.param("days", "2")
+				.with(authentication(createAuthentication("ROLE_ADMIN"))))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.days[0].day").value("2025-09-30"))
+			.andExpect(jsonPath("$.days[1].completed").value(3))
+			.andDo(document("analytics-controller/daily/success", preprocessRequest(prettyPrint()),
+					preprocessResponse(prettyPrint()),
+					queryParameters(
+							parameterWithName("to").description("Last UTC day of the range")
+								.optional()
+								.attributes(key("defaultValue").value("Today"),
+										key("constraint").value("ISO 8601 date, e.g. 2025-10-01")),
+							parameterWithName("days").description("Number of days in the range")
+								.optional()
+								.attributes(key("defaultValue").value("30"),
+										key("constraint").value("1 to " + AnalyticsController.MAX_DAYS))),
+					responseFields(fieldWithPath("refreshedAt").description("When the rollups were last refreshed"),
+							fieldWithPath("days[].day").description("UTC day, oldest first"),
+							fieldWithPath("days[].created").description("Tasks created on the day"),
+							fieldWithPath("days[].completed").description("Tasks completed on the day"))));
+	}
+
+	@Test
+	void shouldReturnBadRequest_whenDaysAboveMaximum() throws Exception {
+		// When & Then
+		mockMvc
+			.perform(get("/api/admin/analytics/tasks/daily")
+				.param("days", String.valueOf(AnalyticsController.MAX_DAYS + 1))
+				.with(authentication(createAuthentication("ROLE_ADMIN"))))
+			.andExpect(status().isBadRequest());
+
+		// Then
+		then(taskAnalyticsService).shouldHaveNoInteractions();
+	}
+
+	@Test
+	void shouldReturnForbidden_whenNotAdmin() throws Exception {
+		// When & Then
+		mockMvc
+			.perform(get("/api/admin/analytics/tasks/overdue").with(authentication(createAuthentication("ROLE_USER"))))
+			.andExpect(status().isForbidden())
+			.andDo(document("analytics-controller/overdue/forbidden", preprocessRequest(prettyPrint()),
+					preprocessResponse(prettyPrint())));
+
+		// Then
+		then(taskAnalyticsService).shouldHaveNoInteractions();
+	}
+
+}
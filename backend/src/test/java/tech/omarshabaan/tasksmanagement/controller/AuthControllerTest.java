@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.restdocs.AutoConfigureRestDocs;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.restdocs.payload.FieldDescriptor;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -20,12 +21,15 @@ import tech.omarshabaan.tasksmanagement.config.SecurityConfig;
 import tech.omarshabaan.tasksmanagement.controller.auth.AuthController;
 import tech.omarshabaan.tasksmanagement.dto.auth.UserSigninResponse;
 import tech.omarshabaan.tasksmanagement.exception.GlobalExceptionHandler;
+import tech.omarshabaan.tasksmanagement.exception.PasswordHashingUnavailableException;
 import tech.omarshabaan.tasksmanagement.repository.auth.UserSecurityRepository;
 import tech.omarshabaan.tasksmanagement.repository.user.UserRepository;
 import tech.omarshabaan.tasksmanagement.security.DelegatedAccessDeniedHandler;
 import tech.omarshabaan.tasksmanagement.security.DelegatedAuthenticationEntryPoint;
 import tech.omarshabaan.tasksmanagement.service.auth.AuthService;
+import tech.omarshabaan.tasksmanagement.validation.BreachedPasswordList;
 
+import java.time.Duration;
 import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -43,6 +47,7 @@ import static org.springframework.restdocs.payload.PayloadDocumentation.requestF
 import static org.springframework.restdocs.payload.PayloadDocumentation.responseFields;
 import static org.springframework.restdocs.snippet.Attributes.key;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static tech.omarshabaan.tasksmanagement.controller.AuthControllerTest.AuthControllerSnippets.signinRequestFields;
@@ -70,6 +75,9 @@ class AuthControllerTest {
 	@MockitoBean
 	private UserDetailsService userDetailsService;
 
+	@MockitoBean
+	private BreachedPasswordList breachedPasswordList;
+
 	@Test
 	void shouldSignupUser_whenValidRequest() throws Exception {
 		// Given
@@ -115,6 +123,32 @@ class AuthControllerTest {
 		then(authService).shouldHaveNoInteractions();
 	}
 
+	@Test
+	void shouldReturnBadRequest_whenPasswordIsBreached() throws Exception {
+		// Given - a password that passes the policy but is on the breached list
+		given(userRepository.existsByUsername("testuser")).willReturn(false);
+		given(userSecurityRepository.existsByEmail("test@example.com")).willReturn(false);
+		given(breachedPasswordList.contains("P@ssw0rd123!")).willReturn(true);
+
+		// When & Then
+		mockMvc.perform(post("/api/auth/signup").contentType(MediaType.APPLICATION_JSON).content("""
+				{
+				  "username": "testuser",
+				  "email": "test@example.com",
+				  "password": "P@ssw0rd123!",
+				  "confirmPassword": "P@ssw0rd123!"
+				}
+				"""))
+			.andExpect(status().isBadRequest())
+			.andExpect(jsonPath("$.errors.password")
+				.value("Password has appeared in a known data breach, please choose another one"))
+			.andDo(document("auth-controller/signup/breached-password", preprocessRequest(prettyPrint()),
+					preprocessResponse(prettyPrint())));
+
+		// Then
+		then(authService).shouldHaveNoInteractions();
+	}
+
 	@Test
 	void shouldReturnBadRequest_whenUsernameIsBlank() throws Exception {
 		// Given - blank username
@@ -183,6 +217,26 @@ class AuthControllerTest {
 		then(authService).should().authenticateUser(any(), any(HttpServletResponse.class));
 	}
 
+	@Test
+	void shouldReturnServiceUnavailable_whenPasswordHashingIsSaturated() throws Exception {
+		// Given
+		given(authService.authenticateUser(eq(TestObjects.testUserSigninRequest), any(HttpServletResponse.class)))
+			.willThrow(new PasswordHashingUnavailableException(
+					"Too many concurrent sign-in requests, try again shortly", Duration.ofSeconds(1)));
+
+		// When & Then
+		mockMvc.perform(post("/api/auth/signin").contentType(MediaType.APPLICATION_JSON).content("""
+				{
+				  "email": "test@example.com",
+				  "password": "P@ssw0rd123!"
+				}
+				"""))
+			.andExpect(status().isServiceUnavailable())
+			.andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+			.andDo(document("auth-controller/signin/overloaded", preprocessRequest(prettyPrint()),
+					preprocessResponse(prettyPrint())));
+	}
+
 	@Test
 	void shouldRefreshToken_whenValidRefreshToken() throws Exception {
 		// Given
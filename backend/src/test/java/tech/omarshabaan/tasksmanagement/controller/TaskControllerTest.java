@@ -23,6 +23,9 @@ import tech.omarshabaan.tasksmanagement.config.RsaKeyProperties;
 import tech.omarshabaan.tasksmanagement.config.SecurityConfig;
 import tech.omarshabaan.tasksmanagement.controller.task.TaskController;
 import tech.omarshabaan.tasksmanagement.dto.task.GetTaskResponse;
+import tech.omarshabaan.tasksmanagement.dto.task.TaskExportFormat;
+import tech.omarshabaan.tasksmanagement.dto.task.TaskImportError;
+import tech.omarshabaan.tasksmanagement.dto.task.TaskImportResponse;
 import tech.omarshabaan.tasksmanagement.dto.task.TaskSummaryResponse;
 import tech.omarshabaan.tasksmanagement.entity.Role;
 import tech.omarshabaan.tasksmanagement.entity.RoleName;
@@ -30,12 +33,18 @@ import tech.omarshabaan.tasksmanagement.entity.TaskPriority;
 import tech.omarshabaan.tasksmanagement.entity.TaskStatus;
 import tech.omarshabaan.tasksmanagement.entity.UserSecurity;
 import tech.omarshabaan.tasksmanagement.exception.GlobalExceptionHandler;
+import tech.omarshabaan.tasksmanagement.exception.IdempotencyKeyMismatchException;
 import tech.omarshabaan.tasksmanagement.security.CustomUserDetails;
 import tech.omarshabaan.tasksmanagement.security.DelegatedAccessDeniedHandler;
 import tech.omarshabaan.tasksmanagement.security.DelegatedAuthenticationEntryPoint;
 import tech.omarshabaan.tasksmanagement.security.JwtToUserAuthenticationConverter;
+import tech.omarshabaan.tasksmanagement.service.task.TaskExportService;
+import tech.omarshabaan.tasksmanagement.service.task.TaskImportService;
 import tech.omarshabaan.tasksmanagement.service.task.TaskService;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
@@ -47,7 +56,10 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.BDDMockito.willDoNothing;
+import static org.springframework.restdocs.headers.HeaderDocumentation.headerWithName;
+import static org.springframework.restdocs.headers.HeaderDocumentation.requestHeaders;
 import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.delete;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.get;
@@ -65,9 +77,14 @@ import static org.springframework.restdocs.request.RequestDocumentation.pathPara
 import static org.springframework.restdocs.request.RequestDocumentation.queryParameters;
 import static org.springframework.restdocs.snippet.Attributes.key;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static tech.omarshabaan.tasksmanagement.controller.TaskControllerTest.TaskControllerSnippets.createTaskRequestFields;
+import static tech.omarshabaan.tasksmanagement.controller.TaskControllerTest.TaskControllerSnippets.moveTaskRequestFields;
 import static tech.omarshabaan.tasksmanagement.controller.TaskControllerTest.TaskControllerSnippets.taskResponseFields;
 import static tech.omarshabaan.tasksmanagement.controller.TaskControllerTest.TaskControllerSnippets.taskSummaryResponseFields;
 import static tech.omarshabaan.tasksmanagement.controller.TaskControllerTest.TaskControllerSnippets.updateTaskRequestFields;
@@ -85,6 +102,12 @@ class TaskControllerTest {
 	@MockitoBean
 	private TaskService taskService;
 
+	@MockitoBean
+	private TaskExportService taskExportService;
+
+	@MockitoBean
+	private TaskImportService taskImportService;
+
 	@MockitoBean
 	private UserDetailsService userDetailsService;
 
@@ -133,6 +156,82 @@ class TaskControllerTest {
 		then(taskService).should().createTask(any(), any());
 	}
 
+	@Test
+	void shouldCreateTask_whenIdempotencyKeyGiven() throws Exception {
+		// Given
+		GetTaskResponse response = new GetTaskResponse(UUID.randomUUID(), "Test Task", null, TaskStatus.PENDING,
+				TaskPriority.HIGH, null, Instant.now(), Instant.now());
+
+		given(taskService.createTask(any(), eq(testUserUuid), eq("3f0c2a9e-retry-1"))).willReturn(response);
+
+		// When & Then
+		mockMvc
+			.perform(post("/api/tasks").contentType(MediaType.APPLICATION_JSON)
+				.header(TaskController.IDEMPOTENCY_KEY_HEADER, "3f0c2a9e-retry-1")
+				.with(authentication(createAuthentication()))
+				.content("""
+						{
+						  "title": "Test Task",
+						  "priority": "HIGH"
+						}
+						"""))
+			.andExpect(status().isCreated())
+			.andExpect(jsonPath("$.uuid").value(response.uuid().toString()))
+			.andDo(document("task-controller/create/idempotency-key", preprocessRequest(prettyPrint()),
+					preprocessResponse(prettyPrint()),
+					requestHeaders(headerWithName(TaskController.IDEMPOTENCY_KEY_HEADER)
+						.description("Optional key, at most " + TaskController.MAX_IDEMPOTENCY_KEY_LENGTH
+								+ " characters, that makes the request safe to retry: the task is created once "
+								+ "per user and key, and a retry with the key gets the original response")
+						.optional())));
+
+		// Then
+		then(taskService).should().createTask(any(), eq(testUserUuid), eq("3f0c2a9e-retry-1"));
+	}
+
+	@Test
+	void shouldReturnUnprocessableEntity_whenIdempotencyKeyReusedWithDifferentRequest() throws Exception {
+		// Given
+		given(taskService.createTask(any(), eq(testUserUuid), eq("3f0c2a9e-retry-1")))
+			.willThrow(new IdempotencyKeyMismatchException("3f0c2a9e-retry-1"));
+
+		// When & Then
+		mockMvc
+			.perform(post("/api/tasks").contentType(MediaType.APPLICATION_JSON)
+				.header(TaskController.IDEMPOTENCY_KEY_HEADER, "3f0c2a9e-retry-1")
+				.with(authentication(createAuthentication()))
+				.content("""
+						{
+						  "title": "Another Task",
+						  "priority": "LOW"
+						}
+						"""))
+			.andExpect(status().isUnprocessableEntity())
+			.andExpect(jsonPath("$.title").value("Idempotency Key Reused"))
+			.andDo(document("task-controller/create/idempotency-key-reused", preprocessRequest(prettyPrint()),
+					preprocessResponse(prettyPrint())));
+	}
+
+	@Test
+	void shouldReturnBadRequest_whenIdempotencyKeyTooLong() throws Exception {
+		// When & Then
+		mockMvc
+			.perform(post("/api/tasks").contentType(MediaType.APPLICATION_JSON)
+				.header(TaskController.IDEMPOTENCY_KEY_HEADER,
+						"k".repeat(TaskController.MAX_IDEMPOTENCY_KEY_LENGTH + 1))
+				.with(authentication(createAuthentication()))
+				.content("""
+						{
+						  "title": "Test Task",
+						  "priority": "HIGH"
+						}
+						"""))
+			.andExpect(status().isBadRequest());
+
+		// Then
+		then(taskService).shouldHaveNoInteractions();
+	}
+
 	@Test
 	void shouldReturnBadRequest_whenTitleIsBlank() throws Exception {
 		// Given - blank title
@@ -201,6 +300,18 @@ class TaskControllerTest {
 			.andExpect(jsonPath("$.content[1].title").value("Task 2"))
 			.andDo(document("task-controller/get-tasks/success", preprocessRequest(prettyPrint()),
 					preprocessResponse(prettyPrint()),
+					queryParameters(
+							parameterWithName("status").description("Only list tasks in this status")
+								.optional()
+								.attributes(key("defaultValue").value(""),
+										key("constraint").value("PENDING, IN_PROGRESS, COMPLETED or CANCELLED")),
+							parameterWithName("page").description("Zero-based page number")
+								.optional()
+								.attributes(key("defaultValue").value("0"), key("constraint").value("At least 0")),
+							parameterWithName("size").description("Tasks per page")
+								.optional()
+								.attributes(key("defaultValue").value("20"),
+										key("constraint").value("1 to " + TaskController.MAX_PAGE_SIZE))),
 					responseFields(fieldWithPath("content").description("Array of task summaries"))
 						.andWithPrefix("content[].", taskSummaryResponseFields)
 						.and(PAGINATION_FIELDS)));
@@ -231,6 +342,170 @@ class TaskControllerTest {
 		then(taskService).should().getUserTasks(any(), eq(TaskStatus.PENDING), any());
 	}
 
+	@Test
+	void shouldReturnBadRequest_whenPageSizeAboveMaximum() throws Exception {
+		// When & Then
+		mockMvc
+			.perform(get("/api/tasks/me").param("size", String.valueOf(TaskController.MAX_PAGE_SIZE + 1))
+				.with(authentication(createAuthentication())))
+			.andExpect(status().isBadRequest())
+			.andDo(document("task-controller/get-tasks/page-size-above-maximum", preprocessRequest(prettyPrint()),
+					preprocessResponse(prettyPrint())));
+
+		// Then
+		then(taskService).shouldHaveNoInteractions();
+	}
+
+	@Test
+	void shouldGetOverdueTasks() throws Exception {
+		// Given
+		TaskSummaryResponse task = new TaskSummaryResponse(UUID.randomUUID(), "Overdue Task", TaskStatus.IN_PROGRESS,
+				TaskPriority.HIGH, Instant.now().minus(2, ChronoUnit.DAYS));
+		given(taskService.getOverdueTasks(eq(testUserUuid), any()))
+			.willReturn(new PageImpl<>(List.of(task), PageRequest.of(0, 20), 1));
+
+		// When & Then
+		mockMvc.perform(get("/api/tasks/me/overdue").with(authentication(createAuthentication())))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.content.size()").value(1))
+			.andExpect(jsonPath("$.content[0].title").value("Overdue Task"))
+			.andDo(document("task-controller/get-overdue-tasks/success", preprocessRequest(prettyPrint()),
+					preprocessResponse(prettyPrint()),
+					queryParameters(
+							parameterWithName("page").description("Zero-based page number")
+								.optional()
+								.attributes(key("defaultValue").value("0"), key("constraint").value("At least 0")),
+							parameterWithName("size").description("Tasks per page")
+								.optional()
+								.attributes(key("defaultValue").value("20"),
+										key("constraint").value("1 to " + TaskController.MAX_PAGE_SIZE))),
+					responseFields(fieldWithPath("content")
+						.description("Open tasks past their due date, the longest overdue first"))
+						.andWithPrefix("content[].", taskSummaryResponseFields)
+						.and(PAGINATION_FIELDS)));
+
+		// Then
+		then(taskService).should().getOverdueTasks(eq(testUserUuid), eq(PageRequest.of(0, 20)));
+	}
+
+	@Test
+	void shouldGetTasksDueSoon() throws Exception {
+		// Given
+		TaskSummaryResponse task = new TaskSummaryResponse(UUID.randomUUID(), "Due Soon Task", TaskStatus.PENDING,
+				TaskPriority.MEDIUM, Instant.now().plus(6, ChronoUnit.HOURS));
+		given(taskService.getTasksDueSoon(eq(testUserUuid), eq(Duration.ofHours(48)), any()))
+			.willReturn(new PageImpl<>(List.of(task), PageRequest.of(0, 20), 1));
+
+		// When & Then
+		mockMvc.perform(get("/api/tasks/me/due-soon").param("hours", "48").with(authentication(createAuthentication())))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.content[0].title").value("Due Soon Task"))
+			.andDo(document("task-controller/get-tasks-due-soon/success", preprocessRequest(prettyPrint()),
+					preprocessResponse(prettyPrint()),
+					queryParameters(
+							parameterWithName("hours").description("How far ahead to look, from now")
+								.optional()
+								.attributes(key("defaultValue").value("24"),
+										key("constraint").value("1 to " + TaskController.MAX_DUE_SOON_HOURS)),
+							parameterWithName("page").description("Zero-based page number")
+								.optional()
+								.attributes(key("defaultValue").value("0"), key("constraint").value("At least 0")),
+							parameterWithName("size").description("Tasks per page")
+								.optional()
+								.attributes(key("defaultValue").value("20"),
+										key("constraint").value("1 to " + TaskController.MAX_PAGE_SIZE))),
+					responseFields(
+							fieldWithPath("content").description("Open tasks due within the window, the soonest first"))
+						.andWithPrefix("content[].", taskSummaryResponseFields)
+						.and(PAGINATION_FIELDS)));
+	}
+
+	@Test
+	void shouldReturnBadRequest_whenDueSoonHoursAboveMaximum() throws Exception {
+		// When & Then
+		mockMvc
+			.perform(get("/api/tasks/me/due-soon").param("hours", String.valueOf(TaskController.MAX_DUE_SOON_HOURS + 1))
+				.with(authentication(createAuthentication())))
+			.andExpect(status().isBadRequest());
+
+		// Then
+		then(taskService).shouldHaveNoInteractions();
+	}
+
+	@Test
+	void shouldExportTasks_AsCsv() throws Exception {
+		// Given
+		String csv = """
+				uuid,title,description,status,priority,dueDate,createdAt,updatedAt\r
+				0199a3c2-5f1e-7b3a-9c4d-2e8f6a1b7c90,"Plan, then ship",,PENDING,HIGH,2025-12-31T23:59:59Z,2025-10-01T08:00:00Z,2025-10-01T08:00:00Z\r
+				""";
+		willAnswer(invocation -> {
+			invocation.getArgument(3, OutputStream.class).write(csv.getBytes(StandardCharsets.UTF_8));
+			return null;
+		}).given(taskExportService).exportUserTasks(any(), isNull(), eq(TaskExportFormat.CSV), any());
+
+		// When
+		var started = mockMvc
+			.perform(get("/api/tasks/me/export").param("format", "csv").with(authentication(createAuthentication())))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+
+		// Then
+		mockMvc.perform(asyncDispatch(started))
+			.andExpect(status().isOk())
+			.andExpect(header().string("Content-Disposition", "attachment; filename=\"tasks.csv\""))
+			.andExpect(content().contentType("text/csv"))
+			.andExpect(content().string(csv))
+			.andDo(document("task-controller/export/success", queryParameters(
+					parameterWithName("format").description("Format of the export, CSV or one JSON object per line")
+						.optional()
+						.attributes(key("defaultValue").value("csv"), key("constraint").value("csv or ndjson")),
+					parameterWithName("status").description("Only export tasks in this status")
+						.optional()
+						.attributes(key("defaultValue").value(""),
+								key("constraint").value("PENDING, IN_PROGRESS, COMPLETED or CANCELLED")))));
+		then(taskExportService).should().exportUserTasks(eq(testUserUuid), isNull(), eq(TaskExportFormat.CSV), any());
+	}
+
+	@Test
+	void shouldImportTasks_AndReportSkippedRows() throws Exception {
+		// Given
+		String csv = """
+				title,description,priority,dueDate\r
+				Plan the launch,,HIGH,2025-12-31T23:59:59Z\r
+				,Missing a title,LOW,\r
+				Ship it,,SOON,\r
+				""";
+		given(taskImportService.importTasks(eq(testUserUuid), eq(TaskExportFormat.CSV), any()))
+			.willReturn(new TaskImportResponse(1, 2, List.of(new TaskImportError(2, "title", "Title is required"),
+					new TaskImportError(3, "priority", "Priority must be one of [LOW, MEDIUM, HIGH, URGENT]"))));
+
+		// When & Then
+		mockMvc
+			.perform(post("/api/tasks/import").param("format", "csv")
+				.contentType("text/csv")
+				.content(csv)
+				.with(authentication(createAuthentication())))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.imported").value(1))
+			.andExpect(jsonPath("$.failed").value(2))
+			.andExpect(jsonPath("$.errors[0].row").value(2))
+			.andDo(document("task-controller/import/success", preprocessResponse(prettyPrint()),
+					queryParameters(parameterWithName("format")
+						.description("Format of the request body, CSV or one JSON object per line")
+						.optional()
+						.attributes(key("defaultValue").value("csv"), key("constraint").value("csv or ndjson"))),
+					responseFields(fieldWithPath("imported").description("Number of tasks created"),
+							fieldWithPath("failed").description("Number of rows skipped"),
+							fieldWithPath("errors").description("Why rows were skipped, at most the first 1000 errors"),
+							fieldWithPath("errors[].row")
+								.description("Number of the row, from 1, not counting the CSV header or blank lines"),
+							fieldWithPath("errors[].field")
+								.description("Field at fault, null if the row could not be read")
+								.optional(),
+							fieldWithPath("errors[].message").description("What is wrong with the row"))));
+	}
+
 	@Test
 	void shouldGetTaskByUuid_whenTaskExists() throws Exception {
 		// Given
@@ -290,6 +565,54 @@ class TaskControllerTest {
 		then(taskService).should().updateTask(eq(taskUuid), any(), any());
 	}
 
+	@Test
+	void shouldMoveTask_whenValidRequest() throws Exception {
+		// Given
+		UUID taskUuid = UUID.randomUUID();
+		UUID afterTaskUuid = UUID.randomUUID();
+		GetTaskResponse response = new GetTaskResponse(taskUuid, "Test Task", "Test Description",
+				TaskStatus.IN_PROGRESS, TaskPriority.HIGH, null, Instant.now(), Instant.now());
+
+		given(taskService.moveTask(eq(taskUuid), any(), any())).willReturn(response);
+
+		// When & Then
+		mockMvc
+			.perform(put("/api/tasks/{taskUuid}/position", taskUuid).contentType(MediaType.APPLICATION_JSON)
+				.with(authentication(createAuthentication()))
+				.content("""
+						{
+						  "status": "IN_PROGRESS",
+						  "afterTaskUuid": "%s"
+						}
+						""".formatted(afterTaskUuid)))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.status").value("IN_PROGRESS"))
+			.andDo(document("task-controller/move/success", preprocessRequest(prettyPrint()),
+					preprocessResponse(prettyPrint()),
+					pathParameters(parameterWithName("taskUuid").description("UUID of the task to move")),
+					requestFields(moveTaskRequestFields), responseFields(taskResponseFields)));
+
+		// Then
+		then(taskService).should().moveTask(eq(taskUuid), any(), any());
+	}
+
+	@Test
+	void shouldReturnBadRequest_whenMoveStatusIsNull() throws Exception {
+		// Given - no target column
+
+		// When & Then
+		mockMvc
+			.perform(put("/api/tasks/{taskUuid}/position", UUID.randomUUID()).contentType(MediaType.APPLICATION_JSON)
+				.with(authentication(createAuthentication()))
+				.content("{}"))
+			.andExpect(status().isBadRequest())
+			.andDo(document("task-controller/move/null-status", preprocessRequest(prettyPrint()),
+					preprocessResponse(prettyPrint())));
+
+		// Then
+		then(taskService).shouldHaveNoInteractions();
+	}
+
 	@Test
 	void shouldDeleteTask_whenTaskExists() throws Exception {
 		// Given
@@ -363,6 +686,13 @@ class TaskControllerTest {
 					.attributes(key("constraints").value("Optional, must be an ISO 8601 instant"))
 					.optional() };
 
+		static final FieldDescriptor[] moveTaskRequestFields = new FieldDescriptor[] {
+				fieldWithPath("status").description("Status of the board column to move the task into")
+					.attributes(key("constraints").value("Must be one of: PENDING, IN_PROGRESS, COMPLETED, CANCELLED")),
+				fieldWithPath("afterTaskUuid").description("UUID of the task to place it after; the top if absent")
+					.attributes(key("constraints").value("Optional, must be a task in the target column"))
+					.optional() };
+
 		static final FieldDescriptor[] taskResponseFields = new FieldDescriptor[] {
 				fieldWithPath("uuid").description("Unique identifier for the task"),
 				fieldWithPath("title").description("Title of the task"),
@@ -0,0 +1,254 @@
+package tech.omarshabaan.tasksmanagement.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.restdocs.AutoConfigureRestDocs;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import tech.omarshabaan.tasksmanagement.config.RestDocsTestConfiguration;
+import tech.omarshabaan.tasksmanagement.config.SecurityConfig;
+import tech.omarshabaan.tasksmanagement.controller.webhook.WebhookController;
+import tech.omarshabaan.tasksmanagement.dto.webhook.CreateWebhookSubscriptionRequest;
+import tech.omarshabaan.tasksmanagement.dto.webhook.CreatedWebhookSubscriptionResponse;
+import tech.omarshabaan.tasksmanagement.dto.webhook.WebhookDeadLetterResponse;
+import tech.omarshabaan.tasksmanagement.dto.webhook.WebhookSubscriptionResponse;
+import tech.omarshabaan.tasksmanagement.exception.GlobalExceptionHandler;
+import tech.omarshabaan.tasksmanagement.exception.WebhookSubscriptionNotFoundException;
+import tech.omarshabaan.tasksmanagement.security.CustomUserDetails;
+import tech.omarshabaan.tasksmanagement.security.DelegatedAccessDeniedHandler;
+import tech.omarshabaan.tasksmanagement.security.DelegatedAuthenticationEntryPoint;
+import tech.omarshabaan.tasksmanagement.service.webhook.WebhookSubscriptionService;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.delete;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.get;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.post;
+import static org.springframework.restdocs.operation.preprocess.Preprocessors.preprocessRequest;
+import static org.springframework.restdocs.operation.preprocess.Preprocessors.preprocessResponse;
+import static org.springframework.restdocs.operation.preprocess.Preprocessors.prettyPrint;
+import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
+import static org.springframework.restdocs.payload.PayloadDocumentation.requestFields;
+import static org.springframework.restdocs.payload.PayloadDocumentation.responseFields;
+import static org.springframework.restdocs.request.RequestDocumentation.parameterWithName;
+import static org.springframework.restdocs.request.RequestDocumentation.pathParameters;
+import static org.springframework.restdocs.request.RequestDocumentation.queryParameters;
+import static org.springframework.restdocs.snippet.Attributes.key;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static tech.omarshabaan.tasksmanagement.restdocs.CommonRestDocsDescriptor.PAGINATION_FIELDS;
+
+@WebMvcTest(WebhookController.class)
+@AutoConfigureRestDocs
+@Import({ SecurityConfig.class, GlobalExceptionHandler.class, DelegatedAuthenticationEntryPoint.class,
+		DelegatedAccessDeniedHandler.class, RestDocsTestConfiguration.class })
+class WebhookControllerTest {
+
+	private static final UUID SUBSCRIPTION_UUID = UUID.fromString("0199a0b2-7c1e-7d3a-9f40-5b2c8e1d6a01");
+
+	private static final Instant CREATED_AT = Instant.parse("2025-10-01T08:15:00Z");
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private WebhookSubscriptionService webhookSubscriptionService;
+
+	@MockitoBean
+	private UserDetailsService userDetailsService;
+
+	private UsernamePasswordAuthenticationToken createAuthentication(String role) {
+		CustomUserDetails userDetails = new CustomUserDetails(UUID.randomUUID(), UUID.randomUUID(), "admin@example.com",
+				List.of(new SimpleGrantedAuthority(role)), true, false);
+		return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+	}
+
+	@Test
+	void shouldCreateSubscription_whenAdmin() throws Exception {
+		// Given
+		given(webhookSubscriptionService
+			.createSubscription(new CreateWebhookSubscriptionRequest("https://hooks.example.com/tasks")))
+			.willReturn(new CreatedWebhookSubscriptionResponse(SUBSCRIPTION_UUID, "https://hooks.example.com/tasks",
+					"whsec_Jq3vV0dXf1k2n8p4r6t9w2y5a7c0e3g6i9l1o4q7s0u", CREATED_AT));
+
+		// When & Then
+		mockMvc
+			.perform(post("/api/admin/webhooks").contentType(MediaType.APPLICATION_JSON)
+				.with(authentication(createAuthentication("ROLE_ADMIN")))
+				.content("""
+						{
+						  "url": "https://hooks.example.com/tasks"
+						}
+						"""))
+			.andExpect(status().isCreated())
+			.andExpect(jsonPath("$.uuid").value(SUBSCRIPTION_UUID.toString()))
+			.andExpect(jsonPath("$.secret").exists())
+			.andDo(document("webhook-controller/create-subscription/success", preprocessRequest(prettyPrint()),
+					preprocessResponse(prettyPrint()),
+					requestFields(fieldWithPath("url").description("Absolute http or https URL to post task events to")
+						.attributes(key("constraints").value("Must be an absolute http or https URL"))),
+					responseFields(fieldWithPath("uuid").description("UUID of the subscription"),
+							fieldWithPath("url").description("URL task events are posted to"),
+							fieldWithPath("secret")
+								.description("Secret the deliveries are signed with; shown only in this response"),
+							fieldWithPath("createdAt").description("When the subscription was created"))));
+	}
+
+	@Test
+	void shouldReturnBadRequest_whenUrlNotHttp() throws Exception {
+		// When & Then
+		mockMvc
+			.perform(post("/api/admin/webhooks").contentType(MediaType.APPLICATION_JSON)
+				.with(authentication(createAuthentication("ROLE_ADMIN")))
+				.content("""
+						{
+						  "url": "ftp://hooks.example.com/tasks"
+						}
+						"""))
+			.andExpect(status().isBadRequest())
+			.andExpect(jsonPath("$.errors.url").value("URL must be an absolute http or https URL"));
+
+		// Then
+		then(webhookSubscriptionService).shouldHaveNoInteractions();
+	}
+
+	@Test
+	void shouldGetSubscriptions_whenAdmin() throws Exception {
+		// Given
+		PageRequest pageRequest = PageRequest.of(0, 20, Sort.by("id"));
+		given(webhookSubscriptionService.getSubscriptions(pageRequest)).willReturn(new PageImpl<>(List
+			.of(new WebhookSubscriptionResponse(SUBSCRIPTION_UUID, "https://hooks.example.com/tasks", CREATED_AT)),
+				pageRequest, 1));
+
+		// When & Then
+		mockMvc.perform(get("/api/admin/webhooks").with(authentication(createAuthentication("ROLE_ADMIN"))))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.content[0].url").value("https://hooks.example.com/tasks"))
+			.andExpect(jsonPath("$.content[0].secret").doesNotExist())
+			.andDo(document("webhook-controller/get-subscriptions/success", preprocessRequest(prettyPrint()),
+					preprocessResponse(prettyPrint()),
+					queryParameters(
+							parameterWithName("page").description("Zero-based page number")
+								.optional()
+								.attributes(key("defaultValue").value("0"), key("constraint").value("At least 0")),
+							parameterWithName("size").description("Subscriptions per page")
+								.optional()
+								.attributes(key("defaultValue").value("20"),
+										key("constraint").value("1 to " + WebhookController.MAX_PAGE_SIZE))),
+					responseFields(fieldWithPath("content").description("Array of subscriptions, oldest first"),
+							fieldWithPath("content[].uuid").description("UUID of the subscription"),
+							fieldWithPath("content[].url").description("URL task events are posted to"),
+							fieldWithPath("content[].createdAt").description("When the subscription was created"))
+						.and(PAGINATION_FIELDS)));
+	}
+
+	@Test
+	void shouldGetDeadLetters_whenAdmin() throws Exception {
+		// Given
+		PageRequest pageRequest = PageRequest.of(0, 20);
+		given(webhookSubscriptionService.getDeadLetters(SUBSCRIPTION_UUID, pageRequest))
+			.willReturn(new PageImpl<>(List.of(new WebhookDeadLetterResponse(
+					UUID.fromString("0199a0b3-11aa-7bcd-8e01-23456789abcd"), "task.updated", 10,
+					"org.springframework.web.client.HttpServerErrorException$ServiceUnavailable: 503 Service Unavailable",
+					CREATED_AT, Instant.parse("2025-10-01T15:42:10Z"))), pageRequest, 1));
+
+		// When & Then
+		mockMvc
+			.perform(get("/api/admin/webhooks/{subscriptionUuid}/dead-letters", SUBSCRIPTION_UUID)
+				.with(authentication(createAuthentication("ROLE_ADMIN"))))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.content[0].eventType").value("task.updated"))
+			.andDo(document("webhook-controller/get-dead-letters/success", preprocessRequest(prettyPrint()),
+					preprocessResponse(prettyPrint()),
+					pathParameters(parameterWithName("subscriptionUuid").description("UUID of the subscription")),
+					queryParameters(
+							parameterWithName("page").description("Zero-based page number")
+								.optional()
+								.attributes(key("defaultValue").value("0"), key("constraint").value("At least 0")),
+							parameterWithName("size").description("Dead letters per page")
+								.optional()
+								.attributes(key("defaultValue").value("20"),
+										key("constraint").value("1 to " + WebhookController.MAX_PAGE_SIZE))),
+					responseFields(fieldWithPath("content").description("Array of dead letters, oldest first"),
+							fieldWithPath("content[].eventId").description("ID of the event, sent as Webhook-Id"),
+							fieldWithPath("content[].eventType").description("Type of the event, e.g. task.updated"),
+							fieldWithPath("content[].attempts").description("Delivery attempts made"),
+							fieldWithPath("content[].lastError").description("Error of the last attempt"),
+							fieldWithPath("content[].createdAt").description("When the event occurred"),
+							fieldWithPath("content[].deadAt").description("When the delivery was given up"))
+						.and(PAGINATION_FIELDS)));
+	}
+
+	@Test
+	void shouldRedriveDeadLetters_whenAdmin() throws Exception {
+		// Given
+		given(webhookSubscriptionService.redriveDeadLetters(SUBSCRIPTION_UUID)).willReturn(3);
+
+		// When & Then
+		mockMvc
+			.perform(post("/api/admin/webhooks/{subscriptionUuid}/dead-letters/redrive", SUBSCRIPTION_UUID)
+				.with(authentication(createAuthentication("ROLE_ADMIN"))))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.redriven").value(3))
+			.andDo(document("webhook-controller/redrive-dead-letters/success", preprocessRequest(prettyPrint()),
+					preprocessResponse(prettyPrint()),
+					pathParameters(parameterWithName("subscriptionUuid").description("UUID of the subscription")),
+					responseFields(fieldWithPath("redriven").description("Dead letters queued for delivery again"))));
+	}
+
+	@Test
+	void shouldDeleteSubscription_whenAdmin() throws Exception {
+		// When & Then
+		mockMvc
+			.perform(delete("/api/admin/webhooks/{subscriptionUuid}", SUBSCRIPTION_UUID)
+				.with(authentication(createAuthentication("ROLE_ADMIN"))))
+			.andExpect(status().isNoContent())
+			.andDo(document("webhook-controller/delete-subscription/success", preprocessRequest(prettyPrint()),
+					preprocessResponse(prettyPrint()),
+					pathParameters(parameterWithName("subscriptionUuid").description("UUID of the subscription"))));
+
+		// Then
+		then(webhookSubscriptionService).should().deleteSubscription(SUBSCRIPTION_UUID);
+	}
+
+	@Test
+	void shouldReturnNotFound_whenSubscriptionMissing() throws Exception {
+		// Given
+		given(webhookSubscriptionService.redriveDeadLetters(SUBSCRIPTION_UUID))
+			.willThrow(new WebhookSubscriptionNotFoundException(SUBSCRIPTION_UUID));
+
+		// When & Then
+		mockMvc
+			.perform(post("/api/admin/webhooks/{subscriptionUuid}/dead-letters/redrive", SUBSCRIPTION_UUID)
+				.with(authentication(createAuthentication("ROLE_ADMIN"))))
+			.andExpect(status().isNotFound())
+			.andDo(document("webhook-controller/redrive-dead-letters/not-found", preprocessRequest(prettyPrint()),
+					preprocessResponse(prettyPrint())));
+	}
+
+	@Test
+	void shouldReturnForbidden_whenNotAdmin() throws Exception {
+		// When & Then
+		mockMvc.perform(get("/api/admin/webhooks").with(authentication(createAuthentication("ROLE_USER"))))
+			.andExpect(status().isForbidden());
+
+		// Then
+		then(webhookSubscriptionService).shouldHaveNoInteractions();
+	}
+
+}
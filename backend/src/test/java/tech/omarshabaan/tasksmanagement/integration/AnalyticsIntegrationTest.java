@@ -0,0 +1,245 @@
+package tech.omarshabaan.tasksmanagement.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.omarshabaan.tasksmanagement.BaseIT;
+import tech.omarshabaan.tasksmanagement.TestObjects;
+import tech.omarshabaan.tasksmanagement.dto.analytics.TaskStatusPriorityCount;
+import tech.omarshabaan.tasksmanagement.dto.analytics.TaskStatusPriorityCountsResponse;
+import tech.omarshabaan.tasksmanagement.dto.auth.UserSigninResponse;
+import tech.omarshabaan.tasksmanagement.entity.Role;
+import tech.omarshabaan.tasksmanagement.entity.RoleName;
+import tech.omarshabaan.tasksmanagement.entity.Task;
+import tech.omarshabaan.tasksmanagement.entity.TaskPriority;
+import tech.omarshabaan.tasksmanagement.entity.TaskStatus;
+import tech.omarshabaan.tasksmanagement.entity.User;
+import tech.omarshabaan.tasksmanagement.entity.UserSecurity;
+import tech.omarshabaan.tasksmanagement.service.analytics.TaskRollupRefreshJob;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the admin analytics and the refresh of their rollups. The test
+ * profile disables the refresh schedule and uses a small batch size, so every test runs
+ * {@link TaskRollupRefreshJob} itself, over several batches.
+ */
+class AnalyticsIntegrationTest extends BaseIT {
+
+	private static final String GROUP_TASKS_BY_STATUS_AND_PRIORITY = """
+			SELECT status, priority, count(*) AS task_count FROM tasks
+			GROUP BY status, priority
+			ORDER BY status, priority""";
+
+	@Autowired
+	private TaskRollupRefreshJob refreshJob;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private TransactionTemplate transactionTemplate;
+
+	private String accessToken;
+
+	private User admin;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		transactionTemplate = new TransactionTemplate(transactionManager);
+		transactionTemplate.executeWithoutResult(status -> createAdminWithTasks());
+		// other tests change tasks without refreshing, start the rollups from scratch
+		jdbcTemplate.execute("""
+				TRUNCATE task_rollup_state, task_rollup_deletions, task_status_priority_counts,
+				         task_open_due_counts, task_daily_counts""");
+		jdbcTemplate.update("""
+				UPDATE task_rollup_watermark
+				SET updated_at = '1970-01-01 00:00:00', task_id = 0, refreshed_at = NULL
+				WHERE id = 1""");
+
+		MvcResult signinResult = mockMvc
+			.perform(post("/api/auth/signin").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(TestObjects.taskUserSigninRequest)))
+			.andExpect(status().isOk())
+			.andReturn();
+		accessToken = objectMapper.readValue(signinResult.getResponse().getContentAsString(), UserSigninResponse.class)
+			.accessToken();
+	}
+
+	private void createAdminWithTasks() {
+		taskRepository.deleteAll();
+		refreshTokenRepository.deleteAll();
+		userRepository.deleteAll();
+		userSecurityRepository.deleteAll();
+
+		Role adminRole = roleRepository.findByName(RoleName.ADMIN)
+			.orElseThrow(() -> new RuntimeException("ADMIN role not found"));
+		UserSecurity userSecurity = userSecurityRepository.save(UserSecurity.builder()
+			.email("taskuser@example.com")
+			.password(passwordEncoder.encode("P@ssw0rd123!"))
+			.locked(false)
+			.enabled(true)
+			.addRole(adminRole)
+			.build());
+		admin = userRepository.save(new User("taskuser", userSecurity));
+
+		Instant now = Instant.now();
+		List<Task> tasks = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			TaskPriority priority = TaskPriority.values()[i % TaskPriority.values().length];
+			// even tasks were due two days ago, odd ones are due in two days
+			Instant dueDate = now.plus(i % 2 == 0 ? -2 : 2, ChronoUnit.DAYS);
+			tasks.add(new Task("Task " + i, null, priority, dueDate, admin, admin));
+		}
+		tasks.get(0).setStatus(TaskStatus.COMPLETED);
+		tasks.get(1).setStatus(TaskStatus.IN_PROGRESS);
+		tasks.get(2).setStatus(TaskStatus.CANCELLED);
+		tasks.get(3).setDueDate(null);
+		taskRepository.saveAll(tasks);
+	}
+
+	@Test
+	void shouldServeAnalyticsFromRollups_AfterRefresh() throws Exception {
+		// Given - nothing counted before the first refresh
+		JsonNode before = getJson("/api/admin/analytics/tasks/status-priority");
+		assertThat(before.get("refreshedAt").isNull()).isTrue();
+		assertThat(before.get("counts")).isEmpty();
+
+		// When
+		refreshJob.execute(null);
+
+		// Then
+		TaskStatusPriorityCountsResponse counts = objectMapper
+			.treeToValue(getJson("/api/admin/analytics/tasks/status-priority"), TaskStatusPriorityCountsResponse.class);
+		assertThat(counts.refreshedAt()).isNotNull();
+		assertThat(counts.counts()).isEqualTo(countTasksByStatusAndPriority());
+
+		// tasks 4, 6 and 8 are open and were due two days ago; 0 is completed, 2
+		// cancelled
+		JsonNode overdue = getJson("/api/admin/analytics/tasks/overdue");
+		assertThat(overdue.get("total").asLong()).isEqualTo(3);
+		assertThat(overdue.get("byPriority").get("LOW").asLong()).isEqualTo(2);
+		assertThat(overdue.get("byPriority").get("MEDIUM").asLong()).isZero();
+		assertThat(overdue.get("byPriority").get("HIGH").asLong()).isEqualTo(1);
+		assertThat(overdue.get("byPriority").get("URGENT").asLong()).isZero();
+
+		LocalDate today = LocalDate.now(ZoneOffset.UTC);
+		JsonNode days = getJson("/api/admin/analytics/tasks/daily?days=3").get("days");
+		assertThat(days).hasSize(3);
+		assertThat(days.get(0).get("day").asText()).isEqualTo(today.minusDays(2).toString());
+		assertThat(days.get(0).get("created").asLong()).isZero();
+		assertThat(days.get(2).get("created").asLong()).isEqualTo(10);
+		assertThat(days.get(2).get("completed").asLong()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldFollowUpdatesAndDeletions_Incrementally() throws Exception {
+		// Given
+		refreshJob.execute(null);
+		transactionTemplate.executeWithoutResult(status -> {
+			List<Task> tasks = taskRepository.findAll();
+			Task overdue = tasks.stream().filter(task -> task.getTitle().equals("Task 4")).findFirst().orElseThrow();
+			overdue.setStatus(TaskStatus.COMPLETED);
+			Task reprioritized = tasks.stream()
+				.filter(task -> task.getTitle().equals("Task 6"))
+				.findFirst()
+				.orElseThrow();
+			reprioritized.setPriority(TaskPriority.URGENT);
+			taskRepository
+				.delete(tasks.stream().filter(task -> task.getTitle().equals("Task 8")).findFirst().orElseThrow());
+			taskRepository.save(new Task("Task 10", null, TaskPriority.HIGH, Instant.now().minus(1, ChronoUnit.DAYS),
+					admin, admin));
+		});
+
+		// When
+		refreshJob.execute(null);
+
+		// Then - the same counts as grouping tasks directly
+		TaskStatusPriorityCountsResponse counts = objectMapper
+			.treeToValue(getJson("/api/admin/analytics/tasks/status-priority"), TaskStatusPriorityCountsResponse.class);
+		assertThat(counts.counts()).isEqualTo(countTasksByStatusAndPriority());
+
+		// task 6 is now urgent, task 10 is new and overdue; 4 is completed and 8 deleted
+		JsonNode overdue = getJson("/api/admin/analytics/tasks/overdue");
+		assertThat(overdue.get("total").asLong()).isEqualTo(2);
+		assertThat(overdue.get("byPriority").get("URGENT").asLong()).isEqualTo(1);
+		assertThat(overdue.get("byPriority").get("HIGH").asLong()).isEqualTo(1);
+
+		JsonNode today = getJson("/api/admin/analytics/tasks/daily?days=1").get("days").get(0);
+		assertThat(today.get("created").asLong()).isEqualTo(10);
+		assertThat(today.get("completed").asLong()).isEqualTo(2);
+
+		assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM task_rollup_deletions", Long.class)).isZero();
+		assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM task_rollup_state", Long.class)).isEqualTo(10);
+
+		// When - refreshing again reads the overlap again and changes nothing
+		refreshJob.execute(null);
+
+		// Then
+		assertThat(objectMapper
+			.treeToValue(getJson("/api/admin/analytics/tasks/status-priority"), TaskStatusPriorityCountsResponse.class)
+			.counts()).isEqualTo(countTasksByStatusAndPriority());
+		assertThat(getJson("/api/admin/analytics/tasks/overdue").get("total").asLong()).isEqualTo(2);
+	}
+
+	@Test
+	void shouldRejectNonAdmins() throws Exception {
+		// Given
+		transactionTemplate.executeWithoutResult(status -> {
+			Role userRole = roleRepository.findByName(RoleName.USER)
+				.orElseThrow(() -> new RuntimeException("USER role not found"));
+			UserSecurity userSecurity = userSecurityRepository.save(UserSecurity.builder()
+				.email("test@example.com")
+				.password(passwordEncoder.encode("P@ssw0rd123!"))
+				.locked(false)
+				.enabled(true)
+				.addRole(userRole)
+				.build());
+			userRepository.save(new User("testuser", userSecurity));
+		});
+		MvcResult signinResult = mockMvc
+			.perform(post("/api/auth/signin").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(TestObjects.testUserSigninRequest)))
+			.andExpect(status().isOk())
+			.andReturn();
+		String userToken = objectMapper
+			.readValue(signinResult.getResponse().getContentAsString(), UserSigninResponse.class)
+			.accessToken();
+
+		// When & Then
+		mockMvc.perform(get("/api/admin/analytics/tasks/overdue").header("Authorization", "Bearer " + userToken))
+			.andExpect(status().isForbidden());
+	}
+
+	private List<TaskStatusPriorityCount> countTasksByStatusAndPriority() {
+		return jdbcTemplate.query(GROUP_TASKS_BY_STATUS_AND_PRIORITY,
+				(rs, rowNum) -> new TaskStatusPriorityCount(TaskStatus.valueOf(rs.getString("status")),
+						TaskPriority.valueOf(rs.getString("priority")), rs.getLong("task_count")));
+	}
+
+	private JsonNode getJson(String uri) throws Exception {
+		MvcResult result = mockMvc.perform(get(uri).header("Authorization", "Bearer " + accessToken))
+			.andExpect(status().isOk())
+			.andReturn();
+		return objectMapper.readTree(result.getResponse().getContentAsString());
+	}
+
+}
@@ -1,9 +1,15 @@
 package tech.omarshabaan.tasksmanagement.integration;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.servlet.http.Cookie;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 import tech.omarshabaan.tasksmanagement.BaseIT;
@@ -11,13 +17,25 @@ import tech.omarshabaan.tasksmanagement.TestObjects;
 import tech.omarshabaan.tasksmanagement.dto.auth.UserSigninRequest;
 import tech.omarshabaan.tasksmanagement.dto.auth.UserSignupRequest;
 import tech.omarshabaan.tasksmanagement.entity.RefreshToken;
+import tech.omarshabaan.tasksmanagement.entity.UserSecurity;
+import tech.omarshabaan.tasksmanagement.service.auth.PasswordHashSettingsMetrics;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 class AuthIntegrationTest extends BaseIT {
 
+	@Autowired
+	private PasswordHashSettingsMetrics passwordHashSettingsMetrics;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
 	@BeforeEach
 	void setUp() {
 		// Clean up before each test
@@ -87,4 +105,134 @@ class AuthIntegrationTest extends BaseIT {
 		assertThat(revokedToken.isRevoked()).isTrue();
 	}
 
+	@Test
+	void shouldRehashStoredPassword_OnSignin_WhenSettingDiffers() throws Exception {
+		// Given - a user whose hash predates the id prefix and uses another cost
+		mockMvc
+			.perform(post("/api/auth/signup").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(TestObjects.testUserSignupRequest)))
+			.andExpect(status().isCreated());
+		UserSecurity userSecurity = userSecurityRepository.findByEmail(TestObjects.testUserSigninRequest.email())
+			.orElseThrow();
+		userSecurity.setPassword(new BCryptPasswordEncoder(5).encode(TestObjects.testUserSigninRequest.password()));
+		userSecurityRepository.save(userSecurity);
+
+		// When
+		mockMvc
+			.perform(post("/api/auth/signin").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(TestObjects.testUserSigninRequest)))
+			.andExpect(status().isOk());
+
+		// Then - moved to the test profile's bcrypt cost 4, and still signs in
+		String rehashed = userSecurityRepository.findByEmail(TestObjects.testUserSigninRequest.email())
+			.orElseThrow()
+			.getPassword();
+		assertThat(rehashed).startsWith("{bcrypt}$2a$04$");
+		mockMvc
+			.perform(post("/api/auth/signin").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(TestObjects.testUserSigninRequest)))
+			.andExpect(status().isOk());
+
+		passwordHashSettingsMetrics.refresh();
+		assertThat(meterRegistry.get("password_hashing.stored.hashes").tag("setting", "bcrypt:4").gauge().value())
+			.isEqualTo(1);
+		assertThat(meterRegistry.get("password_hashing.rehashed")
+			.tag("from", "bcrypt:5")
+			.tag("to", "bcrypt:4")
+			.counter()
+			.count()).isGreaterThanOrEqualTo(1);
+	}
+
+	@Test
+	void shouldSigninAndRefresh_WithFourStatementsEach() throws Exception {
+		// Given
+		mockMvc
+			.perform(post("/api/auth/signup").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(TestObjects.testUserSignupRequest)))
+			.andExpect(status().isCreated());
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		// When - sign in: principal select, revoke update, sequence nextval, insert
+		statistics.clear();
+		MvcResult signinResult = mockMvc
+			.perform(post("/api/auth/signin").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(TestObjects.testUserSigninRequest)))
+			.andExpect(status().isOk())
+			.andReturn();
+
+		// Then
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+
+		// When - refresh: token with principal select, revoke update, nextval, insert
+		statistics.clear();
+		mockMvc.perform(post("/api/auth/refresh").cookie(signinResult.getResponse().getCookie("refresh_token")))
+			.andExpect(status().isOk());
+
+		// Then
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+	}
+
+	@Test
+	void shouldRejectDuplicateSignup_ThroughUniquenessFilterAndDatabase() throws Exception {
+		// Given
+		double misses = meterRegistry.get("signup.uniqueness_filter.checks")
+			.tag("field", "email")
+			.tag("result", "miss")
+			.counter()
+			.count();
+		UserSignupRequest request = new UserSignupRequest("filteruser", "filter@example.com", "P@ssw0rd123!",
+				"P@ssw0rd123!");
+
+		// When - first signup is a definite miss and skips the existence query
+		mockMvc
+			.perform(post("/api/auth/signup").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(request)))
+			.andExpect(status().isCreated());
+
+		// Then - the filter learned the new values, so the retry is checked in the
+		// database
+		assertThat(meterRegistry.get("signup.uniqueness_filter.checks")
+			.tag("field", "email")
+			.tag("result", "miss")
+			.counter()
+			.count()).isEqualTo(misses + 1);
+		mockMvc
+			.perform(post("/api/auth/signup").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(request)))
+			.andExpect(status().isBadRequest())
+			.andExpect(jsonPath("$.errors.email").value("Email already exists"))
+			.andExpect(jsonPath("$.errors.username").value("Username already exists"));
+	}
+
+	@Test
+	void shouldFallBackOnUniqueConstraint_WhenFilterMissesValueCreatedElsewhere() throws Exception {
+		// Given - created without the event, as if by another node
+		userSecurityRepository.save(UserSecurity.builder()
+			.email("elsewhere@example.com")
+			.password("{noop}unused")
+			.enabled(true)
+			.locked(false)
+			.build());
+
+		// When & Then
+		mockMvc
+			.perform(post("/api/auth/signup").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(
+						new UserSignupRequest("elsewhere", "elsewhere@example.com", "P@ssw0rd123!", "P@ssw0rd123!"))))
+			.andExpect(status().isBadRequest())
+			.andExpect(jsonPath("$.errors.email").value("Email already exists"));
+		assertThat(userRepository.existsByUsername("elsewhere")).isFalse();
+	}
+
+	@Test
+	void shouldRejectPaddedSignin_WithPayloadTooLarge() throws Exception {
+		// Given - whitespace padding ahead of an otherwise valid body
+		String padded = " ".repeat(10_000) + objectMapper.writeValueAsString(TestObjects.taskUserSigninRequest);
+
+		// When & Then
+		mockMvc.perform(post("/api/auth/signin").contentType(MediaType.APPLICATION_JSON).content(padded))
+			.andExpect(status().isPayloadTooLarge())
+			.andExpect(jsonPath("$.title").value("Payload Too Large"));
+	}
+
 }
@@ -0,0 +1,186 @@
+package tech.omarshabaan.tasksmanagement.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.omarshabaan.tasksmanagement.BaseIT;
+import tech.omarshabaan.tasksmanagement.TestObjects;
+import tech.omarshabaan.tasksmanagement.dto.auth.UserSigninResponse;
+import tech.omarshabaan.tasksmanagement.dto.task.CreateTaskRequest;
+import tech.omarshabaan.tasksmanagement.dto.task.GetTaskResponse;
+import tech.omarshabaan.tasksmanagement.entity.Role;
+import tech.omarshabaan.tasksmanagement.entity.RoleName;
+import tech.omarshabaan.tasksmanagement.entity.TaskPriority;
+import tech.omarshabaan.tasksmanagement.entity.User;
+import tech.omarshabaan.tasksmanagement.entity.UserSecurity;
+import tech.omarshabaan.tasksmanagement.service.idempotency.IdempotencyKeyCleanupJob;
+import tech.omarshabaan.tasksmanagement.service.task.TaskService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the {@code Idempotency-Key} of task creation. Not transactional:
+ * duplicates are serialized by the key's row in concurrent transactions.
+ */
+class IdempotencyIntegrationTest extends BaseIT {
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private IdempotencyKeyCleanupJob cleanupJob;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private String accessToken;
+
+	private User user;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> createUser());
+
+		MvcResult signinResult = mockMvc
+			.perform(post("/api/auth/signin").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(TestObjects.taskUserSigninRequest)))
+			.andExpect(status().isOk())
+			.andReturn();
+		accessToken = objectMapper.readValue(signinResult.getResponse().getContentAsString(), UserSigninResponse.class)
+			.accessToken();
+	}
+
+	private void createUser() {
+		taskRepository.deleteAll();
+		refreshTokenRepository.deleteAll();
+		userRepository.deleteAll();
+		userSecurityRepository.deleteAll();
+
+		Role userRole = roleRepository.findByName(RoleName.USER)
+			.orElseThrow(() -> new RuntimeException("USER role not found"));
+		UserSecurity userSecurity = userSecurityRepository.save(UserSecurity.builder()
+			.email("taskuser@example.com")
+			.password(passwordEncoder.encode("P@ssw0rd123!"))
+			.locked(false)
+			.enabled(true)
+			.addRole(userRole)
+			.build());
+		user = userRepository.save(new User("taskuser", userSecurity));
+	}
+
+	@Test
+	void shouldReplayOriginalResponse_WhenRetriedWithSameKey() throws Exception {
+		// Given
+		GetTaskResponse created = createTask("retry-key", TestObjects.validCreateTaskRequest);
+
+		// When
+		GetTaskResponse retried = createTask("retry-key", TestObjects.validCreateTaskRequest);
+
+		// Then
+		assertThat(retried).isEqualTo(created);
+		assertThat(taskRepository.count()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldCreateAnotherTask_ForAnotherKey() throws Exception {
+		// When
+		GetTaskResponse first = createTask("first-key", TestObjects.validCreateTaskRequest);
+		GetTaskResponse second = createTask("second-key", TestObjects.validCreateTaskRequest);
+
+		// Then
+		assertThat(second.uuid()).isNotEqualTo(first.uuid());
+		assertThat(taskRepository.count()).isEqualTo(2);
+	}
+
+	@Test
+	void shouldRejectKey_WhenReusedWithDifferentRequest() throws Exception {
+		// Given
+		createTask("reused-key", TestObjects.validCreateTaskRequest);
+
+		// When & Then
+		mockMvc
+			.perform(post("/api/tasks").contentType(MediaType.APPLICATION_JSON)
+				.header("Authorization", "Bearer " + accessToken)
+				.header("Idempotency-Key", "reused-key")
+				.content(objectMapper
+					.writeValueAsString(new CreateTaskRequest("Another task", null, TaskPriority.LOW, null))))
+			.andExpect(status().isUnprocessableEntity())
+			.andExpect(jsonPath("$.title").value("Idempotency Key Reused"));
+		assertThat(taskRepository.count()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldCreateOneTask_ForConcurrentDuplicates() throws Exception {
+		// Given
+		int duplicates = 8;
+		CreateTaskRequest request = new CreateTaskRequest("Concurrent", null, TaskPriority.MEDIUM, null);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<GetTaskResponse>> responses = new ArrayList<>();
+
+		// When
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < duplicates; i++) {
+				responses.add(executor.submit(() -> {
+					start.await();
+					return taskService.createTask(request, user.getUuid(), "concurrent-key");
+				}));
+			}
+			start.countDown();
+		}
+
+		// Then
+		List<UUID> taskUuids = new ArrayList<>();
+		for (Future<GetTaskResponse> response : responses) {
+			taskUuids.add(response.get().uuid());
+		}
+		assertThat(taskUuids).hasSize(duplicates).containsOnly(taskUuids.getFirst());
+		assertThat(taskRepository.count()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldPurgeExpiredKeys() throws Exception {
+		// Given
+		createTask("old-key", TestObjects.validCreateTaskRequest);
+		createTask("new-key", TestObjects.validCreateTaskRequest);
+		jdbcTemplate.update("UPDATE idempotency_keys SET created_at = now() - interval '2 days' "
+				+ "WHERE idempotency_key = 'old-key'");
+
+		// When
+		cleanupJob.execute(null);
+
+		// Then
+		assertThat(jdbcTemplate.queryForList("SELECT idempotency_key FROM idempotency_keys", String.class))
+			.containsExactly("new-key");
+	}
+
+	private GetTaskResponse createTask(String idempotencyKey, CreateTaskRequest request) throws Exception {
+		MvcResult result = mockMvc
+			.perform(post("/api/tasks").contentType(MediaType.APPLICATION_JSON)
+				.header("Authorization", "Bearer " + accessToken)
+				.header("Idempotency-Key", idempotencyKey)
+				.content(objectMapper.writeValueAsString(request)))
+			.andExpect(status().isCreated())
+			.andReturn();
+		return objectMapper.readValue(result.getResponse().getContentAsString(), GetTaskResponse.class);
+	}
+
+}
@@ -0,0 +1,243 @@
+package tech.omarshabaan.tasksmanagement.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.omarshabaan.tasksmanagement.BaseIT;
+import tech.omarshabaan.tasksmanagement.entity.Job;
+import tech.omarshabaan.tasksmanagement.entity.JobExecution;
+import tech.omarshabaan.tasksmanagement.entity.JobExecutionOutcome;
+import tech.omarshabaan.tasksmanagement.entity.JobStatus;
+import tech.omarshabaan.tasksmanagement.repository.job.JobExecutionRepository;
+import tech.omarshabaan.tasksmanagement.repository.job.JobRepository;
+import tech.omarshabaan.tasksmanagement.service.job.JobHandler;
+import tech.omarshabaan.tasksmanagement.service.job.JobRunner;
+import tech.omarshabaan.tasksmanagement.service.job.JobService;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Integration tests for the Postgres-backed job runner. The test profile sets a long poll
+ * interval, so every test drives {@link JobRunner#poll()} itself.
+ */
+class JobRunnerIntegrationTest extends BaseIT {
+
+	private static final String TEST_JOB = "test-job";
+
+	@Autowired
+	private JobService jobService;
+
+	@Autowired
+	private JobRunner jobRunner;
+
+	@Autowired
+	private JobRepository jobRepository;
+
+	@Autowired
+	private JobExecutionRepository jobExecutionRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@BeforeEach
+	void setUp() {
+		jobRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void shouldRunAdHocJob_AndRecordExecution() throws InterruptedException {
+		// Given
+		UUID uuid = jobService.enqueue(TEST_JOB, "ok:0");
+
+		// When
+		assertThat(jobRunner.poll()).isEqualTo(1);
+
+		// Then
+		Job job = awaitStatus(uuid, JobStatus.SUCCEEDED);
+		assertThat(job.getAttempts()).isEqualTo(1);
+		assertThat(job.getLockedBy()).isNull();
+		assertThat(executions(job)).extracting(JobExecution::getOutcome, JobExecution::getNode)
+			.containsExactly(tuple(JobExecutionOutcome.SUCCEEDED, "test-node"));
+	}
+
+	@Test
+	void shouldRetryFailedJob_UntilItSucceeds() throws InterruptedException {
+		// Given - fails on the first attempt, backoff is zero in the test profile
+		UUID uuid = jobService.enqueue(TEST_JOB, "flaky:1");
+
+		// When
+		jobRunner.poll();
+		Job retried = awaitAttempt(uuid, 1, JobStatus.PENDING);
+		jobRunner.poll();
+
+		// Then
+		assertThat(retried.getLastError()).contains("attempt 1");
+		Job job = awaitStatus(uuid, JobStatus.SUCCEEDED);
+		assertThat(job.getAttempts()).isEqualTo(2);
+		assertThat(executions(job)).extracting(JobExecution::getOutcome)
+			.containsExactly(JobExecutionOutcome.FAILED, JobExecutionOutcome.SUCCEEDED);
+	}
+
+	@Test
+	void shouldGiveUp_AfterMaxAttempts() throws InterruptedException {
+		// Given - max-attempts is 3 in the test profile
+		UUID uuid = jobService.enqueue(TEST_JOB, "broken:99");
+
+		// When
+		for (int attempt = 1; attempt < 3; attempt++) {
+			jobRunner.poll();
+			awaitAttempt(uuid, attempt, JobStatus.PENDING);
+		}
+		jobRunner.poll();
+
+		// Then
+		Job job = awaitStatus(uuid, JobStatus.FAILED);
+		assertThat(job.getAttempts()).isEqualTo(3);
+		assertThat(executions(job)).hasSize(3).allMatch(e -> e.getOutcome() == JobExecutionOutcome.FAILED);
+	}
+
+	@Test
+	void shouldReclaimJob_WhenLeaseExpired() throws InterruptedException {
+		// Given - a job claimed by a node that died before finishing it
+		Job orphan = new Job(TEST_JOB, "orphan:0", 3, Instant.now().minus(10, ChronoUnit.MINUTES));
+		orphan.claim("dead-node", Instant.now().minus(1, ChronoUnit.MINUTES));
+		UUID uuid = jobRepository.save(orphan).getUuid();
+
+		// When
+		assertThat(jobRunner.poll()).isEqualTo(1);
+
+		// Then
+		Job job = awaitStatus(uuid, JobStatus.SUCCEEDED);
+		assertThat(job.getAttempts()).isEqualTo(2);
+		assertThat(executions(job)).extracting(JobExecution::getOutcome, JobExecution::getNode)
+			.containsExactly(tuple(JobExecutionOutcome.LEASE_EXPIRED, "dead-node"),
+					tuple(JobExecutionOutcome.SUCCEEDED, "test-node"));
+	}
+
+	@Test
+	void shouldNotRunJobBeforeItsRunAt() {
+		// Given
+		jobService.enqueue(TEST_JOB, "later:0", Instant.now().plus(1, ChronoUnit.HOURS));
+
+		// When / Then
+		assertThat(jobRunner.poll()).isZero();
+	}
+
+	@Test
+	void shouldSkipJobsLockedByAnotherNode() throws Exception {
+		// Given
+		for (int i = 0; i < 4; i++) {
+			jobService.enqueue(TEST_JOB, "concurrent-" + i + ":0");
+		}
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		CountDownLatch firstClaimed = new CountDownLatch(1);
+		CountDownLatch secondClaimed = new CountDownLatch(1);
+
+		// When - the first transaction holds its row locks while the second one claims
+		CompletableFuture<List<Long>> first = CompletableFuture
+			.supplyAsync(() -> transactionTemplate.execute(status -> {
+				List<Long> ids = jobRepository.lockClaimable(Instant.now(), 2, Set.of(TEST_JOB))
+					.stream()
+					.map(Job::getId)
+					.toList();
+				firstClaimed.countDown();
+				await(secondClaimed);
+				return ids;
+			}));
+		await(firstClaimed);
+		List<Long> second = transactionTemplate
+			.execute(status -> jobRepository.lockClaimable(Instant.now(), 10, Set.of(TEST_JOB))
+				.stream()
+				.map(Job::getId)
+				.toList());
+		secondClaimed.countDown();
+
+		// Then
+		assertThat(first.get(10, TimeUnit.SECONDS)).hasSize(2).doesNotContainAnyElementsOf(second);
+		assertThat(second).hasSize(2);
+	}
+
+	@Test
+	void shouldRejectUnknownJobType() {
+		assertThatThrownBy(() -> jobService.enqueue("no-such-job", null)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private List<JobExecution> executions(Job job) {
+		return jobExecutionRepository.findByJobOrderByStartedAt(job);
+	}
+
+	private Job awaitStatus(UUID uuid, JobStatus status) throws InterruptedException {
+		return awaitAttempt(uuid, -1, status);
+	}
+
+	private Job awaitAttempt(UUID uuid, int attempts, JobStatus status) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		Job job = jobRepository.findByUuid(uuid).orElseThrow();
+		while (job.getStatus() != status || (attempts >= 0 && job.getAttempts() != attempts)) {
+			assertThat(System.nanoTime()).as("job %s to reach %s, was %s", uuid, status, job.getStatus())
+				.isLessThan(deadline);
+			Thread.sleep(20);
+			job = jobRepository.findByUuid(uuid).orElseThrow();
+		}
+		return job;
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@TestConfiguration
+	static class TestJobConfiguration {
+
+		/**
+		 * Payload is {@code key:failures}; the handler throws on the first
+		 * {@code failures} attempts for that key and succeeds afterwards.
+		 */
+		@Bean
+		JobHandler testJobHandler() {
+			Map<String, AtomicInteger> attempts = new ConcurrentHashMap<>();
+			return new JobHandler() {
+
+				@Override
+				public String type() {
+					return TEST_JOB;
+				}
+
+				@Override
+				public void execute(String payload) {
+					String[] parts = payload.split(":");
+					int attempt = attempts.computeIfAbsent(parts[0], key -> new AtomicInteger()).incrementAndGet();
+					if (attempt <= Integer.parseInt(parts[1])) {
+						throw new IllegalStateException("Failing attempt " + attempt + " of " + parts[0]);
+					}
+				}
+
+			};
+		}
+
+	}
+
+}
@@ -0,0 +1,59 @@
+package tech.omarshabaan.tasksmanagement.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.TestSocketUtils;
+import tech.omarshabaan.tasksmanagement.BaseIT;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the separate management port: its actuator endpoints are open,
+ * nothing else is.
+ */
+class ManagementPortSecurityIntegrationTest extends BaseIT {
+
+	private static final int MANAGEMENT_PORT = TestSocketUtils.findAvailableTcpPort();
+
+	private final HttpClient httpClient = HttpClient.newHttpClient();
+
+	@DynamicPropertySource
+	static void managementPort(DynamicPropertyRegistry registry) {
+		registry.add("management.server.port", () -> MANAGEMENT_PORT);
+	}
+
+	@Test
+	void shouldOpenActuatorEndpoints_OnManagementPort() throws Exception {
+		// When & Then
+		assertThat(statusOnManagementPort("/actuator/loggers")).isEqualTo(200);
+	}
+
+	@Test
+	void shouldRequireAuthentication_ForOtherPathsOnManagementPort() throws Exception {
+		// When & Then
+		assertThat(statusOnManagementPort("/api/tasks/me")).isEqualTo(401);
+	}
+
+	@Test
+	void shouldRequireAuthentication_ForApiRequestsArrivingOnManagementPort() throws Exception {
+		// When & Then - as when actuator is moved onto the application's port
+		mockMvc.perform(get("/api/admin/webhooks").with(request -> {
+			request.setLocalPort(MANAGEMENT_PORT);
+			return request;
+		})).andExpect(status().isUnauthorized());
+	}
+
+	private int statusOnManagementPort(String path) throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + MANAGEMENT_PORT + path)).build();
+		return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+	}
+
+}
@@ -0,0 +1,75 @@
+package tech.omarshabaan.tasksmanagement.integration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import tech.omarshabaan.tasksmanagement.BaseIT;
+import tech.omarshabaan.tasksmanagement.TestObjects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class MetricsIntegrationTest extends BaseIT {
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@BeforeEach
+	void setUp() {
+		refreshTokenRepository.deleteAll();
+		userRepository.deleteAll();
+		userSecurityRepository.deleteAll();
+	}
+
+	@Test
+	void shouldRecordServiceHttpPoolHibernateAndJvmMeters() throws Exception {
+		// When
+		mockMvc
+			.perform(post("/api/auth/signup").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(TestObjects.testUserSignupRequest)))
+			.andExpect(status().isCreated());
+		mockMvc
+			.perform(post("/api/auth/signin").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(TestObjects.testUserSigninRequest)))
+			.andExpect(status().isOk());
+
+		// Then - service operations, tagged by class, method and error
+		assertThat(meterRegistry.get("service.operations")
+			.tag("class", "tech.omarshabaan.tasksmanagement.service.auth.AuthService")
+			.tag("method", "authenticateUser")
+			.tag("error", "none")
+			.timer()
+			.count()).isGreaterThanOrEqualTo(1);
+		assertThat(meterRegistry.get("service.operations")
+			.tag("class", "tech.omarshabaan.tasksmanagement.service.auth.JwtService")
+			.timers()).isNotEmpty();
+		assertThat(meterRegistry.get("service.operations")
+			.tag("class", "tech.omarshabaan.tasksmanagement.service.auth.RefreshTokenService")
+			.tag("method", "createRefreshToken")
+			.timer()
+			.count()).isGreaterThanOrEqualTo(1);
+
+		// endpoint and outcome
+		assertThat(meterRegistry.get("http.server.requests")
+			.tag("uri", "/api/auth/signin")
+			.tag("outcome", "SUCCESS")
+			.timer()
+			.count()).isGreaterThanOrEqualTo(1);
+
+		// password hashing, connection pool, Hibernate and JVM
+		assertThat(meterRegistry.get("password_hashing.duration").tag("operation", "matches").timer().count())
+			.isGreaterThanOrEqualTo(1);
+		assertThat(meterRegistry.get("hikaricp.connections.acquire").timer().count()).isGreaterThanOrEqualTo(1);
+		assertThat(meterRegistry.find("hikaricp.connections.active").gauge()).isNotNull();
+		assertThat(meterRegistry.find("hikaricp.connections.idle").gauge()).isNotNull();
+		assertThat(meterRegistry.find("hikaricp.connections.pending").gauge()).isNotNull();
+		assertThat(meterRegistry.get("hibernate.statements").tag("status", "prepared").functionCounter().count())
+			.isGreaterThanOrEqualTo(1);
+		assertThat(meterRegistry.find("jvm.memory.used").gauges()).isNotEmpty();
+		assertThat(meterRegistry.find("jvm.gc.memory.allocated").counter()).isNotNull();
+	}
+
+}
@@ -0,0 +1,82 @@
+package tech.omarshabaan.tasksmanagement.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import tech.omarshabaan.tasksmanagement.BaseIT;
+import tech.omarshabaan.tasksmanagement.entity.RefreshToken;
+import tech.omarshabaan.tasksmanagement.entity.UserSecurity;
+import tech.omarshabaan.tasksmanagement.service.auth.RefreshTokenCleanupService;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the batched expired refresh token purge.
+ */
+class RefreshTokenCleanupIntegrationTest extends BaseIT {
+
+	@Autowired
+	private RefreshTokenCleanupService refreshTokenCleanupService;
+
+	private UserSecurity userSecurity;
+
+	@BeforeEach
+	void setUp() {
+		refreshTokenRepository.deleteAll();
+		userRepository.deleteAll();
+		userSecurityRepository.deleteAll();
+
+		userSecurity = userSecurityRepository.save(UserSecurity.builder()
+			.email("cleanup@example.com")
+			.password(passwordEncoder.encode("P@ssw0rd123!"))
+			.locked(false)
+			.enabled(true)
+			.build());
+	}
+
+	@Test
+	void shouldDeleteOnlyExpiredTokens_InBatches() {
+		// Given - 5 expired and 2 valid tokens, batch size is 2 in the test profile
+		for (int i = 0; i < 5; i++) {
+			saveToken("expired-" + i, Instant.now().minus(i + 1, ChronoUnit.HOURS));
+		}
+		saveToken("valid-1", Instant.now().plus(1, ChronoUnit.DAYS));
+		saveToken("valid-2", Instant.now().plus(7, ChronoUnit.DAYS));
+
+		// When
+		RefreshTokenCleanupService.CleanupResult result = refreshTokenCleanupService.purgeExpiredTokens();
+
+		// Then
+		assertThat(result.deletedRows()).isEqualTo(5);
+		assertThat(result.batches()).isEqualTo(3);
+		assertThat(result.droppedPartitions()).isZero();
+		assertThat(refreshTokenRepository.findAll()).extracting(RefreshToken::getToken)
+			.containsExactlyInAnyOrder("valid-1", "valid-2");
+	}
+
+	@Test
+	void shouldDoNothing_WhenNoTokenExpired() {
+		// Given
+		saveToken("valid", Instant.now().plus(1, ChronoUnit.DAYS));
+
+		// When
+		RefreshTokenCleanupService.CleanupResult result = refreshTokenCleanupService.purgeExpiredTokens();
+
+		// Then
+		assertThat(result.deletedRows()).isZero();
+		assertThat(result.batches()).isEqualTo(1);
+		assertThat(refreshTokenRepository.count()).isEqualTo(1);
+	}
+
+	private void saveToken(String token, Instant expiryDate) {
+		RefreshToken refreshToken = new RefreshToken();
+		refreshToken.setUser(userSecurity);
+		refreshToken.setToken(token);
+		refreshToken.setExpiryDate(expiryDate);
+		refreshTokenRepository.save(refreshToken);
+	}
+
+}
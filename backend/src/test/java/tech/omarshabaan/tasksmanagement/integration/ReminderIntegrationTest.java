@@ -0,0 +1,203 @@
+package tech.omarshabaan.tasksmanagement.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.omarshabaan.tasksmanagement.BaseIT;
+import tech.omarshabaan.tasksmanagement.entity.Role;
+import tech.omarshabaan.tasksmanagement.entity.RoleName;
+import tech.omarshabaan.tasksmanagement.entity.Task;
+import tech.omarshabaan.tasksmanagement.entity.TaskPriority;
+import tech.omarshabaan.tasksmanagement.entity.TaskStatus;
+import tech.omarshabaan.tasksmanagement.entity.User;
+import tech.omarshabaan.tasksmanagement.entity.UserSecurity;
+import tech.omarshabaan.tasksmanagement.service.reminder.ReminderCleanupJob;
+import tech.omarshabaan.tasksmanagement.service.reminder.ReminderScheduler;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for due-date reminders. The test profile turns the schedule off and
+ * fires reminders 15 minutes ahead, so every test refreshes and ticks
+ * {@link ReminderScheduler} itself and reads what fired from {@code task_reminders}.
+ */
+class ReminderIntegrationTest extends BaseIT {
+
+	@Autowired
+	private ReminderScheduler reminderScheduler;
+
+	@Autowired
+	private ReminderCleanupJob cleanupJob;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private TransactionTemplate transactionTemplate;
+
+	private User user;
+
+	@BeforeEach
+	void setUp() {
+		transactionTemplate = new TransactionTemplate(transactionManager);
+		transactionTemplate.executeWithoutResult(status -> {
+			taskRepository.deleteAll();
+			refreshTokenRepository.deleteAll();
+			userRepository.deleteAll();
+			userSecurityRepository.deleteAll();
+
+			Role userRole = roleRepository.findByName(RoleName.USER)
+				.orElseThrow(() -> new RuntimeException("USER role not found"));
+			UserSecurity userSecurity = userSecurityRepository.save(UserSecurity.builder()
+				.email("taskuser@example.com")
+				.password(passwordEncoder.encode("P@ssw0rd123!"))
+				.locked(false)
+				.enabled(true)
+				.addRole(userRole)
+				.build());
+			user = userRepository.save(new User("taskuser", userSecurity));
+		});
+	}
+
+	@Test
+	void shouldFireOnce_ForOpenTasksComingDue() {
+		// Given
+		Task dueSoon = createTask("Due soon", TaskStatus.PENDING, 5);
+		createTask("Due later", TaskStatus.IN_PROGRESS, 30);
+		createTask("Completed", TaskStatus.COMPLETED, 5);
+		createTask("No due date", TaskStatus.PENDING, null);
+
+		// When
+		reminderScheduler.refresh();
+		int fired = reminderScheduler.tick();
+
+		// Then - only the open task due within the 15 minute lead
+		assertThat(fired).isEqualTo(1);
+		assertThat(firedTitles()).containsExactly("Due soon");
+
+		// When - turning and refreshing again
+		int firedAgain = reminderScheduler.tick();
+		reminderScheduler.refresh();
+		firedAgain += reminderScheduler.tick();
+
+		// Then
+		assertThat(firedAgain).isZero();
+		assertThat(countMarkers(dueSoon)).isEqualTo(1);
+	}
+
+	@Test
+	void shouldFireAgain_OnlyWhenDueDateMoves() {
+		// Given
+		Task task = createTask("Moving", TaskStatus.PENDING, 5);
+		reminderScheduler.refresh();
+		assertThat(reminderScheduler.tick()).isEqualTo(1);
+
+		// When - an update that leaves the due date alone
+		updateTask(task.getId(), changed -> changed.setTitle("Renamed"));
+		reminderScheduler.refresh();
+
+		// Then
+		assertThat(reminderScheduler.tick()).isZero();
+
+		// When - the due date moves, still within the lead
+		updateTask(task.getId(), changed -> changed.setDueDate(Instant.now().plus(10, ChronoUnit.MINUTES)));
+		reminderScheduler.refresh();
+
+		// Then - a reminder for the new due date
+		assertThat(reminderScheduler.tick()).isEqualTo(1);
+		assertThat(countMarkers(task)).isEqualTo(2);
+	}
+
+	@Test
+	void shouldDropTasksDeletedOrClosed_BeforeFiring() {
+		// Given - both are in the wheel
+		Task deleted = createTask("Deleted", TaskStatus.PENDING, 5);
+		Task completed = createTask("Completed later", TaskStatus.PENDING, 6);
+		reminderScheduler.refresh();
+
+		// When - changed without a refresh in between
+		transactionTemplate.executeWithoutResult(status -> taskRepository.deleteById(deleted.getId()));
+		updateTask(completed.getId(), changed -> changed.setStatus(TaskStatus.COMPLETED));
+		int fired = reminderScheduler.tick();
+
+		// Then
+		assertThat(fired).isZero();
+		assertThat(firedTitles()).isEmpty();
+	}
+
+	@Test
+	void shouldNotFire_WhenAnotherNodeClaimedFirst() {
+		// Given - one fired before this node loaded it, one after
+		Task claimedBefore = createTask("Claimed before", TaskStatus.PENDING, 5);
+		insertMarker(claimedBefore, "other-node");
+		Task claimedAfter = createTask("Claimed after", TaskStatus.PENDING, 7);
+		reminderScheduler.refresh();
+		insertMarker(claimedAfter, "other-node");
+
+		// When
+		int fired = reminderScheduler.tick();
+
+		// Then
+		assertThat(fired).isZero();
+		assertThat(jdbcTemplate.queryForList("SELECT DISTINCT node FROM task_reminders", String.class))
+			.containsExactly("other-node");
+	}
+
+	@Test
+	void shouldPurgeMarkers_PastRetention() {
+		// Given - a marker for a due date eight days ago, the retention being seven
+		Task task = createTask("Fired", TaskStatus.PENDING, 5);
+		reminderScheduler.refresh();
+		reminderScheduler.tick();
+		jdbcTemplate.update("INSERT INTO task_reminders (task_id, due_date, node) VALUES (?, ?, 'test-node')",
+				task.getId(), Timestamp.from(Instant.now().minus(8, ChronoUnit.DAYS)));
+
+		// When
+		cleanupJob.execute(null);
+
+		// Then
+		assertThat(countMarkers(task)).isEqualTo(1);
+	}
+
+	private Task createTask(String title, TaskStatus status, Integer dueInMinutes) {
+		Instant dueDate = dueInMinutes != null ? Instant.now().plus(dueInMinutes, ChronoUnit.MINUTES) : null;
+		return transactionTemplate.execute(transaction -> {
+			Task task = new Task(title, null, TaskPriority.MEDIUM, dueDate, user, user);
+			task.setStatus(status);
+			return taskRepository.save(task);
+		});
+	}
+
+	private void updateTask(Long id, Consumer<Task> change) {
+		transactionTemplate.executeWithoutResult(status -> change.accept(taskRepository.findById(id).orElseThrow()));
+	}
+
+	private void insertMarker(Task task, String node) {
+		jdbcTemplate.update("""
+				INSERT INTO task_reminders (task_id, due_date, node)
+				SELECT id, due_date, ? FROM tasks WHERE id = ?""", node, task.getId());
+	}
+
+	private List<String> firedTitles() {
+		return jdbcTemplate.queryForList("""
+				SELECT t.title FROM task_reminders r JOIN tasks t ON t.id = r.task_id
+				ORDER BY r.fired_at""", String.class);
+	}
+
+	private long countMarkers(Task task) {
+		return jdbcTemplate.queryForObject("SELECT count(*) FROM task_reminders WHERE task_id = ?", Long.class,
+				task.getId());
+	}
+
+}
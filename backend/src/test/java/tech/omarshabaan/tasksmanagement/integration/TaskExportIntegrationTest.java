@@ -0,0 +1,132 @@
+package tech.omarshabaan.tasksmanagement.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.omarshabaan.tasksmanagement.BaseIT;
+import tech.omarshabaan.tasksmanagement.TestObjects;
+import tech.omarshabaan.tasksmanagement.dto.auth.UserSigninResponse;
+import tech.omarshabaan.tasksmanagement.entity.Role;
+import tech.omarshabaan.tasksmanagement.entity.RoleName;
+import tech.omarshabaan.tasksmanagement.entity.Task;
+import tech.omarshabaan.tasksmanagement.entity.TaskPriority;
+import tech.omarshabaan.tasksmanagement.entity.TaskStatus;
+import tech.omarshabaan.tasksmanagement.entity.User;
+import tech.omarshabaan.tasksmanagement.entity.UserSecurity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the task export. The export is written on an async request thread
+ * in its own transaction, so the tasks are committed rather than created in a test
+ * transaction.
+ */
+class TaskExportIntegrationTest extends BaseIT {
+
+	// more than one fetch of the export cursor
+	private static final int TASKS = 1200;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private String accessToken;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> createUserWithTasks());
+
+		MvcResult signinResult = mockMvc
+			.perform(post("/api/auth/signin").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(TestObjects.taskUserSigninRequest)))
+			.andExpect(status().isOk())
+			.andReturn();
+		accessToken = objectMapper.readValue(signinResult.getResponse().getContentAsString(), UserSigninResponse.class)
+			.accessToken();
+	}
+
+	private void createUserWithTasks() {
+		taskRepository.deleteAll();
+		refreshTokenRepository.deleteAll();
+		userRepository.deleteAll();
+		userSecurityRepository.deleteAll();
+
+		Role userRole = roleRepository.findByName(RoleName.USER)
+			.orElseThrow(() -> new RuntimeException("USER role not found"));
+		UserSecurity userSecurity = userSecurityRepository.save(UserSecurity.builder()
+			.email("taskuser@example.com")
+			.password(passwordEncoder.encode("P@ssw0rd123!"))
+			.locked(false)
+			.enabled(true)
+			.addRole(userRole)
+			.build());
+		User user = userRepository.save(new User("taskuser", userSecurity));
+
+		List<Task> tasks = new ArrayList<>();
+		for (int i = 0; i < TASKS; i++) {
+			tasks.add(new Task("Task " + i, i == 0 ? "Line one\nline \"two\", three" : null,
+					TaskPriority.values()[i % TaskPriority.values().length], null, user, user));
+		}
+		tasks.getLast().setStatus(TaskStatus.COMPLETED);
+		taskRepository.saveAll(tasks);
+	}
+
+	@Test
+	void shouldExportAllTasks_AsCsv() throws Exception {
+		// When
+		String csv = export("/api/tasks/me/export");
+
+		// Then - a header, every task in creation order, and the quoted multi-line field
+		List<String> records = List.of(csv.split("\r\n"));
+		assertThat(records).hasSize(TASKS + 1);
+		assertThat(records.getFirst()).isEqualTo("uuid,title,description,status,priority,dueDate,createdAt,updatedAt");
+		assertThat(records.get(1)).contains(",Task 0,\"Line one\nline \"\"two\"\", three\",PENDING,LOW,,");
+		assertThat(records.getLast()).contains(",Task " + (TASKS - 1) + ",,COMPLETED,");
+	}
+
+	@Test
+	void shouldExportTasksInStatus_AsNdjson() throws Exception {
+		// When
+		String ndjson = export("/api/tasks/me/export?format=ndjson&status=PENDING");
+
+		// Then
+		List<String> lines = ndjson.lines().toList();
+		assertThat(ndjson).endsWith("\n");
+		assertThat(lines).hasSize(TASKS - 1);
+		JsonNode first = objectMapper.readTree(lines.getFirst());
+		assertThat(first.get("title").asText()).isEqualTo("Task 0");
+		assertThat(first.get("description").asText()).isEqualTo("Line one\nline \"two\", three");
+		assertThat(first.get("createdAt").asText()).endsWith("Z");
+	}
+
+	@Test
+	void shouldRejectUnknownFormat() throws Exception {
+		// When & Then
+		mockMvc.perform(get("/api/tasks/me/export?format=xml").header("Authorization", "Bearer " + accessToken))
+			.andExpect(status().isBadRequest());
+	}
+
+	private String export(String uri) throws Exception {
+		MvcResult started = mockMvc.perform(get(uri).header("Authorization", "Bearer " + accessToken))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+		return mockMvc.perform(asyncDispatch(started))
+			.andExpect(status().isOk())
+			.andReturn()
+			.getResponse()
+			.getContentAsString();
+	}
+
+}
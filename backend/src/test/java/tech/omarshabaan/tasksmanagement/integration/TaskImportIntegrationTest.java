@@ -0,0 +1,186 @@
+package tech.omarshabaan.tasksmanagement.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+import tech.omarshabaan.tasksmanagement.BaseIT;
+import tech.omarshabaan.tasksmanagement.TestObjects;
+import tech.omarshabaan.tasksmanagement.dto.auth.UserSigninResponse;
+import tech.omarshabaan.tasksmanagement.dto.task.TaskImportError;
+import tech.omarshabaan.tasksmanagement.dto.task.TaskImportResponse;
+import tech.omarshabaan.tasksmanagement.entity.Role;
+import tech.omarshabaan.tasksmanagement.entity.RoleName;
+import tech.omarshabaan.tasksmanagement.entity.Task;
+import tech.omarshabaan.tasksmanagement.entity.TaskPriority;
+import tech.omarshabaan.tasksmanagement.entity.TaskStatus;
+import tech.omarshabaan.tasksmanagement.entity.User;
+import tech.omarshabaan.tasksmanagement.entity.UserSecurity;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the bulk task import through the staging table.
+ */
+@Transactional
+class TaskImportIntegrationTest extends BaseIT {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private String accessToken;
+
+	private User testUser;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		taskRepository.deleteAll();
+		refreshTokenRepository.deleteAll();
+		userRepository.deleteAll();
+		userSecurityRepository.deleteAll();
+
+		Role userRole = roleRepository.findByName(RoleName.USER)
+			.orElseThrow(() -> new RuntimeException("USER role not found"));
+		UserSecurity userSecurity = userSecurityRepository.save(UserSecurity.builder()
+			.email("taskuser@example.com")
+			.password(passwordEncoder.encode("P@ssw0rd123!"))
+			.locked(false)
+			.enabled(true)
+			.addRole(userRole)
+			.build());
+		testUser = userRepository.save(new User("taskuser", userSecurity));
+
+		MvcResult signinResult = mockMvc
+			.perform(post("/api/auth/signin").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(TestObjects.taskUserSigninRequest)))
+			.andExpect(status().isOk())
+			.andReturn();
+		accessToken = objectMapper.readValue(signinResult.getResponse().getContentAsString(), UserSigninResponse.class)
+			.accessToken();
+	}
+
+	@Test
+	void shouldImportValidRows_AndReportTheOthers_FromCsv() throws Exception {
+		// Given - columns in any order, an extra column, quoted fields and blank lines
+		String csv = """
+				Priority,Title,Status,DueDate,Description\r
+				HIGH,"Plan, then ship",PENDING,2025-12-31T23:59:59Z,"Line one
+				line ""two""\"\r
+				\r
+				low,Write notes,,,\r
+				HIGH,,,,No title\r
+				SOON,Unknown priority,,,\r
+				MEDIUM,Bad date,,tomorrow,\r
+				MEDIUM,Too few fields\r
+				""";
+
+		// When
+		TaskImportResponse response = importTasks("csv", csv);
+
+		// Then
+		assertThat(response.imported()).isEqualTo(2);
+		assertThat(response.failed()).isEqualTo(4);
+		assertThat(response.errors()).containsExactly(new TaskImportError(3, "title", "Title is required"),
+				new TaskImportError(4, "priority", "Priority must be one of [LOW, MEDIUM, HIGH, URGENT]"),
+				new TaskImportError(5, "dueDate", "Due date must be an ISO-8601 instant, e.g. 2025-01-31T17:00:00Z"),
+				new TaskImportError(6, null, "Row has 2 fields, the header has 5"));
+
+		List<Task> tasks = importedTasks();
+		assertThat(tasks).extracting(Task::getTitle).containsExactly("Plan, then ship", "Write notes");
+		Task first = tasks.getFirst();
+		assertThat(first.getUuid()).isNotNull();
+		assertThat(first.getDescription()).isEqualTo("Line one\nline \"two\"");
+		assertThat(first.getPriority()).isEqualTo(TaskPriority.HIGH);
+		assertThat(first.getStatus()).isEqualTo(TaskStatus.PENDING);
+		assertThat(first.getDueDate()).isEqualTo(Instant.parse("2025-12-31T23:59:59Z"));
+		assertThat(first.getCreatedAt()).isNotNull();
+		assertThat(tasks.get(1).getDescription()).isNull();
+		assertThat(tasks.get(1).getPriority()).isEqualTo(TaskPriority.LOW);
+	}
+
+	@Test
+	void shouldImportManyRows_FromNdjson() throws Exception {
+		// Given - more than one chunk of the copy, and a malformed and a mistyped line
+		StringBuilder ndjson = new StringBuilder();
+		for (int i = 0; i < 5000; i++) {
+			ndjson.append("{\"title\":\"Task ").append(i).append("\",\"priority\":\"LOW\"}\n");
+		}
+		ndjson.append("{\"title\":\"Broken\"\n");
+		ndjson.append("{\"title\":\"Mistyped\",\"priority\":\"LOW\",\"dueDate\":\"soon\"}\n");
+
+		// When
+		TaskImportResponse response = importTasks("ndjson", ndjson.toString());
+
+		// Then
+		assertThat(response.imported()).isEqualTo(5000);
+		assertThat(response.errors()).extracting(TaskImportError::row, TaskImportError::field)
+			.containsExactly(tuple(5001L, null), tuple(5002L, "dueDate"));
+		List<Task> tasks = importedTasks();
+		assertThat(tasks).hasSize(5000);
+		assertThat(tasks.getLast().getTitle()).isEqualTo("Task 4999");
+		assertThat(tasks).extracting(Task::getUuid).doesNotHaveDuplicates();
+	}
+
+	@Test
+	void shouldRejectCsvWithoutTitleColumn() throws Exception {
+		// When & Then
+		mockMvc
+			.perform(post("/api/tasks/import").header("Authorization", "Bearer " + accessToken)
+				.contentType("text/csv")
+				.content("name,priority\r\nTask,LOW\r\n"))
+			.andExpect(status().isBadRequest());
+		assertThat(importedTasks()).isEmpty();
+	}
+
+	@Test
+	void shouldRejectImportOverMaxSize_WithoutImportingAnything() throws Exception {
+		// Given - over the test profile's 1MB
+		String csv = "title,priority\r\n" + "Task,LOW\r\n".repeat(120_000);
+
+		// When & Then
+		mockMvc
+			.perform(post("/api/tasks/import").header("Authorization", "Bearer " + accessToken)
+				.contentType("text/csv")
+				.content(csv))
+			.andExpect(status().isPayloadTooLarge());
+		assertThat(importedTasks()).isEmpty();
+	}
+
+	@Test
+	void shouldStampImportedTasks_WithTheTimeOfTheMerge() throws Exception {
+		// When - inside the test's transaction, which started before the import
+		importTasks("csv", "title,priority\r\nFirst,LOW\r\nSecond,LOW\r\n");
+
+		// Then - later than the transaction start, so not behind the rollup watermark
+		assertThat(jdbcTemplate
+			.queryForList("SELECT created_at > now()::timestamp AND updated_at = created_at FROM tasks", Boolean.class))
+			.containsExactly(true, true);
+	}
+
+	private TaskImportResponse importTasks(String format, String body) throws Exception {
+		MvcResult result = mockMvc
+			.perform(post("/api/tasks/import").param("format", format)
+				.header("Authorization", "Bearer " + accessToken)
+				.contentType(format.equals("csv") ? MediaType.parseMediaType("text/csv") : MediaType.APPLICATION_NDJSON)
+				.content(body))
+			.andExpect(status().isOk())
+			.andReturn();
+		return objectMapper.readValue(result.getResponse().getContentAsString(), TaskImportResponse.class);
+	}
+
+	private List<Task> importedTasks() {
+		return taskRepository.findByAssignedTo(testUser, PageRequest.of(0, 10000, Sort.by("id"))).getContent();
+	}
+
+}
@@ -7,16 +7,21 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 import tech.omarshabaan.tasksmanagement.BaseIT;
+import tech.omarshabaan.tasksmanagement.QueryBudget;
 import tech.omarshabaan.tasksmanagement.TestObjects;
 import tech.omarshabaan.tasksmanagement.dto.auth.UserSigninResponse;
 import tech.omarshabaan.tasksmanagement.dto.task.GetTaskResponse;
 import tech.omarshabaan.tasksmanagement.entity.Role;
 import tech.omarshabaan.tasksmanagement.entity.RoleName;
+import tech.omarshabaan.tasksmanagement.entity.Task;
 import tech.omarshabaan.tasksmanagement.entity.TaskPriority;
 import tech.omarshabaan.tasksmanagement.entity.TaskStatus;
 import tech.omarshabaan.tasksmanagement.entity.User;
 import tech.omarshabaan.tasksmanagement.entity.UserSecurity;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -36,6 +41,8 @@ class TaskIntegrationTest extends BaseIT {
 
 	private String accessToken;
 
+	private User testUser;
+
 	@BeforeEach
 	void setUp() throws Exception {
 		// Clean up
@@ -58,8 +65,7 @@ class TaskIntegrationTest extends BaseIT {
 
 		userSecurity = userSecurityRepository.save(userSecurity);
 
-		User testUser = new User("taskuser", userSecurity);
-		userRepository.save(testUser);
+		testUser = userRepository.save(new User("taskuser", userSecurity));
 
 		// Sign in to get access token
 		MvcResult signinResult = mockMvc
@@ -141,4 +147,58 @@ class TaskIntegrationTest extends BaseIT {
 		assertThat(taskRepository.count()).isEqualTo(0);
 	}
 
+	@Test
+	void shouldListOverdueAndDueSoonTasks_OnlyWhileOpen() throws Exception {
+		// Given
+		Instant now = Instant.now();
+		saveTask("Overdue by a day", now.minus(1, ChronoUnit.DAYS), TaskStatus.PENDING);
+		saveTask("Overdue by a week", now.minus(7, ChronoUnit.DAYS), TaskStatus.IN_PROGRESS);
+		saveTask("Completed late", now.minus(3, ChronoUnit.DAYS), TaskStatus.COMPLETED);
+		saveTask("Cancelled", now.minus(3, ChronoUnit.DAYS), TaskStatus.CANCELLED);
+		saveTask("Due in an hour", now.plus(1, ChronoUnit.HOURS), TaskStatus.PENDING);
+		saveTask("Due in two days", now.plus(2, ChronoUnit.DAYS), TaskStatus.PENDING);
+		saveTask("No due date", null, TaskStatus.PENDING);
+		taskRepository.flush();
+
+		// When & Then - the longest overdue first, closed tasks left out
+		assertThat(titles("/api/tasks/me/overdue")).containsExactly("Overdue by a week", "Overdue by a day");
+		assertThat(titles("/api/tasks/me/due-soon")).containsExactly("Due in an hour");
+		assertThat(titles("/api/tasks/me/due-soon?hours=72")).containsExactly("Due in an hour", "Due in two days");
+	}
+
+	@Test
+	void shouldListTasks_WithinStatementBudget_RegardlessOfTaskCount() throws Exception {
+		// Given
+		for (int i = 0; i < 10; i++) {
+			taskRepository
+				.save(new Task("Task " + i, "Description " + i, TaskPriority.MEDIUM, null, testUser, testUser));
+		}
+		taskRepository.flush();
+
+		try (QueryBudget budget = QueryBudget.start()) {
+			// When
+			mockMvc.perform(get("/api/tasks/me").header("Authorization", "Bearer " + accessToken))
+				.andExpect(status().isOk());
+
+			// Then - the user lookup and the page (a short first page needs no count);
+			// task summaries do not touch the lazy createdBy/assignedTo
+			budget.assertStatements(2).assertNoRepeatedStatements();
+		}
+	}
+
+	private void saveTask(String title, Instant dueDate, TaskStatus status) {
+		Task task = new Task(title, null, TaskPriority.MEDIUM, dueDate, testUser, testUser);
+		task.setStatus(status);
+		taskRepository.save(task);
+	}
+
+	private List<String> titles(String uri) throws Exception {
+		MvcResult result = mockMvc.perform(get(uri).header("Authorization", "Bearer " + accessToken))
+			.andExpect(status().isOk())
+			.andReturn();
+		return objectMapper.readTree(result.getResponse().getContentAsString())
+			.get("content")
+			.findValuesAsText("title");
+	}
+
 }
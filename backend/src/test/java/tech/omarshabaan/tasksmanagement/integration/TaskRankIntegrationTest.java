@@ -0,0 +1,317 @@
+package tech.omarshabaan.tasksmanagement.integration;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.omarshabaan.tasksmanagement.BaseIT;
+import tech.omarshabaan.tasksmanagement.TestObjects;
+import tech.omarshabaan.tasksmanagement.dto.auth.UserSigninResponse;
+import tech.omarshabaan.tasksmanagement.dto.task.CreateTaskRequest;
+import tech.omarshabaan.tasksmanagement.dto.task.MoveTaskRequest;
+import tech.omarshabaan.tasksmanagement.dto.task.UpdateTaskRequest;
+import tech.omarshabaan.tasksmanagement.entity.Role;
+import tech.omarshabaan.tasksmanagement.entity.RoleName;
+import tech.omarshabaan.tasksmanagement.entity.TaskPriority;
+import tech.omarshabaan.tasksmanagement.entity.TaskStatus;
+import tech.omarshabaan.tasksmanagement.entity.User;
+import tech.omarshabaan.tasksmanagement.entity.UserSecurity;
+import tech.omarshabaan.tasksmanagement.service.task.TaskRankRebalanceJob;
+import tech.omarshabaan.tasksmanagement.service.task.TaskService;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the manual order of the tasks of a board column.
+ */
+@Transactional
+class TaskRankIntegrationTest extends BaseIT {
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private TaskRankRebalanceJob rebalanceJob;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private String accessToken;
+
+	private User testUser;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		// in a transaction of its own for the test that runs without one
+		testUser = new TransactionTemplate(transactionManager).execute(status -> createUser());
+
+		MvcResult signinResult = mockMvc
+			.perform(post("/api/auth/signin").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(TestObjects.taskUserSigninRequest)))
+			.andExpect(status().isOk())
+			.andReturn();
+		accessToken = objectMapper.readValue(signinResult.getResponse().getContentAsString(), UserSigninResponse.class)
+			.accessToken();
+	}
+
+	private User createUser() {
+		taskRepository.deleteAll();
+		refreshTokenRepository.deleteAll();
+		userRepository.deleteAll();
+		userSecurityRepository.deleteAll();
+
+		Role userRole = roleRepository.findByName(RoleName.USER)
+			.orElseThrow(() -> new RuntimeException("USER role not found"));
+		UserSecurity userSecurity = userSecurityRepository.save(UserSecurity.builder()
+			.email("taskuser@example.com")
+			.password(passwordEncoder.encode("P@ssw0rd123!"))
+			.locked(false)
+			.enabled(true)
+			.addRole(userRole)
+			.build());
+		return userRepository.save(new User("taskuser", userSecurity));
+	}
+
+	@Test
+	void shouldListColumnInBoardOrder_AfterMoves() throws Exception {
+		// Given - A, B, C in creation order
+		UUID a = createTask("A");
+		UUID b = createTask("B");
+		UUID c = createTask("C");
+
+		// When - C to the top, then A after B
+		moveTask(c, TaskStatus.PENDING, null);
+		Map<UUID, String> ranksBefore = ranks();
+		moveTask(a, TaskStatus.PENDING, b);
+
+		// Then - only the moved task's rank changed
+		assertThat(column(TaskStatus.PENDING)).containsExactly("C", "B", "A");
+		Map<UUID, String> ranksAfter = ranks();
+		assertThat(ranksAfter.get(b)).isEqualTo(ranksBefore.get(b));
+		assertThat(ranksAfter.get(c)).isEqualTo(ranksBefore.get(c));
+		assertThat(ranksAfter.get(a)).isNotEqualTo(ranksBefore.get(a));
+	}
+
+	@Test
+	void shouldChangeStatus_WhenMovedIntoAnotherColumn() throws Exception {
+		// Given
+		UUID a = createTask("A");
+		createTask("B");
+		UUID c = createTask("C");
+		moveTask(a, TaskStatus.IN_PROGRESS, null);
+
+		// When
+		mockMvc
+			.perform(put("/api/tasks/{taskUuid}/position", c).header("Authorization", "Bearer " + accessToken)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(new MoveTaskRequest(TaskStatus.IN_PROGRESS, null))))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.status").value("IN_PROGRESS"));
+
+		// Then
+		assertThat(column(TaskStatus.PENDING)).containsExactly("B");
+		assertThat(column(TaskStatus.IN_PROGRESS)).containsExactly("C", "A");
+	}
+
+	@Test
+	void shouldPutTaskAtBottomOfNewColumn_WhenStatusUpdated() throws Exception {
+		// Given
+		UUID a = createTask("A");
+		UUID b = createTask("B");
+		moveTask(b, TaskStatus.IN_PROGRESS, null);
+
+		// When
+		taskService.updateTask(a, new UpdateTaskRequest(null, null, TaskStatus.IN_PROGRESS, null, null),
+				testUser.getUuid());
+
+		// Then
+		assertThat(column(TaskStatus.IN_PROGRESS)).containsExactly("B", "A");
+	}
+
+	@Test
+	void shouldRebalanceColumnInBackground_WhenRanksGrowLong() throws Exception {
+		// Given - a column whose gap between A and B has been split many times
+		UUID a = createTask("A");
+		UUID b = createTask("B");
+		UUID c = createTask("C");
+		taskRepository.flush();
+		jdbcTemplate.update("UPDATE tasks SET rank = (SELECT rank FROM tasks WHERE uuid = ?) || repeat('0', 30) || '1' "
+				+ "WHERE uuid = ?", a, b);
+
+		// When - a move into that gap
+		moveTask(c, TaskStatus.PENDING, a);
+
+		// Then - the column is queued for a rebalance, which keeps its order
+		taskRepository.flush();
+		List<String> payloads = jdbcTemplate.queryForList("SELECT payload FROM jobs WHERE type = ?", String.class,
+				TaskRankRebalanceJob.TYPE);
+		assertThat(payloads).containsExactly(TaskRankRebalanceJob.payload(testUser.getId(), TaskStatus.PENDING));
+
+		rebalanceJob.execute(payloads.getFirst());
+
+		assertThat(column(TaskStatus.PENDING)).containsExactly("A", "C", "B");
+		assertThat(ranks().values()).allSatisfy(rank -> assertThat(rank).hasSizeLessThanOrEqualTo(2));
+	}
+
+	@Test
+	void shouldAppendImportedTasksInInputOrder() throws Exception {
+		// Given
+		UUID a = createTask("A");
+		createTask("B");
+		moveTask(a, TaskStatus.PENDING, null);
+
+		// When
+		mockMvc
+			.perform(post("/api/tasks/import").header("Authorization", "Bearer " + accessToken)
+				.contentType("text/csv")
+				.content("title,priority\r\nX,LOW\r\nY,LOW\r\nZ,LOW\r\n"))
+			.andExpect(status().isOk());
+
+		// Then
+		assertThat(column(TaskStatus.PENDING)).containsExactly("A", "B", "X", "Y", "Z");
+	}
+
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	void shouldWaitForBoardLock_WhenAppendingTasks() throws Exception {
+		// Given - another transaction holding the board's lock
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		CountDownLatch locked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<Void> holder = CompletableFuture
+			.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+				jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?)", testUser.getId());
+				locked.countDown();
+				await(release);
+			}));
+		assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+		// When - a create and an import of that board
+		CompletableFuture<UUID> created = CompletableFuture.supplyAsync(() -> createTask("A"));
+		CompletableFuture<Void> imported = CompletableFuture.runAsync(() -> {
+			try {
+				mockMvc
+					.perform(post("/api/tasks/import").header("Authorization", "Bearer " + accessToken)
+						.contentType("text/csv")
+						.content("title,priority\r\nX,LOW\r\n"))
+					.andExpect(status().isOk());
+			}
+			catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+
+		// Then - both wait for the lock, then get ranks of their own
+		assertThatThrownBy(() -> CompletableFuture.anyOf(created, imported).get(500, TimeUnit.MILLISECONDS))
+			.isInstanceOf(TimeoutException.class);
+		release.countDown();
+		CompletableFuture.allOf(holder, created, imported).get(5, TimeUnit.SECONDS);
+		assertThat(ranks().values()).hasSize(2).doesNotHaveDuplicates();
+	}
+
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	void shouldNotDeadlock_WhenStatusUpdateRacesMoveOfSameTask() throws Exception {
+		// Given - a move of A holding the board's lock
+		UUID a = createTask("A");
+		UUID b = createTask("B");
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		CountDownLatch locked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<Void> move = CompletableFuture
+			.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+				jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?)", testUser.getId());
+				locked.countDown();
+				await(release);
+				taskService.moveTask(a, new MoveTaskRequest(TaskStatus.PENDING, b), testUser.getUuid());
+			}));
+		assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+		// When - the update waits for the lock, then the move writes the task's row
+		CompletableFuture<Void> update = CompletableFuture.runAsync(() -> taskService.updateTask(a,
+				new UpdateTaskRequest(null, null, TaskStatus.IN_PROGRESS, null, null), testUser.getUuid()));
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (jdbcTemplate.queryForObject("SELECT count(*) FROM pg_locks WHERE locktype = 'advisory' AND NOT granted",
+				Long.class) == 0) {
+			assertThat(System.nanoTime()).as("the update to wait for the board lock").isLessThan(deadline);
+			Thread.sleep(20);
+		}
+		release.countDown();
+
+		// Then - both commit, the update last
+		CompletableFuture.allOf(move, update).get(10, TimeUnit.SECONDS);
+		assertThat(column(TaskStatus.PENDING)).containsExactly("B");
+		assertThat(column(TaskStatus.IN_PROGRESS)).containsExactly("A");
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private UUID createTask(String title) {
+		return taskService.createTask(new CreateTaskRequest(title, null, TaskPriority.MEDIUM, null), testUser.getUuid())
+			.uuid();
+	}
+
+	private void moveTask(UUID taskUuid, TaskStatus status, UUID afterTaskUuid) throws Exception {
+		mockMvc
+			.perform(put("/api/tasks/{taskUuid}/position", taskUuid).header("Authorization", "Bearer " + accessToken)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(new MoveTaskRequest(status, afterTaskUuid))))
+			.andExpect(status().isOk());
+	}
+
+	private List<String> column(TaskStatus status) throws Exception {
+		MvcResult result = mockMvc
+			.perform(get("/api/tasks/me").param("status", status.name())
+				.header("Authorization", "Bearer " + accessToken))
+			.andExpect(status().isOk())
+			.andReturn();
+		return JsonPath.read(result.getResponse().getContentAsString(), "$.content[*].title");
+	}
+
+	/**
+	 * Ranks as stored; moves write them with their own statement, past the persistence
+	 * context.
+	 */
+	private Map<UUID, String> ranks() {
+		return jdbcTemplate.query("SELECT uuid, rank FROM tasks", rs -> {
+			Map<UUID, String> ranks = new HashMap<>();
+			while (rs.next()) {
+				ranks.put(rs.getObject("uuid", UUID.class), rs.getString("rank"));
+			}
+			return ranks;
+		});
+	}
+
+}
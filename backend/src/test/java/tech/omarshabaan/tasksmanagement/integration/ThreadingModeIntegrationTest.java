@@ -0,0 +1,81 @@
+package tech.omarshabaan.tasksmanagement.integration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.context.TestPropertySource;
+import tech.omarshabaan.tasksmanagement.BaseIT;
+import tech.omarshabaan.tasksmanagement.config.VirtualThreadPinningMonitor;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the threading mode: the production defaults, with virtual
+ * threads, the database gate and the pinning monitor off, and the virtual-thread mode
+ * that turns all three on.
+ */
+class ThreadingModeIntegrationTest extends BaseIT {
+
+	@Autowired
+	private TaskScheduler taskScheduler;
+
+	@Autowired
+	private VirtualThreadPinningMonitor pinningMonitor;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void shouldRunOnPlatformThreads_WithoutGateOrMonitor_ByDefault() throws Exception {
+		// When & Then
+		assertThat(scheduledOnVirtualThread(taskScheduler)).isFalse();
+		assertThat(pinningMonitor.isRunning()).isFalse();
+		assertThat(meterRegistry.find("db.gate.available").gauge()).isNull();
+	}
+
+	@Nested
+	@TestPropertySource(properties = { "spring.threads.virtual.enabled=true", "app.datasource.gate.enabled=true",
+			"app.threads.pinning-monitor.enabled=true" })
+	class VirtualThreadMode {
+
+		@Autowired
+		private DataSource dataSource;
+
+		@Autowired
+		private TaskScheduler taskScheduler;
+
+		@Autowired
+		private VirtualThreadPinningMonitor pinningMonitor;
+
+		@Autowired
+		private MeterRegistry meterRegistry;
+
+		@Test
+		void shouldRunScheduledWorkOnVirtualThreads_BehindTheGate() throws Exception {
+			// When & Then
+			assertThat(scheduledOnVirtualThread(taskScheduler)).isTrue();
+			try (var connection = dataSource.getConnection()) {
+				assertThat(connection.isValid(1)).isTrue();
+			}
+			// the gate's meters, registered once it wraps the pool
+			assertThat(meterRegistry.get("db.gate.available").gauge().value()).isPositive();
+			assertThat(meterRegistry.get("db.gate.wait").timer().count()).isPositive();
+			assertThat(pinningMonitor.isRunning()).isTrue();
+		}
+
+	}
+
+	private static boolean scheduledOnVirtualThread(TaskScheduler taskScheduler) throws Exception {
+		CompletableFuture<Boolean> virtual = new CompletableFuture<>();
+		taskScheduler.schedule(() -> virtual.complete(Thread.currentThread().isVirtual()), Instant.now());
+		return virtual.get(5, TimeUnit.SECONDS);
+	}
+
+}
@@ -0,0 +1,88 @@
+package tech.omarshabaan.tasksmanagement.integration;
+
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import tech.omarshabaan.tasksmanagement.BaseIT;
+import tech.omarshabaan.tasksmanagement.TestObjects;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TracingIntegrationTest extends BaseIT {
+
+	private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+	private static final String PARENT_SPAN_ID = "00f067aa0ba902b7";
+
+	@Autowired
+	private InMemorySpanExporter spanExporter;
+
+	@Autowired
+	private SdkTracerProvider tracerProvider;
+
+	@BeforeEach
+	void setUp() {
+		refreshTokenRepository.deleteAll();
+		userRepository.deleteAll();
+		userSecurityRepository.deleteAll();
+	}
+
+	@Test
+	void shouldContinueIncomingTraceDownToJdbc() throws Exception {
+		// Given
+		mockMvc
+			.perform(post("/api/auth/signup").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(TestObjects.testUserSignupRequest)))
+			.andExpect(status().isCreated());
+
+		// When
+		mockMvc
+			.perform(post("/api/auth/signin").header("traceparent", "00-" + TRACE_ID + "-" + PARENT_SPAN_ID + "-01")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(TestObjects.testUserSigninRequest)))
+			.andExpect(status().isOk());
+
+		// Then
+		tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+		List<SpanData> spans = spanExporter.getFinishedSpanItems()
+			.stream()
+			.filter(span -> span.getTraceId().equals(TRACE_ID))
+			.toList();
+		SpanData request = span(spans, "http post /api/auth/signin");
+		assertThat(request.getParentSpanId()).isEqualTo(PARENT_SPAN_ID);
+
+		// database: statement inside the repository call inside the service operation
+		SpanData service = span(spans, "auth-service#authenticate-user");
+		SpanData repository = span(spans, "user-repository.find-principal-by-email");
+		SpanData query = spans.stream()
+			.filter(span -> span.getName().equals("query"))
+			.filter(span -> span.getParentSpanId().equals(repository.getSpanId()))
+			.findFirst()
+			.orElseThrow();
+		assertThat(query.getAttributes().asMap().values())
+			.anySatisfy(value -> assertThat(value.toString()).contains("from users"));
+		assertThat(repository.getParentSpanId()).isEqualTo(service.getSpanId());
+
+		// password hashing and response serialization
+		assertThat(span(spans, "password-hash matches").getParentSpanId()).isNotEqualTo(PARENT_SPAN_ID);
+		assertThat(span(spans, "serialize").getAttributes().asMap().values()).contains("UserSigninResponse");
+	}
+
+	private static SpanData span(List<SpanData> spans, String name) {
+		return spans.stream()
+			.filter(span -> span.getName().equals(name))
+			.findFirst()
+			.orElseThrow(() -> new AssertionError(
+					"No span named '" + name + "' in " + spans.stream().map(SpanData::getName).toList()));
+	}
+
+}
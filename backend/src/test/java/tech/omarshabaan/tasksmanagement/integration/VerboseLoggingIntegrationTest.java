@@ -0,0 +1,58 @@
+package tech.omarshabaan.tasksmanagement.integration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import tech.omarshabaan.tasksmanagement.BaseIT;
+import tech.omarshabaan.tasksmanagement.common.logging.VerboseLogging;
+import tech.omarshabaan.tasksmanagement.common.logging.VerboseLoggingEndpoint;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(OutputCaptureExtension.class)
+class VerboseLoggingIntegrationTest extends BaseIT {
+
+	// FilterChainProxy logs this at DEBUG; the test profile keeps security at INFO
+	private static final String SECURITY_DEBUG_LINE = "Securing GET /api/tasks/me";
+
+	@Autowired
+	private VerboseLoggingEndpoint verboseLoggingEndpoint;
+
+	@AfterEach
+	void tearDown() {
+		verboseLoggingEndpoint.reset();
+	}
+
+	@Test
+	void shouldLogSecurityDebug_OnlyForRequestsWithVerboseHeader(CapturedOutput output) throws Exception {
+		// When
+		mockMvc.perform(get("/api/tasks/me").header(VerboseLogging.HEADER, "wrong-token"))
+			.andExpect(status().isUnauthorized());
+		int before = output.getOut().length();
+		mockMvc.perform(get("/api/tasks/me").header(VerboseLogging.HEADER, "test-verbose-token"))
+			.andExpect(status().isUnauthorized());
+
+		// Then
+		assertThat(output.getOut().substring(0, before)).doesNotContain(SECURITY_DEBUG_LINE);
+		assertThat(output.getOut().substring(before)).contains(SECURITY_DEBUG_LINE);
+	}
+
+	@Test
+	void shouldSampleAllRequests_AfterRuntimeUpdate(CapturedOutput output) throws Exception {
+		// Given
+		VerboseLoggingEndpoint.Settings settings = verboseLoggingEndpoint.update(1.0, null);
+		assertThat(settings.samplingRatio()).isEqualTo(1.0);
+
+		// When
+		mockMvc.perform(get("/api/tasks/me")).andExpect(status().isUnauthorized());
+
+		// Then
+		assertThat(output.getOut()).contains(SECURITY_DEBUG_LINE);
+	}
+
+}
@@ -0,0 +1,343 @@
+package tech.omarshabaan.tasksmanagement.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.omarshabaan.tasksmanagement.BaseIT;
+import tech.omarshabaan.tasksmanagement.TestObjects;
+import tech.omarshabaan.tasksmanagement.dto.auth.UserSigninResponse;
+import tech.omarshabaan.tasksmanagement.dto.task.CreateTaskRequest;
+import tech.omarshabaan.tasksmanagement.entity.Role;
+import tech.omarshabaan.tasksmanagement.entity.RoleName;
+import tech.omarshabaan.tasksmanagement.entity.TaskPriority;
+import tech.omarshabaan.tasksmanagement.entity.User;
+import tech.omarshabaan.tasksmanagement.entity.UserSecurity;
+import tech.omarshabaan.tasksmanagement.service.task.TaskService;
+import tech.omarshabaan.tasksmanagement.service.webhook.WebhookDispatcher;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for outgoing webhooks against a local HTTP server standing in for a
+ * receiver. The test profile disables the dispatch schedule, allows two attempts without
+ * backoff and two requests in flight per endpoint, so every test runs
+ * {@link WebhookDispatcher} itself, except the one for the schedule.
+ */
+class WebhookIntegrationTest extends BaseIT {
+
+	@Autowired
+	private WebhookDispatcher dispatcher;
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private TransactionTemplate transactionTemplate;
+
+	private HttpServer receiver;
+
+	private final Queue<ReceivedRequest> received = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger responseStatus = new AtomicInteger(204);
+
+	private final AtomicInteger inFlight = new AtomicInteger();
+
+	private final AtomicInteger maxInFlight = new AtomicInteger();
+
+	private volatile long responseDelayMillis;
+
+	private String accessToken;
+
+	private User admin;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		receiver = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		receiver.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+		receiver.createContext("/hooks", exchange -> {
+			maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+			try {
+				received.add(new ReceivedRequest(exchange.getRequestHeaders().getFirst("Webhook-Id"),
+						exchange.getRequestHeaders().getFirst("Webhook-Event"),
+						exchange.getRequestHeaders().getFirst("Webhook-Timestamp"),
+						exchange.getRequestHeaders().getFirst("Webhook-Signature"),
+						new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8)));
+				Thread.sleep(responseDelayMillis);
+				exchange.sendResponseHeaders(responseStatus.get(), -1);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			finally {
+				inFlight.decrementAndGet();
+				exchange.close();
+			}
+		});
+		receiver.start();
+
+		transactionTemplate = new TransactionTemplate(transactionManager);
+		transactionTemplate.executeWithoutResult(status -> createAdmin());
+		jdbcTemplate.update("DELETE FROM webhook_subscriptions");
+
+		MvcResult signinResult = mockMvc
+			.perform(post("/api/auth/signin").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(TestObjects.taskUserSigninRequest)))
+			.andExpect(status().isOk())
+			.andReturn();
+		accessToken = objectMapper.readValue(signinResult.getResponse().getContentAsString(), UserSigninResponse.class)
+			.accessToken();
+	}
+
+	@AfterEach
+	void tearDown() {
+		receiver.stop(0);
+		// no outbox rows for the other tests' task changes
+		jdbcTemplate.update("DELETE FROM webhook_subscriptions");
+	}
+
+	private void createAdmin() {
+		taskRepository.deleteAll();
+		refreshTokenRepository.deleteAll();
+		userRepository.deleteAll();
+		userSecurityRepository.deleteAll();
+
+		Role adminRole = roleRepository.findByName(RoleName.ADMIN)
+			.orElseThrow(() -> new RuntimeException("ADMIN role not found"));
+		UserSecurity userSecurity = userSecurityRepository.save(UserSecurity.builder()
+			.email("taskuser@example.com")
+			.password(passwordEncoder.encode("P@ssw0rd123!"))
+			.locked(false)
+			.enabled(true)
+			.addRole(adminRole)
+			.build());
+		admin = userRepository.save(new User("taskuser", userSecurity));
+	}
+
+	@Test
+	void shouldDeliverSignedEvents_ForEveryTaskChange() throws Exception {
+		// Given
+		String secret = subscribe().get("secret").asText();
+		String taskUuid = createTask("Webhook task").get("uuid").asText();
+		mockMvc
+			.perform(put("/api/tasks/{taskUuid}", taskUuid).header("Authorization", "Bearer " + accessToken)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("""
+						{"status": "IN_PROGRESS"}
+						"""))
+			.andExpect(status().isOk());
+		mockMvc.perform(delete("/api/tasks/{taskUuid}", taskUuid).header("Authorization", "Bearer " + accessToken))
+			.andExpect(status().isNoContent());
+
+		// When
+		int claimed = dispatcher.dispatch();
+
+		// Then
+		assertThat(claimed).isEqualTo(3);
+		Map<String, ReceivedRequest> byType = received.stream()
+			.collect(Collectors.toMap(ReceivedRequest::event, request -> request));
+		assertThat(byType).containsOnlyKeys("task.created", "task.updated", "task.deleted");
+		for (ReceivedRequest request : received) {
+			assertThat(request.signature()).isEqualTo(sign(secret, request.timestamp() + "." + request.body()));
+			JsonNode event = objectMapper.readTree(request.body());
+			assertThat(event.get("id").asText()).isEqualTo(request.id());
+			assertThat(event.get("type").asText()).isEqualTo(request.event());
+			assertThat(event.get("data").get("uuid").asText()).isEqualTo(taskUuid);
+		}
+		assertThat(objectMapper.readTree(byType.get("task.updated").body()).get("data").get("status").asText())
+			.isEqualTo("IN_PROGRESS");
+		assertThat(jdbcTemplate.queryForList("SELECT DISTINCT status FROM webhook_deliveries", String.class))
+			.containsExactly("DELIVERED");
+
+		// When - nothing left to deliver
+		assertThat(dispatcher.dispatch()).isZero();
+	}
+
+	@Test
+	void shouldRetryThenDeadLetter_AndRedrive() throws Exception {
+		// Given - a receiver that is down
+		String subscriptionUuid = subscribe().get("uuid").asText();
+		responseStatus.set(503);
+		createTask("Undeliverable");
+
+		// When - both attempts fail
+		dispatcher.dispatch();
+		assertThat(jdbcTemplate.queryForObject("SELECT status FROM webhook_deliveries", String.class))
+			.isEqualTo("PENDING");
+		dispatcher.dispatch();
+
+		// Then
+		JsonNode deadLetters = getJson("/api/admin/webhooks/" + subscriptionUuid + "/dead-letters");
+		assertThat(deadLetters.get("content")).hasSize(1);
+		assertThat(deadLetters.get("content").get(0).get("eventType").asText()).isEqualTo("task.created");
+		assertThat(deadLetters.get("content").get(0).get("attempts").asInt()).isEqualTo(2);
+		assertThat(deadLetters.get("content").get(0).get("lastError").asText()).contains("503");
+		assertThat(dispatcher.dispatch()).isZero();
+
+		// When - the receiver is back and the dead letter is redriven
+		responseStatus.set(200);
+		MvcResult redrive = mockMvc
+			.perform(post("/api/admin/webhooks/{subscriptionUuid}/dead-letters/redrive", subscriptionUuid)
+				.header("Authorization", "Bearer " + accessToken))
+			.andExpect(status().isOk())
+			.andReturn();
+		assertThat(objectMapper.readTree(redrive.getResponse().getContentAsString()).get("redriven").asInt())
+			.isEqualTo(1);
+		dispatcher.dispatch();
+
+		// Then - the same event, three requests in all
+		assertThat(received).hasSize(3);
+		assertThat(received.stream().map(ReceivedRequest::id).distinct()).hasSize(1);
+		assertThat(getJson("/api/admin/webhooks/" + subscriptionUuid + "/dead-letters").get("content")).isEmpty();
+	}
+
+	@Test
+	void shouldLimitRequestsInFlight_PerEndpoint() throws Exception {
+		// Given - a slow receiver and more events than the limit of two
+		subscribe();
+		responseDelayMillis = 100;
+		for (int i = 0; i < 6; i++) {
+			createTask("Task " + i);
+		}
+
+		// When
+		int claimed = dispatcher.dispatch();
+
+		// Then
+		assertThat(claimed).isEqualTo(6);
+		assertThat(received).hasSize(6);
+		assertThat(maxInFlight.get()).isEqualTo(2);
+	}
+
+	@Test
+	void shouldNotQueueEvents_WhenTaskChangeRollsBack() throws Exception {
+		// Given
+		subscribe();
+
+		// When
+		transactionTemplate.executeWithoutResult(status -> {
+			taskService.createTask(new CreateTaskRequest("Rolled back", null, TaskPriority.LOW, null), admin.getUuid());
+			status.setRollbackOnly();
+		});
+
+		// Then
+		assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM webhook_deliveries", Long.class)).isZero();
+		assertThat(dispatcher.dispatch()).isZero();
+	}
+
+	@Nested
+	@DirtiesContext
+	@TestPropertySource(properties = { "app.webhooks.enabled=true", "app.webhooks.poll-interval=50ms" })
+	class ScheduledDispatch {
+
+		@Autowired
+		private TaskScheduler taskScheduler;
+
+		@Autowired
+		private JdbcTemplate jdbcTemplate;
+
+		@Test
+		void shouldKeepOtherScheduledWorkRunning_WhileReceiverIsSlow() throws Exception {
+			// Given - a batch blocked on a receiver slower than the poll interval
+			subscribe();
+			responseDelayMillis = 1500;
+			createTask("Slow delivery");
+			awaitUntil("a request in flight", () -> inFlight.get() == 1);
+
+			// When
+			CompletableFuture<Boolean> ran = new CompletableFuture<>();
+			taskScheduler.schedule(() -> ran.complete(true), Instant.now());
+
+			// Then - the scheduler thread is not the one waiting on the receiver
+			assertThat(ran.get(500, TimeUnit.MILLISECONDS)).isTrue();
+			assertThat(inFlight.get()).isEqualTo(1);
+			awaitUntil("the delivery to be recorded", () -> "DELIVERED"
+				.equals(jdbcTemplate.queryForObject("SELECT status FROM webhook_deliveries", String.class)));
+			assertThat(received).hasSize(1);
+		}
+
+	}
+
+	private JsonNode subscribe() throws Exception {
+		MvcResult result = mockMvc
+			.perform(post("/api/admin/webhooks").header("Authorization", "Bearer " + accessToken)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(
+						Map.of("url", "http://127.0.0.1:" + receiver.getAddress().getPort() + "/hooks"))))
+			.andExpect(status().isCreated())
+			.andReturn();
+		return objectMapper.readTree(result.getResponse().getContentAsString());
+	}
+
+	private JsonNode createTask(String title) throws Exception {
+		MvcResult result = mockMvc
+			.perform(post("/api/tasks").header("Authorization", "Bearer " + accessToken)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(new CreateTaskRequest(title, null, TaskPriority.HIGH, null))))
+			.andExpect(status().isCreated())
+			.andReturn();
+		return objectMapper.readTree(result.getResponse().getContentAsString());
+	}
+
+	private JsonNode getJson(String uri) throws Exception {
+		MvcResult result = mockMvc.perform(get(uri).header("Authorization", "Bearer " + accessToken))
+			.andExpect(status().isOk())
+			.andReturn();
+		return objectMapper.readTree(result.getResponse().getContentAsString());
+	}
+
+	private static void awaitUntil(String description, BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (!condition.getAsBoolean()) {
+			assertThat(System.nanoTime()).as(description).isLessThan(deadline);
+			Thread.sleep(20);
+		}
+	}
+
+	private static String sign(String secret, String content) throws Exception {
+		Mac mac = Mac.getInstance("HmacSHA256");
+		mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+		return "sha256=" + HexFormat.of().formatHex(mac.doFinal(content.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private record ReceivedRequest(String id, String event, String timestamp, String signature, String body) {
+	}
+
+}
@@ -0,0 +1,232 @@
+package tech.omarshabaan.tasksmanagement.security;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import tech.omarshabaan.tasksmanagement.dto.auth.UserSigninRequest;
+import tech.omarshabaan.tasksmanagement.exception.PayloadTooLargeException;
+import tech.omarshabaan.tasksmanagement.exception.RateLimitExceededException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+class AuthRateLimitFilterTest {
+
+	private static final String SIGNIN = "{\"email\":\"%s\",\"password\":\"Secret123!\"}";
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final HandlerExceptionResolver resolver = mock(HandlerExceptionResolver.class);
+
+	@Test
+	void shouldPassBodyThroughUnchanged_WhenWithinLimits() throws Exception {
+		// Given
+		AuthRateLimitFilter filter = filter(10, 10);
+		MockHttpServletRequest request = signin("10.0.0.1", "user@example.com");
+		MockFilterChain chain = new MockFilterChain();
+
+		// When
+		filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+		// Then
+		assertThat(body(chain.getRequest())).isEqualTo(SIGNIN.formatted("user@example.com"));
+		then(resolver).shouldHaveNoInteractions();
+	}
+
+	@Test
+	void shouldRejectByEmail_AcrossAddressesAndCase() throws Exception {
+		// Given - one sign-in per email
+		AuthRateLimitFilter filter = filter(10, 1);
+		filter.doFilter(signin("10.0.0.1", "user@example.com"), new MockHttpServletResponse(), new MockFilterChain());
+
+		// When
+		MockFilterChain chain = new MockFilterChain();
+		filter.doFilter(signin("10.0.0.2", " User@Example.COM"), new MockHttpServletResponse(), chain);
+
+		// Then
+		assertThat(chain.getRequest()).isNull();
+		then(resolver).should().resolveException(any(), any(), isNull(), isA(RateLimitExceededException.class));
+		assertThat(meterRegistry.get("auth_rate_limit.requests")
+			.tag("limiter", "email")
+			.tag("outcome", "rejected")
+			.counter()
+			.count()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldRejectByLastEmail_WhenKeyRepeats() throws Exception {
+		// Given - one sign-in per email, the victim's used up
+		AuthRateLimitFilter filter = filter(10, 1);
+		filter.doFilter(signin("10.0.0.1", "victim@example.com"), new MockHttpServletResponse(), new MockFilterChain());
+
+		// When - a throwaway email ahead of the victim's, which is the one bound
+		String body = "{\"email\":\"throwaway@example.com\",\"email\":\"victim@example.com\",\"password\":\"x\"}";
+		assertThat(new ObjectMapper().readValue(body, UserSigninRequest.class).email()).isEqualTo("victim@example.com");
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/signin");
+		request.setRemoteAddr("10.0.0.2");
+		request.setContent(body.getBytes(StandardCharsets.UTF_8));
+		MockFilterChain chain = new MockFilterChain();
+		filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+		// Then
+		assertThat(chain.getRequest()).isNull();
+		then(resolver).should().resolveException(any(), any(), isNull(), isA(RateLimitExceededException.class));
+	}
+
+	@Test
+	void shouldRejectByAddress_BeforeReadingBody() throws Exception {
+		// Given - one request per address
+		AuthRateLimitFilter filter = filter(1, 10);
+		MockHttpServletRequest refresh = new MockHttpServletRequest("POST", "/api/auth/refresh");
+		refresh.setRemoteAddr("10.0.0.1");
+		filter.doFilter(refresh, new MockHttpServletResponse(), new MockFilterChain());
+
+		// When
+		MockHttpServletRequest request = signin("10.0.0.1", "user@example.com");
+		MockFilterChain chain = new MockFilterChain();
+		filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+		// Then
+		assertThat(chain.getRequest()).isNull();
+		assertThat(request.getInputStream().readAllBytes()).isNotEmpty();
+		then(resolver).should().resolveException(any(), any(), isNull(), isA(RateLimitExceededException.class));
+	}
+
+	@Test
+	void shouldLimitOnlyByAddress_WhenBodyHasNoEmail() throws Exception {
+		// Given
+		AuthRateLimitFilter filter = filter(10, 1);
+		String body = "x".repeat(100);
+
+		// When - two bodies without an email
+		for (int i = 0; i < 2; i++) {
+			MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/signup");
+			request.setContent(body.getBytes(StandardCharsets.UTF_8));
+			MockFilterChain chain = new MockFilterChain();
+			filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+			// Then - passed on whole
+			assertThat(body(chain.getRequest())).isEqualTo(body);
+		}
+		then(resolver).shouldHaveNoInteractions();
+	}
+
+	@Test
+	void shouldRejectOversizedBody_WhenPaddedPastTheEmail() throws Exception {
+		// Given - one sign-in per email, the second padded with whitespace
+		AuthRateLimitFilter filter = filter(10, 1);
+		filter.doFilter(signin("10.0.0.1", "user@example.com"), new MockHttpServletResponse(), new MockFilterChain());
+		String padded = " ".repeat(AuthRateLimitFilter.MAX_BODY_BYTES) + SIGNIN.formatted("user@example.com");
+
+		// When - with and without a Content-Length
+		for (boolean chunked : new boolean[] { false, true }) {
+			MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/signin") {
+
+				@Override
+				public long getContentLengthLong() {
+					return chunked ? -1 : super.getContentLengthLong();
+				}
+
+			};
+			request.setContent(padded.getBytes(StandardCharsets.UTF_8));
+			MockFilterChain chain = new MockFilterChain();
+			filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+			// Then
+			assertThat(chain.getRequest()).isNull();
+		}
+		then(resolver).should(times(2)).resolveException(any(), any(), isNull(), isA(PayloadTooLargeException.class));
+	}
+
+	@Test
+	void shouldServeBufferedBodyToReadListener() throws Exception {
+		// Given
+		AuthRateLimitFilter filter = filter(10, 10);
+		MockFilterChain chain = new MockFilterChain();
+		filter.doFilter(signin("10.0.0.1", "user@example.com"), new MockHttpServletResponse(), chain);
+		ServletInputStream input = chain.getRequest().getInputStream();
+		ByteArrayOutputStream read = new ByteArrayOutputStream();
+		AtomicBoolean allDataRead = new AtomicBoolean();
+
+		// When
+		input.setReadListener(new ReadListener() {
+
+			@Override
+			public void onDataAvailable() throws IOException {
+				while (input.isReady() && !input.isFinished()) {
+					read.write(input.read());
+				}
+			}
+
+			@Override
+			public void onAllDataRead() {
+				allDataRead.set(true);
+			}
+
+			@Override
+			public void onError(Throwable throwable) {
+				throw new AssertionError(throwable);
+			}
+
+		});
+
+		// Then
+		assertThat(read.toString(StandardCharsets.UTF_8)).isEqualTo(SIGNIN.formatted("user@example.com"));
+		assertThat(allDataRead).isTrue();
+	}
+
+	@Test
+	void shouldIgnoreOtherEndpoints() throws Exception {
+		// Given
+		AuthRateLimitFilter filter = filter(1, 1);
+
+		// When
+		for (int i = 0; i < 3; i++) {
+			filter.doFilter(new MockHttpServletRequest("POST", "/api/auth/logout"), new MockHttpServletResponse(),
+					new MockFilterChain());
+		}
+
+		// Then
+		then(resolver).should(never()).resolveException(any(), any(), any(), any());
+	}
+
+	private AuthRateLimitFilter filter(int addressCapacity, int emailCapacity) {
+		return new AuthRateLimitFilter(
+				new TokenBucketLimiter("ip", addressCapacity, Duration.ofMinutes(1), 1000, meterRegistry),
+				new TokenBucketLimiter("email", emailCapacity, Duration.ofMinutes(1), 1000, meterRegistry),
+				new JsonFactory(), resolver);
+	}
+
+	private static MockHttpServletRequest signin(String address, String email) {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/signin");
+		request.setRemoteAddr(address);
+		request.setContentType("application/json");
+		request.setContent(SIGNIN.formatted(email).getBytes(StandardCharsets.UTF_8));
+		return request;
+	}
+
+	private static String body(ServletRequest request) throws Exception {
+		return new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,143 @@
+package tech.omarshabaan.tasksmanagement.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import tech.omarshabaan.tasksmanagement.config.PasswordHashingProperties;
+import tech.omarshabaan.tasksmanagement.exception.PasswordHashingUnavailableException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	private final CountDownLatch started = new CountDownLatch(1);
+
+	private BoundedPasswordEncoder encoder;
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+		encoder.close();
+	}
+
+	@Test
+	void shouldDelegateToWrappedEncoder() {
+		// Given
+		encoder = encoder(new SlowEncoder(false), Duration.ofSeconds(5));
+
+		// When
+		String encoded = encoder.encode("secret");
+
+		// Then
+		assertThat(encoded).isEqualTo("{slow}secret");
+		assertThat(encoder.matches("secret", encoded)).isTrue();
+		assertThat(encoder.matches("other", encoded)).isFalse();
+		assertThat(meterRegistry.get("password_hashing.duration").tag("operation", "encode").timer().count())
+			.isEqualTo(1);
+		assertThat(meterRegistry.get("password_hashing.duration").tag("operation", "matches").timer().count())
+			.isEqualTo(2);
+		assertThat(meterRegistry.get("password_hashing.wait").timer().count()).isEqualTo(3);
+	}
+
+	@Test
+	void shouldRejectImmediately_WhenQueueIsFull() throws Exception {
+		// Given - one thread busy, one request queued
+		encoder = encoder(new SlowEncoder(true), Duration.ofSeconds(5));
+		CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+		CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+		awaitQueueDepth(1);
+
+		// When / Then
+		assertThatThrownBy(() -> encoder.encode("third")).isInstanceOf(PasswordHashingUnavailableException.class)
+			.extracting(e -> ((PasswordHashingUnavailableException) e).getRetryAfter())
+			.isEqualTo(Duration.ofSeconds(3));
+		assertThat(meterRegistry.get("password_hashing.rejected").tag("reason", "queue_full").counter().count())
+			.isEqualTo(1);
+
+		release.countDown();
+		assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("{slow}first");
+		assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("{slow}second");
+	}
+
+	@Test
+	void shouldReject_WhenWaitingLongerThanMaxWait() throws Exception {
+		// Given
+		encoder = encoder(new SlowEncoder(true), Duration.ofMillis(100));
+		CompletableFuture.runAsync(() -> encoder.encode("first")).exceptionally(e -> null);
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+		// When / Then
+		assertThatThrownBy(() -> encoder.matches("second", "{slow}second"))
+			.isInstanceOf(PasswordHashingUnavailableException.class);
+		// the caller of the blocked hash gives up after max-wait as well
+		assertThat(meterRegistry.get("password_hashing.rejected").tag("reason", "timeout").counter().count())
+			.isGreaterThanOrEqualTo(1);
+		assertThat(meterRegistry.get("password_hashing.queue.depth").gauge().value()).isZero();
+	}
+
+	private BoundedPasswordEncoder encoder(PasswordEncoder delegate, Duration maxWait) {
+		PasswordHashingProperties properties = new PasswordHashingProperties(1, 1, maxWait, Duration.ofSeconds(3),
+				PasswordHashingProperties.Algorithm.BCRYPT, false, Duration.ZERO, null, null, null);
+		return new BoundedPasswordEncoder(delegate, properties, meterRegistry);
+	}
+
+	private void awaitQueueDepth(int depth) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (meterRegistry.get("password_hashing.queue.depth").gauge().value() < depth) {
+			assertThat(System.nanoTime()).isLessThan(deadline);
+			Thread.sleep(10);
+		}
+	}
+
+	/**
+	 * Prefixes instead of hashing; when {@code blocking}, every call waits for
+	 * {@code release} so tests can saturate the pool deterministically.
+	 */
+	private class SlowEncoder implements PasswordEncoder {
+
+		private final boolean blocking;
+
+		SlowEncoder(boolean blocking) {
+			this.blocking = blocking;
+		}
+
+		@Override
+		public String encode(CharSequence rawPassword) {
+			block();
+			return "{slow}" + rawPassword;
+		}
+
+		@Override
+		public boolean matches(CharSequence rawPassword, String encodedPassword) {
+			block();
+			return ("{slow}" + rawPassword).equals(encodedPassword);
+		}
+
+		private void block() {
+			if (!blocking) {
+				return;
+			}
+			started.countDown();
+			try {
+				release.await(10, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,107 @@
+package tech.omarshabaan.tasksmanagement.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import tech.omarshabaan.tasksmanagement.config.PasswordHashingProperties;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CalibratedPasswordEncoderTest {
+
+	private static final String PASSWORD = "P@ssw0rd123!";
+
+	@Test
+	void shouldEncodeWithCalibratedSetting() {
+		// Given
+		CalibratedPasswordEncoder encoder = encoder(PasswordHashSetting.bcrypt(5));
+
+		// When
+		String encoded = encoder.encode(PASSWORD);
+
+		// Then
+		assertThat(encoded).startsWith("{bcrypt}$2a$05$");
+		assertThat(PasswordHashSetting.of(encoded)).isEqualTo(PasswordHashSetting.bcrypt(5));
+		assertThat(encoder.matches(PASSWORD, encoded)).isTrue();
+		assertThat(encoder.upgradeEncoding(encoded)).isFalse();
+	}
+
+	@Test
+	void shouldRequestRehash_WhenStoredSettingIsHigherOrLower() {
+		// Given
+		CalibratedPasswordEncoder encoder = encoder(PasswordHashSetting.bcrypt(5));
+
+		// Then
+		assertThat(encoder.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(4).encode(PASSWORD))).isTrue();
+		assertThat(encoder.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(6).encode(PASSWORD))).isTrue();
+	}
+
+	@Test
+	void shouldMatchLegacyUnprefixedBcryptHash_AndRequestRehash() {
+		// Given
+		CalibratedPasswordEncoder encoder = encoder(PasswordHashSetting.bcrypt(5));
+		String legacy = new BCryptPasswordEncoder(4).encode(PASSWORD);
+
+		// Then
+		assertThat(encoder.matches(PASSWORD, legacy)).isTrue();
+		assertThat(encoder.upgradeEncoding(legacy)).isTrue();
+	}
+
+	@Test
+	void shouldMoveBetweenAlgorithms() {
+		// Given
+		PasswordHashSetting argon2 = PasswordHashSetting.argon2(1024, 2, 1);
+		CalibratedPasswordEncoder argon2Encoder = encoder(argon2);
+		CalibratedPasswordEncoder bcryptEncoder = encoder(PasswordHashSetting.bcrypt(4));
+
+		// When
+		String encoded = argon2Encoder.encode(PASSWORD);
+
+		// Then
+		assertThat(encoded).startsWith("{argon2}$argon2id$v=19$m=1024,t=2,p=1$");
+		assertThat(PasswordHashSetting.of(encoded)).isEqualTo(argon2);
+		assertThat(bcryptEncoder.matches(PASSWORD, encoded)).isTrue();
+		assertThat(bcryptEncoder.upgradeEncoding(encoded)).isTrue();
+		assertThat(argon2Encoder.upgradeEncoding(encoded)).isFalse();
+		assertThat(argon2Encoder
+			.upgradeEncoding("{argon2}" + new Argon2PasswordEncoder(16, 32, 1, 1024, 3).encode(PASSWORD))).isTrue();
+	}
+
+	@Test
+	void shouldUseLowerBound_WhenCalibrationIsDisabled() {
+		// Given
+		PasswordHashingProperties properties = new PasswordHashingProperties(1, 1, Duration.ofSeconds(1),
+				Duration.ofSeconds(1), PasswordHashingProperties.Algorithm.BCRYPT, false, Duration.ofMillis(250),
+				new PasswordHashingProperties.Bcrypt(7, 16), null, null);
+
+		// When
+		PasswordHashCalibrator.Result result = new PasswordHashCalibrator(properties).calibrate();
+
+		// Then
+		assertThat(result.setting()).isEqualTo(PasswordHashSetting.bcrypt(7));
+	}
+
+	@Test
+	void shouldStopAtTheHighestCostWithinTarget() {
+		// Given - a zero target never fits, so the lower bound wins
+		PasswordHashingProperties properties = new PasswordHashingProperties(1, 1, Duration.ofSeconds(1),
+				Duration.ofSeconds(1), PasswordHashingProperties.Algorithm.BCRYPT, true, Duration.ZERO,
+				new PasswordHashingProperties.Bcrypt(4, 16), null, null);
+
+		// When
+		PasswordHashCalibrator.Result result = new PasswordHashCalibrator(properties).calibrate();
+
+		// Then
+		assertThat(result.setting()).isEqualTo(PasswordHashSetting.bcrypt(4));
+		assertThat(result.hashTime()).isPositive();
+	}
+
+	private static CalibratedPasswordEncoder encoder(PasswordHashSetting setting) {
+		return new CalibratedPasswordEncoder(new PasswordHashCalibrator.Result(setting, Duration.ZERO),
+				new SimpleMeterRegistry());
+	}
+
+}
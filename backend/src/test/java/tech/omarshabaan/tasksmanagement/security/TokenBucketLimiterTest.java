@@ -0,0 +1,93 @@
+package tech.omarshabaan.tasksmanagement.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketLimiterTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final AtomicLong now = new AtomicLong();
+
+	@Test
+	void shouldAllowBurstOfCapacity_ThenRejectWithTimeToNextToken() {
+		// Given - 3 tokens, refilled at one every 20 seconds
+		TokenBucketLimiter limiter = limiter(3, Duration.ofMinutes(1), 1000);
+
+		// When
+		Duration first = limiter.tryAcquire("a");
+		limiter.tryAcquire("a");
+		limiter.tryAcquire("a");
+		now.addAndGet(Duration.ofSeconds(5).toNanos());
+		Duration rejected = limiter.tryAcquire("a");
+
+		// Then
+		assertThat(first).isZero();
+		assertThat(rejected.toMillis()).isEqualTo(15_000);
+		assertThat(meterRegistry.get("auth_rate_limit.requests").tag("outcome", "allowed").counter().count())
+			.isEqualTo(3);
+		assertThat(meterRegistry.get("auth_rate_limit.requests").tag("outcome", "rejected").counter().count())
+			.isEqualTo(1);
+	}
+
+	@Test
+	void shouldRefillOverTime_AndKeepKeysApart() {
+		// Given
+		TokenBucketLimiter limiter = limiter(1, Duration.ofSeconds(10), 1000);
+		assertThat(limiter.tryAcquire("a")).isZero();
+		assertThat(limiter.tryAcquire("a")).isPositive();
+
+		// When / Then - another key has its own bucket
+		assertThat(limiter.tryAcquire("b")).isZero();
+
+		// When / Then - one token back after the refill period
+		now.addAndGet(Duration.ofSeconds(10).toNanos());
+		assertThat(limiter.tryAcquire("a")).isZero();
+	}
+
+	@Test
+	void shouldDropBucketsOnceFull() {
+		// Given
+		TokenBucketLimiter limiter = limiter(5, Duration.ofSeconds(10), 1_000_000);
+		for (int i = 0; i < 1000; i++) {
+			limiter.tryAcquire("key-" + i);
+		}
+		assertThat(limiter.size()).isEqualTo(1000);
+
+		// When - every bucket has refilled, and new keys touch every stripe
+		now.addAndGet(Duration.ofSeconds(10).toNanos());
+		for (int i = 0; i < 10_000; i++) {
+			limiter.tryAcquire("other-" + i);
+		}
+
+		// Then - only the new buckets are left
+		assertThat(limiter.size()).isEqualTo(10_000);
+		assertThat(meterRegistry.get("auth_rate_limit.evicted").counter().count()).isZero();
+	}
+
+	@Test
+	void shouldEvictLeastRecentlyUsed_WhenMaxKeysReached() {
+		// Given - one bucket per stripe
+		TokenBucketLimiter limiter = limiter(5, Duration.ofMinutes(1), 64);
+
+		// When
+		for (int i = 0; i < 1000; i++) {
+			limiter.tryAcquire("key-" + i);
+		}
+
+		// Then
+		assertThat(limiter.size()).isLessThanOrEqualTo(64);
+		assertThat(meterRegistry.get("auth_rate_limit.evicted").counter().count()).isGreaterThanOrEqualTo(1000 - 64);
+		assertThat(meterRegistry.get("auth_rate_limit.buckets").gauge().value()).isEqualTo(limiter.size());
+	}
+
+	private TokenBucketLimiter limiter(int capacity, Duration refillPeriod, int maxKeys) {
+		return new TokenBucketLimiter("test", capacity, refillPeriod, maxKeys, meterRegistry, now::get);
+	}
+
+}
@@ -0,0 +1,124 @@
+package tech.omarshabaan.tasksmanagement.service.reminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+	private final TimingWheel<Long> wheel = new TimingWheel<>(1_000);
+
+	@Test
+	void shouldExpireEveryEntryExactlyAtItsTick_AcrossAllLevels() {
+		// Given - ticks spread over every level, scheduled against a wheel that already
+		// turned a little so the slots are not aligned to the start
+		Random random = new Random(42);
+		wheel.advanceTo(1_037, expired -> {
+		});
+		Map<Long, Long> ticks = new HashMap<>();
+		for (long key = 0; key < 5_000; key++) {
+			long delta = 1 + (long) (random.nextDouble() * random.nextDouble() * (TimingWheel.SPAN - 1));
+			long tick = wheel.currentTick() + delta;
+			assertThat(wheel.schedule(key, tick, key)).isTrue();
+			ticks.put(key, tick);
+		}
+
+		// When - turning one tick at a time near the start, then in large strides
+		Map<Long, Long> expiredAt = new HashMap<>();
+		long target = wheel.currentTick();
+		while (wheel.size() > 0) {
+			target += target - 1_037 < 10_000 ? 1 : 997;
+			long now = target;
+			wheel.advanceTo(target, key -> expiredAt.put(key, now));
+		}
+
+		// Then - every entry came out once, none before its tick, and within the stride
+		// after
+		assertThat(expiredAt.keySet()).containsExactlyInAnyOrderElementsOf(ticks.keySet());
+		expiredAt.forEach((key, at) -> assertThat(at - ticks.get(key)).isBetween(0L, 996L));
+	}
+
+	@Test
+	void shouldExpireInTickOrder_WithinOneAdvance() {
+		// Given
+		wheel.schedule(1, 1_200, 1_200L);
+		wheel.schedule(2, 1_005, 1_005L);
+		wheel.schedule(3, 1_064, 1_064L);
+		wheel.schedule(4, 5_000, 5_000L);
+
+		// When
+		List<Long> expired = new ArrayList<>();
+		wheel.advanceTo(1_500, expired::add);
+
+		// Then
+		assertThat(expired).containsExactly(1_005L, 1_064L, 1_200L);
+		assertThat(wheel.size()).isEqualTo(1);
+		assertThat(wheel.contains(4)).isTrue();
+	}
+
+	@Test
+	void shouldCancelAndReplaceByKey() {
+		// Given
+		wheel.schedule(1, 1_010, 1_010L);
+		wheel.schedule(2, 1_020, 1_020L);
+		wheel.schedule(3, 300_000, 300_000L);
+
+		// When
+		boolean cancelled = wheel.cancel(2);
+		boolean cancelledAgain = wheel.cancel(2);
+		wheel.schedule(1, 1_030, 1_030L);
+		wheel.schedule(3, 1_040, 1_040L);
+		List<Long> expired = new ArrayList<>();
+		wheel.advanceTo(400_000, expired::add);
+
+		// Then - key 1 only at its new tick, key 3 moved down from a high level
+		assertThat(cancelled).isTrue();
+		assertThat(cancelledAgain).isFalse();
+		assertThat(expired).containsExactly(1_030L, 1_040L);
+		assertThat(wheel.size()).isZero();
+	}
+
+	@Test
+	void shouldExpirePassedTicksOnNextAdvance_AndRefuseTicksBeyondSpan() {
+		// Given
+		wheel.advanceTo(2_000, tick -> {
+		});
+
+		// When
+		boolean passed = wheel.schedule(1, 1_500, 1_500L);
+		boolean beyond = wheel.schedule(2, 2_000 + TimingWheel.SPAN, 0L);
+		boolean last = wheel.schedule(3, 2_000 + TimingWheel.SPAN - 1, 3L);
+		List<Long> expired = new ArrayList<>();
+		wheel.advanceTo(2_000, expired::add);
+
+		// Then
+		assertThat(passed).isTrue();
+		assertThat(beyond).isFalse();
+		assertThat(wheel.contains(2)).isFalse();
+		assertThat(last).isTrue();
+		assertThat(expired).containsExactly(1_500L);
+
+		// When - the furthest tick comes up after one long jump
+		wheel.advanceTo(2_000 + TimingWheel.SPAN, expired::add);
+
+		// Then
+		assertThat(expired).containsExactly(1_500L, 3L);
+	}
+
+	@Test
+	void shouldJumpStraightToTarget_WhenEmpty() {
+		// When
+		wheel.advanceTo(Long.MAX_VALUE / 2, tick -> {
+		});
+
+		// Then
+		assertThat(wheel.currentTick()).isEqualTo(Long.MAX_VALUE / 2);
+	}
+
+}
@@ -0,0 +1,79 @@
+package tech.omarshabaan.tasksmanagement.service.task;
+
+import org.junit.jupiter.api.Test;
+import tech.omarshabaan.tasksmanagement.dto.task.CreateTaskRequest;
+import tech.omarshabaan.tasksmanagement.dto.task.GetTaskResponse;
+import tech.omarshabaan.tasksmanagement.dto.task.TaskExportFormat;
+import tech.omarshabaan.tasksmanagement.entity.TaskPriority;
+import tech.omarshabaan.tasksmanagement.entity.TaskStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskExportWriterTest {
+
+	private static final UUID TASK_UUID = UUID.fromString("0190a2b4-5c6d-7e8f-9a0b-1c2d3e4f5a6b");
+
+	@Test
+	void shouldPrefixCsvFields_ThatSpreadsheetsReadAsFormulas() throws Exception {
+		// When & Then
+		assertThat(csvRecord("=1+1", null)).isEqualTo(TASK_UUID + ",'=1+1,,PENDING,LOW,,,");
+		assertThat(csvRecord("+1", "-1")).isEqualTo(TASK_UUID + ",'+1,'-1,PENDING,LOW,,,");
+		assertThat(csvRecord("@SUM(A1)", "\tindented")).isEqualTo(TASK_UUID + ",'@SUM(A1),'\tindented,PENDING,LOW,,,");
+		// the prefix goes inside the quotes of a quoted field
+		assertThat(csvRecord("=HYPERLINK(\"http://evil.example\")", "\rreturn"))
+			.isEqualTo(TASK_UUID + ",\"'=HYPERLINK(\"\"http://evil.example\"\")\",\"'\rreturn\",PENDING,LOW,,,");
+		// one that already has the prefix gets another, which the import removes
+		assertThat(csvRecord("'=1+1", "''-1")).isEqualTo(TASK_UUID + ",''=1+1,'''-1,PENDING,LOW,,,");
+	}
+
+	@Test
+	void shouldLeaveOtherCsvFieldsAsTheyAre() throws Exception {
+		// When & Then
+		assertThat(csvRecord("Plan 1+1", "a = b, c")).isEqualTo(TASK_UUID + ",Plan 1+1,\"a = b, c\",PENDING,LOW,,,");
+		assertThat(csvRecord("'quoted", "")).isEqualTo(TASK_UUID + ",'quoted,,PENDING,LOW,,,");
+	}
+
+	@Test
+	void shouldImportCsvFields_AsTheyWereExported() throws Exception {
+		// Given
+		List<String> texts = List.of("-fix login", "=1+1", "'=1+1", "''@home", "'quoted", "''", "Plan 1+1",
+				"\tindented, \"quoted\"");
+
+		for (String text : texts) {
+			// When
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			try (TaskExportWriter writer = TaskExportWriter.create(TaskExportFormat.CSV, out, null)) {
+				writer.write(new GetTaskResponse(TASK_UUID, text, text, TaskStatus.PENDING, TaskPriority.LOW, null,
+						null, null));
+			}
+			TaskImportReader reader = TaskImportReader.create(TaskExportFormat.CSV,
+					new ByteArrayInputStream(out.toByteArray()), null);
+			CreateTaskRequest imported = reader.next().request();
+
+			// Then
+			assertThat(imported.title()).isEqualTo(text);
+			assertThat(imported.description()).isEqualTo(text);
+			assertThat(reader.next()).isNull();
+		}
+	}
+
+	/**
+	 * The record written for a task, without the header and the line ending.
+	 */
+	private static String csvRecord(String title, String description) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (TaskExportWriter writer = TaskExportWriter.create(TaskExportFormat.CSV, out, null)) {
+			writer.write(new GetTaskResponse(TASK_UUID, title, description, TaskStatus.PENDING, TaskPriority.LOW, null,
+					null, null));
+		}
+		String csv = out.toString(StandardCharsets.UTF_8);
+		return csv.substring(csv.indexOf("\r\n") + 2, csv.length() - 2);
+	}
+
+}
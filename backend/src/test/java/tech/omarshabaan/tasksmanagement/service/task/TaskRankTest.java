@@ -0,0 +1,98 @@
+package tech.omarshabaan.tasksmanagement.service.task;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskRankTest {
+
+	@Test
+	void shouldKeepBoardOrder_UnderRandomMoves() {
+		// Given - a column of ranks kept in board order
+		Random random = new Random(42);
+		List<String> column = new ArrayList<>(List.of(TaskRank.MIDDLE));
+
+		// When - dropping tasks at random positions
+		for (int i = 0; i < 5_000; i++) {
+			int position = random.nextInt(column.size() + 1);
+			String rank;
+			if (position == 0) {
+				rank = TaskRank.before(column.getFirst());
+			}
+			else if (position == column.size()) {
+				rank = TaskRank.after(column.getLast());
+			}
+			else {
+				rank = TaskRank.between(column.get(position - 1), column.get(position));
+			}
+			assertThat(TaskRank.isValid(rank)).as(rank).isTrue();
+			column.add(position, rank);
+		}
+
+		// Then - sorting the ranks gives back the board order
+		assertThat(column).isSorted().doesNotHaveDuplicates();
+	}
+
+	@Test
+	void shouldGrowOneCharacterEvery35Moves_WhenAppendingOrPrepending() {
+		// Given
+		String last = TaskRank.MIDDLE;
+		String first = TaskRank.MIDDLE;
+
+		// When
+		for (int i = 0; i < 1_000; i++) {
+			String next = TaskRank.after(last);
+			assertThat(next).isGreaterThan(last);
+			last = next;
+			String previous = TaskRank.before(first);
+			assertThat(previous).isLessThan(first);
+			first = previous;
+		}
+
+		// Then
+		assertThat(last.length()).isLessThanOrEqualTo(30);
+		assertThat(first.length()).isLessThanOrEqualTo(30);
+	}
+
+	@Test
+	void shouldFindShortRanks_AtEdgesAndBetweenNeighbours() {
+		assertThat(TaskRank.between("a", "c")).isEqualTo("b");
+		assertThat(TaskRank.between("a", "b")).isEqualTo("ai");
+		assertThat(TaskRank.between("a", "b1")).isEqualTo("b");
+		assertThat(TaskRank.between("a", "a01")).isEqualTo("a00i");
+		assertThat(TaskRank.between("azz", "b")).isEqualTo("azz1");
+		assertThat(TaskRank.after("azz")).isEqualTo("b");
+		assertThat(TaskRank.after("zz")).isEqualTo("zz1");
+		assertThat(TaskRank.before("b5")).isEqualTo("a");
+		assertThat(TaskRank.before("1")).isEqualTo("0z");
+		assertThat(TaskRank.before("0011")).isEqualTo("000z");
+	}
+
+	@Test
+	void shouldSpreadEvenly_WithShortRanksOfEqualWidth() {
+		// When
+		List<String> ranks = TaskRank.spread(1_000);
+
+		// Then
+		assertThat(ranks).hasSize(1_000).isSorted().doesNotHaveDuplicates();
+		assertThat(ranks).allSatisfy(rank -> {
+			assertThat(TaskRank.isValid(rank)).as(rank).isTrue();
+			assertThat(rank).hasSizeLessThanOrEqualTo(3);
+		});
+		assertThat(TaskRank.spread(0)).isEmpty();
+		assertThat(TaskRank.spread(1)).containsExactly(TaskRank.MIDDLE);
+	}
+
+	@Test
+	void shouldRejectInvalidRanks() {
+		assertThatThrownBy(() -> TaskRank.between("b", "a")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> TaskRank.after("a0")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> TaskRank.before("A")).isInstanceOf(IllegalArgumentException.class);
+	}
+
+}
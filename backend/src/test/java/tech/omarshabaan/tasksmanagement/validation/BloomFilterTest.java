@@ -0,0 +1,53 @@
+package tech.omarshabaan.tasksmanagement.validation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BloomFilterTest {
+
+	@Test
+	void shouldContainEveryValuePut() {
+		// Given
+		BloomFilter filter = new BloomFilter(10_000, 0.01);
+
+		// When
+		for (int i = 0; i < 10_000; i++) {
+			filter.put("user" + i + "@example.com");
+		}
+
+		// Then
+		for (int i = 0; i < 10_000; i++) {
+			assertThat(filter.mightContain("user" + i + "@example.com")).isTrue();
+		}
+	}
+
+	@Test
+	void shouldKeepFalsePositivesNearConfiguredRate() {
+		// Given
+		BloomFilter filter = new BloomFilter(10_000, 0.01);
+		for (int i = 0; i < 10_000; i++) {
+			filter.put("user" + i + "@example.com");
+		}
+
+		// When
+		int falsePositives = 0;
+		for (int i = 0; i < 100_000; i++) {
+			if (filter.mightContain("other" + i + "@example.com")) {
+				falsePositives++;
+			}
+		}
+
+		// Then - 1% expected, allow for variance
+		assertThat(falsePositives).isLessThan(2_000);
+		assertThat(filter.hashCount()).isEqualTo(7);
+	}
+
+	@Test
+	void shouldRejectInvalidSizing() {
+		assertThatThrownBy(() -> new BloomFilter(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new BloomFilter(100, 1)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+}
@@ -0,0 +1,75 @@
+package tech.omarshabaan.tasksmanagement.validation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BreachedPasswordListTest {
+
+	private static final List<String> BREACHED = IntStream.range(0, 100).mapToObj(i -> "password" + i).toList();
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void shouldFindBreachedPasswords_AcrossChunkBoundaries() throws IOException {
+		// Given - 7 records per chunk, so the list spans 15 mappings
+		BreachedPasswordList list = new BreachedPasswordList(write(sortedDigests(BREACHED)), 7);
+
+		// Then
+		assertThat(list.size()).isEqualTo(100);
+		assertThat(BREACHED).allMatch(list::contains);
+		assertThat(list.contains("P@ssw0rd123!")).isFalse();
+		assertThat(list.contains("password100")).isFalse();
+	}
+
+	@Test
+	void shouldAcceptEverything_WhenNoFileIsConfigured() {
+		BreachedPasswordList list = new BreachedPasswordList(null, 7);
+
+		assertThat(list.size()).isZero();
+		assertThat(list.contains("password1")).isFalse();
+	}
+
+	@Test
+	void shouldRejectFile_ThatIsNotSortedDigests() throws IOException {
+		byte[][] digests = sortedDigests(BREACHED);
+		byte[][] reversed = IntStream.range(0, digests.length)
+			.mapToObj(i -> digests[digests.length - 1 - i])
+			.toArray(byte[][]::new);
+		Path unsorted = write(reversed);
+		Path truncated = Files.write(tempDir.resolve("truncated.sha1"),
+				new byte[BreachedPasswordList.DIGEST_LENGTH + 1]);
+
+		assertThatThrownBy(() -> new BreachedPasswordList(unsorted, 7)).isInstanceOf(IllegalStateException.class)
+			.hasMessageContaining("not sorted");
+		assertThatThrownBy(() -> new BreachedPasswordList(truncated, 7)).isInstanceOf(IllegalStateException.class)
+			.hasMessageContaining("20-byte");
+	}
+
+	private static byte[][] sortedDigests(List<String> passwords) {
+		return passwords.stream()
+			.map(BreachedPasswordList::sha1)
+			.sorted(Arrays::compareUnsigned)
+			.toArray(byte[][]::new);
+	}
+
+	private Path write(byte[][] digests) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(digests.length * BreachedPasswordList.DIGEST_LENGTH);
+		for (byte[] digest : digests) {
+			buffer.put(digest);
+		}
+		return Files.write(tempDir.resolve("breached.sha1"), buffer.array());
+	}
+
+}